@@ -1,8 +1,10 @@
 package com.cmms11.approval;
 
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -29,4 +31,25 @@ public interface ApprovalRepository extends JpaRepository<Approval, ApprovalId>
     );
 
     Optional<Approval> findByIdCompanyIdAndIdApprovalId(String companyId, String approvalId);
+
+    // findNextPage/findSlice 공통 목록 조건 (keyset 조회는 ID 조건과 정렬만 덧붙인다)
+    String LIST_QUERY =
+        "select a from Approval a " +
+        "where a.id.companyId = :companyId " +
+        "and (:keyword is null or a.id.approvalId like :keyword or a.title like :keyword)";
+
+    @Query(LIST_QUERY + " and a.id.approvalId > :afterId order by a.id.approvalId")
+    List<Approval> findNextPage(
+        @Param("companyId") String companyId,
+        @Param("keyword") String keyword,
+        @Param("afterId") String afterId,
+        Pageable pageable
+    );
+
+    @Query(LIST_QUERY)
+    Slice<Approval> findSlice(
+        @Param("companyId") String companyId,
+        @Param("keyword") String keyword,
+        Pageable pageable
+    );
 }
@@ -1,15 +1,24 @@
 package com.cmms11.approval;
 
 import com.cmms11.common.error.NotFoundException;
+import com.cmms11.common.paging.KeysetCursor;
 import com.cmms11.common.seq.AutoNumberService;
 import com.cmms11.security.MemberUserDetailsService;
+import jakarta.persistence.EntityManager;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -31,15 +40,18 @@ public class ApprovalService {
     private final ApprovalRepository repository;
     private final ApprovalStepRepository stepRepository;
     private final AutoNumberService autoNumberService;
+    private final EntityManager entityManager;
 
     public ApprovalService(
         ApprovalRepository repository,
         ApprovalStepRepository stepRepository,
-        AutoNumberService autoNumberService
+        AutoNumberService autoNumberService,
+        EntityManager entityManager
     ) {
         this.repository = repository;
         this.stepRepository = stepRepository;
         this.autoNumberService = autoNumberService;
+        this.entityManager = entityManager;
     }
 
     @Transactional(readOnly = true)
@@ -55,6 +67,20 @@ public class ApprovalService {
         return page.map(approval -> ApprovalResponse.from(approval, Collections.emptyList()));
     }
 
+    @Transactional(readOnly = true)
+    public Window<ApprovalResponse> scroll(String keyword, KeysetScrollPosition position, int size) {
+        String companyId = MemberUserDetailsService.DEFAULT_COMPANY;
+        List<Approval> rows = repository.findNextPage(
+            companyId, KeysetCursor.keyword(keyword), KeysetCursor.afterId(position), KeysetCursor.fetchLimit(size));
+        return KeysetCursor.window(rows, size, approval -> approval.getId().getApprovalId()).map(approval -> ApprovalResponse.from(approval, Collections.emptyList()));
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<ApprovalResponse> listSlice(String keyword, Pageable pageable) {
+        String companyId = MemberUserDetailsService.DEFAULT_COMPANY;
+        return repository.findSlice(companyId, KeysetCursor.keyword(keyword), pageable).map(approval -> ApprovalResponse.from(approval, Collections.emptyList()));
+    }
+
     @Transactional(readOnly = true)
     public ApprovalResponse get(String approvalId) {
         Approval approval = getExisting(approvalId);
@@ -128,24 +154,56 @@ public class ApprovalService {
         entity.setFileGroupId(request.fileGroupId());
     }
 
+    /**
+     * 기존 단계와 비교해 추가(persist)/변경(dirty checking)/삭제(일괄 DELETE) 분만 반영
+     * 같은 단계 번호가 중복되면 기존 동작과 같이 마지막 요청이 남는다.
+     */
     private void replaceSteps(String companyId, String approvalId, List<ApprovalStepRequest> steps) {
-        stepRepository.deleteByIdCompanyIdAndIdApprovalId(companyId, approvalId);
-        if (steps == null || steps.isEmpty()) {
-            return;
+        Map<Integer, ApprovalStepRequest> requested = new LinkedHashMap<>();
+        if (steps != null) {
+            for (int i = 0; i < steps.size(); i++) {
+                ApprovalStepRequest request = steps.get(i);
+                int stepNo = request.stepNo() != null && request.stepNo() > 0 ? request.stepNo() : (i + 1);
+                requested.put(stepNo, request);
+            }
         }
-        for (int i = 0; i < steps.size(); i++) {
-            ApprovalStepRequest request = steps.get(i);
-            int stepNo = request.stepNo() != null && request.stepNo() > 0 ? request.stepNo() : (i + 1);
-            ApprovalStep step = new ApprovalStep();
-            step.setId(new ApprovalStepId(companyId, approvalId, stepNo));
-            step.setMemberId(request.memberId());
-            step.setDecision(request.decision());
-            step.setDecidedAt(request.decidedAt());
-            step.setComment(request.comment());
-            stepRepository.save(step);
+        Map<Integer, ApprovalStep> existingByStep = stepRepository
+            .findByIdCompanyIdAndIdApprovalIdOrderByIdStepNo(companyId, approvalId)
+            .stream()
+            .collect(Collectors.toMap(step -> step.getId().getStepNo(), Function.identity()));
+
+        requested.forEach((stepNo, request) -> {
+            ApprovalStep step = existingByStep.remove(stepNo);
+            if (step == null) {
+                step = new ApprovalStep();
+                step.setId(new ApprovalStepId(companyId, approvalId, stepNo));
+                applyStep(step, request);
+                entityManager.persist(step);
+            } else if (!sameStep(step, request)) {
+                applyStep(step, request);
+            }
+        });
+
+        if (!existingByStep.isEmpty()) {
+            existingByStep.values().forEach(entityManager::detach);
+            stepRepository.deleteSteps(companyId, approvalId, existingByStep.keySet());
         }
     }
 
+    private void applyStep(ApprovalStep step, ApprovalStepRequest request) {
+        step.setMemberId(request.memberId());
+        step.setDecision(request.decision());
+        step.setDecidedAt(request.decidedAt());
+        step.setComment(request.comment());
+    }
+
+    private boolean sameStep(ApprovalStep step, ApprovalStepRequest request) {
+        return Objects.equals(step.getMemberId(), request.memberId())
+            && Objects.equals(step.getDecision(), request.decision())
+            && Objects.equals(step.getDecidedAt(), request.decidedAt())
+            && Objects.equals(step.getComment(), request.comment());
+    }
+
     private String resolveId(String companyId, String requestedId) {
         if (requestedId != null && !requestedId.isBlank()) {
             String trimmed = requestedId.trim();
@@ -1,7 +1,11 @@
 package com.cmms11.approval;
 
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 /**
  * 이름: ApprovalStepRepository
@@ -14,5 +18,22 @@ public interface ApprovalStepRepository extends JpaRepository<ApprovalStep, Appr
 
     List<ApprovalStep> findByIdCompanyIdAndIdApprovalIdOrderByIdStepNo(String companyId, String approvalId);
 
-    void deleteByIdCompanyIdAndIdApprovalId(String companyId, String approvalId);
+    // 파생 deleteBy 는 행마다 SELECT 후 DELETE 하므로 단일 DELETE 문으로 대체
+    @Modifying(flushAutomatically = true)
+    @Query("delete from ApprovalStep s where s.id.companyId = :companyId and s.id.approvalId = :approvalId")
+    int deleteByIdCompanyIdAndIdApprovalId(
+        @Param("companyId") String companyId,
+        @Param("approvalId") String approvalId
+    );
+
+    @Modifying(flushAutomatically = true)
+    @Query(
+        "delete from ApprovalStep s " +
+        "where s.id.companyId = :companyId and s.id.approvalId = :approvalId and s.id.stepNo in :stepNos"
+    )
+    int deleteSteps(
+        @Param("companyId") String companyId,
+        @Param("approvalId") String approvalId,
+        @Param("stepNos") Collection<Integer> stepNos
+    );
 }
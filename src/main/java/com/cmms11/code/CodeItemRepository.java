@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 /**
@@ -26,6 +27,8 @@ public interface CodeItemRepository extends JpaRepository<CodeItem, CodeItemId>
 
     List<CodeItem> findByIdCompanyIdAndIdCodeType(String companyId, String codeType);
 
+    List<CodeItem> findByIdCompanyId(String companyId, Sort sort);
+
     Optional<CodeItem> findByIdCompanyIdAndIdCodeTypeAndIdCode(String companyId, String codeType, String code);
 }
 
@@ -1,12 +1,18 @@
 package com.cmms11.code;
 
+import com.cmms11.common.cache.ReferenceDataCache;
+import com.cmms11.common.cache.ReferenceDataCaches;
 import com.cmms11.common.error.NotFoundException;
 import com.cmms11.security.MemberUserDetailsService;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -25,15 +31,20 @@ public class CodeService {
 
     private final CodeTypeRepository typeRepository;
     private final CodeItemRepository itemRepository;
+    private final ReferenceDataCache<CodeSnapshot> cache;
 
-    public CodeService(CodeTypeRepository typeRepository, CodeItemRepository itemRepository) {
+    public CodeService(CodeTypeRepository typeRepository, CodeItemRepository itemRepository, ReferenceDataCaches caches) {
         this.typeRepository = typeRepository;
         this.itemRepository = itemRepository;
+        this.cache = caches.create("code");
     }
 
     @Transactional(readOnly = true)
     public Page<CodeTypeResponse> listTypes(String keyword, Pageable pageable) {
         String companyId = MemberUserDetailsService.DEFAULT_COMPANY;
+        if ((keyword == null || keyword.isBlank()) && pageable.getSort().isUnsorted()) {
+            return ReferenceDataCache.page(snapshot(companyId).types(), pageable);
+        }
         Page<CodeType> page;
         if (keyword == null || keyword.isBlank()) {
             page = typeRepository.findByIdCompanyIdAndDeleteMark(companyId, "N", pageable);
@@ -55,6 +66,7 @@ public class CodeService {
 
     public CodeTypeResponse createType(CodeTypeRequest request) {
         String companyId = MemberUserDetailsService.DEFAULT_COMPANY;
+        cache.invalidate(companyId);
         Optional<CodeType> existing = typeRepository.findByIdCompanyIdAndIdCodeType(companyId, request.codeType());
         LocalDateTime now = LocalDateTime.now();
         String memberId = currentMemberId();
@@ -85,6 +97,7 @@ public class CodeService {
     }
 
     public CodeTypeResponse updateType(String codeType, CodeTypeRequest request) {
+        cache.invalidate(MemberUserDetailsService.DEFAULT_COMPANY);
         CodeType type = getActiveType(codeType);
         type.setName(request.name());
         type.setNote(request.note());
@@ -94,6 +107,7 @@ public class CodeService {
     }
 
     public void deleteType(String codeType) {
+        cache.invalidate(MemberUserDetailsService.DEFAULT_COMPANY);
         CodeType type = getActiveType(codeType);
         List<CodeItem> items = itemRepository.findByIdCompanyIdAndIdCodeType(type.getId().getCompanyId(), codeType);
         if (!items.isEmpty()) {
@@ -107,6 +121,13 @@ public class CodeService {
 
     @Transactional(readOnly = true)
     public Page<CodeItemResponse> listItems(String codeType, String keyword, Pageable pageable) {
+        if ((keyword == null || keyword.isBlank()) && pageable.getSort().isUnsorted()) {
+            List<CodeItemResponse> items = snapshot(MemberUserDetailsService.DEFAULT_COMPANY).items().get(codeType);
+            if (items == null) {
+                throw new NotFoundException("Code type not found: " + codeType);
+            }
+            return ReferenceDataCache.page(items, pageable);
+        }
         CodeType type = getActiveType(codeType);
         Page<CodeItem> page;
         if (keyword == null || keyword.isBlank()) {
@@ -128,6 +149,7 @@ public class CodeService {
     }
 
     public CodeItemResponse createItem(CodeItemRequest request) {
+        cache.invalidate(MemberUserDetailsService.DEFAULT_COMPANY);
         CodeType type = getActiveType(request.codeType());
         Optional<CodeItem> existing = itemRepository.findByIdCompanyIdAndIdCodeTypeAndIdCode(
             type.getId().getCompanyId(),
@@ -145,6 +167,7 @@ public class CodeService {
     }
 
     public CodeItemResponse updateItem(String codeType, String code, CodeItemRequest request) {
+        cache.invalidate(MemberUserDetailsService.DEFAULT_COMPANY);
         CodeItem item = getItemEntity(codeType, code);
         item.setName(request.name());
         item.setNote(request.note());
@@ -152,10 +175,34 @@ public class CodeService {
     }
 
     public void deleteItem(String codeType, String code) {
+        cache.invalidate(MemberUserDetailsService.DEFAULT_COMPANY);
         CodeItem item = getItemEntity(codeType, code);
         itemRepository.delete(item);
     }
 
+    /**
+     * 회사별 사용 중 코드 타입/항목 스냅샷 (폼 드롭다운용, 캐시)
+     */
+    private CodeSnapshot snapshot(String companyId) {
+        return cache.get(companyId, () -> {
+            List<CodeTypeResponse> types = typeRepository
+                .findByIdCompanyIdAndDeleteMark(companyId, "N", Pageable.unpaged(Sort.by("id.codeType")))
+                .map(CodeTypeResponse::from)
+                .getContent();
+            Map<String, List<CodeItemResponse>> itemsByType = new HashMap<>();
+            types.forEach(type -> itemsByType.put(type.codeType(), new ArrayList<>()));
+            for (CodeItem item : itemRepository.findByIdCompanyId(companyId, Sort.by("id.codeType", "id.code"))) {
+                List<CodeItemResponse> items = itemsByType.get(item.getId().getCodeType());
+                if (items != null) {
+                    items.add(CodeItemResponse.from(item));
+                }
+            }
+            Map<String, List<CodeItemResponse>> frozen = new HashMap<>();
+            itemsByType.forEach((type, items) -> frozen.put(type, List.copyOf(items)));
+            return new CodeSnapshot(List.copyOf(types), Map.copyOf(frozen));
+        });
+    }
+
     private CodeType getActiveType(String codeType) {
         return typeRepository.findByIdCompanyIdAndIdCodeType(MemberUserDetailsService.DEFAULT_COMPANY, codeType)
             .filter(type -> !"Y".equalsIgnoreCase(type.getDeleteMark()))
@@ -179,5 +226,7 @@ public class CodeService {
         String name = authentication.getName();
         return name != null ? name : "system";
     }
-}
 
+    private record CodeSnapshot(List<CodeTypeResponse> types, Map<String, List<CodeItemResponse>> items) {
+    }
+}
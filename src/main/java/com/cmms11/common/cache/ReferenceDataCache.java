@@ -0,0 +1,131 @@
+package com.cmms11.common.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 이름: ReferenceDataCache
+ * 작성자: codex
+ * 작성일: 2026-10-18
+ * 수정일:
+ * 프로그램 개요: 회사별 기준정보 스냅샷 캐시. 스냅샷은 불변 객체로 보관하며 TTL 과 최대 회사 수로 제한한다.
+ *               변경 시 invalidate 를 호출하면 즉시, 그리고 트랜잭션 종료(커밋/롤백) 후 한 번 더 무효화한다.
+ */
+public final class ReferenceDataCache<T> {
+
+    private final int maxCompanies;
+    private final long ttlNanos;
+    private final Map<String, Entry<T>> entries = new ConcurrentHashMap<>();
+    // 무효화 세대. 로딩 중 무효화가 일어나면 로딩 결과를 저장하지 않는다.
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    ReferenceDataCache(String name, int maxCompanies, long ttlNanos, MeterRegistry meterRegistry) {
+        this.maxCompanies = Math.max(1, maxCompanies);
+        this.ttlNanos = ttlNanos;
+        this.hits = Counter.builder("cmms.reference.cache.requests")
+            .tag("cache", name)
+            .tag("result", "hit")
+            .register(meterRegistry);
+        this.misses = Counter.builder("cmms.reference.cache.requests")
+            .tag("cache", name)
+            .tag("result", "miss")
+            .register(meterRegistry);
+        this.evictions = Counter.builder("cmms.reference.cache.evictions")
+            .tag("cache", name)
+            .register(meterRegistry);
+        Gauge.builder("cmms.reference.cache.size", entries, Map::size)
+            .tag("cache", name)
+            .register(meterRegistry);
+    }
+
+    /**
+     * 회사 스냅샷 조회 (없거나 만료되면 loader 로 적재)
+     */
+    public T get(String companyId, Supplier<T> loader) {
+        Entry<T> entry = entries.get(companyId);
+        long now = System.nanoTime();
+        if (entry != null && now - entry.loadedAt() < ttlNanos) {
+            hits.increment();
+            return entry.value();
+        }
+        misses.increment();
+        long loadedGeneration = generation.get();
+        T value = loader.get();
+        if (generation.get() == loadedGeneration) {
+            entries.put(companyId, new Entry<>(value, now));
+            evictIfFull();
+        }
+        return value;
+    }
+
+    /**
+     * 회사 스냅샷 무효화 (현재 트랜잭션이 있으면 종료 후 한 번 더 무효화)
+     */
+    public void invalidate(String companyId) {
+        evict(companyId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(companyId);
+                }
+            });
+        }
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    /**
+     * 스냅샷 목록을 Page 로 변환 (정렬 없는 목록 요청용)
+     */
+    public static <R> Page<R> page(List<R> rows, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(rows, pageable, rows.size());
+        }
+        int from = (int) Math.min(pageable.getOffset(), rows.size());
+        int to = Math.min(from + pageable.getPageSize(), rows.size());
+        return new PageImpl<>(rows.subList(from, to), pageable, rows.size());
+    }
+
+    private void evict(String companyId) {
+        generation.incrementAndGet();
+        entries.remove(companyId);
+    }
+
+    private void evictIfFull() {
+        while (entries.size() > maxCompanies) {
+            String oldest = null;
+            long oldestLoadedAt = Long.MAX_VALUE;
+            for (Map.Entry<String, Entry<T>> candidate : entries.entrySet()) {
+                if (candidate.getValue().loadedAt() < oldestLoadedAt) {
+                    oldest = candidate.getKey();
+                    oldestLoadedAt = candidate.getValue().loadedAt();
+                }
+            }
+            if (oldest == null || entries.remove(oldest) == null) {
+                return;
+            }
+            evictions.increment();
+        }
+    }
+
+    private record Entry<T>(T value, long loadedAt) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.cmms11.common.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 이름: ReferenceDataCaches
+ * 작성자: codex
+ * 작성일: 2026-10-18
+ * 수정일:
+ * 프로그램 개요: 기준정보 서비스(코드/사업장/부서/기능위치/창고)가 사용하는 스냅샷 캐시 생성기.
+ */
+@Component
+public class ReferenceDataCaches {
+
+    private final MeterRegistry meterRegistry;
+    private final int maxCompanies;
+    private final Duration ttl;
+
+    public ReferenceDataCaches(
+        ObjectProvider<MeterRegistry> meterRegistry,
+        @Value("${app.reference-cache.max-companies:100}") int maxCompanies,
+        @Value("${app.reference-cache.ttl:10m}") Duration ttl
+    ) {
+        this.meterRegistry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        this.maxCompanies = maxCompanies;
+        this.ttl = ttl;
+    }
+
+    public <T> ReferenceDataCache<T> create(String name) {
+        return new ReferenceDataCache<>(name, maxCompanies, ttl.toNanos(), meterRegistry);
+    }
+}
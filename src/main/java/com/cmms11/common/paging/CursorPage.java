@@ -0,0 +1,25 @@
+package com.cmms11.common.paging;
+
+import java.util.List;
+import org.springframework.data.domain.Window;
+
+/**
+ * 이름: CursorPage
+ * 작성자: codex
+ * 작성일: 2026-10-18
+ * 수정일:
+ * 프로그램 개요: keyset 페이징 API 응답 모델. 다음 페이지 요청 시 nextCursor 를 cursor 파라미터로 전달한다.
+ */
+public record CursorPage<T>(List<T> content, int size, boolean hasNext, String nextCursor) {
+
+    public CursorPage {
+        content = content == null ? List.of() : List.copyOf(content);
+    }
+
+    public static <T> CursorPage<T> from(Window<T> window) {
+        String nextCursor = window.hasNext() && !window.isEmpty()
+            ? KeysetCursor.encode(window.positionAt(window.size() - 1))
+            : null;
+        return new CursorPage<>(window.getContent(), window.size(), window.hasNext(), nextCursor);
+    }
+}
@@ -0,0 +1,107 @@
+package com.cmms11.common.paging;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+/**
+ * 이름: KeysetCursor
+ * 작성자: codex
+ * 작성일: 2026-10-18
+ * 수정일:
+ * 프로그램 개요: 복합키(companyId, xxxId) 기준 keyset 페이징 유틸리티.
+ *               회사 내 ID 를 불투명 커서 토큰(Base64 URL)으로 변환하고, "ID > 마지막 ID" 조회 결과를
+ *               {@link Window} 로 감싼다. OFFSET/COUNT 없이 인덱스 탐색만으로 다음 페이지를 읽는다.
+ */
+public final class KeysetCursor {
+
+    public static final String KEY = "id";
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 200;
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * 커서 토큰 → 스크롤 위치 (토큰이 없으면 첫 페이지)
+     */
+    public static KeysetScrollPosition decode(String token) {
+        if (token == null || token.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String lastId = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            return ScrollPosition.forward(Map.of(KEY, lastId));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("유효하지 않은 커서입니다: " + token);
+        }
+    }
+
+    /**
+     * 스크롤 위치 → 커서 토큰
+     */
+    public static String encode(ScrollPosition position) {
+        if (!(position instanceof KeysetScrollPosition keyset) || keyset.isInitial()) {
+            return null;
+        }
+        Object lastId = keyset.getKeys().get(KEY);
+        if (lastId == null) {
+            return null;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(lastId.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 조회 시작 기준 ID (첫 페이지는 빈 문자열 → 전체)
+     */
+    public static String afterId(KeysetScrollPosition position) {
+        if (position == null || position.isInitial()) {
+            return "";
+        }
+        Object lastId = position.getKeys().get(KEY);
+        return lastId != null ? lastId.toString() : "";
+    }
+
+    /**
+     * 검색어 → LIKE 패턴 (공백/미입력은 null → 목록 쿼리의 ":keyword is null" 조건으로 전체 조회)
+     */
+    public static String keyword(String keyword) {
+        if (keyword == null || keyword.isBlank()) {
+            return null;
+        }
+        return "%" + keyword.trim() + "%";
+    }
+
+    /**
+     * 페이지 크기 보정
+     */
+    public static int pageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(size, MAX_SIZE);
+    }
+
+    /**
+     * 다음 페이지 존재 여부 확인을 위해 size + 1 건 조회 (COUNT 쿼리 없음)
+     */
+    public static Pageable fetchLimit(int size) {
+        return PageRequest.ofSize(size + 1);
+    }
+
+    /**
+     * size + 1 건 조회 결과 → Window
+     */
+    public static <T> Window<T> window(List<T> rows, int size, Function<T, String> idExtractor) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? List.copyOf(rows.subList(0, size)) : List.copyOf(rows);
+        return Window.from(content, index -> ScrollPosition.forward(Map.of(KEY, idExtractor.apply(content.get(index)))), hasNext);
+    }
+}
@@ -0,0 +1,111 @@
+package com.cmms11.common.search;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+/**
+ * 이름: KeywordSearch
+ * 작성자: codex
+ * 작성일: 2026-10-18
+ * 수정일:
+ * 프로그램 개요: 검색 레포지토리 조각(XxxSearchRepositoryImpl) 공통 구현.
+ *               2글자 이상 검색어는 n-gram 인덱스(SearchIndexService)로 ID 를 찾아 ID 목록으로 조회한 뒤 관련도 순으로 정렬하고,
+ *               1글자 검색어이거나 인덱스를 사용할 수 없으면 LIKE 검색으로 처리한다. LIKE 검색 정렬은 Pageable 의 Sort 를
+ *               따르며 페이지 경계가 흔들리지 않도록 ID 를 마지막 정렬 기준으로 덧붙인다.
+ *               엔티티별 레포지토리는 별칭(alias) 기준 필터/LIKE 조건 JPQL 조각과 파라미터만 넘긴다.
+ */
+public final class KeywordSearch<T> {
+
+    private final EntityManager entityManager;
+    private final ObjectProvider<SearchIndexService> searchIndex;
+    private final String indexType;
+    private final Class<T> entityType;
+    private final String entityName;
+    private final String alias;
+    private final String idProperty;
+    private final Function<T, String> idExtractor;
+
+    public KeywordSearch(
+        EntityManager entityManager,
+        ObjectProvider<SearchIndexService> searchIndex,
+        String indexType,
+        Class<T> entityType,
+        String alias,
+        String idProperty,
+        Function<T, String> idExtractor
+    ) {
+        this.entityManager = entityManager;
+        this.searchIndex = searchIndex;
+        this.indexType = indexType;
+        this.entityType = entityType;
+        this.entityName = entityManager.getMetamodel().entity(entityType).getName();
+        this.alias = alias;
+        this.idProperty = idProperty;
+        this.idExtractor = idExtractor;
+    }
+
+    /**
+     * 키워드 검색
+     *
+     * @param filter      공통 조건 JPQL (예: "p.id.companyId = :companyId and p.deleteMark = :deleteMark")
+     * @param likeFilter  LIKE 검색 조건 JPQL (:keyword 사용)
+     * @param parameters  공통 조건 파라미터
+     */
+    public Page<T> search(String companyId, String keyword, Pageable pageable,
+                          String filter, String likeFilter, Map<String, ?> parameters) {
+        SearchIndexService index = searchIndex.getIfAvailable();
+        if (index == null || !index.supports(keyword)) {
+            return searchLike(keyword, pageable, filter, likeFilter, parameters);
+        }
+
+        Page<String> ids = index.search(indexType, companyId, keyword, pageable);
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, ids.getTotalElements());
+        }
+        TypedQuery<T> query = entityManager.createQuery(
+            "select " + alias + from(filter) + " and " + alias + "." + idProperty + " in :ids", entityType);
+        parameters.forEach(query::setParameter);
+        List<T> rows = query.setParameter("ids", ids.getContent()).getResultList();
+        return new PageImpl<>(SearchIndexService.inOrder(ids.getContent(), rows, idExtractor), pageable, ids.getTotalElements());
+    }
+
+    private Page<T> searchLike(String keyword, Pageable pageable, String filter, String likeFilter, Map<String, ?> parameters) {
+        String where = from(filter) + " and " + likeFilter;
+        TypedQuery<T> query = entityManager.createQuery(
+            QueryUtils.applySorting("select " + alias + where, sortOf(pageable), alias), entityType);
+        parameters.forEach(query::setParameter);
+        query.setParameter("keyword", keyword);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<T> content = query.getResultList();
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            TypedQuery<Long> count = entityManager.createQuery("select count(" + alias + ")" + where, Long.class);
+            parameters.forEach(count::setParameter);
+            return count.setParameter("keyword", keyword).getSingleResult();
+        });
+    }
+
+    private String from(String filter) {
+        return " from " + entityName + " " + alias + " where " + filter;
+    }
+
+    private Sort sortOf(Pageable pageable) {
+        Sort sort = pageable.getSort();
+        if (sort.getOrderFor(idProperty) != null) {
+            return sort;
+        }
+        return sort.and(Sort.by(idProperty));
+    }
+}
@@ -0,0 +1,351 @@
+package com.cmms11.common.search;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.ngram.NGramTokenizer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 이름: SearchIndexService
+ * 작성자: codex
+ * 작성일: 2026-10-18
+ * 수정일:
+ * 프로그램 개요: 키워드 검색용 내장 Lucene 전문 인덱스.
+ *               ID/이름 등을 2~3글자 n-gram 으로 색인해 한글 부분 일치 검색을 인덱스로 처리하고,
+ *               결과는 관련도 순(동점은 ID 순)으로 ID 목록을 반환한다. 유형(plant, workorder ...)별로
+ *               별도 인덱스를 두며, 트랜잭션 안의 변경은 커밋 후에 한 번에 반영한다.
+ *               app.search.location 이 비어 있으면 메모리 인덱스를 사용한다.
+ */
+@Service
+public class SearchIndexService {
+
+    public static final int MIN_GRAM = 2;
+    public static final int MAX_GRAM = 3;
+    private static final int MAX_QUERY_GRAMS = 64;
+
+    private static final String FIELD_UID = "uid";
+    private static final String FIELD_COMPANY = "companyId";
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_ID_SORT = "idSort";
+    private static final String FIELD_TEXT = "text";
+
+    private final Path location;
+    private final Analyzer analyzer = new NGramAnalyzer();
+    private final Map<String, TypeIndex> indexes = new ConcurrentHashMap<>();
+
+    public SearchIndexService(@Value("${app.search.location:}") String location) {
+        this.location = location == null || location.isBlank() ? null : Paths.get(location).toAbsolutePath().normalize();
+    }
+
+    /**
+     * 문서 색인/갱신 (트랜잭션 커밋 후 반영)
+     */
+    public void index(String type, String companyId, String id, String... texts) {
+        enqueue(new IndexOp(type, companyId, id, joinTexts(texts)));
+    }
+
+    /**
+     * 문서 삭제 (트랜잭션 커밋 후 반영)
+     */
+    public void delete(String type, String companyId, String id) {
+        enqueue(new IndexOp(type, companyId, id, null));
+    }
+
+    /**
+     * 인덱스로 처리 가능한 검색어인지 확인 (n-gram 최소 길이 이상)
+     */
+    public boolean supports(String keyword) {
+        return normalize(keyword).length() >= MIN_GRAM;
+    }
+
+    /**
+     * 키워드 검색 (관련도 순 ID 페이지)
+     */
+    public Page<String> search(String type, String companyId, String keyword, Pageable pageable) {
+        String text = normalize(keyword);
+        BooleanQuery.Builder grams = new BooleanQuery.Builder();
+        for (String gram : queryGrams(text)) {
+            grams.add(new TermQuery(new Term(FIELD_TEXT, gram)), BooleanClause.Occur.MUST);
+        }
+        BooleanQuery query = new BooleanQuery.Builder()
+            .add(new TermQuery(new Term(FIELD_COMPANY, companyId)), BooleanClause.Occur.FILTER)
+            .add(grams.build(), BooleanClause.Occur.MUST)
+            .add(new BoostQuery(new TermQuery(new Term(FIELD_ID, keyword == null ? "" : keyword.replace("%", "").trim())), 5f),
+                BooleanClause.Occur.SHOULD)
+            .build();
+
+        TypeIndex index = open(type);
+        try {
+            IndexSearcher searcher = index.searcherManager.acquire();
+            try {
+                int total = searcher.count(query);
+                if (total == 0) {
+                    return new PageImpl<>(List.of(), pageable, 0);
+                }
+                long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+                int size = pageable.isPaged() ? pageable.getPageSize() : total;
+                if (offset >= total) {
+                    return new PageImpl<>(List.of(), pageable, total);
+                }
+                int limit = (int) Math.min(total, offset + size);
+                Sort sort = new Sort(SortField.FIELD_SCORE, new SortField(FIELD_ID_SORT, SortField.Type.STRING));
+                TopDocs top = searcher.search(query, limit, sort);
+                List<String> ids = new ArrayList<>();
+                ScoreDoc[] hits = top.scoreDocs;
+                for (int i = (int) offset; i < hits.length; i++) {
+                    ids.add(searcher.storedFields().document(hits[i].doc).get(FIELD_ID));
+                }
+                return new PageImpl<>(ids, pageable, total);
+            } finally {
+                index.searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("검색 인덱스 조회 실패: " + type, e);
+        }
+    }
+
+    /**
+     * 인덱스가 비어 있으면 전체 재색인 (최초 기동, 인덱스 유실 시)
+     */
+    public void rebuildIfEmpty(String type, Consumer<IndexBatch> loader) {
+        TypeIndex index = open(type);
+        if (index.writer.getDocStats().numDocs > 0) {
+            return;
+        }
+        try {
+            IndexBatch batch = new IndexBatch(index);
+            loader.accept(batch);
+            index.writer.commit();
+            index.searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException("검색 인덱스 재구성 실패: " + type, e);
+        }
+    }
+
+    /**
+     * 검색 결과 ID 순서대로 엔티티 정렬
+     */
+    public static <T> List<T> inOrder(List<String> ids, List<T> entities, Function<T, String> idExtractor) {
+        Map<String, T> byId = new HashMap<>();
+        for (T entity : entities) {
+            byId.put(idExtractor.apply(entity), entity);
+        }
+        List<T> ordered = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            T entity = byId.get(id);
+            if (entity != null) {
+                ordered.add(entity);
+            }
+        }
+        return ordered;
+    }
+
+    @PreDestroy
+    void close() {
+        for (TypeIndex index : indexes.values()) {
+            try {
+                index.searcherManager.close();
+                index.writer.close();
+                index.directory.close();
+            } catch (IOException ignored) {
+                // 종료 중 오류는 다음 기동 시 재색인으로 복구
+            }
+        }
+        indexes.clear();
+    }
+
+    private void enqueue(IndexOp op) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(List.of(op));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<IndexOp> pending = (List<IndexOp>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<IndexOp> ops = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, ops);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(ops);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(SearchIndexService.this);
+                }
+            });
+            pending = ops;
+        }
+        pending.add(op);
+    }
+
+    private void apply(List<IndexOp> ops) {
+        Map<String, List<IndexOp>> byType = new LinkedHashMap<>();
+        for (IndexOp op : ops) {
+            byType.computeIfAbsent(op.type(), key -> new ArrayList<>()).add(op);
+        }
+        byType.forEach((type, typeOps) -> {
+            TypeIndex index = open(type);
+            try {
+                for (IndexOp op : typeOps) {
+                    Term uid = new Term(FIELD_UID, uid(op.companyId(), op.id()));
+                    if (op.text() == null) {
+                        index.writer.deleteDocuments(uid);
+                    } else {
+                        index.writer.updateDocument(uid, document(op.companyId(), op.id(), op.text()));
+                    }
+                }
+                index.writer.commit();
+                index.searcherManager.maybeRefresh();
+            } catch (IOException e) {
+                throw new UncheckedIOException("검색 인덱스 반영 실패: " + type, e);
+            }
+        });
+    }
+
+    private TypeIndex open(String type) {
+        return indexes.computeIfAbsent(type, key -> {
+            try {
+                Directory directory;
+                if (location == null) {
+                    directory = new ByteBuffersDirectory();
+                } else {
+                    Path path = location.resolve(key);
+                    Files.createDirectories(path);
+                    directory = FSDirectory.open(path);
+                }
+                IndexWriterConfig config = new IndexWriterConfig(analyzer);
+                config.setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+                IndexWriter writer = new IndexWriter(directory, config);
+                return new TypeIndex(directory, writer, new SearcherManager(writer, null));
+            } catch (IOException e) {
+                throw new UncheckedIOException("검색 인덱스 열기 실패: " + key, e);
+            }
+        });
+    }
+
+    private static Document document(String companyId, String id, String text) {
+        Document document = new Document();
+        document.add(new StringField(FIELD_UID, uid(companyId, id), Field.Store.NO));
+        document.add(new StringField(FIELD_COMPANY, companyId, Field.Store.NO));
+        document.add(new StringField(FIELD_ID, id, Field.Store.YES));
+        document.add(new SortedDocValuesField(FIELD_ID_SORT, new BytesRef(id)));
+        document.add(new TextField(FIELD_TEXT, text, Field.Store.NO));
+        return document;
+    }
+
+    private static String uid(String companyId, String id) {
+        return companyId + ":" + id;
+    }
+
+    private static String joinTexts(String... texts) {
+        StringBuilder builder = new StringBuilder();
+        for (String text : texts) {
+            if (text != null && !text.isBlank()) {
+                if (!builder.isEmpty()) {
+                    builder.append('\n');
+                }
+                builder.append(text);
+            }
+        }
+        return builder.toString();
+    }
+
+    private static String normalize(String keyword) {
+        if (keyword == null) {
+            return "";
+        }
+        // 기존 LIKE 검색어('%q%')도 그대로 받을 수 있도록 와일드카드 제거
+        return keyword.replace("%", "").trim().toLowerCase(Locale.ROOT);
+    }
+
+    // 색인과 같은 n-gram 중 가장 긴 길이만 사용해 모든 조각을 포함하는 문서(부분 일치)를 찾는다.
+    private static List<String> queryGrams(String text) {
+        int gramSize = Math.min(MAX_GRAM, text.length());
+        List<String> grams = new ArrayList<>();
+        for (int i = 0; i + gramSize <= text.length() && grams.size() < MAX_QUERY_GRAMS; i++) {
+            grams.add(text.substring(i, i + gramSize));
+        }
+        return grams;
+    }
+
+    /**
+     * 재색인 배치
+     */
+    public static final class IndexBatch {
+        private final TypeIndex index;
+
+        private IndexBatch(TypeIndex index) {
+            this.index = index;
+        }
+
+        public void add(String companyId, String id, String... texts) {
+            try {
+                index.writer.updateDocument(new Term(FIELD_UID, uid(companyId, id)), document(companyId, id, joinTexts(texts)));
+            } catch (IOException e) {
+                throw new UncheckedIOException("검색 인덱스 재구성 실패", e);
+            }
+        }
+    }
+
+    private record IndexOp(String type, String companyId, String id, String text) {
+    }
+
+    private record TypeIndex(Directory directory, IndexWriter writer, SearcherManager searcherManager) {
+    }
+
+    private static final class NGramAnalyzer extends Analyzer {
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            Tokenizer tokenizer = new NGramTokenizer(MIN_GRAM, MAX_GRAM);
+            TokenStream stream = new LowerCaseFilter(tokenizer);
+            return new TokenStreamComponents(tokenizer, stream);
+        }
+    }
+}
@@ -1,47 +1,209 @@
 package com.cmms11.common.seq;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
 import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
+/**
+ * Hi/lo style ID allocator.
+ * A block of {@code blockSize} values is reserved from the {@code sequence} row in one short
+ * REQUIRES_NEW transaction and handed out from memory, so callers no longer hold the row lock
+ * for the lifetime of their own transaction. Values left in a block when it is discarded
+ * (shutdown, eviction) are never reused and are counted as gaps.
+ * Transactional IDs carry a 3-digit per-day sequence, so a dated key never hands out more than
+ * {@value #MAX_TX_SEQ} values: blocks are shortened near the end of the day and reservations
+ * beyond it fail with {@link IllegalStateException} before next_seq moves.
+ */
 @Service
 public class AutoNumberService {
+    static final String MASTER_DATE_KEY = "000000";
+    static final int MAX_TX_SEQ = 999;
+    private static final int MAX_CACHED_BLOCKS = 1024;
+
     private final SequenceRepository repository;
+    private final TransactionTemplate reserveTx;
+    private final MeterRegistry meterRegistry;
+    private final int masterBlockSize;
+    private final int txBlockSize;
+    private final Map<SequenceId, SequenceBlock> blocks = new ConcurrentHashMap<>();
+    private final Map<SequenceId, Object> refillLocks = new ConcurrentHashMap<>();
+    private final Map<String, Counter> blockCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> gapCounters = new ConcurrentHashMap<>();
 
-    public AutoNumberService(SequenceRepository repository) {
+    public AutoNumberService(
+        SequenceRepository repository,
+        PlatformTransactionManager transactionManager,
+        ObjectProvider<MeterRegistry> meterRegistry,
+        @Value("${app.sequence.master-block-size:50}") int masterBlockSize,
+        @Value("${app.sequence.tx-block-size:10}") int txBlockSize
+    ) {
         this.repository = repository;
+        this.reserveTx = new TransactionTemplate(transactionManager);
+        this.reserveTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.meterRegistry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        this.masterBlockSize = Math.max(1, masterBlockSize);
+        this.txBlockSize = Math.max(1, txBlockSize);
     }
 
     // Master ID: {moduleCode(1)}{9-digit seq}, dateKey fixed to '000000'
-    @Transactional
     public String generateMasterId(String companyId, String moduleCode) {
-        String dateKey = "000000";
-        int seq = getNextSequence(companyId, moduleCode, dateKey);
+        int seq = getNextSequence(companyId, moduleCode, MASTER_DATE_KEY);
         return moduleCode + String.format("%09d", seq);
     }
 
     // Transactional ID: {moduleCode(1)}{YYMMDD}{3-digit seq}
-    @Transactional
     public String generateTxId(String companyId, String moduleCode, LocalDate date) {
-        LocalDate dateKey = date == null ? LocalDate.now() : date;
-        String yymmdd = String.format("%1$ty%1$tm%1$td", dateKey);
+        String yymmdd = toDateKey(date);
         int seq = getNextSequence(companyId, moduleCode, yymmdd);
         return moduleCode + yymmdd + String.format("%03d", seq);
     }
 
-    @Transactional
+    // Reserves count consecutive transactional IDs in one block (bulk inserts).
+    public String[] generateTxIds(String companyId, String moduleCode, LocalDate date, int count) {
+        String yymmdd = toDateKey(date);
+        String[] ids = new String[count];
+        if (count <= 0) {
+            return ids;
+        }
+        int first = reserveRange(new SequenceId(companyId, moduleCode, yymmdd), count, false).start();
+        for (int i = 0; i < count; i++) {
+            ids[i] = moduleCode + yymmdd + String.format("%03d", first + i);
+        }
+        return ids;
+    }
+
+    // Reserves count consecutive master IDs in one block (bulk imports).
+    public String[] generateMasterIds(String companyId, String moduleCode, int count) {
+        String[] ids = new String[count];
+        if (count <= 0) {
+            return ids;
+        }
+        int first = reserveRange(new SequenceId(companyId, moduleCode, MASTER_DATE_KEY), count, false).start();
+        for (int i = 0; i < count; i++) {
+            ids[i] = moduleCode + String.format("%09d", first + i);
+        }
+        return ids;
+    }
+
     public int getNextSequence(String companyId, String moduleCode, String dateKey) {
-        Sequence seq = repository.findForUpdate(companyId, moduleCode, dateKey)
-            .orElseGet(() -> {
-                Sequence s = new Sequence();
-                s.setId(new SequenceId(companyId, moduleCode, dateKey));
-                s.setNextSeq(1); // TABLES.md default
-                return repository.save(s);
-            });
-        int next = (seq.getNextSeq() == null ? 1 : seq.getNextSeq());
-        seq.setNextSeq(next + 1);
-        repository.save(seq);
-        return next;
+        SequenceId key = new SequenceId(companyId, moduleCode, dateKey);
+        SequenceBlock block = blocks.get(key);
+        while (true) {
+            if (block != null) {
+                long value = block.next.getAndIncrement();
+                if (value < block.limit) {
+                    return Math.toIntExact(value);
+                }
+            }
+            block = refill(key, block);
+        }
+    }
+
+    @PreDestroy
+    void releaseBlocks() {
+        blocks.forEach((key, block) -> recordGap(key, block));
+        blocks.clear();
+    }
+
+    private SequenceBlock refill(SequenceId key, SequenceBlock exhausted) {
+        synchronized (refillLocks.computeIfAbsent(key, k -> new Object())) {
+            SequenceBlock current = blocks.get(key);
+            if (current != null && current != exhausted) {
+                return current;
+            }
+            int size = MASTER_DATE_KEY.equals(key.getDateKey()) ? masterBlockSize : txBlockSize;
+            Range range = reserveRange(key, size, true);
+            SequenceBlock fresh = new SequenceBlock(range.start(), range.start() + range.size());
+            if (blocks.size() >= MAX_CACHED_BLOCKS) {
+                evictTxBlocks();
+            }
+            blocks.put(key, fresh);
+            return fresh;
+        }
+    }
+
+    // Moves next_seq forward by size in its own short transaction and returns the reserved range.
+    // Dated keys stop at MAX_TX_SEQ: a partial reservation is shortened to what is left of the day,
+    // anything else that does not fit throws and leaves next_seq untouched.
+    private Range reserveRange(SequenceId key, int size, boolean allowPartial) {
+        Range range = reserveTx.execute(status -> {
+            Sequence seq = repository.findForUpdate(key.getCompanyId(), key.getModuleCode(), key.getDateKey())
+                .orElseGet(() -> {
+                    Sequence s = new Sequence();
+                    s.setId(new SequenceId(key.getCompanyId(), key.getModuleCode(), key.getDateKey()));
+                    s.setNextSeq(1); // TABLES.md default
+                    return s;
+                });
+            int next = (seq.getNextSeq() == null ? 1 : seq.getNextSeq());
+            int reserved = size;
+            if (!MASTER_DATE_KEY.equals(key.getDateKey()) && next + size - 1 > MAX_TX_SEQ) {
+                int left = MAX_TX_SEQ - next + 1;
+                if (!allowPartial || left <= 0) {
+                    throw new IllegalStateException(String.format(
+                        "거래번호 일련번호 한도(%d)를 초과했습니다: %s%s (다음 %d, 요청 %d건)",
+                        MAX_TX_SEQ, key.getModuleCode(), key.getDateKey(), next, size));
+                }
+                reserved = left;
+            }
+            seq.setNextSeq(next + reserved);
+            repository.save(seq);
+            return new Range(next, reserved);
+        });
+        blockCounters.computeIfAbsent(key.getModuleCode(), module -> Counter.builder("cmms.sequence.blocks")
+            .description("Sequence blocks reserved from the sequence table")
+            .tag("module", module)
+            .register(meterRegistry))
+            .increment();
+        return range;
+    }
+
+    // Drops cached blocks of transactional (dated) keys; master keys stay cached.
+    private void evictTxBlocks() {
+        blocks.entrySet().removeIf(entry -> {
+            if (MASTER_DATE_KEY.equals(entry.getKey().getDateKey())) {
+                return false;
+            }
+            recordGap(entry.getKey(), entry.getValue());
+            return true;
+        });
+    }
+
+    private void recordGap(SequenceId key, SequenceBlock block) {
+        long unused = block.limit - Math.min(block.next.get(), block.limit);
+        if (unused > 0) {
+            gapCounters.computeIfAbsent(key.getModuleCode(), module -> Counter.builder("cmms.sequence.gaps")
+                .description("Reserved sequence values discarded without being issued")
+                .tag("module", module)
+                .register(meterRegistry))
+                .increment(unused);
+        }
+    }
+
+    private static String toDateKey(LocalDate date) {
+        LocalDate dateKey = date == null ? LocalDate.now() : date;
+        return String.format("%1$ty%1$tm%1$td", dateKey);
+    }
+
+    private record Range(int start, int size) {}
+
+    private static final class SequenceBlock {
+        private final AtomicLong next;
+        private final long limit;
+
+        private SequenceBlock(long start, long limit) {
+            this.next = new AtomicLong(start);
+            this.limit = limit;
+        }
     }
 }
@@ -0,0 +1,155 @@
+package com.cmms11.common.upload;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 이름: CsvChunkImporter
+ * 작성자: codex
+ * 작성일: 2026-10-18
+ * 수정일:
+ * 프로그램 개요: CSV 대량 업로드를 chunk-size 행 단위로 스트리밍 처리하는 공통 도우미.
+ *               청크마다 처리 후 flush(JDBC 배치) 와 clear 를 수행해 영속성 컨텍스트와 힙 사용량을 일정하게 유지한다.
+ *               chunk-size 는 hibernate.jdbc.batch_size 와 같게 두는 것을 권장한다.
+ *               행 변환/검증은 전용 fork-join 풀에서 배치 단위로 병렬 실행하되 결과는 원래 행 순서대로 돌려준다.
+ */
+@Component
+public class CsvChunkImporter {
+
+    private final EntityManager entityManager;
+    private final int chunkSize;
+    private final int parseBatchSize;
+    private final ForkJoinPool parsePool;
+
+    public CsvChunkImporter(
+        EntityManager entityManager,
+        @Value("${app.bulk-upload.chunk-size:500}") int chunkSize,
+        @Value("${app.bulk-upload.parse-batch-size:64}") int parseBatchSize,
+        @Value("${app.bulk-upload.parallelism:0}") int parallelism
+    ) {
+        this.entityManager = entityManager;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.parseBatchSize = Math.max(1, parseBatchSize);
+        this.parsePool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        parsePool.shutdown();
+    }
+
+    /**
+     * 빈 행을 건너뛰며 chunk-size 개씩 handler 에 전달하고, 청크마다 flush/clear
+     */
+    public void forEachChunk(CSVParser parser, Consumer<List<CSVRecord>> handler) {
+        List<CSVRecord> chunk = new ArrayList<>(chunkSize);
+        for (CSVRecord record : parser) {
+            if (CsvUtils.isEmptyRecord(record)) {
+                continue;
+            }
+            chunk.add(record);
+            if (chunk.size() == chunkSize) {
+                flushChunk(chunk, handler);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            flushChunk(chunk, handler);
+        }
+    }
+
+    /**
+     * 청크마다 mapper 로 행을 병렬 변환한 뒤 행 순서를 유지한 결과를 handler 에 전달
+     * mapper 는 엔티티 매니저/보안 컨텍스트에 접근하지 않는 순수 함수여야 한다.
+     */
+    public <T> void forEachChunk(
+        CSVParser parser,
+        Function<CSVRecord, T> mapper,
+        Consumer<List<CsvRow<T>>> handler
+    ) {
+        forEachChunk(parser, chunk -> handler.accept(mapRows(chunk, mapper)));
+    }
+
+    /**
+     * 행 변환. IllegalArgumentException 은 해당 행의 오류로 기록하고 나머지 예외는 그대로 전파한다.
+     */
+    public <T> List<CsvRow<T>> mapRows(List<CSVRecord> records, Function<CSVRecord, T> mapper) {
+        @SuppressWarnings("unchecked")
+        CsvRow<T>[] rows = new CsvRow[records.size()];
+        MapTask<T> task = new MapTask<>(records, mapper, rows, 0, rows.length);
+        if (rows.length <= parseBatchSize) {
+            task.compute();
+        } else {
+            parsePool.invoke(task);
+        }
+        return Arrays.asList(rows);
+    }
+
+    /**
+     * 신규 엔티티 저장. 식별자를 직접 지정한 엔티티도 merge 의 사전 SELECT 없이 INSERT 배치에 포함된다.
+     */
+    public void persist(Object entity) {
+        entityManager.persist(entity);
+    }
+
+    private void flushChunk(List<CSVRecord> chunk, Consumer<List<CSVRecord>> handler) {
+        handler.accept(chunk);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private static <T> CsvRow<T> mapRow(CSVRecord record, Function<CSVRecord, T> mapper) {
+        int rowNumber = CsvUtils.displayRowNumber(record);
+        try {
+            return new CsvRow<>(rowNumber, record, mapper.apply(record), null);
+        } catch (IllegalArgumentException ex) {
+            return new CsvRow<>(rowNumber, record, null, ex.getMessage());
+        }
+    }
+
+    /**
+     * [from, to) 구간을 parse-batch-size 이하가 될 때까지 나눠 각 슬롯에 결과를 기록 (순서 보존)
+     */
+    private final class MapTask<T> extends RecursiveAction {
+
+        private final List<CSVRecord> records;
+        private final Function<CSVRecord, T> mapper;
+        private final CsvRow<T>[] rows;
+        private final int from;
+        private final int to;
+
+        private MapTask(List<CSVRecord> records, Function<CSVRecord, T> mapper, CsvRow<T>[] rows, int from, int to) {
+            this.records = records;
+            this.mapper = mapper;
+            this.rows = rows;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= parseBatchSize) {
+                for (int i = from; i < to; i++) {
+                    rows[i] = mapRow(records.get(i), mapper);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(
+                new MapTask<>(records, mapper, rows, from, mid),
+                new MapTask<>(records, mapper, rows, mid, to)
+            );
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.cmms11.common.upload;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+/**
+ * 이름: CsvColumns
+ * 작성자: codex
+ * 작성일: 2026-10-18
+ * 수정일:
+ * 프로그램 개요: 업로드 시작 시 헤더를 한 번만 정규화해 컬럼별 인덱스로 고정(compile)한 접근자 모음.
+ *               행마다 헤더 문자열 정규화와 Map 조회를 반복하지 않고 인덱스로 바로 셀을 읽어 타입 변환한다.
+ */
+public final class CsvColumns {
+
+    private final Map<String, Integer> headerIndex;
+
+    private CsvColumns(Map<String, Integer> headerIndex) {
+        this.headerIndex = headerIndex;
+    }
+
+    /**
+     * 헤더 정규화/중복 검사 후 필수 헤더 확인
+     */
+    public static CsvColumns compile(CSVParser parser, String... requiredHeaders) {
+        Map<String, Integer> headerIndex = CsvUtils.normalizeHeaderMap(parser);
+        CsvUtils.requireHeaders(headerIndex, List.of(requiredHeaders));
+        return new CsvColumns(headerIndex);
+    }
+
+    /**
+     * 컬럼 접근자. 헤더에 없는 컬럼은 항상 null 을 돌려준다.
+     */
+    public Column column(String name) {
+        Integer index = headerIndex.get(CsvUtils.normalizeHeader(name));
+        return new Column(name, index != null ? index : -1);
+    }
+
+    public static final class Column {
+
+        private final String name;
+        private final int index;
+
+        private Column(String name, int index) {
+            this.name = name;
+            this.index = index;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public boolean present() {
+            return index >= 0;
+        }
+
+        /**
+         * 공백 제거 후 빈 값은 null
+         */
+        public String get(CSVRecord record) {
+            if (index < 0 || index >= record.size()) {
+                return null;
+            }
+            String raw = record.get(index);
+            if (raw == null) {
+                return null;
+            }
+            String trimmed = raw.trim();
+            return trimmed.isEmpty() ? null : trimmed;
+        }
+
+        public String require(CSVRecord record) {
+            return CsvUtils.requireNonBlank(get(record), name);
+        }
+
+        public Integer getInteger(CSVRecord record) {
+            return CsvUtils.toInteger(get(record), name);
+        }
+
+        public BigDecimal getBigDecimal(CSVRecord record) {
+            return CsvUtils.toBigDecimal(get(record), name);
+        }
+
+        public LocalDate getLocalDate(CSVRecord record) {
+            return CsvUtils.toLocalDate(get(record), name);
+        }
+
+        /**
+         * Y/N 플래그 (대소문자 무시)
+         */
+        public String getFlag(CSVRecord record) {
+            String value = get(record);
+            if (value == null) {
+                return null;
+            }
+            String upper = value.toUpperCase(Locale.ROOT);
+            if (!upper.equals("Y") && !upper.equals("N")) {
+                throw new IllegalArgumentException(name + " 값은 Y 또는 N 이어야 합니다: " + value);
+            }
+            return upper;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.cmms11.common.upload;
+
+import org.apache.commons.csv.CSVRecord;
+
+/**
+ * 이름: CsvRow
+ * 작성자: codex
+ * 작성일: 2026-10-18
+ * 수정일:
+ * 프로그램 개요: 검증 단계를 거친 CSV 한 행. 변환에 성공하면 value, 실패하면 error 메시지를 가진다.
+ */
+public record CsvRow<T>(int rowNumber, CSVRecord record, T value, String error) {
+
+    public boolean valid() {
+        return error == null;
+    }
+}
@@ -0,0 +1,79 @@
+package com.cmms11.config;
+
+import java.net.URI;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3AsyncClientBuilder;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+/**
+ * 이름: S3Config
+ * 작성자: codex
+ * 작성일: 2026-10-18
+ * 수정일:
+ * 프로그램 개요: S3 비동기 클라이언트/Presigner 설정. 커넥션 풀과 호출 타임아웃을 제한하고,
+ *               endpoint 를 지정하면 MinIO/LocalStack 같은 S3 호환 저장소를 사용한다.
+ */
+@Configuration
+public class S3Config {
+
+    private final Region region;
+    private final String endpoint;
+    private final boolean pathStyleAccess;
+
+    public S3Config(
+        @Value("${aws.s3.region:ap-northeast-2}") String region,
+        @Value("${aws.s3.endpoint:}") String endpoint,
+        @Value("${aws.s3.path-style-access:false}") boolean pathStyleAccess
+    ) {
+        this.region = Region.of(region);
+        this.endpoint = endpoint;
+        this.pathStyleAccess = pathStyleAccess;
+    }
+
+    @Bean(destroyMethod = "close")
+    public S3AsyncClient s3AsyncClient(
+        @Value("${aws.s3.max-connections:64}") int maxConnections,
+        @Value("${aws.s3.connection-acquire-timeout:5s}") Duration acquireTimeout,
+        @Value("${aws.s3.api-call-timeout:30s}") Duration apiCallTimeout,
+        @Value("${aws.s3.api-call-attempt-timeout:10s}") Duration attemptTimeout
+    ) {
+        S3AsyncClientBuilder builder = S3AsyncClient.builder()
+            .region(region)
+            .credentialsProvider(DefaultCredentialsProvider.create())
+            .httpClientBuilder(NettyNioAsyncHttpClient.builder()
+                .maxConcurrency(maxConnections)
+                .connectionAcquisitionTimeout(acquireTimeout)
+                .connectionMaxIdleTime(Duration.ofSeconds(60)))
+            .overrideConfiguration(ClientOverrideConfiguration.builder()
+                .apiCallTimeout(apiCallTimeout)
+                .apiCallAttemptTimeout(attemptTimeout)
+                .build())
+            .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(pathStyleAccess).build());
+        if (StringUtils.hasText(endpoint)) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        return builder.build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public S3Presigner s3Presigner() {
+        S3Presigner.Builder builder = S3Presigner.builder()
+            .region(region)
+            .credentialsProvider(DefaultCredentialsProvider.create())
+            .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(pathStyleAccess).build());
+        if (StringUtils.hasText(endpoint)) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,16 @@
+package com.cmms11.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 이름: SchedulingConfig
+ * 작성자: codex
+ * 작성일: 2026-10-18
+ * 수정일:
+ * 프로그램 개요: 주기 작업(@Scheduled) 활성화.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
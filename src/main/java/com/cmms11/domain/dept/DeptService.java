@@ -1,12 +1,16 @@
 package com.cmms11.domain.dept;
 
+import com.cmms11.common.cache.ReferenceDataCache;
+import com.cmms11.common.cache.ReferenceDataCaches;
 import com.cmms11.common.error.NotFoundException;
 import com.cmms11.security.MemberUserDetailsService;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -26,14 +30,19 @@ public class DeptService {
 
 
     private final DeptRepository repository;
+    private final ReferenceDataCache<List<DeptResponse>> cache;
 
-    public DeptService(DeptRepository repository) {
+    public DeptService(DeptRepository repository, ReferenceDataCaches caches) {
         this.repository = repository;
+        this.cache = caches.create("dept");
     }
 
     @Transactional(readOnly = true)
     public Page<DeptResponse> list(String keyword, Pageable pageable) {
         String companyId = MemberUserDetailsService.DEFAULT_COMPANY;
+        if ((keyword == null || keyword.isBlank()) && pageable.getSort().isUnsorted()) {
+            return ReferenceDataCache.page(activeList(companyId), pageable);
+        }
         Page<Dept> page;
         if (keyword == null || keyword.isBlank()) {
             page = repository.findByIdCompanyIdAndDeleteMark(companyId, "N", pageable);
@@ -55,6 +64,7 @@ public class DeptService {
 
     public DeptResponse create(DeptRequest request) {
         String companyId = MemberUserDetailsService.DEFAULT_COMPANY;
+        cache.invalidate(companyId);
         Optional<Dept> existing = repository.findByIdCompanyIdAndIdDeptId(companyId, request.deptId());
         LocalDateTime now = LocalDateTime.now();
         String memberId = currentMemberId();
@@ -93,6 +103,7 @@ public class DeptService {
     }
 
     public DeptResponse update(String deptId, DeptRequest request) {
+        cache.invalidate(MemberUserDetailsService.DEFAULT_COMPANY);
         Dept existing = getActiveDept(deptId);
         existing.setName(request.name());
         existing.setPhone(request.phone());
@@ -106,6 +117,7 @@ public class DeptService {
     }
 
     public void delete(String deptId) {
+        cache.invalidate(MemberUserDetailsService.DEFAULT_COMPANY);
         Dept existing = getActiveDept(deptId);
         existing.setDeleteMark("Y");
         existing.setUpdatedAt(LocalDateTime.now());
@@ -113,6 +125,18 @@ public class DeptService {
         repository.save(existing);
     }
 
+    /**
+     * 회사별 사용 중 부서 전체 목록 스냅샷 (폼 드롭다운용, 캐시)
+     */
+    private List<DeptResponse> activeList(String companyId) {
+        return cache.get(companyId, () -> List.copyOf(
+            repository
+                .findByIdCompanyIdAndDeleteMark(companyId, "N", Pageable.unpaged(Sort.by("id.deptId")))
+                .map(DeptResponse::from)
+                .getContent()
+        ));
+    }
+
     private Dept getActiveDept(String deptId) {
         return repository.findByIdCompanyIdAndIdDeptId(MemberUserDetailsService.DEFAULT_COMPANY, deptId)
             .filter(dept -> !"Y".equalsIgnoreCase(dept.getDeleteMark()))
@@ -1,11 +1,15 @@
 package com.cmms11.domain.func;
 
+import com.cmms11.common.cache.ReferenceDataCache;
+import com.cmms11.common.cache.ReferenceDataCaches;
 import com.cmms11.common.error.NotFoundException;
 import com.cmms11.security.MemberUserDetailsService;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -23,15 +27,20 @@ import org.springframework.transaction.annotation.Transactional;
 public class FuncService {
 
     private final FuncRepository repository;
+    private final ReferenceDataCache<List<FuncResponse>> cache;
 
-    public FuncService(FuncRepository repository) {
+    public FuncService(FuncRepository repository, ReferenceDataCaches caches) {
         this.repository = repository;
+        this.cache = caches.create("func");
     }
 
     @Transactional(readOnly = true)
 
     public Page<FuncResponse> list(String keyword, Pageable pageable) {
         String companyId = MemberUserDetailsService.DEFAULT_COMPANY;
+        if ((keyword == null || keyword.isBlank()) && pageable.getSort().isUnsorted()) {
+            return ReferenceDataCache.page(activeList(companyId), pageable);
+        }
         Page<Func> page;
         if (keyword == null || keyword.isBlank()) {
             page = repository.findByIdCompanyIdAndDeleteMark(companyId, "N", pageable);
@@ -53,6 +62,7 @@ public class FuncService {
 
     public FuncResponse create(FuncRequest request) {
         String companyId = MemberUserDetailsService.DEFAULT_COMPANY;
+        cache.invalidate(companyId);
         Optional<Func> existing = repository.findByIdCompanyIdAndIdFuncId(companyId, request.funcId());
         LocalDateTime now = LocalDateTime.now();
         String memberId = currentMemberId();
@@ -83,6 +93,7 @@ public class FuncService {
     }
 
     public FuncResponse update(String funcId, FuncRequest request) {
+        cache.invalidate(MemberUserDetailsService.DEFAULT_COMPANY);
         Func existing = getActiveFunc(funcId);
         existing.setName(request.name());
         existing.setNote(request.note());
@@ -92,6 +103,7 @@ public class FuncService {
     }
 
     public void delete(String funcId) {
+        cache.invalidate(MemberUserDetailsService.DEFAULT_COMPANY);
         Func existing = getActiveFunc(funcId);
         existing.setDeleteMark("Y");
         existing.setUpdatedAt(LocalDateTime.now());
@@ -99,6 +111,18 @@ public class FuncService {
         repository.save(existing);
     }
 
+    /**
+     * 회사별 사용 중 기능위치 전체 목록 스냅샷 (폼 드롭다운용, 캐시)
+     */
+    private List<FuncResponse> activeList(String companyId) {
+        return cache.get(companyId, () -> List.copyOf(
+            repository
+                .findByIdCompanyIdAndDeleteMark(companyId, "N", Pageable.unpaged(Sort.by("id.funcId")))
+                .map(FuncResponse::from)
+                .getContent()
+        ));
+    }
+
     private Func getActiveFunc(String funcId) {
         return repository.findByIdCompanyIdAndIdFuncId(MemberUserDetailsService.DEFAULT_COMPANY, funcId)
             .filter(func -> !"Y".equalsIgnoreCase(func.getDeleteMark()))
@@ -1,11 +1,15 @@
 package com.cmms11.domain.site;
 
+import com.cmms11.common.cache.ReferenceDataCache;
+import com.cmms11.common.cache.ReferenceDataCaches;
 import com.cmms11.common.error.NotFoundException;
 import com.cmms11.security.MemberUserDetailsService;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -24,15 +28,20 @@ import org.springframework.transaction.annotation.Transactional;
 public class SiteService {
 
     private final SiteRepository repository;
+    private final ReferenceDataCache<List<SiteResponse>> cache;
 
-    public SiteService(SiteRepository repository) {
+    public SiteService(SiteRepository repository, ReferenceDataCaches caches) {
         this.repository = repository;
+        this.cache = caches.create("site");
     }
 
     @Transactional(readOnly = true)
 
     public Page<SiteResponse> list(String keyword, Pageable pageable) {
         String companyId = MemberUserDetailsService.DEFAULT_COMPANY;
+        if ((keyword == null || keyword.isBlank()) && pageable.getSort().isUnsorted()) {
+            return ReferenceDataCache.page(activeList(companyId), pageable);
+        }
         Page<Site> page;
         if (keyword == null || keyword.isBlank()) {
             page = repository.findByIdCompanyIdAndDeleteMark(companyId, "N", pageable);
@@ -54,6 +63,7 @@ public class SiteService {
 
     public SiteResponse create(SiteRequest request) {
         String companyId = MemberUserDetailsService.DEFAULT_COMPANY;
+        cache.invalidate(companyId);
         Optional<Site> existing = repository.findByIdCompanyIdAndIdSiteId(companyId, request.siteId());
         LocalDateTime now = LocalDateTime.now();
         String memberId = currentMemberId();
@@ -90,6 +100,7 @@ public class SiteService {
     }
 
     public SiteResponse update(String siteId, SiteRequest request) {
+        cache.invalidate(MemberUserDetailsService.DEFAULT_COMPANY);
         Site existing = getActiveSite(siteId);
         existing.setName(request.name());
         existing.setPhone(request.phone());
@@ -102,6 +113,7 @@ public class SiteService {
     }
 
     public void delete(String siteId) {
+        cache.invalidate(MemberUserDetailsService.DEFAULT_COMPANY);
         Site existing = getActiveSite(siteId);
         existing.setDeleteMark("Y");
         existing.setUpdatedAt(LocalDateTime.now());
@@ -109,6 +121,18 @@ public class SiteService {
         repository.save(existing);
     }
 
+    /**
+     * 회사별 사용 중 사업장 전체 목록 스냅샷 (폼 드롭다운용, 캐시)
+     */
+    private List<SiteResponse> activeList(String companyId) {
+        return cache.get(companyId, () -> List.copyOf(
+            repository
+                .findByIdCompanyIdAndDeleteMark(companyId, "N", Pageable.unpaged(Sort.by("id.siteId")))
+                .map(SiteResponse::from)
+                .getContent()
+        ));
+    }
+
     private Site getActiveSite(String siteId) {
         return repository.findByIdCompanyIdAndIdSiteId(MemberUserDetailsService.DEFAULT_COMPANY, siteId)
             .filter(site -> !"Y".equalsIgnoreCase(site.getDeleteMark()))
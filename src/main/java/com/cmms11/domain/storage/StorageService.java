@@ -1,11 +1,15 @@
 package com.cmms11.domain.storage;
 
+import com.cmms11.common.cache.ReferenceDataCache;
+import com.cmms11.common.cache.ReferenceDataCaches;
 import com.cmms11.common.error.NotFoundException;
 import com.cmms11.security.MemberUserDetailsService;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -23,15 +27,20 @@ import org.springframework.transaction.annotation.Transactional;
 public class StorageService {
 
     private final StorageRepository repository;
+    private final ReferenceDataCache<List<StorageResponse>> cache;
 
-    public StorageService(StorageRepository repository) {
+    public StorageService(StorageRepository repository, ReferenceDataCaches caches) {
         this.repository = repository;
+        this.cache = caches.create("storage");
     }
 
     @Transactional(readOnly = true)
 
     public Page<StorageResponse> list(String keyword, Pageable pageable) {
         String companyId = MemberUserDetailsService.DEFAULT_COMPANY;
+        if ((keyword == null || keyword.isBlank()) && pageable.getSort().isUnsorted()) {
+            return ReferenceDataCache.page(activeList(companyId), pageable);
+        }
         Page<Storage> page;
         if (keyword == null || keyword.isBlank()) {
             page = repository.findByIdCompanyIdAndDeleteMark(companyId, "N", pageable);
@@ -53,6 +62,7 @@ public class StorageService {
 
     public StorageResponse create(StorageRequest request) {
         String companyId = MemberUserDetailsService.DEFAULT_COMPANY;
+        cache.invalidate(companyId);
         Optional<Storage> existing = repository.findByIdCompanyIdAndIdStorageId(companyId, request.storageId());
         LocalDateTime now = LocalDateTime.now();
         String memberId = currentMemberId();
@@ -83,6 +93,7 @@ public class StorageService {
     }
 
     public StorageResponse update(String storageId, StorageRequest request) {
+        cache.invalidate(MemberUserDetailsService.DEFAULT_COMPANY);
         Storage existing = getActiveStorage(storageId);
         existing.setName(request.name());
         existing.setNote(request.note());
@@ -92,6 +103,7 @@ public class StorageService {
     }
 
     public void delete(String storageId) {
+        cache.invalidate(MemberUserDetailsService.DEFAULT_COMPANY);
         Storage existing = getActiveStorage(storageId);
         existing.setDeleteMark("Y");
         existing.setUpdatedAt(LocalDateTime.now());
@@ -99,6 +111,18 @@ public class StorageService {
         repository.save(existing);
     }
 
+    /**
+     * 회사별 사용 중 창고 전체 목록 스냅샷 (폼 드롭다운용, 캐시)
+     */
+    private List<StorageResponse> activeList(String companyId) {
+        return cache.get(companyId, () -> List.copyOf(
+            repository
+                .findByIdCompanyIdAndDeleteMark(companyId, "N", Pageable.unpaged(Sort.by("id.storageId")))
+                .map(StorageResponse::from)
+                .getContent()
+        ));
+    }
+
     private Storage getActiveStorage(String storageId) {
         return repository.findByIdCompanyIdAndIdStorageId(MemberUserDetailsService.DEFAULT_COMPANY, storageId)
             .filter(storage -> !"Y".equalsIgnoreCase(storage.getDeleteMark()))
@@ -0,0 +1,236 @@
+package com.cmms11.file;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 이름: BlobStore
+ * 작성자: codex
+ * 작성일: 2026-10-18
+ * 수정일:
+ * 프로그램 개요: SHA-256 기준 콘텐츠 주소 파일 저장소. 같은 내용은 blobs/ab/cd/{sha256} 하나만 저장하고,
+ *               참조 수는 해당 storage_path 를 가리키는 사용 중 FileItem 수로 판단한다.
+ */
+@Component
+class BlobStore {
+
+    static final String BLOB_DIR = "blobs";
+    static final String TMP_DIR = "tmp";
+    private static final int LOCK_STRIPES = 64;
+
+    private final Path storageRoot;
+    private final Path blobRoot;
+    private final Path tmpRoot;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    // 커밋 전 업로드가 참조 중인 blob (DB 참조 수에 아직 반영되지 않은 참조)
+    private final Map<String, Integer> pins = new ConcurrentHashMap<>();
+
+    BlobStore(@Value("${app.file-storage.location:storage/uploads}") String storageLocation) {
+        this.storageRoot = Paths.get(storageLocation).toAbsolutePath().normalize();
+        this.blobRoot = storageRoot.resolve(BLOB_DIR);
+        this.tmpRoot = storageRoot.resolve(TMP_DIR);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        try {
+            Files.createDirectories(blobRoot);
+            Files.createDirectories(tmpRoot);
+        } catch (IOException e) {
+            throw new IllegalStateException("파일 저장소를 초기화할 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * 내용을 해시하며 임시 파일로 받은 뒤, 같은 blob 이 없을 때만 저장소로 이동
+     * 반환된 blob 은 고정(pin)되어 동시 삭제로부터 보호되며, 호출자가 settle 로 해제해야 한다.
+     * 작업 스레드에서 호출할 수 있다.
+     */
+    StoredBlob store(InputStream content) {
+        Path tmp = null;
+        try {
+            Files.createDirectories(tmpRoot);
+            tmp = Files.createTempFile(tmpRoot, "upload-", ".part");
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long size;
+            try (InputStream in = content; OutputStream out = new DigestOutputStream(Files.newOutputStream(tmp), digest)) {
+                size = in.transferTo(out);
+            }
+            String checksum = HexFormat.of().formatHex(digest.digest());
+            Path target = blobPath(checksum);
+            String storagePath = relativize(target);
+            boolean reused;
+            synchronized (lockFor(storagePath)) {
+                pin(storagePath);
+                try {
+                    reused = Files.exists(target);
+                    if (reused) {
+                        Files.delete(tmp);
+                    } else {
+                        Files.createDirectories(target.getParent());
+                        move(tmp, target);
+                    }
+                } catch (IOException e) {
+                    // settle 에 넘겨지지 않으므로 여기서 고정을 풀어야 정리 작업이 이 blob 을 영구히 건너뛰지 않는다.
+                    unpin(storagePath);
+                    throw e;
+                }
+            }
+            tmp = null;
+            return new StoredBlob(checksum, storagePath, size, reused);
+        } catch (IOException e) {
+            throw new IllegalStateException("파일을 저장할 수 없습니다.", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("지원되지 않는 해시 알고리즘입니다.", e);
+        } finally {
+            deleteQuietly(tmp);
+        }
+    }
+
+    /**
+     * 이미 해시를 계산한 임시 파일(분할 업로드 결과)을 복사 없이 저장소로 이동
+     * 같은 blob 이 있으면 임시 파일을 지운다. store 와 마찬가지로 고정(pin)된 blob 을 반환한다.
+     */
+    StoredBlob adopt(Path file, String checksum) {
+        Path target = blobPath(checksum);
+        String storagePath = relativize(target);
+        synchronized (lockFor(storagePath)) {
+            pin(storagePath);
+            try {
+                long size = Files.size(file);
+                boolean reused = Files.exists(target);
+                if (reused) {
+                    Files.delete(file);
+                } else {
+                    Files.createDirectories(target.getParent());
+                    move(file, target);
+                }
+                return new StoredBlob(checksum, storagePath, size, reused);
+            } catch (IOException e) {
+                unpin(storagePath);
+                throw new IllegalStateException("파일을 저장할 수 없습니다.", e);
+            }
+        }
+    }
+
+    /**
+     * 업로드 트랜잭션 종료 시 고정 해제. 롤백되면 이번에 새로 만든 blob 중 참조 없는 파일을 삭제한다.
+     * 트랜잭션을 시작한 스레드에서 호출해야 한다.
+     */
+    void settle(List<StoredBlob> blobs, ToLongFunction<String> activeReferences) {
+        if (blobs.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            blobs.forEach(blob -> unpin(blob.storagePath()));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                blobs.forEach(blob -> unpin(blob.storagePath()));
+                if (status == STATUS_COMMITTED) {
+                    return;
+                }
+                for (StoredBlob blob : blobs) {
+                    if (!blob.reused()) {
+                        unlinkIfUnreferenced(blob.storagePath(), () -> activeReferences.applyAsLong(blob.storagePath()));
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * 고아 파일 정리용 즉시 삭제. 업로드 중(pin)이거나 참조가 있으면 건너뛰며 삭제한 바이트 수를 반환한다.
+     */
+    long reclaim(String storagePath, LongSupplier activeReferences) {
+        return unlinkIfUnreferenced(storagePath, activeReferences);
+    }
+
+    Path resolve(String storagePath) {
+        return storageRoot.resolve(storagePath).normalize();
+    }
+
+    Path root() {
+        return storageRoot;
+    }
+
+    String relativize(Path path) {
+        return storageRoot.relativize(path).toString().replace('\\', '/');
+    }
+
+    private long unlinkIfUnreferenced(String storagePath, LongSupplier activeReferences) {
+        Path path = resolve(storagePath);
+        if (!path.startsWith(storageRoot)) {
+            return 0;
+        }
+        synchronized (lockFor(storagePath)) {
+            if (pins.containsKey(storagePath) || activeReferences.getAsLong() > 0) {
+                return 0;
+            }
+            try {
+                long size = Files.isRegularFile(path) ? Files.size(path) : 0;
+                return Files.deleteIfExists(path) ? size : 0;
+            } catch (IOException e) {
+                throw new IllegalStateException("파일을 삭제할 수 없습니다: " + storagePath, e);
+            }
+        }
+    }
+
+    private void pin(String storagePath) {
+        pins.merge(storagePath, 1, Integer::sum);
+    }
+
+    private void unpin(String storagePath) {
+        pins.computeIfPresent(storagePath, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private Path blobPath(String checksum) {
+        return blobRoot.resolve(checksum.substring(0, 2)).resolve(checksum.substring(2, 4)).resolve(checksum);
+    }
+
+    private Object lockFor(String storagePath) {
+        return locks[Math.floorMod(storagePath.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // 임시 파일은 다음 정리 작업에서 제거
+        }
+    }
+
+    record StoredBlob(String checksum, String storagePath, long size, boolean reused) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.cmms11.file;
+
+public record ChunkedUploadRequest(
+    String groupId,
+    String refEntity,
+    String refId,
+    String fileName,
+    Long size,
+    String mimeType
+) {
+}
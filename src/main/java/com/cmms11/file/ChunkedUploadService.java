@@ -0,0 +1,377 @@
+package com.cmms11.file;
+
+import com.cmms11.common.error.ConflictException;
+import com.cmms11.common.error.NotFoundException;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+/**
+ * 이름: ChunkedUploadService
+ * 작성자: codex
+ * 작성일: 2026-10-18
+ * 수정일:
+ * 프로그램 개요: 대용량 첨부파일 분할(재개 가능) 업로드. 세션을 만든 뒤 청크를 현재 오프셋 위치에 FileChannel 로 이어 쓰고,
+ *               SHA-256 을 청크마다 누적 계산한다. 완료 시 임시 파일을 복사 없이 BlobStore 로 옮기고 FileItem 을 만든다.
+ *               청크는 고정 크기 버퍼로 스트리밍하므로 파일 크기와 무관하게 힙 사용량이 일정하다.
+ *               세션 정보는 tmp/chunked 아래 파일로도 남겨 서버 재시작 후에도 받은 위치부터 이어 올릴 수 있다.
+ */
+@Slf4j
+@Service
+public class ChunkedUploadService {
+
+    static final String SESSION_DIR = "chunked";
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final FileService fileService;
+    private final Path sessionRoot;
+    private final long maxSize;
+    private final int chunkSize;
+    private final Duration expireAfter;
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+
+    public ChunkedUploadService(
+        FileService fileService,
+        @Value("${app.file-storage.location:storage/uploads}") String storageLocation,
+        @Value("${app.file-storage.chunked.max-size:524288000}") long maxSize,
+        @Value("${app.file-storage.chunked.chunk-size:8388608}") int chunkSize,
+        @Value("${app.file-storage.chunked.expire-after:6h}") Duration expireAfter
+    ) {
+        this.fileService = fileService;
+        // tmp/ 아래에 두어 방치된 세션은 저장소 정리 작업에서도 회수된다.
+        this.sessionRoot = Paths.get(storageLocation).toAbsolutePath().normalize()
+            .resolve(BlobStore.TMP_DIR).resolve(SESSION_DIR);
+        this.maxSize = maxSize;
+        this.chunkSize = chunkSize;
+        this.expireAfter = expireAfter;
+        try {
+            Files.createDirectories(sessionRoot);
+        } catch (IOException e) {
+            throw new IllegalStateException("분할 업로드 저장소를 초기화할 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * 업로드 세션 생성
+     */
+    public ChunkedUploadStatus create(ChunkedUploadRequest request) {
+        if (request == null || request.size() == null || request.size() <= 0) {
+            throw new IllegalArgumentException("파일 크기는 필수입니다.");
+        }
+        if (maxSize > 0 && request.size() > maxSize) {
+            throw new IllegalArgumentException("파일 크기가 허용 범위를 초과했습니다: " + request.fileName());
+        }
+        String fileName = fileService.checkFileName(request.fileName());
+
+        String uploadId = UUID.randomUUID().toString();
+        UploadSession session = new UploadSession(uploadId, request.groupId(), request.refEntity(), request.refId(),
+            fileName, request.mimeType(), request.size(), dataPath(uploadId), metaPath(uploadId), newDigest());
+        try {
+            Files.createDirectories(sessionRoot);
+            Files.createFile(session.data);
+            writeMeta(session);
+        } catch (IOException e) {
+            deleteQuietly(session.data);
+            deleteQuietly(session.meta);
+            throw new IllegalStateException("업로드 세션을 만들 수 없습니다.", e);
+        }
+        sessions.put(uploadId, session);
+        return session.status(chunkSize);
+    }
+
+    /**
+     * 업로드 진행 상태 조회 (재개 시 받은 위치 확인)
+     */
+    public ChunkedUploadStatus status(String uploadId) {
+        UploadSession session = requireSession(uploadId);
+        synchronized (session) {
+            return session.status(chunkSize);
+        }
+    }
+
+    /**
+     * 청크 이어 쓰기. offset 은 서버가 받은 위치와 같아야 한다.
+     * 전송이 중간에 끊기면 실제로 받은 바이트까지 반영되며, 클라이언트는 상태 조회 후 이어서 보낸다.
+     */
+    public ChunkedUploadStatus append(String uploadId, long offset, InputStream body) {
+        UploadSession session = requireSession(uploadId);
+        synchronized (session) {
+            ensureIntact(session);
+            if (offset != session.offset) {
+                throw new ConflictException("업로드 위치가 일치하지 않습니다. 현재 위치: " + session.offset);
+            }
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            try (FileChannel channel = FileChannel.open(session.data, StandardOpenOption.WRITE)) {
+                int read;
+                while (session.offset < session.size
+                    && (read = body.read(buffer, 0, (int) Math.min(buffer.length, session.size - session.offset))) != -1) {
+                    ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                    long position = session.offset;
+                    while (chunk.hasRemaining()) {
+                        position += channel.write(chunk, position);
+                    }
+                    session.digest.update(buffer, 0, read);
+                    session.offset = position;
+                }
+                if (session.offset == session.size && body.read() != -1) {
+                    throw new IllegalArgumentException("선언한 파일 크기를 초과했습니다: " + session.fileName);
+                }
+            } catch (IOException e) {
+                // 끊긴 전송: 받은 위치까지는 유지하고 클라이언트가 재개한다.
+                log.info("분할 업로드 청크 수신 중단 ({}): {} / {} bytes", uploadId, session.offset, session.size);
+                throw new IllegalStateException("청크를 끝까지 받지 못했습니다. 현재 위치: " + session.offset, e);
+            } finally {
+                session.touch();
+            }
+            return session.status(chunkSize);
+        }
+    }
+
+    /**
+     * 업로드 완료 - 크기/체크섬 확인 후 FileItem 생성
+     */
+    public FileGroupResponse complete(String uploadId, String expectedChecksum) {
+        UploadSession session = requireSession(uploadId);
+        synchronized (session) {
+            ensureIntact(session);
+            if (session.offset != session.size) {
+                throw new ConflictException("아직 받지 못한 데이터가 있습니다. 현재 위치: " + session.offset);
+            }
+            String checksum = HexFormat.of().formatHex(snapshot(session.digest).digest());
+            if (StringUtils.hasText(expectedChecksum) && !expectedChecksum.trim().equalsIgnoreCase(checksum)) {
+                throw new IllegalArgumentException("체크섬이 일치하지 않습니다: " + session.fileName);
+            }
+            try {
+                FileGroupResponse response = fileService.attach(session.groupId, session.refEntity, session.refId,
+                    session.fileName, session.mimeType, session.data, checksum);
+                discard(session);
+                return response;
+            } catch (RuntimeException e) {
+                // 파일이 이미 저장소로 옮겨진 뒤 롤백되었다면 세션을 이어갈 수 없다.
+                if (!Files.exists(session.data)) {
+                    discard(session);
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 업로드 취소
+     */
+    public void abort(String uploadId) {
+        UploadSession session = requireSession(uploadId);
+        synchronized (session) {
+            discard(session);
+        }
+    }
+
+    /**
+     * 일정 시간 청크가 오지 않은 세션 정리
+     */
+    @Scheduled(fixedDelayString = "${app.file-storage.chunked.sweep-interval-ms:1800000}")
+    public void expireIdleSessions() {
+        Instant cutoff = Instant.now().minus(expireAfter);
+        for (UploadSession session : sessions.values()) {
+            synchronized (session) {
+                if (session.lastTouched.isBefore(cutoff)) {
+                    discard(session);
+                }
+            }
+        }
+    }
+
+    private UploadSession requireSession(String uploadId) {
+        if (!isValidId(uploadId)) {
+            throw new NotFoundException("업로드 세션을 찾을 수 없습니다: " + uploadId);
+        }
+        UploadSession session = sessions.computeIfAbsent(uploadId, this::recover);
+        if (session == null) {
+            throw new NotFoundException("업로드 세션을 찾을 수 없습니다: " + uploadId);
+        }
+        return session;
+    }
+
+    // 저장소 정리 등으로 임시 파일이 사라졌거나 크기가 어긋나면 세션을 폐기한다.
+    private void ensureIntact(UploadSession session) {
+        try {
+            if (sessions.get(session.uploadId) == session && Files.size(session.data) == session.offset) {
+                return;
+            }
+        } catch (IOException ignored) {
+            // 아래에서 만료 처리
+        }
+        discard(session);
+        throw new NotFoundException("업로드 세션이 만료되었습니다: " + session.uploadId);
+    }
+
+    // 서버 재시작 후: 메타 파일을 읽고 받아 둔 데이터를 다시 해시해 진행 상태를 복원한다.
+    private UploadSession recover(String uploadId) {
+        Path meta = metaPath(uploadId);
+        Path data = dataPath(uploadId);
+        if (!Files.isRegularFile(meta) || !Files.isRegularFile(data)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(meta, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+            UploadSession session = new UploadSession(uploadId,
+                emptyToNull(properties.getProperty("groupId")),
+                emptyToNull(properties.getProperty("refEntity")),
+                emptyToNull(properties.getProperty("refId")),
+                properties.getProperty("fileName"),
+                emptyToNull(properties.getProperty("mimeType")),
+                Long.parseLong(properties.getProperty("size")),
+                data, meta, newDigest());
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            try (InputStream in = Files.newInputStream(data)) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    session.digest.update(buffer, 0, read);
+                    session.offset += read;
+                }
+            }
+            return session;
+        } catch (IOException | RuntimeException e) {
+            log.warn("분할 업로드 세션을 복원할 수 없습니다 ({}): {}", uploadId, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeMeta(UploadSession session) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("groupId", nullToEmpty(session.groupId));
+        properties.setProperty("refEntity", nullToEmpty(session.refEntity));
+        properties.setProperty("refId", nullToEmpty(session.refId));
+        properties.setProperty("fileName", session.fileName);
+        properties.setProperty("mimeType", nullToEmpty(session.mimeType));
+        properties.setProperty("size", Long.toString(session.size));
+        try (BufferedWriter writer = Files.newBufferedWriter(session.meta, StandardCharsets.UTF_8)) {
+            properties.store(writer, null);
+        }
+    }
+
+    private void discard(UploadSession session) {
+        sessions.remove(session.uploadId, session);
+        deleteQuietly(session.data);
+        deleteQuietly(session.meta);
+    }
+
+    private Path dataPath(String uploadId) {
+        return sessionRoot.resolve(uploadId + ".part");
+    }
+
+    private Path metaPath(String uploadId) {
+        return sessionRoot.resolve(uploadId + ".properties");
+    }
+
+    private static boolean isValidId(String uploadId) {
+        if (!StringUtils.hasText(uploadId)) {
+            return false;
+        }
+        try {
+            return UUID.fromString(uploadId).toString().equals(uploadId);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("지원되지 않는 해시 알고리즘입니다.", e);
+        }
+    }
+
+    // 완료 처리가 실패해도 누적 해시를 계속 쓸 수 있도록 복제본으로 최종값을 계산한다.
+    private static MessageDigest snapshot(MessageDigest digest) {
+        try {
+            return (MessageDigest) digest.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("해시 상태를 복제할 수 없습니다.", e);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // 남은 파일은 저장소 정리 작업에서 제거
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    private static String emptyToNull(String value) {
+        return StringUtils.hasText(value) ? value : null;
+    }
+
+    private static final class UploadSession {
+        private final String uploadId;
+        private final String groupId;
+        private final String refEntity;
+        private final String refId;
+        private final String fileName;
+        private final String mimeType;
+        private final long size;
+        private final Path data;
+        private final Path meta;
+        private final MessageDigest digest;
+        private long offset;
+        private Instant lastTouched = Instant.now();
+
+        private UploadSession(String uploadId, String groupId, String refEntity, String refId, String fileName,
+                              String mimeType, long size, Path data, Path meta, MessageDigest digest) {
+            this.uploadId = uploadId;
+            this.groupId = groupId;
+            this.refEntity = refEntity;
+            this.refId = refId;
+            this.fileName = fileName;
+            this.mimeType = mimeType;
+            this.size = size;
+            this.data = data;
+            this.meta = meta;
+            this.digest = digest;
+        }
+
+        // 메타 파일 시각도 갱신해 진행 중인 세션이 저장소 정리 대상이 되지 않게 한다.
+        private void touch() {
+            lastTouched = Instant.now();
+            try {
+                Files.setLastModifiedTime(meta, FileTime.from(lastTouched));
+            } catch (IOException ignored) {
+                // 시각 갱신 실패는 무시
+            }
+        }
+
+        private ChunkedUploadStatus status(int chunkSize) {
+            return new ChunkedUploadStatus(uploadId, fileName, size, offset, chunkSize);
+        }
+    }
+}
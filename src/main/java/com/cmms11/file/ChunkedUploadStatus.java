@@ -0,0 +1,10 @@
+package com.cmms11.file;
+
+public record ChunkedUploadStatus(
+    String uploadId,
+    String fileName,
+    long size,
+    long offset,
+    int chunkSize
+) {
+}
@@ -1,20 +1,31 @@
 package com.cmms11.file;
 
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
 import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.util.UriUtils;
 
@@ -22,10 +33,30 @@ import org.springframework.web.util.UriUtils;
 @RequestMapping("/api/files")
 public class FileController {
 
+    // Tomcat sendfile 요청 속성 (NIO 커넥터, TLS 미사용 시 지원)
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    // 작은 파일은 sendfile 준비 비용이 더 크므로 일반 전송 (Tomcat DefaultServlet 기본값과 동일)
+    private static final long SENDFILE_MIN_SIZE = 48 * 1024;
+    // 분할 업로드 헤더 (tus 프로토콜과 같은 이름 사용)
+    private static final String UPLOAD_OFFSET = "Upload-Offset";
+    private static final String UPLOAD_LENGTH = "Upload-Length";
+    private static final String OFFSET_OCTET_STREAM = "application/offset+octet-stream";
+
     private final FileService fileService;
+    private final FileDerivativeService derivativeService;
+    private final ChunkedUploadService chunkedUploadService;
 
-    public FileController(FileService fileService) {
+    public FileController(
+        FileService fileService,
+        FileDerivativeService derivativeService,
+        ChunkedUploadService chunkedUploadService
+    ) {
         this.fileService = fileService;
+        this.derivativeService = derivativeService;
+        this.chunkedUploadService = chunkedUploadService;
     }
 
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -39,6 +70,46 @@ public class FileController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping(value = "/uploads", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ChunkedUploadStatus> createUpload(@RequestBody ChunkedUploadRequest request) {
+        ChunkedUploadStatus status = chunkedUploadService.create(request);
+        return ResponseEntity.created(URI.create("/api/files/uploads/" + status.uploadId()))
+            .headers(uploadHeaders(status))
+            .body(status);
+    }
+
+    @GetMapping("/uploads/{uploadId}")
+    public ResponseEntity<ChunkedUploadStatus> getUpload(@PathVariable String uploadId) {
+        ChunkedUploadStatus status = chunkedUploadService.status(uploadId);
+        return ResponseEntity.ok().headers(uploadHeaders(status)).body(status);
+    }
+
+    // 요청 본문을 서블릿 스트림에서 바로 읽으므로 multipart 크기 제한과 무관하고 버퍼링하지 않는다.
+    @PatchMapping(value = "/uploads/{uploadId}", consumes = {OFFSET_OCTET_STREAM, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<Void> appendUpload(
+        @PathVariable String uploadId,
+        @RequestHeader(UPLOAD_OFFSET) long offset,
+        HttpServletRequest request
+    ) throws IOException {
+        ChunkedUploadStatus status = chunkedUploadService.append(uploadId, offset, request.getInputStream());
+        return ResponseEntity.noContent().headers(uploadHeaders(status)).build();
+    }
+
+    @PostMapping("/uploads/{uploadId}/complete")
+    public ResponseEntity<FileGroupResponse> completeUpload(
+        @PathVariable String uploadId,
+        @RequestParam(value = "checksum", required = false) String checksum
+    ) {
+        FileGroupResponse response = chunkedUploadService.complete(uploadId, checksum);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @DeleteMapping("/uploads/{uploadId}")
+    public ResponseEntity<Void> abortUpload(@PathVariable String uploadId) {
+        chunkedUploadService.abort(uploadId);
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping
     public ResponseEntity<FileGroupResponse> getGroup(@RequestParam("groupId") String groupId) {
         return ResponseEntity.ok(fileService.getGroup(groupId));
@@ -47,22 +118,126 @@ public class FileController {
     @GetMapping("/{fileId}")
     public ResponseEntity<Resource> download(
         @PathVariable String fileId,
-        @RequestParam("groupId") String groupId
+        @RequestParam("groupId") String groupId,
+        HttpServletRequest request,
+        WebRequest webRequest
     ) {
         FileDownload download = fileService.download(groupId, fileId);
         String contentType = download.mimeType();
         if (!StringUtils.hasText(contentType)) {
             contentType = MediaType.APPLICATION_OCTET_STREAM_VALUE;
         }
+        String eTag = StringUtils.hasText(download.checksumSha256()) ? "\"" + download.checksumSha256() + "\"" : null;
+        if (eTag != null && webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
         String encodedName = UriUtils.encode(download.originalName(), StandardCharsets.UTF_8);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(contentType));
+        headers.set(
+            HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=\"" + download.originalName() + "\"; filename*=UTF-8''" + encodedName
+        );
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        headers.setCacheControl(CacheControl.noCache().cachePrivate());
+        if (eTag != null) {
+            headers.setETag(eTag);
+        }
+
+        ResponseEntity<Resource> sendfile = trySendfile(request, headers, download, eTag);
+        if (sendfile != null) {
+            return sendfile;
+        }
+        // Range 요청은 Spring 이 ResourceRegion 으로 변환해 206 으로 응답한다.
+        headers.setContentLength(download.size());
+        return ResponseEntity.ok().headers(headers).body(download.resource());
+    }
+
+    @GetMapping("/{fileId}/thumbnail")
+    public ResponseEntity<Resource> thumbnail(
+        @PathVariable String fileId,
+        @RequestParam("groupId") String groupId,
+        @RequestParam(value = "size", defaultValue = "160") int size
+    ) {
+        FileDownload thumbnail = derivativeService.thumbnail(groupId, fileId, size);
+        // 썸네일은 원본 내용(checksum)과 크기로 결정되므로 변경되지 않는다.
         return ResponseEntity.ok()
-            .contentType(MediaType.parseMediaType(contentType))
-            .header(
-                HttpHeaders.CONTENT_DISPOSITION,
-                "attachment; filename=\"" + download.originalName() + "\"; filename*=UTF-8''" + encodedName
-            )
-            .contentLength(download.size())
-            .body(download.resource());
+            .contentType(MediaType.IMAGE_JPEG)
+            .contentLength(thumbnail.size())
+            .cacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable())
+            .eTag("\"" + thumbnail.checksumSha256() + "\"")
+            .body(thumbnail.resource());
+    }
+
+    /**
+     * 컨테이너가 sendfile 을 지원하면 본문 복사 없이 커널 전송을 요청 (전체 또는 단일 구간)
+     */
+    private ResponseEntity<Resource> trySendfile(
+        HttpServletRequest request,
+        HttpHeaders headers,
+        FileDownload download,
+        String eTag
+    ) {
+        if (!HttpMethod.GET.matches(request.getMethod())
+            || !Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))
+            || download.size() < SENDFILE_MIN_SIZE) {
+            return null;
+        }
+        long size = download.size();
+        long start = 0;
+        long end = size;
+        boolean partial = false;
+
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (StringUtils.hasText(rangeHeader) && (ifRange == null || ifRange.equals(eTag))) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                return rangeNotSatisfiable(size);
+            }
+            if (ranges.size() != 1) {
+                return null; // multipart/byteranges 는 Spring 기본 처리로 위임
+            }
+            start = ranges.get(0).getRangeStart(size);
+            end = ranges.get(0).getRangeEnd(size) + 1;
+            if (start >= size || start >= end) {
+                return rangeNotSatisfiable(size);
+            }
+            partial = true;
+        }
+
+        String canonicalPath;
+        try {
+            canonicalPath = download.path().toRealPath().toString();
+        } catch (IOException e) {
+            return null;
+        }
+        request.setAttribute(SENDFILE_FILENAME, canonicalPath);
+        request.setAttribute(SENDFILE_START, start);
+        request.setAttribute(SENDFILE_END, end);
+        headers.setContentLength(end - start);
+        if (!partial) {
+            return ResponseEntity.ok().headers(headers).build();
+        }
+        headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + size);
+        return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT).headers(headers).build();
+    }
+
+    private HttpHeaders uploadHeaders(ChunkedUploadStatus status) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(UPLOAD_OFFSET, Long.toString(status.offset()));
+        headers.set(UPLOAD_LENGTH, Long.toString(status.size()));
+        headers.setCacheControl(CacheControl.noStore());
+        return headers;
+    }
+
+    private ResponseEntity<Resource> rangeNotSatisfiable(long size) {
+        return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+            .header(HttpHeaders.CONTENT_RANGE, "bytes */" + size)
+            .build();
     }
 
     @DeleteMapping("/{fileId}")
@@ -0,0 +1,225 @@
+package com.cmms11.file;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Set;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+/**
+ * 이름: FileDerivativeService
+ * 작성자: codex
+ * 작성일: 2026-10-18
+ * 수정일:
+ * 프로그램 개요: 첨부 이미지 썸네일/미리보기 생성 서비스. 최초 요청 시 ImageIO 로 축소 JPEG 를 만들어
+ *               derivatives/{sha256 앞 2자리}/{sha256}_{크기}.jpg 로 저장하고 이후에는 저장본을 그대로 사용한다.
+ *               작은 파일이 거대한 해상도로 풀리는 이미지(압축 폭탄)를 막기 위해 헤더의 가로/세로만 먼저 읽어
+ *               최대 픽셀 수를 넘으면 거부하고, 디코딩은 목표 크기에 맞춰 행/열을 건너뛰며(subsampling) 읽는다.
+ */
+@Service
+public class FileDerivativeService {
+
+    static final String DERIVATIVE_DIR = "derivatives";
+    // 캐시 크기를 제한하기 위해 허용된 크기로만 생성 (목록 썸네일, 모바일 미리보기, 화면 미리보기)
+    static final int[] SIZES = {160, 480, 1024};
+    private static final Set<String> IMAGE_EXTENSIONS = Set.of("jpg", "jpeg", "png", "gif", "bmp");
+    private static final float JPEG_QUALITY = 0.8f;
+    private static final int LOCK_STRIPES = 32;
+
+    private final FileService fileService;
+    private final Path derivativeRoot;
+    private final long maxPixels;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    public FileDerivativeService(
+        FileService fileService,
+        @Value("${app.file-storage.location:storage/uploads}") String storageLocation,
+        @Value("${app.file-storage.preview.max-pixels:50000000}") long maxPixels
+    ) {
+        this.fileService = fileService;
+        this.maxPixels = maxPixels;
+        this.derivativeRoot = Paths.get(storageLocation).toAbsolutePath().normalize().resolve(DERIVATIVE_DIR);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        try {
+            Files.createDirectories(derivativeRoot);
+        } catch (IOException e) {
+            throw new IllegalStateException("미리보기 저장소를 초기화할 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * 썸네일 조회 (없으면 생성). 요청 크기는 허용 크기 중 같거나 큰 가장 작은 값으로 맞춘다.
+     */
+    public FileDownload thumbnail(String groupId, String fileId, int requestedSize) {
+        FileDownload original = fileService.download(groupId, fileId);
+        String extension = StringUtils.getFilenameExtension(original.originalName());
+        if (extension == null || !IMAGE_EXTENSIONS.contains(extension.toLowerCase(Locale.ROOT))) {
+            throw new IllegalArgumentException("미리보기를 지원하지 않는 파일 형식입니다: " + original.originalName());
+        }
+        if (!StringUtils.hasText(original.checksumSha256())) {
+            throw new IllegalArgumentException("미리보기를 만들 수 없는 파일입니다: " + fileId);
+        }
+
+        int size = normalizeSize(requestedSize);
+        String checksum = original.checksumSha256();
+        Path target = derivativeRoot.resolve(checksum.substring(0, 2)).resolve(checksum + "_" + size + ".jpg");
+        if (!Files.isRegularFile(target)) {
+            synchronized (locks[Math.floorMod(target.hashCode(), LOCK_STRIPES)]) {
+                if (!Files.isRegularFile(target)) {
+                    render(original.path(), target, size);
+                }
+            }
+        }
+        try {
+            return new FileDownload(
+                new FileSystemResource(target),
+                target,
+                thumbnailName(original.originalName(), size),
+                "image/jpeg",
+                Files.size(target),
+                checksum + "-" + size
+            );
+        } catch (IOException e) {
+            throw new IllegalStateException("미리보기를 읽을 수 없습니다: " + fileId, e);
+        }
+    }
+
+    static int normalizeSize(int requestedSize) {
+        for (int size : SIZES) {
+            if (requestedSize <= size) {
+                return size;
+            }
+        }
+        return SIZES[SIZES.length - 1];
+    }
+
+    private void render(Path source, Path target, int size) {
+        BufferedImage image = read(source, size);
+        BufferedImage scaled = scale(image, size);
+        Path tmp = null;
+        try {
+            Files.createDirectories(target.getParent());
+            tmp = Files.createTempFile(target.getParent(), "thumb-", ".part");
+            writeJpeg(scaled, tmp);
+            try {
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            tmp = null;
+        } catch (IOException e) {
+            throw new IllegalStateException("미리보기를 저장할 수 없습니다.", e);
+        } finally {
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException ignored) {
+                    // 임시 파일은 다음 생성 시 덮어쓰지 않으므로 무시
+                }
+            }
+        }
+    }
+
+    // 헤더의 크기만 먼저 확인한 뒤, 긴 변이 목표 크기의 2배 이상 남는 범위에서 건너뛰며 디코딩한다.
+    private BufferedImage read(Path source, int size) {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : null;
+            if (readers == null || !readers.hasNext()) {
+                throw new IllegalArgumentException("이미지 형식을 해석할 수 없습니다.");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if (width <= 0 || height <= 0 || (long) width * height > maxPixels) {
+                    throw new IllegalArgumentException(String.format(
+                        "미리보기를 만들 수 없는 이미지 크기입니다: %dx%d (최대 %d 픽셀)", width, height, maxPixels));
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, Math.max(width, height) / (size * 2));
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("이미지를 읽을 수 없습니다.", e);
+        }
+    }
+
+    // 긴 변을 size 에 맞춰 축소. 절반씩 단계적으로 줄여 bilinear 보간의 계단 현상을 줄인다.
+    private static BufferedImage scale(BufferedImage source, int size) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double ratio = Math.min(1.0, (double) size / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(height * ratio));
+
+        BufferedImage current = source;
+        int currentWidth = width;
+        int currentHeight = height;
+        do {
+            currentWidth = Math.max(targetWidth, currentWidth / 2);
+            currentHeight = Math.max(targetHeight, currentHeight / 2);
+            BufferedImage next = new BufferedImage(currentWidth, currentHeight, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                // 투명 배경(PNG/GIF)은 흰색으로 채운다.
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, currentWidth, currentHeight);
+                graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (currentWidth != targetWidth || currentHeight != targetHeight);
+        return current;
+    }
+
+    private static void writeJpeg(BufferedImage image, Path target) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+        if (!writers.hasNext()) {
+            throw new IllegalStateException("JPEG 인코더를 찾을 수 없습니다.");
+        }
+        ImageWriter writer = writers.next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private static String thumbnailName(String originalName, int size) {
+        String base = StringUtils.stripFilenameExtension(originalName);
+        return base + "_" + size + ".jpg";
+    }
+}
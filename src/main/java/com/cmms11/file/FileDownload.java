@@ -1,6 +1,7 @@
 package com.cmms11.file;
 
+import java.nio.file.Path;
 import org.springframework.core.io.Resource;
 
-public record FileDownload(Resource resource, String originalName, String mimeType, long size) {
+public record FileDownload(Resource resource, Path path, String originalName, String mimeType, long size, String checksumSha256) {
 }
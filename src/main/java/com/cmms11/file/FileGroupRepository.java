@@ -1,9 +1,31 @@
 package com.cmms11.file;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface FileGroupRepository extends JpaRepository<FileGroup, FileGroupId> {
 
     Optional<FileGroup> findByIdCompanyIdAndIdFileGroupId(String companyId, String fileGroupId);
+
+    // file_item 이 하나도 없고 마지막 변경이 before 이전인 그룹을 (companyId, fileGroupId) 키셋 순서로 조회
+    @Query(
+        "select g from FileGroup g " +
+        "where coalesce(g.updatedAt, g.createdAt) < :before " +
+        "and (g.id.companyId > :companyId " +
+        "  or (g.id.companyId = :companyId and g.id.fileGroupId > :fileGroupId)) " +
+        "and not exists (select 1 from FileItem f " +
+        "  where f.id.companyId = g.id.companyId and f.id.fileGroupId = g.id.fileGroupId) " +
+        "order by g.id.companyId, g.id.fileGroupId"
+    )
+    List<FileGroup> findEmptyAfter(
+        @Param("before") LocalDateTime before,
+        @Param("companyId") String companyId,
+        @Param("fileGroupId") String fileGroupId,
+        Pageable pageable
+    );
 }
@@ -3,6 +3,7 @@ package com.cmms11.file;
 import jakarta.persistence.Column;
 import jakarta.persistence.EmbeddedId;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import java.time.LocalDateTime;
 import lombok.Getter;
@@ -10,7 +11,15 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "file_item")
+@Table(
+    name = "file_item",
+    indexes = {
+        @Index(name = "ix_file_item_group_live", columnList = "company_id, file_group_id, delete_mark, line_no"),
+        @Index(name = "ix_file_item_storage_path", columnList = "storage_path, delete_mark"),
+        @Index(name = "ix_file_item_checksum", columnList = "checksum_sha256, delete_mark"),
+        @Index(name = "ix_file_item_deleted", columnList = "delete_mark, updated_at")
+    }
+)
 @Getter
 @Setter
 @NoArgsConstructor
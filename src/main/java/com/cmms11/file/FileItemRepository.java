@@ -1,7 +1,10 @@
 package com.cmms11.file;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -17,9 +20,47 @@ public interface FileItemRepository extends JpaRepository<FileItem, FileItemId>
         String deleteMark
     );
 
+    long countByStoragePathAndDeleteMarkNot(String storagePath, String deleteMark);
+
     @Query(
         "select coalesce(max(f.lineNo), 0) from FileItem f " +
         "where f.id.companyId = :companyId and f.id.fileGroupId = :fileGroupId"
     )
     Integer findMaxLineNo(@Param("companyId") String companyId, @Param("fileGroupId") String fileGroupId);
+
+    @Query(
+        "select distinct f.storagePath from FileItem f " +
+        "where f.storagePath in :storagePaths and f.deleteMark <> :deleteMark"
+    )
+    List<String> findReferencedStoragePaths(
+        @Param("storagePaths") Collection<String> storagePaths,
+        @Param("deleteMark") String deleteMark
+    );
+
+    @Query(
+        "select distinct f.checksumSha256 from FileItem f " +
+        "where f.checksumSha256 in :checksums and f.deleteMark <> :deleteMark"
+    )
+    List<String> findReferencedChecksums(
+        @Param("checksums") Collection<String> checksums,
+        @Param("deleteMark") String deleteMark
+    );
+
+    // 삭제 표시 후 보존 기간이 지난 행을 (companyId, fileGroupId, fileId) 키셋 순서로 조회
+    @Query(
+        "select f from FileItem f " +
+        "where f.deleteMark = :deleteMark and f.updatedAt < :before " +
+        "and (f.id.companyId > :companyId " +
+        "  or (f.id.companyId = :companyId and f.id.fileGroupId > :fileGroupId) " +
+        "  or (f.id.companyId = :companyId and f.id.fileGroupId = :fileGroupId and f.id.fileId > :fileId)) " +
+        "order by f.id.companyId, f.id.fileGroupId, f.id.fileId"
+    )
+    List<FileItem> findDeletedAfter(
+        @Param("deleteMark") String deleteMark,
+        @Param("before") LocalDateTime before,
+        @Param("companyId") String companyId,
+        @Param("fileGroupId") String fileGroupId,
+        @Param("fileId") String fileId,
+        Pageable limit
+    );
 }
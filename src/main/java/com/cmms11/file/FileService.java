@@ -3,26 +3,27 @@ package com.cmms11.file;
 import com.cmms11.common.error.NotFoundException;
 import com.cmms11.common.seq.AutoNumberService;
 import com.cmms11.security.MemberUserDetailsService;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
 import java.io.IOException;
-import java.net.MalformedURLException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.security.DigestInputStream;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
-import java.util.HexFormat;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -40,6 +41,10 @@ public class FileService {
     private final FileGroupRepository groupRepository;
     private final FileItemRepository itemRepository;
     private final AutoNumberService autoNumberService;
+    private final BlobStore blobStore;
+    private final EntityManager entityManager;
+    private final ExecutorService uploadExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore uploadPermits;
     private final Path storageRoot;
     private final long maxFileSize;
     private final Set<String> allowedExtensions;
@@ -48,13 +53,19 @@ public class FileService {
         FileGroupRepository groupRepository,
         FileItemRepository itemRepository,
         AutoNumberService autoNumberService,
+        BlobStore blobStore,
+        EntityManager entityManager,
         @Value("${app.file-storage.location:storage/uploads}") String storageLocation,
         @Value("${app.file-storage.max-size:10485760}") long maxFileSize,
-        @Value("${app.file-storage.allowed-extensions:jpg,jpeg,png,pdf,txt}") String allowedExtensions
+        @Value("${app.file-storage.allowed-extensions:jpg,jpeg,png,pdf,txt}") String allowedExtensions,
+        @Value("${app.file-storage.upload-parallelism:4}") int uploadParallelism
     ) {
         this.groupRepository = groupRepository;
         this.itemRepository = itemRepository;
         this.autoNumberService = autoNumberService;
+        this.blobStore = blobStore;
+        this.entityManager = entityManager;
+        this.uploadPermits = new Semaphore(Math.max(1, uploadParallelism));
         this.storageRoot = Paths.get(storageLocation).toAbsolutePath().normalize();
         this.maxFileSize = maxFileSize;
         this.allowedExtensions = Arrays.stream(allowedExtensions.split(","))
@@ -78,47 +89,79 @@ public class FileService {
         String companyId = MemberUserDetailsService.DEFAULT_COMPANY;
         String memberId = currentMemberId();
 
-        FileGroup group = resolveGroup(requestedGroupId, refEntity, refId, companyId, memberId, now);
-        group.setUpdatedAt(now);
-        group.setUpdatedBy(memberId);
-        group = groupRepository.save(group);
-
-        Integer maxLineNo = itemRepository.findMaxLineNo(companyId, group.getId().getFileGroupId());
-        int currentLineNo = maxLineNo != null ? maxLineNo : 0;
-
+        // 저장 전에 전체 파일을 검증해 일부만 저장되는 일이 없도록 한다.
+        List<String> originalNames = new ArrayList<>(files.size());
         for (MultipartFile file : files) {
             if (file.isEmpty()) {
                 throw new IllegalArgumentException("빈 파일은 업로드할 수 없습니다.");
             }
             String originalName = cleanFileName(file.getOriginalFilename());
-            String extension = extractExtension(originalName);
-            validateExtension(extension, originalName);
+            validateExtension(extractExtension(originalName), originalName);
             validateSize(file.getSize(), originalName);
+            originalNames.add(originalName);
+        }
 
-            String fileId = autoNumberService.generateTxId(companyId, MODULE_CODE, LocalDate.now());
-            String storedName = buildStoredName(fileId, extension);
-            Path target = prepareTargetPath(group.getId().getFileGroupId(), storedName);
-            String checksum = storeFile(file, target);
-
-            FileItem item = new FileItem();
-            item.setId(new FileItemId(companyId, group.getId().getFileGroupId(), fileId));
-            item.setLineNo(++currentLineNo);
-            item.setOriginalName(originalName);
-            item.setStoredName(storedName);
-            item.setExt(extension);
-            item.setMime(file.getContentType());
-            item.setSize(file.getSize());
-            item.setChecksumSha256(checksum);
-            item.setStoragePath(storageRoot.relativize(target).toString().replace('\\', '/'));
-            item.setDeleteMark("N");
-            item.setCreatedAt(now);
-            item.setCreatedBy(memberId);
-            item.setUpdatedAt(now);
-            item.setUpdatedBy(memberId);
-            itemRepository.save(item);
+        // 그룹/파일 ID 를 한 번의 채번으로 확보
+        boolean newGroup = !StringUtils.hasText(requestedGroupId);
+        String[] ids = autoNumberService.generateTxIds(companyId, MODULE_CODE, LocalDate.now(), files.size() + (newGroup ? 1 : 0));
+        int idOffset = newGroup ? 1 : 0;
+
+        FileGroup group = resolveGroup(requestedGroupId, newGroup ? ids[0] : null, refEntity, refId, companyId, memberId, now);
+        group.setUpdatedAt(now);
+        group.setUpdatedBy(memberId);
+        group = groupRepository.save(group);
+        String groupId = group.getId().getFileGroupId();
+
+        // 같은 내용이 이미 저장되어 있으면 파일은 재사용하고 메타데이터만 추가
+        List<BlobStore.StoredBlob> blobs = storeFiles(files);
+
+        Integer maxLineNo = itemRepository.findMaxLineNo(companyId, groupId);
+        int currentLineNo = maxLineNo != null ? maxLineNo : 0;
+        for (int i = 0; i < files.size(); i++) {
+            entityManager.persist(newItem(companyId, groupId, ids[idOffset + i], ++currentLineNo,
+                originalNames.get(i), files.get(i).getContentType(), blobs.get(i), memberId, now));
         }
+        entityManager.flush();
+
+        return toResponse(group, activeItems(companyId, groupId));
+    }
+
+    /**
+     * 분할 업로드 시작 전 파일 이름/확장자 검증 (정리된 파일 이름 반환)
+     */
+    String checkFileName(String originalName) {
+        String cleaned = cleanFileName(originalName);
+        validateExtension(extractExtension(cleaned), cleaned);
+        return cleaned;
+    }
+
+    /**
+     * 분할 업로드로 받은 파일(해시 계산 완료)을 저장소로 옮기고 FileItem 생성
+     */
+    FileGroupResponse attach(String requestedGroupId, String refEntity, String refId,
+                             String originalName, String mimeType, Path file, String checksum) {
+        LocalDateTime now = LocalDateTime.now();
+        String companyId = MemberUserDetailsService.DEFAULT_COMPANY;
+        String memberId = currentMemberId();
+
+        boolean newGroup = !StringUtils.hasText(requestedGroupId);
+        String[] ids = autoNumberService.generateTxIds(companyId, MODULE_CODE, LocalDate.now(), newGroup ? 2 : 1);
+        FileGroup group = resolveGroup(requestedGroupId, newGroup ? ids[0] : null, refEntity, refId, companyId, memberId, now);
+        group.setUpdatedAt(now);
+        group.setUpdatedBy(memberId);
+        group = groupRepository.save(group);
+        String groupId = group.getId().getFileGroupId();
 
-        return toResponse(group, activeItems(companyId, group.getId().getFileGroupId()));
+        BlobStore.StoredBlob blob = blobStore.adopt(file, checksum);
+        blobStore.settle(List.of(blob), path -> itemRepository.countByStoragePathAndDeleteMarkNot(path, DELETE_MARK_Y));
+
+        Integer maxLineNo = itemRepository.findMaxLineNo(companyId, groupId);
+        int lineNo = (maxLineNo != null ? maxLineNo : 0) + 1;
+        entityManager.persist(newItem(companyId, groupId, ids[newGroup ? 1 : 0], lineNo,
+            originalName, mimeType, blob, memberId, now));
+        entityManager.flush();
+
+        return toResponse(group, activeItems(companyId, groupId));
     }
 
     @Transactional(readOnly = true)
@@ -137,22 +180,23 @@ public class FileService {
     public FileDownload download(String groupId, String fileId) {
         FileItem item = requireActiveFile(groupId, fileId);
         Path filePath = storageRoot.resolve(item.getStoragePath()).normalize();
-        if (!filePath.startsWith(storageRoot) || !Files.exists(filePath)) {
+        if (!filePath.startsWith(storageRoot) || !Files.isRegularFile(filePath)) {
             throw new NotFoundException("파일을 찾을 수 없습니다: " + fileId);
         }
+        // FileSystemResource 는 NIO FileChannel 기반이라 구간(Range) 전송과 sendfile 전송에 그대로 사용 가능
+        Resource resource = new FileSystemResource(filePath);
+        if (!resource.isReadable()) {
+            throw new NotFoundException("파일을 읽을 수 없습니다: " + fileId);
+        }
         try {
-            Resource resource = new UrlResource(filePath.toUri());
-            if (!resource.exists() || !resource.isReadable()) {
-                throw new NotFoundException("파일을 읽을 수 없습니다: " + fileId);
-            }
             return new FileDownload(
                 resource,
+                filePath,
                 item.getOriginalName(),
                 item.getMime(),
-                item.getSize() != null ? item.getSize() : resource.contentLength()
+                Files.size(filePath),
+                item.getChecksumSha256()
             );
-        } catch (MalformedURLException e) {
-            throw new IllegalStateException("파일을 읽을 수 없습니다: " + fileId, e);
         } catch (IOException e) {
             throw new IllegalStateException("파일 크기를 확인할 수 없습니다: " + fileId, e);
         }
@@ -160,18 +204,12 @@ public class FileService {
 
     public void delete(String groupId, String fileId) {
         FileItem item = requireActiveFile(groupId, fileId);
-        Path filePath = storageRoot.resolve(item.getStoragePath()).normalize();
-        try {
-            Files.deleteIfExists(filePath);
-        } catch (IOException e) {
-            throw new IllegalStateException("파일을 삭제할 수 없습니다: " + fileId, e);
-        }
-
         LocalDateTime now = LocalDateTime.now();
         String memberId = currentMemberId();
         item.setDeleteMark(DELETE_MARK_Y);
         item.setUpdatedAt(now);
         item.setUpdatedBy(memberId);
+        // 삭제 표시만 남기고, 참조가 없어진 파일은 FileStorageReclaimer 가 주기적으로 지운다.
         itemRepository.save(item);
 
         FileGroup group = groupRepository
@@ -184,6 +222,7 @@ public class FileService {
 
     private FileGroup resolveGroup(
         String requestedGroupId,
+        String newGroupId,
         String refEntity,
         String refId,
         String companyId,
@@ -203,7 +242,6 @@ public class FileService {
             return existing;
         }
         FileGroup group = new FileGroup();
-        String newGroupId = autoNumberService.generateTxId(companyId, MODULE_CODE, LocalDate.now());
         group.setId(new FileGroupId(companyId, newGroupId));
         group.setDeleteMark("N");
         group.setRefEntity(refEntity);
@@ -273,6 +311,27 @@ public class FileService {
         }
     }
 
+    private FileItem newItem(String companyId, String groupId, String fileId, int lineNo, String originalName,
+                             String mimeType, BlobStore.StoredBlob blob, String memberId, LocalDateTime now) {
+        String extension = extractExtension(originalName);
+        FileItem item = new FileItem();
+        item.setId(new FileItemId(companyId, groupId, fileId));
+        item.setLineNo(lineNo);
+        item.setOriginalName(originalName);
+        item.setStoredName(buildStoredName(fileId, extension));
+        item.setExt(extension);
+        item.setMime(mimeType);
+        item.setSize(blob.size());
+        item.setChecksumSha256(blob.checksum());
+        item.setStoragePath(blob.storagePath());
+        item.setDeleteMark("N");
+        item.setCreatedAt(now);
+        item.setCreatedBy(memberId);
+        item.setUpdatedAt(now);
+        item.setUpdatedBy(memberId);
+        return item;
+    }
+
     private String buildStoredName(String fileId, String extension) {
         if (!StringUtils.hasText(extension)) {
             return fileId;
@@ -280,32 +339,59 @@ public class FileService {
         return fileId + "." + extension;
     }
 
-    private Path prepareTargetPath(String groupId, String storedName) {
-        Path groupDir = storageRoot.resolve(groupId);
-        try {
-            Files.createDirectories(groupDir);
-        } catch (IOException e) {
-            throw new IllegalStateException("파일 디렉터리를 생성할 수 없습니다.", e);
+    /**
+     * 파일 저장/해시를 병렬 처리 (동시 처리 수는 upload-parallelism 로 제한)
+     * 하나라도 실패하면 트랜잭션 롤백 시 이번 업로드로 새로 생긴 파일을 정리한다.
+     */
+    private List<BlobStore.StoredBlob> storeFiles(List<MultipartFile> files) {
+        List<CompletableFuture<BlobStore.StoredBlob>> futures = files.stream()
+            .map(file -> CompletableFuture.supplyAsync(() -> storeFile(file), uploadExecutor))
+            .toList();
+        // 실패가 있어도 모든 작업이 끝날 때까지 기다린 뒤 정리 대상을 확정한다.
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+
+        List<BlobStore.StoredBlob> blobs = new ArrayList<>(files.size());
+        RuntimeException failure = null;
+        for (CompletableFuture<BlobStore.StoredBlob> future : futures) {
+            if (future.isCompletedExceptionally()) {
+                failure = failure != null ? failure : uploadFailure(future.exceptionNow());
+            } else {
+                blobs.add(future.join());
+            }
         }
-        Path target = groupDir.resolve(storedName).normalize();
-        if (!target.startsWith(storageRoot)) {
-            throw new IllegalArgumentException("잘못된 파일 경로가 감지되었습니다.");
+        blobStore.settle(blobs, path -> itemRepository.countByStoragePathAndDeleteMarkNot(path, DELETE_MARK_Y));
+        if (failure != null) {
+            throw failure;
         }
-        return target;
+        return blobs;
     }
 
-    private String storeFile(MultipartFile file, Path target) {
+    private BlobStore.StoredBlob storeFile(MultipartFile file) {
         try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            try (DigestInputStream inputStream = new DigestInputStream(file.getInputStream(), digest)) {
-                Files.copy(inputStream, target, StandardCopyOption.REPLACE_EXISTING);
-            }
-            return HexFormat.of().formatHex(digest.digest());
+            uploadPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("파일 저장이 중단되었습니다.", e);
+        }
+        try {
+            return blobStore.store(file.getInputStream());
         } catch (IOException e) {
             throw new IllegalStateException("파일을 저장할 수 없습니다.", e);
-        } catch (NoSuchAlgorithmException e) {
-            throw new IllegalStateException("지원되지 않는 해시 알고리즘입니다.", e);
+        } finally {
+            uploadPermits.release();
+        }
+    }
+
+    private RuntimeException uploadFailure(Throwable cause) {
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
         }
+        return new IllegalStateException("파일을 저장할 수 없습니다.", cause);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        uploadExecutor.shutdownNow();
     }
 
     private String currentMemberId() {
@@ -0,0 +1,430 @@
+package com.cmms11.file;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.ListMultipartUploadsResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.MultipartUpload;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+/**
+ * 이름: FileStorageReclaimer
+ * 작성자: codex
+ * 작성일: 2026-10-18
+ * 수정일:
+ * 프로그램 개요: 파일 저장소 고아 정리 작업. 요청 처리 중에는 삭제 표시만 하고, 실제 회수는 이 작업이 주기적으로 수행한다.
+ *               - 보존 기간이 지난 삭제 표시 file_item 행을 키셋 순서로 배치 삭제
+ *               - 완료되지 않은 업로드 세션 등으로 file_item 없이 s3-min-age 이상 남은 file_group 행 삭제
+ *               - 로컬 저장소(blobs/, 이전 그룹별 경로)와 S3 목록을 배치 단위로 사용 중 storage_path 와 대조해 미참조 파일 삭제
+ *               - tmp/ 잔여 파일, 원본이 없어진 derivatives/ 썸네일, 오래된 미완료 멀티파트 업로드 정리
+ *               배치 사이에 batch-pause 만큼 쉬어 DB/디스크/S3 부하를 제한하고, 회수한 바이트 수를 지표로 남긴다.
+ *               S3 객체는 Presigned URL 로 올린 뒤 /complete 가 늦게 재시도될 수 있으므로 별도의 s3-min-age 를 적용하며,
+ *               이 값은 Presigned URL 만료 시간 + 재시도 여유보다 짧아지지 않는다.
+ */
+@Slf4j
+@Component
+public class FileStorageReclaimer {
+
+    private static final String DELETE_MARK_Y = "Y";
+    private static final String STORE_LOCAL = "local";
+    private static final String STORE_S3 = "s3";
+    // S3 DeleteObjects 요청당 최대 1,000 개
+    private static final int S3_MAX_BATCH = 1_000;
+    // 업로드 URL 만료 뒤에도 클라이언트가 /complete 를 재시도할 수 있는 여유
+    private static final Duration S3_COMPLETE_RETRY_WINDOW = Duration.ofHours(1);
+    static final Duration S3_MIN_AGE_FLOOR = S3FileService.PRESIGNED_URL_EXPIRY.plus(S3_COMPLETE_RETRY_WINDOW);
+
+    private final FileItemRepository itemRepository;
+    private final FileGroupRepository groupRepository;
+    private final BlobStore blobStore;
+    private final ObjectProvider<S3AsyncClient> s3Client;
+    private final MeterRegistry meterRegistry;
+    private final String bucketName;
+    private final boolean s3Enabled;
+    private final String s3Prefix;
+    private final int batchSize;
+    private final Duration batchPause;
+    private final Duration minAge;
+    private final Duration s3MinAge;
+    private final Duration purgeAfter;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Counter purgedRowsCounter;
+    private final Counter purgedGroupsCounter;
+    private final Counter abortedUploadsCounter;
+    private final Map<String, Counter> deletedFilesCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> reclaimedBytesCounters = new ConcurrentHashMap<>();
+
+    public FileStorageReclaimer(
+        FileItemRepository itemRepository,
+        FileGroupRepository groupRepository,
+        BlobStore blobStore,
+        ObjectProvider<S3AsyncClient> s3Client,
+        ObjectProvider<MeterRegistry> meterRegistry,
+        @Value("${aws.s3.bucket-name:}") String bucketName,
+        @Value("${app.file-storage.gc.s3-enabled:false}") boolean s3Enabled,
+        @Value("${app.file-storage.gc.s3-prefix:}") String s3Prefix,
+        @Value("${app.file-storage.gc.batch-size:500}") int batchSize,
+        @Value("${app.file-storage.gc.batch-pause:200ms}") Duration batchPause,
+        @Value("${app.file-storage.gc.min-age:6h}") Duration minAge,
+        @Value("${app.file-storage.gc.s3-min-age:24h}") Duration s3MinAge,
+        @Value("${app.file-storage.gc.purge-after:30d}") Duration purgeAfter
+    ) {
+        this.itemRepository = itemRepository;
+        this.groupRepository = groupRepository;
+        this.blobStore = blobStore;
+        this.s3Client = s3Client;
+        this.meterRegistry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        this.bucketName = bucketName;
+        this.s3Enabled = s3Enabled && StringUtils.hasText(bucketName);
+        this.s3Prefix = s3Prefix;
+        this.batchSize = Math.max(1, Math.min(batchSize, S3_MAX_BATCH));
+        this.batchPause = batchPause;
+        this.minAge = minAge;
+        this.s3MinAge = s3MinAge.compareTo(S3_MIN_AGE_FLOOR) < 0 ? S3_MIN_AGE_FLOOR : s3MinAge;
+        this.purgeAfter = purgeAfter;
+        this.purgedRowsCounter = Counter.builder("cmms.file.gc.purged.rows").register(this.meterRegistry);
+        this.purgedGroupsCounter = Counter.builder("cmms.file.gc.purged.groups").register(this.meterRegistry);
+        this.abortedUploadsCounter = Counter.builder("cmms.file.gc.aborted.uploads").register(this.meterRegistry);
+    }
+
+    /**
+     * 주기 실행 (기본 매일 03:30). 다중 서버에서 동시에 돌아도 삭제는 멱등이다.
+     */
+    @Scheduled(cron = "${app.file-storage.gc.cron:0 30 3 * * *}")
+    public void scheduledReclaim() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("파일 저장소 정리가 이미 실행 중입니다.");
+            return;
+        }
+        try {
+            ReclaimResult result = reclaim();
+            log.info("파일 저장소 정리 완료: 행 {}건, 빈 그룹 {}건, 파일 {}건, {} bytes 회수",
+                result.purgedRows(), result.purgedGroups(), result.deletedFiles(), result.reclaimedBytes());
+        } catch (RuntimeException e) {
+            log.error("파일 저장소 정리 실패", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * 정리 1회 실행
+     */
+    public ReclaimResult reclaim() {
+        Instant cutoff = Instant.now().minus(minAge);
+        Tally tally = new Tally();
+        purgeDeletedRows(tally);
+        purgeEmptyGroups(tally);
+        reclaimLocalFiles(cutoff, tally);
+        reclaimTmpFiles(cutoff, tally);
+        reclaimDerivatives(cutoff, tally);
+        if (s3Enabled && s3Client.getIfAvailable() != null) {
+            Instant s3Cutoff = Instant.now().minus(s3MinAge);
+            reclaimS3Objects(s3Client.getObject(), s3Cutoff, tally);
+            abortStaleMultipartUploads(s3Client.getObject(), s3Cutoff);
+        }
+        return new ReclaimResult(tally.purgedRows, tally.purgedGroups, tally.deletedFiles, tally.reclaimedBytes);
+    }
+
+    private void purgeDeletedRows(Tally tally) {
+        LocalDateTime before = LocalDateTime.now().minus(purgeAfter);
+        String companyId = "";
+        String fileGroupId = "";
+        String fileId = "";
+        List<FileItem> rows;
+        do {
+            rows = itemRepository.findDeletedAfter(
+                DELETE_MARK_Y, before, companyId, fileGroupId, fileId, PageRequest.of(0, batchSize));
+            if (rows.isEmpty()) {
+                break;
+            }
+            itemRepository.deleteAllInBatch(rows);
+            tally.purgedRows += rows.size();
+            purgedRowsCounter.increment(rows.size());
+            FileItemId last = rows.get(rows.size() - 1).getId();
+            companyId = last.getCompanyId();
+            fileGroupId = last.getFileGroupId();
+            fileId = last.getFileId();
+            pause();
+        } while (rows.size() == batchSize);
+    }
+
+    // S3 업로드 세션은 그룹을 먼저 만들고 /complete 에서 file_item 을 저장하므로, 완료되지 않은 세션의 그룹이 남는다.
+    // 늦은 /complete 재시도를 막지 않도록 S3 객체와 같은 s3-min-age 를 기다린다.
+    private void purgeEmptyGroups(Tally tally) {
+        LocalDateTime before = LocalDateTime.now().minus(s3MinAge);
+        String companyId = "";
+        String fileGroupId = "";
+        List<FileGroup> groups;
+        do {
+            groups = groupRepository.findEmptyAfter(before, companyId, fileGroupId, PageRequest.of(0, batchSize));
+            if (groups.isEmpty()) {
+                break;
+            }
+            groupRepository.deleteAllInBatch(groups);
+            tally.purgedGroups += groups.size();
+            purgedGroupsCounter.increment(groups.size());
+            FileGroupId last = groups.get(groups.size() - 1).getId();
+            companyId = last.getCompanyId();
+            fileGroupId = last.getFileGroupId();
+            pause();
+        } while (groups.size() == batchSize);
+    }
+
+    // blobs/ 와 이전 그룹별 경로를 함께 훑는다. tmp/, derivatives/ 는 별도 규칙으로 처리한다.
+    private void reclaimLocalFiles(Instant cutoff, Tally tally) {
+        Path root = blobStore.root();
+        Path tmpRoot = root.resolve(BlobStore.TMP_DIR);
+        Path derivativeRoot = root.resolve(FileDerivativeService.DERIVATIVE_DIR);
+        List<String> batch = new ArrayList<>(batchSize);
+        try (Stream<Path> files = Files.walk(root)) {
+            files
+                .filter(path -> !path.startsWith(tmpRoot) && !path.startsWith(derivativeRoot))
+                .filter(path -> Files.isRegularFile(path) && olderThan(path, cutoff))
+                .forEach(path -> {
+                    batch.add(blobStore.relativize(path));
+                    if (batch.size() == batchSize) {
+                        reclaimLocalBatch(batch, tally);
+                        batch.clear();
+                    }
+                });
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("로컬 저장소를 탐색할 수 없습니다: {}", e.getMessage());
+        }
+        if (!batch.isEmpty()) {
+            reclaimLocalBatch(batch, tally);
+        }
+    }
+
+    private void reclaimLocalBatch(List<String> storagePaths, Tally tally) {
+        Set<String> referenced = new HashSet<>(itemRepository.findReferencedStoragePaths(storagePaths, DELETE_MARK_Y));
+        for (String storagePath : storagePaths) {
+            if (referenced.contains(storagePath)) {
+                continue;
+            }
+            // 대조 이후 새 업로드가 같은 blob 을 참조했을 수 있으므로 잠금 안에서 한 번 더 확인한다.
+            long bytes = blobStore.reclaim(storagePath,
+                () -> itemRepository.countByStoragePathAndDeleteMarkNot(storagePath, DELETE_MARK_Y));
+            if (bytes > 0) {
+                tally.deleted(STORE_LOCAL, bytes);
+            }
+        }
+        pause();
+    }
+
+    private void reclaimTmpFiles(Instant cutoff, Tally tally) {
+        Path tmpRoot = blobStore.root().resolve(BlobStore.TMP_DIR);
+        if (!Files.isDirectory(tmpRoot)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(tmpRoot)) {
+            files
+                .filter(path -> Files.isRegularFile(path) && olderThan(path, cutoff))
+                .forEach(path -> tally.deleted(STORE_LOCAL, deleteFile(path)));
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("임시 파일을 정리할 수 없습니다: {}", e.getMessage());
+        }
+    }
+
+    // 썸네일 파일명 {sha256}_{size}.jpg 의 원본 checksum 을 사용하는 파일이 없으면 삭제
+    private void reclaimDerivatives(Instant cutoff, Tally tally) {
+        Path derivativeRoot = blobStore.root().resolve(FileDerivativeService.DERIVATIVE_DIR);
+        if (!Files.isDirectory(derivativeRoot)) {
+            return;
+        }
+        List<Path> batch = new ArrayList<>(batchSize);
+        try (Stream<Path> files = Files.walk(derivativeRoot)) {
+            files
+                .filter(path -> Files.isRegularFile(path) && olderThan(path, cutoff))
+                .forEach(path -> {
+                    batch.add(path);
+                    if (batch.size() == batchSize) {
+                        reclaimDerivativeBatch(batch, tally);
+                        batch.clear();
+                    }
+                });
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("미리보기 저장소를 탐색할 수 없습니다: {}", e.getMessage());
+        }
+        if (!batch.isEmpty()) {
+            reclaimDerivativeBatch(batch, tally);
+        }
+    }
+
+    private void reclaimDerivativeBatch(List<Path> paths, Tally tally) {
+        List<String> checksums = paths.stream().map(FileStorageReclaimer::derivativeChecksum).distinct().toList();
+        Set<String> referenced = new HashSet<>(itemRepository.findReferencedChecksums(checksums, DELETE_MARK_Y));
+        for (Path path : paths) {
+            if (!referenced.contains(derivativeChecksum(path))) {
+                tally.deleted(STORE_LOCAL, deleteFile(path));
+            }
+        }
+        pause();
+    }
+
+    private void reclaimS3Objects(S3AsyncClient client, Instant cutoff, Tally tally) {
+        String continuationToken = null;
+        do {
+            String token = continuationToken;
+            ListObjectsV2Response page = client.listObjectsV2(builder -> builder
+                .bucket(bucketName)
+                .prefix(StringUtils.hasText(s3Prefix) ? s3Prefix : null)
+                .maxKeys(batchSize)
+                .continuationToken(token)).join();
+
+            List<S3Object> candidates = page.contents().stream()
+                .filter(object -> object.lastModified() != null && object.lastModified().isBefore(cutoff))
+                .toList();
+            if (!candidates.isEmpty()) {
+                Set<String> referenced = new HashSet<>(itemRepository.findReferencedStoragePaths(
+                    candidates.stream().map(S3Object::key).toList(), DELETE_MARK_Y));
+                List<S3Object> orphans = candidates.stream()
+                    .filter(object -> !referenced.contains(object.key()))
+                    .toList();
+                deleteS3Objects(client, orphans, tally);
+            }
+            continuationToken = Boolean.TRUE.equals(page.isTruncated()) ? page.nextContinuationToken() : null;
+            pause();
+        } while (continuationToken != null);
+    }
+
+    private void deleteS3Objects(S3AsyncClient client, List<S3Object> orphans, Tally tally) {
+        if (orphans.isEmpty()) {
+            return;
+        }
+        List<ObjectIdentifier> identifiers = orphans.stream()
+            .map(object -> ObjectIdentifier.builder().key(object.key()).build())
+            .toList();
+        DeleteObjectsResponse response = client.deleteObjects(builder -> builder
+            .bucket(bucketName)
+            .delete(delete -> delete.objects(identifiers).quiet(true))).join();
+        Set<String> failed = new HashSet<>();
+        if (response.hasErrors()) {
+            response.errors().forEach(error -> failed.add(error.key()));
+            log.warn("S3 고아 객체 일부 삭제 실패: {}건", failed.size());
+        }
+        for (S3Object object : orphans) {
+            if (!failed.contains(object.key())) {
+                tally.deleted(STORE_S3, object.size() != null ? object.size() : 0);
+            }
+        }
+    }
+
+    // 업로드 세션만 만들고 완료하지 않은 멀티파트 업로드는 파트 용량을 계속 차지하므로 중단한다.
+    private void abortStaleMultipartUploads(S3AsyncClient client, Instant cutoff) {
+        String keyMarker = null;
+        String uploadIdMarker = null;
+        boolean truncated;
+        do {
+            String key = keyMarker;
+            String uploadId = uploadIdMarker;
+            ListMultipartUploadsResponse page = client.listMultipartUploads(builder -> builder
+                .bucket(bucketName)
+                .prefix(StringUtils.hasText(s3Prefix) ? s3Prefix : null)
+                .maxUploads(batchSize)
+                .keyMarker(key)
+                .uploadIdMarker(uploadId)).join();
+            for (MultipartUpload upload : page.uploads()) {
+                if (upload.initiated() != null && upload.initiated().isBefore(cutoff)) {
+                    client.abortMultipartUpload(builder -> builder
+                        .bucket(bucketName)
+                        .key(upload.key())
+                        .uploadId(upload.uploadId())).join();
+                    abortedUploadsCounter.increment();
+                }
+            }
+            truncated = Boolean.TRUE.equals(page.isTruncated());
+            keyMarker = page.nextKeyMarker();
+            uploadIdMarker = page.nextUploadIdMarker();
+            pause();
+        } while (truncated);
+    }
+
+    private static String derivativeChecksum(Path path) {
+        String name = path.getFileName().toString();
+        int separator = name.lastIndexOf('_');
+        return separator > 0 ? name.substring(0, separator) : name;
+    }
+
+    private static boolean olderThan(Path path, Instant cutoff) {
+        try {
+            return Files.getLastModifiedTime(path).toInstant().isBefore(cutoff);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static long deleteFile(Path path) {
+        try {
+            long size = Files.size(path);
+            return Files.deleteIfExists(path) ? size : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private void pause() {
+        if (batchPause.isZero() || batchPause.isNegative()) {
+            return;
+        }
+        try {
+            Thread.sleep(batchPause.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("파일 저장소 정리가 중단되었습니다.", e);
+        }
+    }
+
+    public record ReclaimResult(long purgedRows, long purgedGroups, long deletedFiles, long reclaimedBytes) {
+    }
+
+    private final class Tally {
+        private long purgedRows;
+        private long purgedGroups;
+        private long deletedFiles;
+        private long reclaimedBytes;
+
+        private void deleted(String store, long bytes) {
+            if (bytes <= 0) {
+                return;
+            }
+            deletedFiles++;
+            reclaimedBytes += bytes;
+            deletedFilesCounters.computeIfAbsent(store, tag -> Counter.builder("cmms.file.gc.deleted.files")
+                .tag("store", tag)
+                .register(meterRegistry))
+                .increment();
+            reclaimedBytesCounters.computeIfAbsent(store, tag -> Counter.builder("cmms.file.gc.reclaimed.bytes")
+                .tag("store", tag)
+                .baseUnit("bytes")
+                .register(meterRegistry))
+                .increment(bytes);
+        }
+    }
+}
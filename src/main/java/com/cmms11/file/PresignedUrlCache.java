@@ -0,0 +1,78 @@
+package com.cmms11.file;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 이름: PresignedUrlCache
+ * 작성자: codex
+ * 작성일: 2026-10-18
+ * 수정일:
+ * 프로그램 개요: (S3 키, Content-Disposition) 별 다운로드 Presigned URL 캐시.
+ *               서명 만료 직전(refresh margin)까지 같은 URL 을 재사용하고, 최대 항목 수를 넘으면 가장 오래 쓰지 않은 항목을 버린다.
+ */
+final class PresignedUrlCache {
+
+    private final int maxEntries;
+    private final long reuseNanos;
+    private final LongSupplier clock;
+    private final Map<Key, Entry> entries;
+
+    PresignedUrlCache(int maxEntries, Duration expiry, Duration refreshMargin) {
+        this(maxEntries, expiry, refreshMargin, System::nanoTime);
+    }
+
+    PresignedUrlCache(int maxEntries, Duration expiry, Duration refreshMargin, LongSupplier clock) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.reuseNanos = Math.max(0, expiry.minus(refreshMargin).toNanos());
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > PresignedUrlCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * 유효한 URL 이 있으면 재사용, 없으면 signer 로 서명 후 저장
+     */
+    String get(String s3Key, String disposition, Supplier<String> signer) {
+        Key key = new Key(s3Key, disposition);
+        // 서명 시작 시각 기준으로 만료를 계산해야 실제 만료보다 늦게 재사용하지 않는다.
+        long now = clock.getAsLong();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && now - entry.signedAt() < reuseNanos) {
+                return entry.url();
+            }
+        }
+        String url = signer.get();
+        synchronized (entries) {
+            entries.put(key, new Entry(url, now));
+        }
+        return url;
+    }
+
+    /**
+     * S3 키에 해당하는 모든 URL 제거 (삭제된 객체)
+     */
+    void evict(String s3Key) {
+        synchronized (entries) {
+            entries.keySet().removeIf(key -> key.s3Key().equals(s3Key));
+        }
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private record Key(String s3Key, String disposition) {}
+
+    private record Entry(String url, long signedAt) {}
+}
@@ -3,14 +3,19 @@ package com.cmms11.file;
 import com.cmms11.common.error.NotFoundException;
 import com.cmms11.common.seq.AutoNumberService;
 import com.cmms11.security.MemberUserDetailsService;
-import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
-import software.amazon.awssdk.regions.Region;
-import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.UploadPartPresignRequest;
 
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
@@ -18,60 +23,74 @@ import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.StringUtils;
 
+@Slf4j
 @Service
 @Transactional
 public class S3FileService {
 
     private static final String MODULE_CODE = "F";
     private static final String DELETE_MARK_Y = "Y";
-    private static final Duration PRESIGNED_URL_EXPIRY = Duration.ofMinutes(15);
+    static final Duration PRESIGNED_URL_EXPIRY = Duration.ofMinutes(15);
+    // 캐시된 다운로드 URL 은 만료 2분 전까지만 재사용 (클라이언트가 받은 뒤 사용할 여유)
+    private static final Duration PRESIGNED_URL_REFRESH_MARGIN = Duration.ofMinutes(2);
+    // S3 제한: 파트 최대 10,000 개, DeleteObjects 요청당 최대 1,000 개
+    private static final int MAX_PARTS = 10_000;
+    private static final int DELETE_BATCH_SIZE = 1_000;
 
     private final FileGroupRepository groupRepository;
     private final FileItemRepository itemRepository;
     private final AutoNumberService autoNumberService;
-    private final S3Client s3Client;
+    private final S3AsyncClient s3Client;
     private final S3Presigner s3Presigner;
     private final String bucketName;
     private final boolean preserveOriginalFilename;
+    private final long multipartThreshold;
+    private final long multipartPartSize;
+    private final PresignedUrlCache downloadUrlCache;
 
     public S3FileService(
         FileGroupRepository groupRepository,
         FileItemRepository itemRepository,
         AutoNumberService autoNumberService,
+        S3AsyncClient s3Client,
+        S3Presigner s3Presigner,
         @Value("${aws.s3.bucket-name}") String bucketName,
-        @Value("${aws.s3.preserve-original-filename:true}") boolean preserveOriginalFilename
+        @Value("${aws.s3.preserve-original-filename:true}") boolean preserveOriginalFilename,
+        @Value("${aws.s3.multipart-threshold:67108864}") long multipartThreshold,
+        @Value("${aws.s3.multipart-part-size:16777216}") long multipartPartSize,
+        @Value("${aws.s3.presigned-url-cache-size:10000}") int presignedUrlCacheSize
     ) {
         this.groupRepository = groupRepository;
         this.itemRepository = itemRepository;
         this.autoNumberService = autoNumberService;
+        this.s3Client = s3Client;
+        this.s3Presigner = s3Presigner;
         this.bucketName = bucketName;
         this.preserveOriginalFilename = preserveOriginalFilename;
-        
-        // S3 클라이언트 초기화
-        this.s3Client = S3Client.builder()
-            .region(Region.AP_NORTHEAST_2) // 서울 리전
-            .credentialsProvider(DefaultCredentialsProvider.create())
-            .build();
-            
-        this.s3Presigner = S3Presigner.builder()
-            .region(Region.AP_NORTHEAST_2)
-            .credentialsProvider(DefaultCredentialsProvider.create())
-            .build();
+        this.multipartThreshold = multipartThreshold;
+        // S3 최소 파트 크기 5MB
+        this.multipartPartSize = Math.max(5L * 1024 * 1024, multipartPartSize);
+        this.downloadUrlCache = new PresignedUrlCache(presignedUrlCacheSize, PRESIGNED_URL_EXPIRY, PRESIGNED_URL_REFRESH_MARGIN);
     }
 
     /**
      * 업로드 세션 생성 - Presigned URL 반환
+     * 크기가 multipart-threshold 이상인 파일은 멀티파트 업로드를 시작하고 파트별 Presigned URL 을 반환한다.
      */
-    public FileUploadSession createUploadSession(String companyId, String groupId, String refEntity, String refId, List<String> fileNames) {
+    public FileUploadSession createUploadSession(String companyId, String groupId, String refEntity, String refId,
+                                                 List<String> fileNames, List<Long> fileSizes) {
         LocalDateTime now = LocalDateTime.now();
         String memberId = getCurrentMemberId();
 
@@ -81,16 +100,40 @@ public class S3FileService {
         group.setUpdatedBy(memberId);
         group = groupRepository.save(group);
 
-        // 각 파일에 대한 Presigned URL 생성
-        List<FileUploadInfo> uploadInfos = new ArrayList<>();
-        for (String fileName : fileNames) {
-            String fileId = autoNumberService.generateTxId(companyId, MODULE_CODE, LocalDate.now());
+        String[] fileIds = autoNumberService.generateTxIds(companyId, MODULE_CODE, LocalDate.now(), fileNames.size());
+        List<String> s3Keys = new ArrayList<>(fileNames.size());
+        List<CompletableFuture<CreateMultipartUploadResponse>> multipartStarts = new ArrayList<>(fileNames.size());
+        for (int i = 0; i < fileNames.size(); i++) {
+            String fileName = fileNames.get(i);
             String s3Key = generateS3Key(companyId, refEntity, group.getId().getFileGroupId(), fileName);
-            
-            // Presigned URL 생성
-            String presignedUrl = generatePresignedUrl(s3Key, fileName);
-            
-            uploadInfos.add(new FileUploadInfo(fileId, fileName, s3Key, presignedUrl));
+            s3Keys.add(s3Key);
+            // 대용량 파일의 멀티파트 시작 요청은 동시에 보낸다.
+            multipartStarts.add(isMultipart(sizeAt(fileSizes, i))
+                ? s3Client.createMultipartUpload(builder -> builder
+                    .bucket(bucketName)
+                    .key(s3Key)
+                    .contentType(detectContentType(fileName)))
+                : null);
+        }
+
+        List<FileUploadInfo> uploadInfos = new ArrayList<>();
+        for (int i = 0; i < fileNames.size(); i++) {
+            String fileName = fileNames.get(i);
+            String s3Key = s3Keys.get(i);
+            CompletableFuture<CreateMultipartUploadResponse> multipartStart = multipartStarts.get(i);
+            if (multipartStart == null) {
+                uploadInfos.add(new FileUploadInfo(fileIds[i], fileName, s3Key, generatePresignedUrl(s3Key, fileName), null, List.of(), 0));
+                continue;
+            }
+            String uploadId = awaitS3(multipartStart, "멀티파트 업로드를 시작할 수 없습니다: " + fileName).uploadId();
+            long size = sizeAt(fileSizes, i);
+            long partSize = Math.max(multipartPartSize, (size + MAX_PARTS - 1) / MAX_PARTS);
+            int partCount = (int) ((size + partSize - 1) / partSize);
+            List<String> partUrls = new ArrayList<>(partCount);
+            for (int partNumber = 1; partNumber <= partCount; partNumber++) {
+                partUrls.add(generatePartPresignedUrl(s3Key, uploadId, partNumber));
+            }
+            uploadInfos.add(new FileUploadInfo(fileIds[i], fileName, s3Key, null, uploadId, partUrls, partSize));
         }
 
         return new FileUploadSession(group.getId().getFileGroupId(), uploadInfos);
@@ -107,6 +150,17 @@ public class S3FileService {
             .findByIdCompanyIdAndIdFileGroupId(companyId, groupId)
             .orElseThrow(() -> new NotFoundException("파일 그룹을 찾을 수 없습니다: " + groupId));
 
+        // 멀티파트 업로드 완료 요청은 동시에 보내고 모두 끝난 뒤 메타데이터를 저장한다.
+        List<CompletableFuture<?>> completions = new ArrayList<>();
+        for (FileMetadata metadata : fileMetadatas) {
+            if (StringUtils.hasText(metadata.uploadId())) {
+                completions.add(completeMultipart(metadata));
+            }
+        }
+        if (!completions.isEmpty()) {
+            awaitS3(CompletableFuture.allOf(completions.toArray(CompletableFuture[]::new)), "멀티파트 업로드를 완료할 수 없습니다.");
+        }
+
         // 최대 라인 번호 조회
         Integer maxLineNo = itemRepository.findMaxLineNo(companyId, groupId);
         int currentLineNo = maxLineNo != null ? maxLineNo : 0;
@@ -158,26 +212,32 @@ public class S3FileService {
      * 파일 다운로드 URL 생성 (Presigned URL)
      */
     @Transactional(readOnly = true)
-    public String getDownloadUrl(String companyId, String groupId, String fileId) {
+    public String getDownloadUrl(String companyId, String groupId, String fileId, boolean inline) {
         FileItem item = requireActiveFile(companyId, groupId, fileId);
-        return generateDownloadPresignedUrl(item.getStoragePath(), item.getOriginalName());
+        return downloadUrl(item, inline);
+    }
+
+    /**
+     * 그룹 내 모든 활성 파일의 다운로드 URL 일괄 생성 (조회 1회)
+     */
+    @Transactional(readOnly = true)
+    public List<DownloadUrlInfo> getDownloadUrls(String companyId, String groupId, boolean inline) {
+        if (!StringUtils.hasText(groupId)) {
+            throw new IllegalArgumentException("fileGroupId는 필수입니다.");
+        }
+        return itemRepository
+            .findByIdCompanyIdAndIdFileGroupIdAndDeleteMarkNot(companyId, groupId, DELETE_MARK_Y)
+            .stream()
+            .sorted(Comparator.comparing(FileItem::getLineNo))
+            .map(item -> new DownloadUrlInfo(item.getId().getFileId(), item.getOriginalName(), downloadUrl(item, inline)))
+            .toList();
     }
 
     /**
-     * 파일 삭제
+     * 파일 삭제 (S3 객체는 커밋 후 비동기 삭제)
      */
     public void delete(String companyId, String groupId, String fileId) {
         FileItem item = requireActiveFile(companyId, groupId, fileId);
-        
-        // S3에서 파일 삭제
-        try {
-            s3Client.deleteObject(builder -> builder
-                .bucket(bucketName)
-                .key(item.getStoragePath())
-            );
-        } catch (Exception e) {
-            throw new IllegalStateException("S3에서 파일을 삭제할 수 없습니다: " + fileId, e);
-        }
 
         // DB에서 소프트 삭제
         LocalDateTime now = LocalDateTime.now();
@@ -194,6 +254,35 @@ public class S3FileService {
         group.setUpdatedAt(now);
         group.setUpdatedBy(memberId);
         groupRepository.save(group);
+
+        deleteObjectsAfterCommit(List.of(item.getStoragePath()));
+    }
+
+    /**
+     * 파일 그룹 전체 삭제 (S3 객체는 커밋 후 DeleteObjects 로 일괄 삭제)
+     */
+    public int deleteGroup(String companyId, String groupId) {
+        FileGroup group = groupRepository
+            .findByIdCompanyIdAndIdFileGroupId(companyId, groupId)
+            .orElseThrow(() -> new NotFoundException("파일 그룹을 찾을 수 없습니다: " + groupId));
+        List<FileItem> items = itemRepository.findByIdCompanyIdAndIdFileGroupIdAndDeleteMarkNot(companyId, groupId, DELETE_MARK_Y);
+
+        LocalDateTime now = LocalDateTime.now();
+        String memberId = getCurrentMemberId();
+        List<String> keys = new ArrayList<>(items.size());
+        for (FileItem item : items) {
+            item.setDeleteMark(DELETE_MARK_Y);
+            item.setUpdatedAt(now);
+            item.setUpdatedBy(memberId);
+            keys.add(item.getStoragePath());
+        }
+        itemRepository.saveAll(items);
+        group.setUpdatedAt(now);
+        group.setUpdatedBy(memberId);
+        groupRepository.save(group);
+
+        deleteObjectsAfterCommit(keys);
+        return items.size();
     }
 
     // Private helper methods
@@ -224,6 +313,79 @@ public class S3FileService {
         return group;
     }
 
+    private CompletableFuture<?> completeMultipart(FileMetadata metadata) {
+        if (metadata.parts() == null || metadata.parts().isEmpty()) {
+            throw new IllegalArgumentException("멀티파트 업로드 파트 정보가 없습니다: " + metadata.originalName());
+        }
+        List<CompletedPart> parts = metadata.parts().stream()
+            .sorted(Comparator.comparingInt(UploadedPart::partNumber))
+            .map(part -> CompletedPart.builder().partNumber(part.partNumber()).eTag(part.eTag()).build())
+            .toList();
+        return s3Client.completeMultipartUpload(builder -> builder
+            .bucket(bucketName)
+            .key(metadata.s3Key())
+            .uploadId(metadata.uploadId())
+            .multipartUpload(upload -> upload.parts(parts)));
+    }
+
+    // 요청 스레드를 붙잡지 않도록 커밋 후 비동기로 삭제하고, 실패는 로그로 남겨 고아 파일 정리에서 처리한다.
+    private void deleteObjectsAfterCommit(List<String> keys) {
+        List<String> targets = keys.stream().filter(StringUtils::hasText).distinct().toList();
+        if (targets.isEmpty()) {
+            return;
+        }
+        Runnable task = () -> deleteObjects(targets);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+
+    private void deleteObjects(List<String> keys) {
+        keys.forEach(downloadUrlCache::evict);
+        for (int from = 0; from < keys.size(); from += DELETE_BATCH_SIZE) {
+            List<ObjectIdentifier> batch = keys.subList(from, Math.min(keys.size(), from + DELETE_BATCH_SIZE)).stream()
+                .map(key -> ObjectIdentifier.builder().key(key).build())
+                .toList();
+            s3Client.deleteObjects(builder -> builder
+                    .bucket(bucketName)
+                    .delete(delete -> delete.objects(batch).quiet(true)))
+                .whenComplete((response, error) -> {
+                    if (error != null) {
+                        log.warn("S3 객체 삭제 실패 ({}건): {}", batch.size(), error.getMessage());
+                    } else if (response.hasErrors() && !response.errors().isEmpty()) {
+                        log.warn("S3 객체 일부 삭제 실패: {}", response.errors());
+                    }
+                });
+        }
+    }
+
+    private <T> T awaitS3(CompletableFuture<T> future, String message) {
+        try {
+            // 호출 타임아웃은 클라이언트 설정(api-call-timeout)으로 제한된다.
+            return future.join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException(message, e.getCause());
+        }
+    }
+
+    private boolean isMultipart(long size) {
+        return multipartThreshold > 0 && size >= multipartThreshold;
+    }
+
+    private static long sizeAt(List<Long> fileSizes, int index) {
+        if (fileSizes == null || index >= fileSizes.size() || fileSizes.get(index) == null) {
+            return 0;
+        }
+        return fileSizes.get(index);
+    }
+
     private String generateS3Key(String companyId, String refEntity, String groupId, String fileName) {
         // 원본 파일명을 URL 인코딩하여 안전하게 처리
         String encodedFileName = URLEncoder.encode(fileName, StandardCharsets.UTF_8);
@@ -246,10 +408,46 @@ public class S3FileService {
         return presignedRequest.url().toString();
     }
 
-    private String generateDownloadPresignedUrl(String s3Key, String fileName) {
-        // GET 요청용 Presigned URL 생성 로직
-        // 구현 생략 - 필요시 추가
-        return String.format("https://%s.s3.amazonaws.com/%s", bucketName, s3Key);
+    private String generatePartPresignedUrl(String s3Key, String uploadId, int partNumber) {
+        UploadPartRequest uploadPartRequest = UploadPartRequest.builder()
+            .bucket(bucketName)
+            .key(s3Key)
+            .uploadId(uploadId)
+            .partNumber(partNumber)
+            .build();
+        UploadPartPresignRequest presignRequest = UploadPartPresignRequest.builder()
+            .signatureDuration(PRESIGNED_URL_EXPIRY)
+            .uploadPartRequest(uploadPartRequest)
+            .build();
+        return s3Presigner.presignUploadPart(presignRequest).url().toString();
+    }
+
+    private String downloadUrl(FileItem item, boolean inline) {
+        String disposition = contentDisposition(item.getOriginalName(), inline);
+        return downloadUrlCache.get(item.getStoragePath(), disposition,
+            () -> generateDownloadPresignedUrl(item.getStoragePath(), disposition));
+    }
+
+    private String generateDownloadPresignedUrl(String s3Key, String disposition) {
+        GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+            .bucket(bucketName)
+            .key(s3Key)
+            .responseContentDisposition(disposition)
+            .build();
+        GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
+            .signatureDuration(PRESIGNED_URL_EXPIRY)
+            .getObjectRequest(getObjectRequest)
+            .build();
+        return s3Presigner.presignGetObject(presignRequest).url().toString();
+    }
+
+    private static String contentDisposition(String fileName, boolean inline) {
+        String type = inline ? "inline" : "attachment";
+        if (!StringUtils.hasText(fileName)) {
+            return type;
+        }
+        String encoded = URLEncoder.encode(fileName, StandardCharsets.UTF_8).replace("+", "%20");
+        return type + "; filename*=UTF-8''" + encoded;
     }
 
     private String detectContentType(String fileName) {
@@ -321,7 +519,13 @@ public class S3FileService {
     // DTO 클래스들
     public record FileUploadSession(String groupId, List<FileUploadInfo> uploadInfos) {}
     
-    public record FileUploadInfo(String fileId, String fileName, String s3Key, String presignedUrl) {}
+    public record FileUploadInfo(String fileId, String fileName, String s3Key, String presignedUrl,
+                                 String uploadId, List<String> partUrls, long partSize) {}
     
-    public record FileMetadata(String fileId, String originalName, String s3Key, String contentType, Long size, String checksum) {}
+    public record FileMetadata(String fileId, String originalName, String s3Key, String contentType, Long size, String checksum,
+                               String uploadId, List<UploadedPart> parts) {}
+
+    public record UploadedPart(int partNumber, String eTag) {}
+
+    public record DownloadUrlInfo(String fileId, String originalName, String downloadUrl) {}
 }
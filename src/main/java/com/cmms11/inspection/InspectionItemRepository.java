@@ -1,10 +1,31 @@
 package com.cmms11.inspection;
 
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface InspectionItemRepository extends JpaRepository<InspectionItem, InspectionItemId> {
     List<InspectionItem> findByIdCompanyIdAndIdInspectionIdOrderByIdLineNo(String companyId, String inspectionId);
 
-    void deleteByIdCompanyIdAndIdInspectionId(String companyId, String inspectionId);
+    // 파생 deleteBy 는 행마다 SELECT 후 DELETE 하므로 단일 DELETE 문으로 대체
+    @Modifying(flushAutomatically = true)
+    @Query("delete from InspectionItem i where i.id.companyId = :companyId and i.id.inspectionId = :inspectionId")
+    int deleteByIdCompanyIdAndIdInspectionId(
+        @Param("companyId") String companyId,
+        @Param("inspectionId") String inspectionId
+    );
+
+    @Modifying(flushAutomatically = true)
+    @Query(
+        "delete from InspectionItem i " +
+        "where i.id.companyId = :companyId and i.id.inspectionId = :inspectionId and i.id.lineNo in :lineNos"
+    )
+    int deleteLines(
+        @Param("companyId") String companyId,
+        @Param("inspectionId") String inspectionId,
+        @Param("lineNos") Collection<Integer> lineNos
+    );
 }
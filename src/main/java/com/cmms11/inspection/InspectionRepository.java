@@ -1,8 +1,10 @@
 package com.cmms11.inspection;
 
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,19 +16,30 @@ import org.springframework.data.repository.query.Param;
  * 수정일:
  * 프로그램 개요: 예방점검 엔티티 CRUD 및 검색 기능을 제공하는 JPA 레포지토리.
  */
-public interface InspectionRepository extends JpaRepository<Inspection, InspectionId> {
+public interface InspectionRepository extends JpaRepository<Inspection, InspectionId>, InspectionSearchRepository {
 
     Page<Inspection> findByIdCompanyId(String companyId, Pageable pageable);
 
-    @Query(
+    Optional<Inspection> findByIdCompanyIdAndIdInspectionId(String companyId, String inspectionId);
+
+    // findNextPage/findSlice 공통 목록 조건 (keyset 조회는 ID 조건과 정렬만 덧붙인다)
+    String LIST_QUERY =
         "select i from Inspection i " +
-        "where i.id.companyId = :companyId and (i.id.inspectionId like :keyword or i.name like :keyword)"
-    )
-    Page<Inspection> search(
+        "where i.id.companyId = :companyId " +
+        "and (:keyword is null or i.id.inspectionId like :keyword or i.name like :keyword)";
+
+    @Query(LIST_QUERY + " and i.id.inspectionId > :afterId order by i.id.inspectionId")
+    List<Inspection> findNextPage(
         @Param("companyId") String companyId,
         @Param("keyword") String keyword,
+        @Param("afterId") String afterId,
         Pageable pageable
     );
 
-    Optional<Inspection> findByIdCompanyIdAndIdInspectionId(String companyId, String inspectionId);
+    @Query(LIST_QUERY)
+    Slice<Inspection> findSlice(
+        @Param("companyId") String companyId,
+        @Param("keyword") String keyword,
+        Pageable pageable
+    );
 }
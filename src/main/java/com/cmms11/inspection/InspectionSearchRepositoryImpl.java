@@ -0,0 +1,36 @@
+package com.cmms11.inspection;
+
+import com.cmms11.common.search.KeywordSearch;
+import com.cmms11.common.search.SearchIndexService;
+import jakarta.persistence.EntityManager;
+import java.util.Map;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * 이름: InspectionSearchRepositoryImpl
+ * 작성자: codex
+ * 작성일: 2026-10-18
+ * 수정일:
+ * 프로그램 개요: 점검 키워드 검색 구현. 2글자 이상 검색어는 n-gram 인덱스로 ID 를 찾은 뒤 ID 목록으로 조회하고,
+ *               1글자 검색어이거나 인덱스를 사용할 수 없으면 기존 LIKE 검색으로 처리한다.
+ *               공통 처리는 KeywordSearch 에 두고 여기에는 점검 조건 JPQL 만 둔다.
+ */
+class InspectionSearchRepositoryImpl implements InspectionSearchRepository {
+
+    private final KeywordSearch<Inspection> keywordSearch;
+
+    InspectionSearchRepositoryImpl(EntityManager entityManager, ObjectProvider<SearchIndexService> searchIndex) {
+        this.keywordSearch = new KeywordSearch<>(
+            entityManager, searchIndex, INDEX_TYPE, Inspection.class, "i", "id.inspectionId", row -> row.getId().getInspectionId());
+    }
+
+    @Override
+    public Page<Inspection> search(String companyId, String keyword, Pageable pageable) {
+        return keywordSearch.search(companyId, keyword, pageable,
+            "i.id.companyId = :companyId",
+            "(i.id.inspectionId like :keyword or i.name like :keyword)",
+            Map.of("companyId", companyId));
+    }
+}
@@ -1,18 +1,32 @@
 package com.cmms11.inspection;
 
 import com.cmms11.common.error.NotFoundException;
+import com.cmms11.common.paging.KeysetCursor;
+import com.cmms11.common.search.SearchIndexService;
 import com.cmms11.common.seq.AutoNumberService;
 import com.cmms11.security.MemberUserDetailsService;
+import jakarta.persistence.EntityManager;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -31,15 +45,21 @@ public class InspectionService {
     private final InspectionRepository repository;
     private final InspectionItemRepository itemRepository;
     private final AutoNumberService autoNumberService;
+    private final SearchIndexService searchIndex;
+    private final EntityManager entityManager;
 
     public InspectionService(
         InspectionRepository repository,
         InspectionItemRepository itemRepository,
-        AutoNumberService autoNumberService
+        AutoNumberService autoNumberService,
+        SearchIndexService searchIndex,
+        EntityManager entityManager
     ) {
         this.repository = repository;
         this.itemRepository = itemRepository;
         this.autoNumberService = autoNumberService;
+        this.searchIndex = searchIndex;
+        this.entityManager = entityManager;
     }
 
     @Transactional(readOnly = true)
@@ -55,6 +75,20 @@ public class InspectionService {
         return page.map(InspectionResponse::from);
     }
 
+    @Transactional(readOnly = true)
+    public Window<InspectionResponse> scroll(String keyword, KeysetScrollPosition position, int size) {
+        String companyId = MemberUserDetailsService.DEFAULT_COMPANY;
+        List<Inspection> rows = repository.findNextPage(
+            companyId, KeysetCursor.keyword(keyword), KeysetCursor.afterId(position), KeysetCursor.fetchLimit(size));
+        return KeysetCursor.window(rows, size, inspection -> inspection.getId().getInspectionId()).map(InspectionResponse::from);
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<InspectionResponse> listSlice(String keyword, Pageable pageable) {
+        String companyId = MemberUserDetailsService.DEFAULT_COMPANY;
+        return repository.findSlice(companyId, KeysetCursor.keyword(keyword), pageable).map(InspectionResponse::from);
+    }
+
     @Transactional(readOnly = true)
     public InspectionResponse get(String inspectionId) {
         Inspection inspection = getExisting(inspectionId);
@@ -81,6 +115,7 @@ public class InspectionService {
         entity.setUpdatedBy(memberId);
 
         Inspection saved = repository.save(entity);
+        indexSearch(saved);
         List<InspectionItem> items = synchronizeItems(companyId, newId, request.items());
         return InspectionResponse.from(saved, items);
     }
@@ -91,6 +126,7 @@ public class InspectionService {
         entity.setUpdatedAt(LocalDateTime.now());
         entity.setUpdatedBy(currentMemberId());
         Inspection saved = repository.save(entity);
+        indexSearch(saved);
         List<InspectionItem> items = synchronizeItems(
             entity.getId().getCompanyId(),
             inspectionId,
@@ -106,6 +142,7 @@ public class InspectionService {
             inspectionId
         );
         repository.delete(entity);
+        searchIndex.delete(InspectionRepository.INDEX_TYPE, entity.getId().getCompanyId(), inspectionId);
     }
 
     private Inspection getExisting(String inspectionId) {
@@ -128,31 +165,45 @@ public class InspectionService {
         entity.setNote(request.note());
     }
 
+    /**
+     * 기존 항목과 비교해 추가(persist)/변경(dirty checking)/삭제(일괄 DELETE) 분만 반영
+     * 변경 없는 행은 건드리지 않으며, INSERT/UPDATE 는 flush 시 JDBC 배치로 묶인다.
+     */
     private List<InspectionItem> synchronizeItems(
         String companyId,
         String inspectionId,
         List<InspectionItemRequest> items
     ) {
-        itemRepository.deleteByIdCompanyIdAndIdInspectionId(companyId, inspectionId);
-        if (items == null || items.isEmpty()) {
-            return List.of();
+        List<InspectionItemRequest> requested = items != null ? items : List.of();
+        Map<Integer, InspectionItem> existingByLine = itemRepository
+            .findByIdCompanyIdAndIdInspectionIdOrderByIdLineNo(companyId, inspectionId)
+            .stream()
+            .collect(Collectors.toMap(item -> item.getId().getLineNo(), Function.identity()));
+
+        List<InspectionItem> result = new ArrayList<>(requested.size());
+        for (int index = 0; index < requested.size(); index++) {
+            int lineNo = index + 1;
+            InspectionItemRequest request = requested.get(index);
+            InspectionItem entity = existingByLine.remove(lineNo);
+            if (entity == null) {
+                entity = new InspectionItem();
+                entity.setId(new InspectionItemId(companyId, inspectionId, lineNo));
+                applyItem(entity, request);
+                entityManager.persist(entity);
+            } else if (!sameItem(entity, request)) {
+                applyItem(entity, request);
+            }
+            result.add(entity);
         }
 
-        List<InspectionItem> entities = IntStream
-            .range(0, items.size())
-            .mapToObj(index -> toItemEntity(companyId, inspectionId, index + 1, items.get(index)))
-            .collect(Collectors.toList());
-        return itemRepository.saveAll(entities);
+        if (!existingByLine.isEmpty()) {
+            existingByLine.values().forEach(entityManager::detach);
+            itemRepository.deleteLines(companyId, inspectionId, existingByLine.keySet());
+        }
+        return result;
     }
 
-    private InspectionItem toItemEntity(
-        String companyId,
-        String inspectionId,
-        int lineNo,
-        InspectionItemRequest item
-    ) {
-        InspectionItem entity = new InspectionItem();
-        entity.setId(new InspectionItemId(companyId, inspectionId, lineNo));
+    private void applyItem(InspectionItem entity, InspectionItemRequest item) {
         entity.setName(item.name());
         entity.setMethod(item.method());
         entity.setMinVal(item.minVal());
@@ -161,7 +212,17 @@ public class InspectionService {
         entity.setUnit(item.unit());
         entity.setResultVal(item.resultVal());
         entity.setNote(item.note());
-        return entity;
+    }
+
+    private boolean sameItem(InspectionItem entity, InspectionItemRequest item) {
+        return Objects.equals(entity.getName(), item.name())
+            && Objects.equals(entity.getMethod(), item.method())
+            && Objects.equals(entity.getMinVal(), item.minVal())
+            && Objects.equals(entity.getMaxVal(), item.maxVal())
+            && Objects.equals(entity.getStdVal(), item.stdVal())
+            && Objects.equals(entity.getUnit(), item.unit())
+            && Objects.equals(entity.getResultVal(), item.resultVal())
+            && Objects.equals(entity.getNote(), item.note());
     }
 
     private String resolveId(String companyId, String requestedId, LocalDate referenceDate) {
@@ -186,4 +247,27 @@ public class InspectionService {
         String name = authentication.getName();
         return name != null ? name : "system";
     }
+
+    /**
+     * 기동 시 검색 인덱스가 비어 있으면 전체 재색인
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebuildSearchIndex() {
+        searchIndex.rebuildIfEmpty(InspectionRepository.INDEX_TYPE, batch -> {
+            Pageable pageable = PageRequest.of(0, 1000, Sort.by("id"));
+            Page<Inspection> page;
+            do {
+                page = repository.findAll(pageable);
+                for (Inspection inspection : page) {
+                    batch.add(inspection.getId().getCompanyId(), inspection.getId().getInspectionId(), inspection.getId().getInspectionId(), inspection.getName());
+                }
+                pageable = page.nextPageable();
+            } while (page.hasNext());
+        });
+    }
+
+    private void indexSearch(Inspection inspection) {
+        searchIndex.index(InspectionRepository.INDEX_TYPE, inspection.getId().getCompanyId(), inspection.getId().getInspectionId(), inspection.getId().getInspectionId(), inspection.getName());
+    }
 }
@@ -7,7 +7,12 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "inventory")
+@Table(
+    name = "inventory",
+    indexes = {
+        @Index(name = "ix_inventory_live", columnList = "company_id, delete_mark, inventory_id")
+    }
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -1,8 +1,11 @@
 package com.cmms11.inventory;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -31,4 +34,29 @@ public interface InventoryRepository extends JpaRepository<Inventory, InventoryI
     );
 
     Optional<Inventory> findByIdCompanyIdAndIdInventoryId(String companyId, String inventoryId);
+
+    List<Inventory> findByIdCompanyIdAndIdInventoryIdIn(String companyId, Collection<String> inventoryIds);
+
+    // findNextPage/findSlice 공통 목록 조건 (keyset 조회는 ID 조건과 정렬만 덧붙인다)
+    String LIST_QUERY =
+        "select i from Inventory i " +
+        "where i.id.companyId = :companyId and i.deleteMark = :deleteMark " +
+        "and (:keyword is null or i.id.inventoryId like :keyword or i.name like :keyword)";
+
+    @Query(LIST_QUERY + " and i.id.inventoryId > :afterId order by i.id.inventoryId")
+    List<Inventory> findNextPage(
+        @Param("companyId") String companyId,
+        @Param("deleteMark") String deleteMark,
+        @Param("keyword") String keyword,
+        @Param("afterId") String afterId,
+        Pageable pageable
+    );
+
+    @Query(LIST_QUERY)
+    Slice<Inventory> findSlice(
+        @Param("companyId") String companyId,
+        @Param("deleteMark") String deleteMark,
+        @Param("keyword") String keyword,
+        Pageable pageable
+    );
 }
@@ -1,9 +1,13 @@
 package com.cmms11.inventory;
 
 import com.cmms11.common.error.NotFoundException;
+import com.cmms11.common.paging.KeysetCursor;
 import com.cmms11.common.seq.AutoNumberService;
 import com.cmms11.common.upload.BulkUploadError;
 import com.cmms11.common.upload.BulkUploadResult;
+import com.cmms11.common.upload.CsvChunkImporter;
+import com.cmms11.common.upload.CsvColumns;
+import com.cmms11.common.upload.CsvRow;
 import com.cmms11.common.upload.CsvUtils;
 import com.cmms11.security.MemberUserDetailsService;
 import java.io.IOException;
@@ -14,10 +18,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -39,10 +48,16 @@ public class InventoryService {
 
     private final InventoryRepository repository;
     private final AutoNumberService autoNumberService;
+    private final CsvChunkImporter chunkImporter;
 
-    public InventoryService(InventoryRepository repository, AutoNumberService autoNumberService) {
+    public InventoryService(
+        InventoryRepository repository,
+        AutoNumberService autoNumberService,
+        CsvChunkImporter chunkImporter
+    ) {
         this.repository = repository;
         this.autoNumberService = autoNumberService;
+        this.chunkImporter = chunkImporter;
     }
 
     @Transactional(readOnly = true)
@@ -58,6 +73,20 @@ public class InventoryService {
         return page.map(InventoryResponse::from);
     }
 
+    @Transactional(readOnly = true)
+    public Window<InventoryResponse> scroll(String keyword, KeysetScrollPosition position, int size) {
+        String companyId = MemberUserDetailsService.DEFAULT_COMPANY;
+        List<Inventory> rows = repository.findNextPage(
+            companyId, "N", KeysetCursor.keyword(keyword), KeysetCursor.afterId(position), KeysetCursor.fetchLimit(size));
+        return KeysetCursor.window(rows, size, inventory -> inventory.getId().getInventoryId()).map(InventoryResponse::from);
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<InventoryResponse> listSlice(String keyword, Pageable pageable) {
+        String companyId = MemberUserDetailsService.DEFAULT_COMPANY;
+        return repository.findSlice(companyId, "N", KeysetCursor.keyword(keyword), pageable).map(InventoryResponse::from);
+    }
+
     @Transactional(readOnly = true)
     public InventoryResponse get(String inventoryId) {
         return InventoryResponse.from(getActiveInventory(inventoryId));
@@ -87,41 +116,102 @@ public class InventoryService {
 
     public BulkUploadResult upload(MultipartFile file) {
         List<BulkUploadError> errors = new ArrayList<>();
-        List<Inventory> pending = new ArrayList<>();
         Set<String> seenIds = new HashSet<>();
         LocalDateTime now = LocalDateTime.now();
         String memberId = currentMemberId();
+        int[] successCount = {0};
 
         try (CSVParser parser = CsvUtils.parse(file)) {
-            Map<String, Integer> headerIndex = CsvUtils.normalizeHeaderMap(parser);
-            CsvUtils.requireHeaders(headerIndex, List.of("name", "asset_id", "dept_id"));
+            InventoryColumns columns = InventoryColumns.compile(CsvColumns.compile(parser, "name", "asset_id", "dept_id"));
+
+            chunkImporter.forEachChunk(parser, columns::toRequest, chunk -> successCount[0] +=
+                importChunk(chunk, columns, now, memberId, seenIds, errors));
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("CSV 파일을 읽을 수 없습니다.", ex);
+        }
+        return new BulkUploadResult(successCount[0], errors.size(), errors);
+    }
+
+    /**
+     * CSV 한 청크 처리: 기존 ID 일괄 조회(IN) → 행 순서대로 검사 → 신규 ID 일괄 채번 → 저장
+     */
+    private int importChunk(
+        List<CsvRow<InventoryRequest>> rows,
+        InventoryColumns columns,
+        LocalDateTime now,
+        String memberId,
+        Set<String> seenIds,
+        List<BulkUploadError> errors
+    ) {
+        String companyId = MemberUserDetailsService.DEFAULT_COMPANY;
+        Set<String> requestedIds = new HashSet<>();
+        for (CsvRow<InventoryRequest> row : rows) {
+            String inventoryId = columns.inventoryId().get(row.record());
+            if (inventoryId != null) {
+                requestedIds.add(inventoryId);
+            }
+        }
+        Map<String, Inventory> existingById = requestedIds.isEmpty()
+            ? Map.of()
+            : repository.findByIdCompanyIdAndIdInventoryIdIn(companyId, requestedIds).stream()
+                .collect(Collectors.toMap(inventory -> inventory.getId().getInventoryId(), Function.identity()));
+
+        // 원래 행 단위 처리와 같은 순서로 검사: CSV 내 중복 → 기존 ID → 값 형식
+        int accepted = 0;
+        List<Inventory> created = new ArrayList<>();
+        List<Inventory> needsId = new ArrayList<>();
+        for (CsvRow<InventoryRequest> row : rows) {
+            String inventoryId = columns.inventoryId().get(row.record());
+            String error = null;
+            Inventory existing = inventoryId != null ? existingById.get(inventoryId) : null;
+            if (inventoryId != null && seenIds.contains(inventoryId)) {
+                error = "CSV 내에서 중복된 자재 ID입니다: " + inventoryId;
+            } else if (existing != null && !"Y".equalsIgnoreCase(existing.getDeleteMark())) {
+                error = "Inventory already exists: " + inventoryId;
+            } else if (!row.valid()) {
+                error = row.error();
+            }
+            if (error != null) {
+                errors.add(new BulkUploadError(row.rowNumber(), error));
+                continue;
+            }
 
-            for (CSVRecord record : parser) {
-                if (CsvUtils.isEmptyRecord(record)) {
-                    continue;
+            Inventory entity;
+            if (existing != null) {
+                // 삭제 표시된 자재는 같은 ID 로 되살린다.
+                entity = existing;
+                if (entity.getCreatedAt() == null) {
+                    entity.setCreatedAt(now);
+                    entity.setCreatedBy(memberId);
                 }
-                int rowNumber = CsvUtils.displayRowNumber(record);
-                try {
-                    InventoryRequest request = toInventoryRequest(record, headerIndex);
-                    String csvId = request.inventoryId();
-                    if (csvId != null && seenIds.contains(csvId)) {
-                        throw new IllegalArgumentException("CSV 내에서 중복된 자재 ID입니다: " + csvId);
-                    }
-                    Inventory entity = prepareForSave(request, now, memberId);
-                    pending.add(entity);
-                    seenIds.add(entity.getId().getInventoryId());
-                } catch (IllegalArgumentException ex) {
-                    errors.add(new BulkUploadError(rowNumber, ex.getMessage()));
+            } else {
+                entity = new Inventory();
+                entity.setCreatedAt(now);
+                entity.setCreatedBy(memberId);
+                created.add(entity);
+                if (inventoryId != null) {
+                    entity.setId(new InventoryId(companyId, inventoryId));
+                } else {
+                    needsId.add(entity);
                 }
             }
-        } catch (IOException ex) {
-            throw new IllegalArgumentException("CSV 파일을 읽을 수 없습니다.", ex);
+            applyRequest(entity, row.value());
+            entity.setDeleteMark("N");
+            entity.setUpdatedAt(now);
+            entity.setUpdatedBy(memberId);
+            accepted++;
+            if (inventoryId != null) {
+                seenIds.add(inventoryId);
+            }
         }
 
-        if (!pending.isEmpty()) {
-            repository.saveAll(pending);
+        String[] generatedIds = autoNumberService.generateMasterIds(companyId, MODULE_CODE, needsId.size());
+        for (int i = 0; i < needsId.size(); i++) {
+            needsId.get(i).setId(new InventoryId(companyId, generatedIds[i]));
+            seenIds.add(generatedIds[i]);
         }
-        return new BulkUploadResult(pending.size(), errors.size(), errors);
+        created.forEach(chunkImporter::persist);
+        return accepted;
     }
 
     private Inventory prepareForSave(InventoryRequest request, LocalDateTime now, String memberId) {
@@ -163,33 +253,6 @@ public class InventoryService {
         return entity;
     }
 
-    private InventoryRequest toInventoryRequest(CSVRecord record, Map<String, Integer> headerIndex) {
-        String inventoryId = CsvUtils.getString(record, headerIndex, "inventory_id");
-        String name = CsvUtils.requireNonBlank(CsvUtils.getString(record, headerIndex, "name"), "name");
-        String assetId = CsvUtils.requireNonBlank(CsvUtils.getString(record, headerIndex, "asset_id"), "asset_id");
-        String deptId = CsvUtils.requireNonBlank(CsvUtils.getString(record, headerIndex, "dept_id"), "dept_id");
-        String makerName = CsvUtils.getString(record, headerIndex, "maker_name");
-        String spec = CsvUtils.getString(record, headerIndex, "spec");
-        String model = CsvUtils.getString(record, headerIndex, "model");
-        String serial = CsvUtils.getString(record, headerIndex, "serial");
-        String fileGroupId = CsvUtils.getString(record, headerIndex, "file_group_id");
-        String note = CsvUtils.getString(record, headerIndex, "note");
-        String status = CsvUtils.getString(record, headerIndex, "status");
-        return new InventoryRequest(
-            inventoryId,
-            name,
-            assetId,
-            deptId,
-            makerName,
-            spec,
-            model,
-            serial,
-            fileGroupId,
-            note,
-            status
-        );
-    }
-
     private Inventory getActiveInventory(String inventoryId) {
         InventoryId id = new InventoryId(MemberUserDetailsService.DEFAULT_COMPANY, inventoryId);
         return repository.findById(id)
@@ -210,6 +273,56 @@ public class InventoryService {
         entity.setStatus(request.status());
     }
 
+    /**
+     * 자재 CSV 컬럼 접근자 (업로드당 한 번 컴파일)
+     */
+    private record InventoryColumns(
+        CsvColumns.Column inventoryId,
+        CsvColumns.Column name,
+        CsvColumns.Column assetId,
+        CsvColumns.Column deptId,
+        CsvColumns.Column makerName,
+        CsvColumns.Column spec,
+        CsvColumns.Column model,
+        CsvColumns.Column serial,
+        CsvColumns.Column fileGroupId,
+        CsvColumns.Column note,
+        CsvColumns.Column status
+    ) {
+
+        static InventoryColumns compile(CsvColumns columns) {
+            return new InventoryColumns(
+                columns.column("inventory_id"),
+                columns.column("name"),
+                columns.column("asset_id"),
+                columns.column("dept_id"),
+                columns.column("maker_name"),
+                columns.column("spec"),
+                columns.column("model"),
+                columns.column("serial"),
+                columns.column("file_group_id"),
+                columns.column("note"),
+                columns.column("status")
+            );
+        }
+
+        InventoryRequest toRequest(CSVRecord record) {
+            return new InventoryRequest(
+                inventoryId.get(record),
+                name.require(record),
+                assetId.require(record),
+                deptId.require(record),
+                makerName.get(record),
+                spec.get(record),
+                model.get(record),
+                serial.get(record),
+                fileGroupId.get(record),
+                note.get(record),
+                status.get(record)
+            );
+        }
+    }
+
     private String currentMemberId() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
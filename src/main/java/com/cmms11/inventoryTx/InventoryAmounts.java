@@ -0,0 +1,23 @@
+package com.cmms11.inventoryTx;
+
+import java.math.BigDecimal;
+
+/**
+ * 이름: InventoryAmounts
+ * 작성자: codex
+ * 작성일: 2026-10-18
+ * 수정일:
+ * 프로그램 개요: 재고 수량/금액 계산 공통 유틸 (재고 서비스 패키지 내부 전용).
+ */
+final class InventoryAmounts {
+
+    private InventoryAmounts() {
+    }
+
+    /**
+     * null 수량/금액을 0으로 변환
+     */
+    static BigDecimal nvl(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,136 @@
+package com.cmms11.inventoryTx;
+
+import static com.cmms11.inventoryTx.InventoryAmounts.nvl;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+/**
+ * 이름: InventoryBalanceService
+ * 작성자: codex
+ * 작성일: 2026-10-18
+ * 수정일:
+ * 프로그램 개요: 특정 일자의 기초 재고(수량/금액)를 계산하는 서비스.
+ *               기준일 이전 최근 마감(InventoryClosing) 기말값에 마감월 이후 거래이력 순증감만 더하므로
+ *               조회 비용이 이력 전체 기간이 아닌 마감 이후 기간에 비례한다.
+ *               창고 단위 일괄 조회(getOpeningBalances)는 재고번호마다 조회하지 않고 그룹 집계 몇 번으로 계산한다.
+ */
+@Service
+@Transactional(readOnly = true)
+public class InventoryBalanceService {
+
+    private static final DateTimeFormatter YYYYMM = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final InventoryHistoryRepository historyRepository;
+    private final InventoryClosingRepository closingRepository;
+    private final InventoryClosingPartitionRepository partitionRepository;
+
+    public InventoryBalanceService(
+            InventoryHistoryRepository historyRepository,
+            InventoryClosingRepository closingRepository,
+            InventoryClosingPartitionRepository partitionRepository) {
+        this.historyRepository = historyRepository;
+        this.closingRepository = closingRepository;
+        this.partitionRepository = partitionRepository;
+    }
+
+    /**
+     * 기초 재고 조회 (date 당일 거래 이전 시점의 수량/금액)
+     */
+    public StockBalance getOpeningBalance(String companyId, String storageId, String inventoryId, LocalDate date) {
+        Optional<InventoryClosing> closing = closingRepository
+                .findFirstByIdCompanyIdAndIdStorageIdAndIdInventoryIdAndIdYyyymmLessThanOrderByIdYyyymmDesc(
+                        companyId, storageId, inventoryId, date.format(YYYYMM));
+
+        if (closing.isEmpty()) {
+            InventoryHistoryRepository.StockDelta delta = historyRepository
+                    .sumStockDeltaByCompanyIdAndInventoryIdAndStorageIdAndTxDateBefore(companyId, inventoryId, storageId, date);
+            return new StockBalance(nvl(delta.getQty()), nvl(delta.getAmount()));
+        }
+
+        InventoryClosing snapshot = closing.get();
+        LocalDate deltaFrom = YearMonth.parse(snapshot.getId().getYyyymm(), YYYYMM).plusMonths(1).atDay(1);
+        BigDecimal qty = nvl(snapshot.getEndQty());
+        BigDecimal amount = nvl(snapshot.getEndAmount());
+        if (deltaFrom.isBefore(date)) {
+            InventoryHistoryRepository.StockDelta delta = historyRepository
+                    .sumStockDeltaByCompanyIdAndInventoryIdAndStorageIdAndTxDateRange(
+                            companyId, inventoryId, storageId, deltaFrom, date);
+            qty = qty.add(nvl(delta.getQty()));
+            amount = amount.add(nvl(delta.getAmount()));
+        }
+        return new StockBalance(qty, amount);
+    }
+
+    /**
+     * 창고별 기초 재고 일괄 조회 (재고번호 → date 당일 거래 이전 시점의 수량/금액)
+     * 최근 완료 창고 마감(InventoryClosingPartition)이 있으면 그 달 마감 기말값 + 이후 순증감 그룹 집계 1회로 계산한다.
+     * 완료 마감에 없는 재고번호는 그 달 기말 재고가 0 이므로 순증감만으로 계산된다.
+     * 완료 기록이 없으면 재고번호별 최근 마감 + 마감월별 이후 순증감 그룹 집계, 마감이 없는 재고번호의 전체 순증감 그룹 집계로 계산한다.
+     */
+    public Map<String, StockBalance> getOpeningBalances(String companyId, String storageId, LocalDate date) {
+        String yyyymm = date.format(YYYYMM);
+        Map<String, StockBalance> openings = new HashMap<>();
+
+        Optional<InventoryClosingPartition> snapshot = partitionRepository
+                .findFirstByIdCompanyIdAndIdStorageIdAndIdYyyymmLessThanOrderByIdYyyymmDesc(companyId, storageId, yyyymm);
+        if (snapshot.isPresent()) {
+            String snapshotMonth = snapshot.get().getId().getYyyymm();
+            for (InventoryClosing closing : closingRepository.findByIdCompanyIdAndIdYyyymmAndIdStorageId(companyId, snapshotMonth, storageId)) {
+                openings.put(closing.getId().getInventoryId(), new StockBalance(nvl(closing.getEndQty()), nvl(closing.getEndAmount())));
+            }
+            addDeltas(openings, companyId, storageId, snapshotMonth, date, inventoryId -> true);
+            return openings;
+        }
+
+        Map<String, String> closingMonths = new HashMap<>();
+        for (InventoryClosing closing : closingRepository.findLatestByCompanyIdAndStorageIdAndYyyymmLessThan(companyId, storageId, yyyymm)) {
+            openings.put(closing.getId().getInventoryId(), new StockBalance(nvl(closing.getEndQty()), nvl(closing.getEndAmount())));
+            closingMonths.put(closing.getId().getInventoryId(), closing.getId().getYyyymm());
+        }
+        for (String month : new TreeSet<>(closingMonths.values())) {
+            addDeltas(openings, companyId, storageId, month, date, inventoryId -> month.equals(closingMonths.get(inventoryId)));
+        }
+        for (InventoryHistoryRepository.InventoryStockDelta delta : historyRepository
+                .sumUnclosedStockDeltaByCompanyIdAndStorageIdAndTxDateBeforeGroupByInventoryId(companyId, storageId, yyyymm, date)) {
+            openings.put(delta.getInventoryId(), new StockBalance(nvl(delta.getQty()), nvl(delta.getAmount())));
+        }
+        return openings;
+    }
+
+    // 마감월 다음 달 1일부터 date 전날까지의 재고번호별 순증감을 target 에 해당하는 재고번호에만 더한다.
+    private void addDeltas(Map<String, StockBalance> openings, String companyId, String storageId,
+                           String closingMonth, LocalDate date, Predicate<String> target) {
+        LocalDate deltaFrom = YearMonth.parse(closingMonth, YYYYMM).plusMonths(1).atDay(1);
+        if (!deltaFrom.isBefore(date)) {
+            return;
+        }
+        for (InventoryHistoryRepository.InventoryStockDelta delta : historyRepository
+                .sumStockDeltaByCompanyIdAndStorageIdAndTxDateRangeGroupByInventoryId(companyId, storageId, deltaFrom, date)) {
+            if (target.test(delta.getInventoryId())) {
+                openings.merge(delta.getInventoryId(), new StockBalance(nvl(delta.getQty()), nvl(delta.getAmount())),
+                        (base, change) -> new StockBalance(base.qty().add(change.qty()), base.amount().add(change.amount())));
+            }
+        }
+    }
+
+    /**
+     * 재고 잔액 DTO
+     */
+    public record StockBalance(BigDecimal qty, BigDecimal amount) {
+
+        public static StockBalance zero() {
+            return new StockBalance(BigDecimal.ZERO, BigDecimal.ZERO);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.cmms11.inventoryTx;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 이름: InventoryClosingJobResponse
+ * 작성자: codex
+ * 작성일: 2026-10-18
+ * 수정일:
+ * 프로그램 개요: 월마감 일괄 작업 진행 상태 응답 DTO.
+ */
+public record InventoryClosingJobResponse(
+    String yyyymm,
+    String status,
+    int totalPartitions,
+    int completedPartitions,
+    int skippedPartitions,
+    int failedPartitions,
+    long closedCount,
+    LocalDateTime startedAt,
+    LocalDateTime finishedAt,
+    List<String> errors
+) {
+    public InventoryClosingJobResponse {
+        errors = errors == null ? List.of() : List.copyOf(errors);
+    }
+}
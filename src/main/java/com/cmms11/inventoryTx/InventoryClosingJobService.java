@@ -0,0 +1,332 @@
+package com.cmms11.inventoryTx;
+
+import static com.cmms11.inventoryTx.InventoryAmounts.nvl;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 이름: InventoryClosingJobService
+ * 작성자: codex
+ * 작성일: 2026-10-18
+ * 수정일:
+ * 프로그램 개요: 전체 창고×재고 월마감을 서버에서 일괄 처리하는 작업 서비스.
+ *               창고(storageId) 단위로 분할해 제한된 작업자 풀에서 실행하며, 파티션마다
+ *               당월 거래이력 그룹 집계 1회 + 최근 완료 마감 조회 1회(+ 이후 순증감 그룹 집계) 후 마감 행을 배치로 저장한다.
+ *               파티션은 단일 트랜잭션이며 마감 행과 함께 완료 기록(InventoryClosingPartition)을 남기므로,
+ *               재실행 시 완료 기록이 있는 창고만 건너뛴다(force 시 재마감). 재고번호 단위 수동 마감은 완료로 보지 않는다.
+ */
+@Service
+public class InventoryClosingJobService {
+
+    private static final DateTimeFormatter YYYYMM = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final int MAX_ERRORS = 100;
+
+    private final InventoryHistoryRepository historyRepository;
+    private final InventoryClosingRepository closingRepository;
+    private final InventoryClosingPartitionRepository partitionRepository;
+    private final InventoryBalanceService balanceService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate partitionTx;
+    private final ExecutorService workers;
+    private final int batchSize;
+    private final Map<String, ClosingJob> jobs = new ConcurrentHashMap<>();
+
+    public InventoryClosingJobService(
+            InventoryHistoryRepository historyRepository,
+            InventoryClosingRepository closingRepository,
+            InventoryClosingPartitionRepository partitionRepository,
+            InventoryBalanceService balanceService,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.inventory.closing.workers:4}") int workerCount,
+            @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}") int batchSize) {
+        this.historyRepository = historyRepository;
+        this.closingRepository = closingRepository;
+        this.partitionRepository = partitionRepository;
+        this.balanceService = balanceService;
+        this.entityManager = entityManager;
+        this.partitionTx = new TransactionTemplate(transactionManager);
+        AtomicInteger threadNo = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(Math.max(1, workerCount), runnable -> {
+            Thread thread = new Thread(runnable, "inventory-closing-" + threadNo.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * 월마감 작업 시작 (비동기, 진행 상태 즉시 반환)
+     */
+    public InventoryClosingJobResponse start(String companyId, String yyyymm, boolean force) {
+        return launch(companyId, yyyymm, force).toResponse();
+    }
+
+    /**
+     * 월마감 작업 실행 후 완료까지 대기
+     */
+    public InventoryClosingJobResponse run(String companyId, String yyyymm, boolean force) {
+        ClosingJob job = launch(companyId, yyyymm, force);
+        job.completion.join();
+        return job.toResponse();
+    }
+
+    /**
+     * 월마감 작업 진행 상태 조회
+     */
+    public Optional<InventoryClosingJobResponse> getStatus(String companyId, String yyyymm) {
+        return Optional.ofNullable(jobs.get(jobKey(companyId, yyyymm))).map(ClosingJob::toResponse);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private ClosingJob launch(String companyId, String yyyymm, boolean force) {
+        YearMonth month = parseMonth(yyyymm);
+        ClosingJob job = jobs.compute(jobKey(companyId, yyyymm), (key, existing) -> {
+            if (existing != null && existing.isRunning()) {
+                throw new IllegalArgumentException("이미 실행 중인 마감 작업이 있습니다: " + yyyymm);
+            }
+            return new ClosingJob(yyyymm);
+        });
+
+        try {
+            List<String> partitions = planPartitions(companyId, month, force, job);
+            job.total.set(partitions.size());
+            CompletableFuture<?>[] futures = partitions.stream()
+                    .map(storageId -> CompletableFuture.runAsync(() -> runPartition(job, companyId, month, storageId), workers))
+                    .toArray(CompletableFuture[]::new);
+            job.completion = CompletableFuture.allOf(futures).whenComplete((result, ex) -> job.finish());
+        } catch (RuntimeException e) {
+            job.error("작업 계획 실패: " + e.getMessage());
+            job.finish();
+            throw e;
+        }
+        return job;
+    }
+
+    /**
+     * 마감 대상 창고(파티션) 목록: 당월 말까지 거래가 있었던 창고 ∪ 이전 마감 창고, 완료된 창고 제외
+     * (당월 거래 없이 이월 재고만 있는 창고도 포함해야 하므로 당월 거래 창고로 한정하지 않는다)
+     */
+    private List<String> planPartitions(String companyId, YearMonth month, boolean force, ClosingJob job) {
+        String yyyymm = month.format(YYYYMM);
+        Set<String> storageIds = new TreeSet<>(historyRepository.findDistinctStorageIdByCompanyIdAndTxDateBefore(
+                companyId, month.plusMonths(1).atDay(1)));
+        storageIds.addAll(closingRepository.findDistinctStorageIdByCompanyIdAndYyyymmLessThan(companyId, yyyymm));
+
+        if (!force) {
+            Set<String> closed = new HashSet<>(partitionRepository.findStorageIdByCompanyIdAndYyyymm(companyId, yyyymm));
+            int before = storageIds.size();
+            storageIds.removeAll(closed);
+            job.skipped.set(before - storageIds.size());
+        }
+        return new ArrayList<>(storageIds);
+    }
+
+    private void runPartition(ClosingJob job, String companyId, YearMonth month, String storageId) {
+        try {
+            Integer closed = partitionTx.execute(status -> closePartition(companyId, month, storageId));
+            job.closedCount.addAndGet(closed != null ? closed : 0);
+            job.completed.incrementAndGet();
+        } catch (RuntimeException e) {
+            job.failed.incrementAndGet();
+            job.error(storageId + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * 창고 단위 마감: 그룹 집계 + 기초재고 → 당월 마감 행 배치 저장 후 완료 기록
+     */
+    private int closePartition(String companyId, YearMonth month, String storageId) {
+        String yyyymm = month.format(YYYYMM);
+        LocalDate fromDate = month.atDay(1);
+        LocalDate toDate = month.atEndOfMonth();
+
+        // 완료되지 않은 창고(재마감 포함)에 남아 있는 당월 마감 행(재고번호 단위 수동 마감 등)은 전체 재작성
+        closingRepository.deleteByCompanyIdAndYyyymmAndStorageId(companyId, yyyymm, storageId);
+
+        Map<String, InventoryHistoryRepository.InventoryMovementSummary> movements = new HashMap<>();
+        for (InventoryHistoryRepository.InventoryMovementSummary movement : historyRepository
+                .summarizeByCompanyIdAndStorageIdAndTxDateBetweenGroupByInventoryId(companyId, storageId, fromDate, toDate)) {
+            movements.put(movement.getInventoryId(), movement);
+        }
+        Map<String, InventoryBalanceService.StockBalance> openings = balanceService.getOpeningBalances(companyId, storageId, month.atDay(1));
+
+        Set<String> inventoryIds = new TreeSet<>(openings.keySet());
+        inventoryIds.addAll(movements.keySet());
+
+        LocalDateTime closedAt = LocalDateTime.now();
+        int written = 0;
+        for (String inventoryId : inventoryIds) {
+            InventoryHistoryRepository.InventoryMovementSummary movement = movements.get(inventoryId);
+            InventoryBalanceService.StockBalance opening =
+                    openings.getOrDefault(inventoryId, InventoryBalanceService.StockBalance.zero());
+            if (movement == null && isZero(opening)) {
+                continue;
+            }
+
+            entityManager.persist(createClosing(companyId, yyyymm, storageId, inventoryId, opening, movement, closedAt));
+            if (++written % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+
+        // 재실행 시 건너뛸 수 있도록 마감 행과 같은 트랜잭션에서 완료 기록 (재마감이면 갱신)
+        InventoryClosingPartition partition = new InventoryClosingPartition();
+        partition.setId(new InventoryClosingPartitionId(companyId, yyyymm, storageId));
+        partition.setClosedCount(written);
+        partition.setClosedAt(closedAt);
+        partition.setClosedBy("SYSTEM"); // TODO: 실제 사용자 ID로 변경
+        entityManager.merge(partition);
+
+        entityManager.flush();
+        entityManager.clear();
+        return written;
+    }
+
+    private InventoryClosing createClosing(
+            String companyId,
+            String yyyymm,
+            String storageId,
+            String inventoryId,
+            InventoryBalanceService.StockBalance opening,
+            InventoryHistoryRepository.MovementSummary movement,
+            LocalDateTime closedAt) {
+        BigDecimal inQty = movement != null ? nvl(movement.getInQty()) : BigDecimal.ZERO;
+        BigDecimal inAmount = movement != null ? nvl(movement.getInAmount()) : BigDecimal.ZERO;
+        BigDecimal outQty = movement != null ? nvl(movement.getOutQty()) : BigDecimal.ZERO;
+        BigDecimal outAmount = movement != null ? nvl(movement.getOutAmount()) : BigDecimal.ZERO;
+        BigDecimal moveQty = movement != null ? nvl(movement.getMoveQty()) : BigDecimal.ZERO;
+        BigDecimal moveAmount = movement != null ? nvl(movement.getMoveAmount()) : BigDecimal.ZERO;
+        BigDecimal adjQty = movement != null ? nvl(movement.getAdjQty()) : BigDecimal.ZERO;
+        BigDecimal adjAmount = movement != null ? nvl(movement.getAdjAmount()) : BigDecimal.ZERO;
+
+        InventoryClosing closing = new InventoryClosing();
+        closing.setId(new InventoryClosingId(companyId, yyyymm, storageId, inventoryId));
+        closing.setBeginQty(opening.qty());
+        closing.setBeginAmount(opening.amount());
+        closing.setInQty(inQty);
+        closing.setInAmount(inAmount);
+        closing.setOutQty(outQty);
+        closing.setOutAmount(outAmount);
+        closing.setMoveQty(moveQty);
+        closing.setMoveAmount(moveAmount);
+        closing.setAdjQty(adjQty);
+        closing.setAdjAmount(adjAmount);
+        closing.setEndQty(opening.qty().add(inQty).subtract(outQty).add(moveQty).add(adjQty));
+        closing.setEndAmount(opening.amount().add(inAmount).subtract(outAmount).add(moveAmount).add(adjAmount));
+        closing.setStatus("CLOSED");
+        closing.setClosedAt(closedAt);
+        closing.setClosedBy("SYSTEM"); // TODO: 실제 사용자 ID로 변경
+        return closing;
+    }
+
+    private YearMonth parseMonth(String yyyymm) {
+        YearMonth month;
+        try {
+            month = YearMonth.parse(yyyymm, YYYYMM);
+        } catch (DateTimeParseException | NullPointerException e) {
+            throw new IllegalArgumentException("마감월 형식이 올바르지 않습니다(yyyyMM): " + yyyymm);
+        }
+        if (month.isAfter(YearMonth.now())) {
+            throw new IllegalArgumentException("미래 월은 마감할 수 없습니다: " + yyyymm);
+        }
+        return month;
+    }
+
+    private boolean isZero(InventoryBalanceService.StockBalance balance) {
+        return balance.qty().signum() == 0 && balance.amount().signum() == 0;
+    }
+
+    private static String jobKey(String companyId, String yyyymm) {
+        return companyId + ":" + yyyymm;
+    }
+
+    /**
+     * 월마감 작업 진행 상태
+     */
+    private static final class ClosingJob {
+        private final String yyyymm;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicInteger total = new AtomicInteger();
+        private final AtomicInteger completed = new AtomicInteger();
+        private final AtomicInteger skipped = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicLong closedCount = new AtomicLong();
+        private final ConcurrentLinkedQueue<String> errors = new ConcurrentLinkedQueue<>();
+        private volatile CompletableFuture<?> completion = CompletableFuture.completedFuture(null);
+        private volatile LocalDateTime finishedAt;
+
+        private ClosingJob(String yyyymm) {
+            this.yyyymm = yyyymm;
+        }
+
+        private boolean isRunning() {
+            return finishedAt == null;
+        }
+
+        private void error(String message) {
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(message);
+            }
+        }
+
+        private void finish() {
+            finishedAt = LocalDateTime.now();
+        }
+
+        private InventoryClosingJobResponse toResponse() {
+            String status;
+            if (isRunning()) {
+                status = "RUNNING";
+            } else if (failed.get() > 0 || (total.get() == 0 && !errors.isEmpty())) {
+                status = "FAILED";
+            } else {
+                status = "COMPLETED";
+            }
+            return new InventoryClosingJobResponse(
+                    yyyymm,
+                    status,
+                    total.get(),
+                    completed.get(),
+                    skipped.get(),
+                    failed.get(),
+                    closedCount.get(),
+                    startedAt,
+                    finishedAt,
+                    List.copyOf(errors)
+            );
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.cmms11.inventoryTx;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 이름: InventoryClosingPartition
+ * 작성자: codex
+ * 작성일: 2026-10-18
+ * 수정일:
+ * 프로그램 개요: 월마감 작업의 창고(파티션) 완료 기록.
+ *               마감 행과 같은 트랜잭션에서 저장되므로 행이 있으면 해당 월 창고의 전 재고번호 마감이 끝난 것이며,
+ *               그 달 마감에 없는 재고번호는 기말 재고가 0 이다(다음 달 기초재고 스냅샷으로 사용).
+ */
+@Entity
+@Table(
+    name = "inventory_closing_partition",
+    indexes = {
+        @Index(name = "ix_inventory_closing_partition_storage", columnList = "company_id, storage_id, yyyymm")
+    }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+public class InventoryClosingPartition {
+
+    @EmbeddedId
+    private InventoryClosingPartitionId id;
+
+    @Column(name = "closed_count")
+    private Integer closedCount;
+
+    @Column(name = "closed_at")
+    private LocalDateTime closedAt;
+
+    @Column(name = "closed_by", length = 10)
+    private String closedBy;
+}
@@ -0,0 +1,37 @@
+package com.cmms11.inventoryTx;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 이름: InventoryClosingPartitionRepository
+ * 작성자: codex
+ * 작성일: 2026-10-18
+ * 수정일:
+ * 프로그램 개요: 월마감 창고(파티션) 완료 기록 데이터 접근 계층.
+ */
+@Repository
+public interface InventoryClosingPartitionRepository extends JpaRepository<InventoryClosingPartition, InventoryClosingPartitionId> {
+
+    /**
+     * 월별 마감 완료 창고 목록 조회 (마감 작업 재시작 지점)
+     */
+    @Query("SELECT p.id.storageId FROM InventoryClosingPartition p " +
+           "WHERE p.id.companyId = :companyId AND p.id.yyyymm = :yyyymm")
+    List<String> findStorageIdByCompanyIdAndYyyymm(
+            @Param("companyId") String companyId,
+            @Param("yyyymm") String yyyymm);
+
+    /**
+     * 기준월 이전 가장 최근 마감 완료 월 조회 (창고 기초재고 스냅샷)
+     */
+    Optional<InventoryClosingPartition> findFirstByIdCompanyIdAndIdStorageIdAndIdYyyymmLessThanOrderByIdYyyymmDesc(
+            String companyId,
+            String storageId,
+            String yyyymm);
+}
@@ -1,7 +1,11 @@
 package com.cmms11.inventoryTx;
 
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 /**
  * Inventory closing 집계 내역을 조회/저장하는 JPA 레포지토리.
@@ -14,4 +18,59 @@ public interface InventoryClosingRepository extends JpaRepository<InventoryClosi
         String storageId,
         String inventoryId
     );
+
+    /**
+     * 기준월(yyyymm) 이전의 가장 최근 마감 데이터 조회 (기초재고 스냅샷)
+     */
+    Optional<InventoryClosing> findFirstByIdCompanyIdAndIdStorageIdAndIdInventoryIdAndIdYyyymmLessThanOrderByIdYyyymmDesc(
+        String companyId,
+        String storageId,
+        String inventoryId,
+        String yyyymm
+    );
+
+    /**
+     * 월별, 창고별 마감 데이터 조회 (전월 기말 → 당월 기초)
+     */
+    List<InventoryClosing> findByIdCompanyIdAndIdYyyymmAndIdStorageId(
+        String companyId,
+        String yyyymm,
+        String storageId
+    );
+
+    /**
+     * 기준월 이전 마감 이력이 있는 창고 목록 조회 (이월 재고 보유 창고)
+     */
+    @Query("SELECT DISTINCT c.id.storageId FROM InventoryClosing c " +
+           "WHERE c.id.companyId = :companyId AND c.id.yyyymm < :yyyymm")
+    List<String> findDistinctStorageIdByCompanyIdAndYyyymmLessThan(
+        @Param("companyId") String companyId,
+        @Param("yyyymm") String yyyymm
+    );
+
+    /**
+     * 창고별 재고번호마다 기준월 이전 가장 최근 마감 데이터 조회 (창고 단위 기초재고 스냅샷)
+     */
+    @Query("SELECT c FROM InventoryClosing c " +
+           "WHERE c.id.companyId = :companyId AND c.id.storageId = :storageId " +
+           "AND c.id.yyyymm = (SELECT MAX(p.id.yyyymm) FROM InventoryClosing p " +
+           "  WHERE p.id.companyId = c.id.companyId AND p.id.storageId = c.id.storageId " +
+           "  AND p.id.inventoryId = c.id.inventoryId AND p.id.yyyymm < :yyyymm)")
+    List<InventoryClosing> findLatestByCompanyIdAndStorageIdAndYyyymmLessThan(
+        @Param("companyId") String companyId,
+        @Param("storageId") String storageId,
+        @Param("yyyymm") String yyyymm
+    );
+
+    /**
+     * 월별, 창고별 마감 데이터 일괄 삭제 (재마감)
+     */
+    @Modifying
+    @Query("DELETE FROM InventoryClosing c " +
+           "WHERE c.id.companyId = :companyId AND c.id.yyyymm = :yyyymm AND c.id.storageId = :storageId")
+    int deleteByCompanyIdAndYyyymmAndStorageId(
+        @Param("companyId") String companyId,
+        @Param("yyyymm") String yyyymm,
+        @Param("storageId") String storageId
+    );
 }
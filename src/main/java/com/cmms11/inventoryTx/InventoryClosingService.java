@@ -1,5 +1,7 @@
 package com.cmms11.inventoryTx;
 
+import static com.cmms11.inventoryTx.InventoryAmounts.nvl;
+
 import com.cmms11.common.seq.AutoNumberService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,14 +26,17 @@ public class InventoryClosingService {
     private final InventoryHistoryRepository historyRepository;
     private final InventoryClosingRepository closingRepository;
     private final AutoNumberService autoNumberService;
+    private final InventoryBalanceService balanceService;
 
     public InventoryClosingService(
             InventoryHistoryRepository historyRepository,
             InventoryClosingRepository closingRepository,
-            AutoNumberService autoNumberService) {
+            AutoNumberService autoNumberService,
+            InventoryBalanceService balanceService) {
         this.historyRepository = historyRepository;
         this.closingRepository = closingRepository;
         this.autoNumberService = autoNumberService;
+        this.balanceService = balanceService;
     }
 
     /**
@@ -118,9 +123,8 @@ public class InventoryClosingService {
      */
     @Transactional(readOnly = true)
     public BigDecimal calculateBeginStock(String companyId, String storageId, String inventoryId, LocalDate beginDate) {
-        // 전월 마감 데이터에서 기초재고 조회
-        // TODO: 실제 기초재고 계산 로직 구현
-        return BigDecimal.ZERO;
+        // 전월 이전 최근 마감 데이터 + 마감 이후 순증감
+        return balanceService.getOpeningBalance(companyId, storageId, inventoryId, beginDate).qty();
     }
 
     /**
@@ -211,20 +215,21 @@ public class InventoryClosingService {
         LocalDate beginDate = closingDate.withDayOfMonth(1);
         LocalDate endDate = closingDate.withDayOfMonth(closingDate.lengthOfMonth());
         
-        BigDecimal beginQty = calculateBeginStock(companyId, storageId, inventoryId, beginDate);
-        BigDecimal beginAmount = BigDecimal.ZERO; // TODO: 기초금액 계산
-        
-        BigDecimal inQty = calculateInboundQty(companyId, storageId, inventoryId, beginDate, endDate);
-        BigDecimal inAmount = calculateInboundAmount(companyId, storageId, inventoryId, beginDate, endDate);
-        
-        BigDecimal outQty = calculateOutboundQty(companyId, storageId, inventoryId, beginDate, endDate);
-        BigDecimal outAmount = calculateOutboundAmount(companyId, storageId, inventoryId, beginDate, endDate);
-        
-        BigDecimal moveQty = calculateMoveQty(companyId, storageId, inventoryId, beginDate, endDate);
-        BigDecimal moveAmount = calculateMoveAmount(companyId, storageId, inventoryId, beginDate, endDate);
+        InventoryBalanceService.StockBalance opening = balanceService.getOpeningBalance(companyId, storageId, inventoryId, beginDate);
+        BigDecimal beginQty = opening.qty();
+        BigDecimal beginAmount = opening.amount();
         
-        BigDecimal adjQty = calculateAdjustmentQty(companyId, storageId, inventoryId, beginDate, endDate);
-        BigDecimal adjAmount = calculateAdjustmentAmount(companyId, storageId, inventoryId, beginDate, endDate);
+        // 입고/출고/이동/조정 집계 (단일 쿼리)
+        InventoryHistoryRepository.MovementSummary movement = historyRepository
+                .summarizeByCompanyIdAndInventoryIdAndStorageIdAndTxDateBetween(companyId, inventoryId, storageId, beginDate, endDate);
+        BigDecimal inQty = nvl(movement.getInQty());
+        BigDecimal inAmount = nvl(movement.getInAmount());
+        BigDecimal outQty = nvl(movement.getOutQty());
+        BigDecimal outAmount = nvl(movement.getOutAmount());
+        BigDecimal moveQty = nvl(movement.getMoveQty());
+        BigDecimal moveAmount = nvl(movement.getMoveAmount());
+        BigDecimal adjQty = nvl(movement.getAdjQty());
+        BigDecimal adjAmount = nvl(movement.getAdjAmount());
         
         // 기말 수량 및 금액 계산
         BigDecimal endQty = beginQty.add(inQty).subtract(outQty).add(moveQty).add(adjQty);
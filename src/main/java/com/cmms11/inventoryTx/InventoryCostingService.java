@@ -0,0 +1,161 @@
+package com.cmms11.inventoryTx;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 이름: InventoryCostingService
+ * 작성자: codex
+ * 작성일: 2026-10-18
+ * 수정일:
+ * 프로그램 개요: 창고별 이동평균법 원가 계산 서비스 (PRD 3.1.1).
+ *               - 입고/조정: 수량과 금액을 가산하고 평균단가를 금액 / 수량으로 재계산
+ *               - 출고: 현재 평균단가 x 수량으로 평가 (전량 출고 시 남은 금액 전부)
+ *               - 이동: 출고 창고에서 평균단가로 출고한 금액 그대로 입고 창고에 입고
+ *               출고 평가는 inventory_stock 행을 SELECT ... FOR UPDATE 로 잠근 뒤 계산하므로
+ *               같은 (창고, 재고번호)만 직렬화되고 다른 키의 거래는 서로 기다리지 않는다.
+ */
+@Service
+@Transactional
+public class InventoryCostingService {
+
+    static final int AMOUNT_SCALE = 2;
+
+    private final InventoryStockRepository stockRepository;
+
+    public InventoryCostingService(InventoryStockRepository stockRepository) {
+        this.stockRepository = stockRepository;
+    }
+
+    /**
+     * 입고 (수량/금액 가산 후 평균단가 재계산)
+     */
+    public void receive(String companyId, String storageId, String inventoryId,
+                        BigDecimal qty, BigDecimal amount, String updatedBy) {
+        stockRepository.upsertQtyAndAmountDelta(companyId, storageId, inventoryId, qty, amount, updatedBy);
+        stockRepository.refreshUnitCost(companyId, storageId, inventoryId);
+    }
+
+    /**
+     * 출고 (재고 행을 잠그고 현재 평균단가로 평가, 재고가 부족하면 반영 없이 예외)
+     */
+    public Valuation issue(String companyId, String storageId, String inventoryId,
+                           BigDecimal qty, String updatedBy) {
+        StockCost current = lock(companyId, storageId, inventoryId).orElse(StockCost.ZERO);
+        if (current.qty().compareTo(qty) < 0) {
+            throw insufficientStock(current.qty(), qty);
+        }
+        Valuation valuation = current.valueIssue(qty);
+        stockRepository.upsertQtyAndAmountDelta(
+                companyId, storageId, inventoryId, qty.negate(), valuation.amount().negate(), updatedBy);
+        stockRepository.refreshUnitCost(companyId, storageId, inventoryId);
+        return valuation;
+    }
+
+    /**
+     * 창고간 이동 (출고 창고 평균단가로 출고 후 같은 금액으로 입고 창고에 입고)
+     */
+    public Valuation move(String companyId, String fromStorageId, String toStorageId, String inventoryId,
+                          BigDecimal qty, String updatedBy) {
+        // A→B, B→A 이동이 동시에 들어와도 교착되지 않도록 두 창고 행을 창고번호 순으로 잠근다
+        if (toStorageId.compareTo(fromStorageId) < 0) {
+            lock(companyId, toStorageId, inventoryId);
+        }
+        Valuation valuation = issue(companyId, fromStorageId, inventoryId, qty, updatedBy);
+        receive(companyId, toStorageId, inventoryId, qty, valuation.amount(), updatedBy);
+        return valuation;
+    }
+
+    /**
+     * 조정 (요청 수량/금액 증감을 그대로 반영 후 평균단가 재계산)
+     */
+    public void adjust(String companyId, String storageId, String inventoryId,
+                       BigDecimal qtyDelta, BigDecimal amountDelta, String updatedBy) {
+        if (qtyDelta.signum() < 0) {
+            // 감소 조정은 일괄 처리와 같이 재고가 음수가 되지 않는지 잠금 후 확인
+            StockCost current = lock(companyId, storageId, inventoryId).orElse(StockCost.ZERO);
+            if (current.qty().add(qtyDelta).signum() < 0) {
+                throw insufficientStock(current.qty(), qtyDelta.negate());
+            }
+        }
+        receive(companyId, storageId, inventoryId, qtyDelta, amountDelta, updatedBy);
+    }
+
+    /**
+     * 재고 행 잠금 조회 (행이 없으면 empty)
+     */
+    public Optional<StockCost> lock(String companyId, String storageId, String inventoryId) {
+        List<Object[]> rows = stockRepository.lockQtyAmountAndUnitCost(companyId, storageId, inventoryId);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Object[] row = rows.get(0);
+        return Optional.of(new StockCost(toBigDecimal(row[0]), toBigDecimal(row[1]), toBigDecimal(row[2])));
+    }
+
+    /**
+     * 잠금 이후 메모리에서 계산한 최종 잔액 반영 (일괄 처리용, 증감분 1회 UPDATE)
+     */
+    public void apply(String companyId, String storageId, String inventoryId,
+                      StockCost before, StockCost after, String updatedBy) {
+        stockRepository.upsertQtyAndAmountDelta(companyId, storageId, inventoryId,
+                after.qty().subtract(before.qty()), after.amount().subtract(before.amount()), updatedBy);
+        stockRepository.refreshUnitCost(companyId, storageId, inventoryId);
+    }
+
+    static IllegalArgumentException insufficientStock(BigDecimal currentQty, BigDecimal requiredQty) {
+        return new IllegalArgumentException(
+                String.format("재고 부족: 현재 수량 %s, 요청 수량 %s", currentQty, requiredQty));
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value == null) {
+            return null;
+        }
+        return value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+    }
+
+    /**
+     * 재고 원가 상태 (수량, 금액, 평균단가)
+     */
+    public record StockCost(BigDecimal qty, BigDecimal amount, BigDecimal unitCost) {
+
+        public static final StockCost ZERO = new StockCost(BigDecimal.ZERO, BigDecimal.ZERO, null);
+
+        /**
+         * 출고 평가 금액 (평균단가 x 수량, 전량 출고면 남은 금액 전부)
+         */
+        public Valuation valueIssue(BigDecimal issueQty) {
+            BigDecimal cost = unitCost;
+            if (cost == null) {
+                cost = qty.signum() > 0 ? amount.divide(qty, 6, RoundingMode.HALF_UP) : BigDecimal.ZERO;
+            }
+            if (issueQty.compareTo(qty) == 0) {
+                return new Valuation(cost, amount);
+            }
+            return new Valuation(cost, issueQty.multiply(cost).setScale(AMOUNT_SCALE, RoundingMode.HALF_UP));
+        }
+
+        /**
+         * 수량/금액 증감 후 상태 (수량이 0 이하이면 평균단가 유지)
+         */
+        public StockCost add(BigDecimal qtyDelta, BigDecimal amountDelta) {
+            BigDecimal nextQty = qty.add(qtyDelta);
+            BigDecimal nextAmount = amount.add(amountDelta);
+            BigDecimal nextCost = nextQty.signum() > 0
+                    ? nextAmount.divide(nextQty, 6, RoundingMode.HALF_UP)
+                    : unitCost;
+            return new StockCost(nextQty, nextAmount, nextCost);
+        }
+    }
+
+    /**
+     * 출고 평가 결과 (적용 평균단가, 출고 금액)
+     */
+    public record Valuation(BigDecimal unitCost, BigDecimal amount) {}
+}
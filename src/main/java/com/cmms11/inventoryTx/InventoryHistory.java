@@ -9,7 +9,17 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "inventory_history")
+@Table(
+    name = "inventory_history",
+    indexes = {
+        @Index(name = "ix_inventory_history_item_date", columnList = "company_id, inventory_id, storage_id, tx_date, tx_type, in_qty, out_qty, amount"),
+        @Index(name = "ix_inventory_history_storage_date", columnList = "company_id, storage_id, tx_date, inventory_id"),
+        @Index(name = "ix_inventory_history_storage_item", columnList = "company_id, storage_id, inventory_id, tx_date, history_id"),
+        @Index(name = "ix_inventory_history_type_date", columnList = "company_id, tx_type, tx_date"),
+        @Index(name = "ix_inventory_history_date", columnList = "company_id, tx_date, storage_id"),
+        @Index(name = "ix_inventory_history_ref", columnList = "company_id, ref_no")
+    }
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -33,7 +43,7 @@ public class InventoryHistory {
     @Column(name = "ref_line")
     private Integer refLine;
 
-    @Column(name = "tx_date")
+    @Column(name = "tx_date", nullable = false) // 월 RANGE 파티션 키
     private LocalDate txDate;
 
     @Column(name = "in_qty", precision = 18, scale = 3)
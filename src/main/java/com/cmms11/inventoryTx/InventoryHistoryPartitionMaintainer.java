@@ -0,0 +1,204 @@
+package com.cmms11.inventoryTx;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 이름: InventoryHistoryPartitionMaintainer
+ * 작성자: codex
+ * 작성일: 2026-10-18
+ * 수정일:
+ * 프로그램 개요: tx_date 월 RANGE 파티션(V2 마이그레이션) 유지보수 작업.
+ *               - 현재 월 기준 months-ahead 개월까지 월 파티션(pYYYYMM)을 pmax 에서 미리 분할
+ *               - archive-after-months 가 0 보다 크면, 모든 재고번호가 마감된 오래된 월 파티션을 압축 보관 테이블로 옮긴 뒤 DROP
+ *               - 한 달 범위 조회가 해당 월 파티션 하나만 읽는지(pruning) EXPLAIN PARTITIONS 로 확인해 경고
+ *               MariaDB 파티션 테이블 전용이며, 파티션이 없는 스키마(H2, dev)에서는 아무 것도 하지 않는다.
+ */
+@Slf4j
+@Component
+public class InventoryHistoryPartitionMaintainer {
+
+    static final String TABLE = "inventory_history";
+    static final String ARCHIVE_TABLE = "inventory_history_archive";
+    static final String MAX_PARTITION = "pmax";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+    private static final DateTimeFormatter YYYYMM = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final String COLUMNS = "company_id, history_id, inventory_id, storage_id, tx_type, ref_no, ref_line, "
+        + "tx_date, in_qty, out_qty, unit_cost, amount, note, created_at, created_by, updated_at, updated_by";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int monthsAhead;
+    private final int archiveAfterMonths;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public InventoryHistoryPartitionMaintainer(
+        JdbcTemplate jdbcTemplate,
+        @Value("${app.inventory.history-partition.enabled:false}") boolean enabled,
+        @Value("${app.inventory.history-partition.months-ahead:3}") int monthsAhead,
+        @Value("${app.inventory.history-partition.archive-after-months:0}") int archiveAfterMonths
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.monthsAhead = Math.max(1, monthsAhead);
+        this.archiveAfterMonths = Math.max(0, archiveAfterMonths);
+    }
+
+    /**
+     * 기동 직후 1회 + 주기 실행 (기본 매일 01:10)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.inventory.history-partition.cron:0 10 1 * * *}")
+    public void scheduledMaintain() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            MaintenanceResult result = maintain(YearMonth.now());
+            if (result.createdPartitions() > 0 || result.archivedPartitions() > 0) {
+                log.info("재고이력 파티션 유지보수 완료: 생성 {}개, 보관 {}개",
+                    result.createdPartitions(), result.archivedPartitions());
+            }
+        } catch (RuntimeException e) {
+            log.error("재고이력 파티션 유지보수 실패", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * 유지보수 1회 실행
+     */
+    public MaintenanceResult maintain(YearMonth current) {
+        List<String> partitions = jdbcTemplate.queryForList(
+            "SELECT PARTITION_NAME FROM information_schema.PARTITIONS "
+                + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL "
+                + "ORDER BY PARTITION_ORDINAL_POSITION",
+            String.class, TABLE);
+        if (partitions.isEmpty()) {
+            log.warn("{} 테이블이 파티션되어 있지 않아 유지보수를 건너뜁니다.", TABLE);
+            return new MaintenanceResult(0, 0);
+        }
+
+        List<YearMonth> months = monthlyPartitions(partitions);
+        List<YearMonth> missing = missingMonths(months, current, monthsAhead);
+        if (!missing.isEmpty()) {
+            jdbcTemplate.execute(addPartitionsSql(missing, partitions.contains(MAX_PARTITION)));
+        }
+
+        int archived = 0;
+        if (archiveAfterMonths > 0) {
+            YearMonth archiveBefore = current.minusMonths(archiveAfterMonths);
+            for (YearMonth month : months) {
+                if (month.isBefore(archiveBefore) && archive(month)) {
+                    archived++;
+                }
+            }
+        }
+
+        verifyPruning(current);
+        return new MaintenanceResult(missing.size(), archived);
+    }
+
+    /**
+     * 파티션의 (회사, 창고, 재고번호) 중 해당 월 마감 행이 없는 것이 있으면 건너뛰고, 보관 테이블 복사 건수를 확인한 뒤 파티션 DROP
+     * 기초재고/시점재고는 마감 이전 이력을 inventory_history 에서만 합산하므로, 재고번호마다 마감 행이 있어야 보관 후에도 값이 유지된다.
+     */
+    private boolean archive(YearMonth month) {
+        String partition = partitionName(month);
+        Integer unclosed = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM (SELECT DISTINCT company_id, storage_id, inventory_id FROM " + TABLE + " PARTITION (" + partition + ")) h "
+                + "WHERE NOT EXISTS (SELECT 1 FROM inventory_closing c WHERE c.company_id = h.company_id "
+                + "AND c.storage_id = h.storage_id AND c.inventory_id = h.inventory_id AND c.yyyymm = ?)",
+            Integer.class, month.format(YYYYMM));
+        if (unclosed != null && unclosed > 0) {
+            log.warn("{} 월 마감 행이 없는 재고가 {}건 있어 보관하지 않습니다.", month, unclosed);
+            return false;
+        }
+
+        // 재실행 시 이미 복사된 행은 건너뛴다 (복사 후 DROP 전에 실패한 경우)
+        jdbcTemplate.update("INSERT IGNORE INTO " + ARCHIVE_TABLE + " (" + COLUMNS + ") "
+            + "SELECT " + COLUMNS + " FROM " + TABLE + " PARTITION (" + partition + ")");
+        Long source = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM " + TABLE + " PARTITION (" + partition + ")", Long.class);
+        Long copied = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM " + ARCHIVE_TABLE + " a WHERE a.tx_date >= ? AND a.tx_date < ? "
+                + "AND EXISTS (SELECT 1 FROM " + TABLE + " PARTITION (" + partition + ") h "
+                + "WHERE h.company_id = a.company_id AND h.history_id = a.history_id AND h.tx_date = a.tx_date)",
+            Long.class, month.atDay(1), month.plusMonths(1).atDay(1));
+        if (source == null || !source.equals(copied)) {
+            log.error("{} 파티션 보관 건수 불일치(원본 {}, 보관 {}), DROP 하지 않습니다.", partition, source, copied);
+            return false;
+        }
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PARTITION " + partition);
+        return true;
+    }
+
+    /**
+     * 한 달 범위 조회가 해당 월 파티션 하나만 읽는지 확인
+     */
+    private void verifyPruning(YearMonth month) {
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList(
+            "EXPLAIN PARTITIONS SELECT COUNT(*) FROM " + TABLE + " WHERE company_id = '' AND tx_date BETWEEN ? AND ?",
+            month.atDay(1), month.atEndOfMonth());
+        Object touched = plan.isEmpty() ? null : plan.get(0).get("partitions");
+        if (!partitionName(month).equals(touched)) {
+            log.warn("{} 월 범위 조회가 파티션 하나로 좁혀지지 않습니다: {}", month, touched);
+        }
+    }
+
+    static String partitionName(YearMonth month) {
+        return month.format(PARTITION_NAME);
+    }
+
+    static List<YearMonth> monthlyPartitions(List<String> partitionNames) {
+        List<YearMonth> months = new ArrayList<>();
+        for (String name : partitionNames) {
+            if (name.matches("p\\d{6}")) {
+                months.add(YearMonth.parse(name, PARTITION_NAME));
+            }
+        }
+        return months;
+    }
+
+    /**
+     * 마지막 월 파티션 다음 달부터 current + monthsAhead 까지 (RANGE 는 끝에만 추가할 수 있다)
+     */
+    static List<YearMonth> missingMonths(List<YearMonth> existing, YearMonth current, int monthsAhead) {
+        YearMonth last = existing.stream().max(YearMonth::compareTo).orElse(current.minusMonths(1));
+        List<YearMonth> missing = new ArrayList<>();
+        for (YearMonth month = last.plusMonths(1); !month.isAfter(current.plusMonths(monthsAhead)); month = month.plusMonths(1)) {
+            missing.add(month);
+        }
+        return missing;
+    }
+
+    /**
+     * pmax 가 있으면 REORGANIZE 로 분할(비어 있으므로 데이터 이동 없음), 없으면 ADD PARTITION
+     */
+    static String addPartitionsSql(List<YearMonth> months, boolean hasMaxPartition) {
+        List<String> definitions = new ArrayList<>();
+        for (YearMonth month : months) {
+            definitions.add("PARTITION " + partitionName(month) + " VALUES LESS THAN ('" + month.plusMonths(1).atDay(1) + "')");
+        }
+        if (hasMaxPartition) {
+            definitions.add("PARTITION " + MAX_PARTITION + " VALUES LESS THAN (MAXVALUE)");
+            return "ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + MAX_PARTITION
+                + " INTO (" + String.join(", ", definitions) + ")";
+        }
+        return "ALTER TABLE " + TABLE + " ADD PARTITION (" + String.join(", ", definitions) + ")";
+    }
+
+    public record MaintenanceResult(int createdPartitions, int archivedPartitions) {}
+}
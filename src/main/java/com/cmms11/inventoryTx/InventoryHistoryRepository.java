@@ -1,15 +1,19 @@
 package com.cmms11.inventoryTx;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * 이름: InventoryHistoryRepository
@@ -17,6 +21,8 @@ import java.util.List;
  * 작성일: 2025-08-20
  * 수정일:
  * 프로그램 개요: 재고거래이력 데이터 접근 계층.
+ *               inventory_history 는 tx_date 월 RANGE 파티션이다. 파티션을 좁히려면 tx_date 를 가공하지 않은
+ *               범위 조건(BETWEEN, <, >=)으로 주어야 하며, tx_date 조건이 없는 조회는 모든 파티션을 읽는다.
  */
 @Repository
 public interface InventoryHistoryRepository extends JpaRepository<InventoryHistory, InventoryHistoryId> {
@@ -83,6 +89,26 @@ public interface InventoryHistoryRepository extends JpaRepository<InventoryHisto
     List<InventoryHistory> findByIdCompanyIdAndInventoryIdAndStorageIdAndTxType(
             String companyId, String inventoryId, String storageId, String txType);
 
+    /**
+     * 원장 내보내기용 창고별 거래이력 스트림 조회 (전진 전용 커서, 재고/일자 순 - ix_inventory_history_storage_item 순서)
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT h FROM InventoryHistory h " +
+           "WHERE h.id.companyId = :companyId " +
+           "AND h.storageId = :storageId " +
+           "AND (:inventoryId IS NULL OR h.inventoryId = :inventoryId) " +
+           "AND h.txDate BETWEEN :fromDate AND :toDate " +
+           "ORDER BY h.inventoryId, h.txDate, h.id.historyId")
+    Stream<InventoryHistory> streamLedgerByCompanyIdAndStorageIdAndTxDateBetween(
+            @Param("companyId") String companyId,
+            @Param("storageId") String storageId,
+            @Param("inventoryId") String inventoryId,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate);
+
     /**
      * 회사별, 재고번호별, 창고번호별, 기간별 입고 수량 합계 조회
      */
@@ -186,4 +212,191 @@ public interface InventoryHistoryRepository extends JpaRepository<InventoryHisto
             @Param("txType") String txType,
             @Param("fromDate") LocalDate fromDate,
             @Param("toDate") LocalDate toDate);
+
+    /**
+     * 회사별, 재고번호별, 창고번호별, 기간별(fromDate 이상 toDate 미만) 재고 순증감 조회
+     */
+    @Query("SELECT COALESCE(SUM(COALESCE(h.inQty, 0) - COALESCE(h.outQty, 0)), 0) AS qty, " +
+           "COALESCE(SUM(CASE WHEN h.txType = 'OUT' THEN -COALESCE(h.amount, 0) ELSE COALESCE(h.amount, 0) END), 0) AS amount " +
+           "FROM InventoryHistory h " +
+           "WHERE h.id.companyId = :companyId " +
+           "AND h.inventoryId = :inventoryId " +
+           "AND h.storageId = :storageId " +
+           "AND h.txDate >= :fromDate AND h.txDate < :toDate")
+    StockDelta sumStockDeltaByCompanyIdAndInventoryIdAndStorageIdAndTxDateRange(
+            @Param("companyId") String companyId,
+            @Param("inventoryId") String inventoryId,
+            @Param("storageId") String storageId,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate);
+
+    /**
+     * 회사별, 재고번호별, 창고번호별, toDate 이전 전체 재고 순증감 조회 (마감 데이터가 없는 경우)
+     */
+    @Query("SELECT COALESCE(SUM(COALESCE(h.inQty, 0) - COALESCE(h.outQty, 0)), 0) AS qty, " +
+           "COALESCE(SUM(CASE WHEN h.txType = 'OUT' THEN -COALESCE(h.amount, 0) ELSE COALESCE(h.amount, 0) END), 0) AS amount " +
+           "FROM InventoryHistory h " +
+           "WHERE h.id.companyId = :companyId " +
+           "AND h.inventoryId = :inventoryId " +
+           "AND h.storageId = :storageId " +
+           "AND h.txDate < :toDate")
+    StockDelta sumStockDeltaByCompanyIdAndInventoryIdAndStorageIdAndTxDateBefore(
+            @Param("companyId") String companyId,
+            @Param("inventoryId") String inventoryId,
+            @Param("storageId") String storageId,
+            @Param("toDate") LocalDate toDate);
+
+    /**
+     * 회사별, 재고번호별, 창고번호별, 기간별 거래유형 집계 (입고/출고/이동/조정 수량·금액을 1회 스캔으로 조회)
+     */
+    @Query("SELECT " +
+           "COALESCE(SUM(CASE WHEN h.txType = 'IN' THEN COALESCE(h.inQty, 0) ELSE 0 END), 0) AS inQty, " +
+           "COALESCE(SUM(CASE WHEN h.txType = 'IN' THEN COALESCE(h.amount, 0) ELSE 0 END), 0) AS inAmount, " +
+           "COALESCE(SUM(CASE WHEN h.txType = 'OUT' THEN COALESCE(h.outQty, 0) ELSE 0 END), 0) AS outQty, " +
+           "COALESCE(SUM(CASE WHEN h.txType = 'OUT' THEN COALESCE(h.amount, 0) ELSE 0 END), 0) AS outAmount, " +
+           "COALESCE(SUM(CASE WHEN h.txType = 'MOVE' THEN COALESCE(h.inQty, 0) - COALESCE(h.outQty, 0) ELSE 0 END), 0) AS moveQty, " +
+           "COALESCE(SUM(CASE WHEN h.txType = 'MOVE' THEN COALESCE(h.amount, 0) ELSE 0 END), 0) AS moveAmount, " +
+           "COALESCE(SUM(CASE WHEN h.txType = 'ADJ' THEN COALESCE(h.inQty, 0) - COALESCE(h.outQty, 0) ELSE 0 END), 0) AS adjQty, " +
+           "COALESCE(SUM(CASE WHEN h.txType = 'ADJ' THEN COALESCE(h.amount, 0) ELSE 0 END), 0) AS adjAmount " +
+           "FROM InventoryHistory h " +
+           "WHERE h.id.companyId = :companyId " +
+           "AND h.inventoryId = :inventoryId " +
+           "AND h.storageId = :storageId " +
+           "AND h.txDate BETWEEN :fromDate AND :toDate")
+    MovementSummary summarizeByCompanyIdAndInventoryIdAndStorageIdAndTxDateBetween(
+            @Param("companyId") String companyId,
+            @Param("inventoryId") String inventoryId,
+            @Param("storageId") String storageId,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate);
+
+    /**
+     * 창고별, 기간별 재고번호 단위 거래유형 집계 (월마감 배치용 그룹 집계)
+     */
+    @Query("SELECT h.inventoryId AS inventoryId, " +
+           "COALESCE(SUM(CASE WHEN h.txType = 'IN' THEN COALESCE(h.inQty, 0) ELSE 0 END), 0) AS inQty, " +
+           "COALESCE(SUM(CASE WHEN h.txType = 'IN' THEN COALESCE(h.amount, 0) ELSE 0 END), 0) AS inAmount, " +
+           "COALESCE(SUM(CASE WHEN h.txType = 'OUT' THEN COALESCE(h.outQty, 0) ELSE 0 END), 0) AS outQty, " +
+           "COALESCE(SUM(CASE WHEN h.txType = 'OUT' THEN COALESCE(h.amount, 0) ELSE 0 END), 0) AS outAmount, " +
+           "COALESCE(SUM(CASE WHEN h.txType = 'MOVE' THEN COALESCE(h.inQty, 0) - COALESCE(h.outQty, 0) ELSE 0 END), 0) AS moveQty, " +
+           "COALESCE(SUM(CASE WHEN h.txType = 'MOVE' THEN COALESCE(h.amount, 0) ELSE 0 END), 0) AS moveAmount, " +
+           "COALESCE(SUM(CASE WHEN h.txType = 'ADJ' THEN COALESCE(h.inQty, 0) - COALESCE(h.outQty, 0) ELSE 0 END), 0) AS adjQty, " +
+           "COALESCE(SUM(CASE WHEN h.txType = 'ADJ' THEN COALESCE(h.amount, 0) ELSE 0 END), 0) AS adjAmount " +
+           "FROM InventoryHistory h " +
+           "WHERE h.id.companyId = :companyId " +
+           "AND h.storageId = :storageId " +
+           "AND h.txDate BETWEEN :fromDate AND :toDate " +
+           "GROUP BY h.inventoryId")
+    List<InventoryMovementSummary> summarizeByCompanyIdAndStorageIdAndTxDateBetweenGroupByInventoryId(
+            @Param("companyId") String companyId,
+            @Param("storageId") String storageId,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate);
+
+    /**
+     * 창고별, toDate 이전 재고번호 단위 순증감 조회 (기준월 이전 마감이 하나도 없는 재고번호만)
+     */
+    @Query("SELECT h.inventoryId AS inventoryId, " +
+           "COALESCE(SUM(COALESCE(h.inQty, 0) - COALESCE(h.outQty, 0)), 0) AS qty, " +
+           "COALESCE(SUM(CASE WHEN h.txType = 'OUT' THEN -COALESCE(h.amount, 0) ELSE COALESCE(h.amount, 0) END), 0) AS amount " +
+           "FROM InventoryHistory h " +
+           "WHERE h.id.companyId = :companyId " +
+           "AND h.storageId = :storageId " +
+           "AND h.txDate < :toDate " +
+           "AND NOT EXISTS (SELECT 1 FROM InventoryClosing c " +
+           "  WHERE c.id.companyId = h.id.companyId AND c.id.storageId = h.storageId " +
+           "  AND c.id.inventoryId = h.inventoryId AND c.id.yyyymm < :yyyymm) " +
+           "GROUP BY h.inventoryId")
+    List<InventoryStockDelta> sumUnclosedStockDeltaByCompanyIdAndStorageIdAndTxDateBeforeGroupByInventoryId(
+            @Param("companyId") String companyId,
+            @Param("storageId") String storageId,
+            @Param("yyyymm") String yyyymm,
+            @Param("toDate") LocalDate toDate);
+
+    /**
+     * 창고별, 기간별(fromDate 이상 toDate 미만) 재고번호 단위 순증감 조회 (마감 스냅샷 이후 기초재고)
+     */
+    @Query("SELECT h.inventoryId AS inventoryId, " +
+           "COALESCE(SUM(COALESCE(h.inQty, 0) - COALESCE(h.outQty, 0)), 0) AS qty, " +
+           "COALESCE(SUM(CASE WHEN h.txType = 'OUT' THEN -COALESCE(h.amount, 0) ELSE COALESCE(h.amount, 0) END), 0) AS amount " +
+           "FROM InventoryHistory h " +
+           "WHERE h.id.companyId = :companyId " +
+           "AND h.storageId = :storageId " +
+           "AND h.txDate >= :fromDate AND h.txDate < :toDate " +
+           "GROUP BY h.inventoryId")
+    List<InventoryStockDelta> sumStockDeltaByCompanyIdAndStorageIdAndTxDateRangeGroupByInventoryId(
+            @Param("companyId") String companyId,
+            @Param("storageId") String storageId,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate);
+
+    /**
+     * 원장 내보내기 대상 창고 목록 조회 (창고마다 기초재고를 그룹 조회한 뒤 그 창고의 커서를 연다)
+     */
+    @Query("SELECT DISTINCT h.storageId FROM InventoryHistory h " +
+           "WHERE h.id.companyId = :companyId " +
+           "AND (:storageId IS NULL OR h.storageId = :storageId) " +
+           "AND (:inventoryId IS NULL OR h.inventoryId = :inventoryId) " +
+           "AND h.txDate BETWEEN :fromDate AND :toDate " +
+           "ORDER BY h.storageId")
+    List<String> findDistinctLedgerStorageIdByCompanyIdAndTxDateBetween(
+            @Param("companyId") String companyId,
+            @Param("storageId") String storageId,
+            @Param("inventoryId") String inventoryId,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate);
+
+    /**
+     * toDate 이전 거래가 있는 창고 목록 조회 (월마감 대상 창고: 당월 거래 또는 이월 재고 보유)
+     */
+    @Query("SELECT DISTINCT h.storageId FROM InventoryHistory h " +
+           "WHERE h.id.companyId = :companyId " +
+           "AND h.txDate < :toDate")
+    List<String> findDistinctStorageIdByCompanyIdAndTxDateBefore(
+            @Param("companyId") String companyId,
+            @Param("toDate") LocalDate toDate);
+
+    /**
+     * 재고 수량/금액 순증감 프로젝션
+     */
+    interface StockDelta {
+        BigDecimal getQty();
+
+        BigDecimal getAmount();
+    }
+
+    /**
+     * 거래유형별 수량/금액 집계 프로젝션
+     */
+    interface MovementSummary {
+        BigDecimal getInQty();
+
+        BigDecimal getInAmount();
+
+        BigDecimal getOutQty();
+
+        BigDecimal getOutAmount();
+
+        BigDecimal getMoveQty();
+
+        BigDecimal getMoveAmount();
+
+        BigDecimal getAdjQty();
+
+        BigDecimal getAdjAmount();
+    }
+
+    /**
+     * 재고번호별 순증감 프로젝션
+     */
+    interface InventoryStockDelta extends StockDelta {
+        String getInventoryId();
+    }
+
+    /**
+     * 재고번호별 거래유형 집계 프로젝션
+     */
+    interface InventoryMovementSummary extends MovementSummary {
+        String getInventoryId();
+    }
 }
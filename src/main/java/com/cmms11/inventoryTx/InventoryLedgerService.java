@@ -1,15 +1,32 @@
 package com.cmms11.inventoryTx;
 
+import static com.cmms11.inventoryTx.InventoryAmounts.nvl;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * 이름: InventoryLedgerService
@@ -23,9 +40,19 @@ import java.util.List;
 public class InventoryLedgerService {
 
     private final InventoryHistoryRepository historyRepository;
+    private final InventoryBalanceService balanceService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
 
-    public InventoryLedgerService(InventoryHistoryRepository historyRepository) {
+    public InventoryLedgerService(
+            InventoryHistoryRepository historyRepository,
+            InventoryBalanceService balanceService,
+            EntityManager entityManager,
+            ObjectProvider<ObjectMapper> objectMapper) {
         this.historyRepository = historyRepository;
+        this.balanceService = balanceService;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper.getIfAvailable(ObjectMapper::new);
     }
 
     /**
@@ -37,8 +64,8 @@ public class InventoryLedgerService {
         // 1. 거래이력 조회
         List<InventoryHistory> histories = getTransactionHistories(companyId, request);
         
-        // 2. 원장 데이터 생성
-        return createLedgerData(histories, request);
+        // 2. 원장 데이터 생성 (기초 재고부터 누계)
+        return createLedgerData(histories, openingBalance(companyId, request));
     }
 
     /**
@@ -51,7 +78,7 @@ public class InventoryLedgerService {
         Page<InventoryHistory> historyPage = getTransactionHistoriesPage(companyId, request, pageable);
         
         // 2. 원장 데이터 생성
-        List<InventoryLedgerResponse> ledgerData = createLedgerData(historyPage.getContent(), request);
+        List<InventoryLedgerResponse> ledgerData = createLedgerData(historyPage.getContent(), InventoryBalanceService.StockBalance.zero());
         
         // 3. 페이징 응답 생성
         return new PageImpl<>(ledgerData, pageable, historyPage.getTotalElements());
@@ -61,28 +88,25 @@ public class InventoryLedgerService {
      * 원장 요약 조회
      */
     public LedgerSummary getLedgerSummary(String companyId, String storageId, String inventoryId, LocalDate fromDate, LocalDate toDate) {
-        // 1. 입고 수량 및 금액 집계
-        BigDecimal totalInQty = calculateTotalInboundQty(companyId, storageId, inventoryId, fromDate, toDate);
-        BigDecimal totalInAmount = calculateTotalInboundAmount(companyId, storageId, inventoryId, fromDate, toDate);
-        
-        // 2. 출고 수량 및 금액 집계
-        BigDecimal totalOutQty = calculateTotalOutboundQty(companyId, storageId, inventoryId, fromDate, toDate);
-        BigDecimal totalOutAmount = calculateTotalOutboundAmount(companyId, storageId, inventoryId, fromDate, toDate);
-        
-        // 3. 이동 수량 및 금액 집계
-        BigDecimal totalMoveQty = calculateTotalMoveQty(companyId, storageId, inventoryId, fromDate, toDate);
-        BigDecimal totalMoveAmount = calculateTotalMoveAmount(companyId, storageId, inventoryId, fromDate, toDate);
-        
-        // 4. 조정 수량 및 금액 집계
-        BigDecimal totalAdjQty = calculateTotalAdjustmentQty(companyId, storageId, inventoryId, fromDate, toDate);
-        BigDecimal totalAdjAmount = calculateTotalAdjustmentAmount(companyId, storageId, inventoryId, fromDate, toDate);
+        // 1. 입고/출고/이동/조정 수량 및 금액 집계 (단일 쿼리)
+        InventoryHistoryRepository.MovementSummary movement = historyRepository
+                .summarizeByCompanyIdAndInventoryIdAndStorageIdAndTxDateBetween(companyId, inventoryId, storageId, fromDate, toDate);
+        BigDecimal totalInQty = nvl(movement.getInQty());
+        BigDecimal totalInAmount = nvl(movement.getInAmount());
+        BigDecimal totalOutQty = nvl(movement.getOutQty());
+        BigDecimal totalOutAmount = nvl(movement.getOutAmount());
+        BigDecimal totalMoveQty = nvl(movement.getMoveQty());
+        BigDecimal totalMoveAmount = nvl(movement.getMoveAmount());
+        BigDecimal totalAdjQty = nvl(movement.getAdjQty());
+        BigDecimal totalAdjAmount = nvl(movement.getAdjAmount());
         
-        // 5. 기초 및 기말 수량 계산
-        BigDecimal beginQty = calculateBeginQty(companyId, storageId, inventoryId, fromDate);
+        // 2. 기초 재고 (최근 마감 + 마감 이후 순증감)
+        InventoryBalanceService.StockBalance opening = balanceService.getOpeningBalance(companyId, storageId, inventoryId, fromDate);
+
+        // 3. 기말 수량 및 금액 계산
+        BigDecimal beginQty = opening.qty();
         BigDecimal endQty = beginQty.add(totalInQty).subtract(totalOutQty).add(totalMoveQty).add(totalAdjQty);
-        
-        // 6. 기초 및 기말 금액 계산
-        BigDecimal beginAmount = calculateBeginAmount(companyId, storageId, inventoryId, fromDate);
+        BigDecimal beginAmount = opening.amount();
         BigDecimal endAmount = beginAmount.add(totalInAmount).subtract(totalOutAmount).add(totalMoveAmount).add(totalAdjAmount);
         
         return new LedgerSummary(
@@ -136,35 +160,117 @@ public class InventoryLedgerService {
     /**
      * 원장 데이터 생성
      */
-    private List<InventoryLedgerResponse> createLedgerData(List<InventoryHistory> histories, LedgerSearchRequest request) {
+    private List<InventoryLedgerResponse> createLedgerData(List<InventoryHistory> histories, InventoryBalanceService.StockBalance opening) {
         List<InventoryLedgerResponse> ledgerData = new ArrayList<>();
-        BigDecimal runningQty = BigDecimal.ZERO;
-        BigDecimal runningAmount = BigDecimal.ZERO;
+        LedgerAccumulator accumulator = new LedgerAccumulator(opening);
         
         for (InventoryHistory history : histories) {
+            ledgerData.add(accumulator.next(history));
+        }
+        
+        return ledgerData;
+    }
+
+    /**
+     * 원장 내보내기 (CSV/NDJSON 스트리밍)
+     * 창고마다 기초 재고를 그룹 집계로 한 번에 구한 뒤 그 창고의 거래이력을 전진 전용 커서로 읽어 한 행씩 누계를 계산해 바로 출력한다.
+     * 처리한 엔티티는 영속성 컨텍스트에서 분리하므로 메모리 사용량이 행 수가 아닌 창고 하나의 재고번호 수에만 비례한다.
+     * 누계는 (창고, 재고번호) 키마다 그 키의 기초 재고부터 새로 시작한다.
+     */
+    public void exportLedger(LedgerSearchRequest request, LedgerExportFormat format, OutputStream outputStream) throws IOException {
+        String companyId = "C0001"; // TODO: 실제 회사 ID로 변경
+        
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        LedgerExportWriter exportWriter = format == LedgerExportFormat.NDJSON
+                ? new NdjsonLedgerWriter(writer, objectMapper)
+                : new CsvLedgerWriter(writer);
+        
+        for (String storageId : historyRepository.findDistinctLedgerStorageIdByCompanyIdAndTxDateBetween(
+                companyId, request.storageId(), request.inventoryId(), request.fromDate(), request.toDate())) {
+            // 1. 창고의 재고번호별 기초 재고 (스트리밍 커서가 열린 연결에서 다른 조회를 하지 않도록 커서를 열기 전에 조회)
+            Map<String, InventoryBalanceService.StockBalance> openings = request.fromDate() != null
+                    ? balanceService.getOpeningBalances(companyId, storageId, request.fromDate())
+                    : Map.of();
+            
+            // 2. 창고의 거래이력 스트림 → 누계 계산 → 출력
+            try (Stream<InventoryHistory> histories = historyRepository.streamLedgerByCompanyIdAndStorageIdAndTxDateBetween(
+                    companyId, storageId, request.inventoryId(), request.fromDate(), request.toDate())) {
+                Iterator<InventoryHistory> iterator = histories.iterator();
+                LedgerAccumulator accumulator = null;
+                String currentInventoryId = null;
+                while (iterator.hasNext()) {
+                    InventoryHistory history = iterator.next();
+                    if (!history.getInventoryId().equals(currentInventoryId)) {
+                        currentInventoryId = history.getInventoryId();
+                        accumulator = new LedgerAccumulator(
+                                openings.getOrDefault(currentInventoryId, InventoryBalanceService.StockBalance.zero()));
+                    }
+                    exportWriter.write(storageId, currentInventoryId, accumulator.next(history));
+                    entityManager.detach(history);
+                }
+            }
+        }
+        exportWriter.flush();
+    }
+
+    /**
+     * 원장 기초 재고 계산
+     * 단일 창고/재고번호 원장만 기초 재고부터 누계하고, 다건 원장은 0부터 누계한다.
+     */
+    private InventoryBalanceService.StockBalance openingBalance(String companyId, LedgerSearchRequest request) {
+        if (request.storageId() == null || request.inventoryId() == null || request.fromDate() == null) {
+            return InventoryBalanceService.StockBalance.zero();
+        }
+        return balanceService.getOpeningBalance(companyId, request.storageId(), request.inventoryId(), request.fromDate());
+    }
+
+    /**
+     * 원장 누계 계산기 (거래이력 한 건씩 기초/기말 수량·금액을 이어서 계산)
+     */
+    private static final class LedgerAccumulator {
+        private BigDecimal runningQty;
+        private BigDecimal runningAmount;
+
+        private LedgerAccumulator(InventoryBalanceService.StockBalance opening) {
+            this.runningQty = opening.qty();
+            this.runningAmount = opening.amount();
+        }
+
+        private InventoryLedgerResponse next(InventoryHistory history) {
             // 기초 수량 및 금액
             BigDecimal beginQty = runningQty;
             BigDecimal beginAmount = runningAmount;
             
-            // 거래 수량 및 금액
-            BigDecimal inQty = history.getInQty() != null ? history.getInQty() : BigDecimal.ZERO;
-            BigDecimal inAmount = history.getInQty() != null && history.getAmount() != null ? history.getAmount() : BigDecimal.ZERO;
-            BigDecimal outQty = history.getOutQty() != null ? history.getOutQty() : BigDecimal.ZERO;
-            BigDecimal outAmount = history.getOutQty() != null && history.getAmount() != null ? history.getAmount() : BigDecimal.ZERO;
+            // 거래 수량 및 금액 (입고/출고 열은 IN/OUT 만, 이동/조정은 각 열에 순증감으로 표시 - 마감 집계와 동일)
+            BigDecimal txInQty = history.getInQty() != null ? history.getInQty() : BigDecimal.ZERO;
+            BigDecimal txOutQty = history.getOutQty() != null ? history.getOutQty() : BigDecimal.ZERO;
+            BigDecimal txAmount = history.getAmount() != null ? history.getAmount() : BigDecimal.ZERO;
+            BigDecimal inQty = BigDecimal.ZERO;
+            BigDecimal inAmount = BigDecimal.ZERO;
+            BigDecimal outQty = BigDecimal.ZERO;
+            BigDecimal outAmount = BigDecimal.ZERO;
             BigDecimal moveQty = BigDecimal.ZERO;
             BigDecimal moveAmount = BigDecimal.ZERO;
             BigDecimal adjQty = BigDecimal.ZERO;
             BigDecimal adjAmount = BigDecimal.ZERO;
             
-            // 거래유형별 처리
+            // 거래유형별 처리 (이동 출고 창고 이력은 수량/금액이 음수)
             switch (history.getTxType()) {
+                case "IN" -> {
+                    inQty = txInQty;
+                    inAmount = txAmount;
+                }
+                case "OUT" -> {
+                    outQty = txOutQty;
+                    outAmount = txAmount;
+                }
                 case "MOVE" -> {
-                    moveQty = inQty.subtract(outQty);
-                    moveAmount = history.getAmount() != null ? history.getAmount() : BigDecimal.ZERO;
+                    moveQty = txInQty.subtract(txOutQty);
+                    moveAmount = txAmount;
                 }
                 case "ADJ" -> {
-                    adjQty = inQty.subtract(outQty);
-                    adjAmount = history.getAmount() != null ? history.getAmount() : BigDecimal.ZERO;
+                    adjQty = txInQty.subtract(txOutQty);
+                    adjAmount = txAmount;
                 }
             }
             
@@ -173,7 +279,7 @@ public class InventoryLedgerService {
             runningAmount = runningAmount.add(inAmount).subtract(outAmount).add(moveAmount).add(adjAmount);
             
             // 원장 데이터 생성
-            InventoryLedgerResponse ledger = new InventoryLedgerResponse(
+            return new InventoryLedgerResponse(
                     history.getTxDate().toString(),
                     history.getTxType(),
                     history.getRefNo(),
@@ -190,99 +296,82 @@ public class InventoryLedgerService {
                     runningQty,
                     runningAmount
             );
-            
-            ledgerData.add(ledger);
         }
-        
-        return ledgerData;
     }
 
     /**
-     * 총 입고 수량 계산
+     * 원장 내보내기 출력기
      */
-    private BigDecimal calculateTotalInboundQty(String companyId, String storageId, String inventoryId, LocalDate fromDate, LocalDate toDate) {
-        BigDecimal result = historyRepository.sumInQtyByCompanyIdAndInventoryIdAndStorageIdAndTxDateBetween(
-                companyId, inventoryId, storageId, fromDate, toDate);
-        return result != null ? result : BigDecimal.ZERO;
-    }
+    private interface LedgerExportWriter {
+        void write(String storageId, String inventoryId, InventoryLedgerResponse ledger) throws IOException;
 
-    /**
-     * 총 출고 수량 계산
-     */
-    private BigDecimal calculateTotalOutboundQty(String companyId, String storageId, String inventoryId, LocalDate fromDate, LocalDate toDate) {
-        BigDecimal result = historyRepository.sumOutQtyByCompanyIdAndInventoryIdAndStorageIdAndTxDateBetween(
-                companyId, inventoryId, storageId, fromDate, toDate);
-        return result != null ? result : BigDecimal.ZERO;
+        void flush() throws IOException;
     }
 
-    /**
-     * 총 이동 수량 계산
-     */
-    private BigDecimal calculateTotalMoveQty(String companyId, String storageId, String inventoryId, LocalDate fromDate, LocalDate toDate) {
-        BigDecimal result = historyRepository.sumQtyByCompanyIdAndInventoryIdAndStorageIdAndTxTypeAndTxDateBetween(
-                companyId, inventoryId, storageId, "MOVE", fromDate, toDate);
-        return result != null ? result : BigDecimal.ZERO;
-    }
+    private static final class CsvLedgerWriter implements LedgerExportWriter {
+        private static final String[] HEADERS = {
+                "storageId", "inventoryId", "txDate", "txType", "refNo",
+                "beginQty", "beginAmount", "inQty", "inAmount", "outQty", "outAmount",
+                "moveQty", "moveAmount", "adjQty", "adjAmount", "endQty", "endAmount"
+        };
 
-    /**
-     * 총 조정 수량 계산
-     */
-    private BigDecimal calculateTotalAdjustmentQty(String companyId, String storageId, String inventoryId, LocalDate fromDate, LocalDate toDate) {
-        BigDecimal result = historyRepository.sumQtyByCompanyIdAndInventoryIdAndStorageIdAndTxTypeAndTxDateBetween(
-                companyId, inventoryId, storageId, "ADJ", fromDate, toDate);
-        return result != null ? result : BigDecimal.ZERO;
-    }
+        private final CSVPrinter printer;
 
-    /**
-     * 총 입고 금액 계산
-     */
-    private BigDecimal calculateTotalInboundAmount(String companyId, String storageId, String inventoryId, LocalDate fromDate, LocalDate toDate) {
-        BigDecimal result = historyRepository.sumInAmountByCompanyIdAndInventoryIdAndStorageIdAndTxDateBetween(
-                companyId, inventoryId, storageId, fromDate, toDate);
-        return result != null ? result : BigDecimal.ZERO;
-    }
+        private CsvLedgerWriter(Writer writer) throws IOException {
+            this.printer = new CSVPrinter(writer, CSVFormat.DEFAULT.builder().setHeader(HEADERS).build());
+        }
 
-    /**
-     * 총 출고 금액 계산
-     */
-    private BigDecimal calculateTotalOutboundAmount(String companyId, String storageId, String inventoryId, LocalDate fromDate, LocalDate toDate) {
-        BigDecimal result = historyRepository.sumOutAmountByCompanyIdAndInventoryIdAndStorageIdAndTxDateBetween(
-                companyId, inventoryId, storageId, fromDate, toDate);
-        return result != null ? result : BigDecimal.ZERO;
-    }
+        @Override
+        public void write(String storageId, String inventoryId, InventoryLedgerResponse ledger) throws IOException {
+            printer.printRecord(
+                    storageId, inventoryId, ledger.txDate(), ledger.txType(), ledger.refNo(),
+                    ledger.beginQty(), ledger.beginAmount(), ledger.inQty(), ledger.inAmount(),
+                    ledger.outQty(), ledger.outAmount(), ledger.moveQty(), ledger.moveAmount(),
+                    ledger.adjQty(), ledger.adjAmount(), ledger.endQty(), ledger.endAmount());
+        }
 
-    /**
-     * 총 이동 금액 계산
-     */
-    private BigDecimal calculateTotalMoveAmount(String companyId, String storageId, String inventoryId, LocalDate fromDate, LocalDate toDate) {
-        BigDecimal result = historyRepository.sumAmountByCompanyIdAndInventoryIdAndStorageIdAndTxTypeAndTxDateBetween(
-                companyId, inventoryId, storageId, "MOVE", fromDate, toDate);
-        return result != null ? result : BigDecimal.ZERO;
+        @Override
+        public void flush() throws IOException {
+            printer.flush();
+        }
     }
 
-    /**
-     * 총 조정 금액 계산
-     */
-    private BigDecimal calculateTotalAdjustmentAmount(String companyId, String storageId, String inventoryId, LocalDate fromDate, LocalDate toDate) {
-        BigDecimal result = historyRepository.sumAmountByCompanyIdAndInventoryIdAndStorageIdAndTxTypeAndTxDateBetween(
-                companyId, inventoryId, storageId, "ADJ", fromDate, toDate);
-        return result != null ? result : BigDecimal.ZERO;
+    private static final class NdjsonLedgerWriter implements LedgerExportWriter {
+        private final Writer writer;
+        private final ObjectMapper objectMapper;
+
+        private NdjsonLedgerWriter(Writer writer, ObjectMapper objectMapper) {
+            this.writer = writer;
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public void write(String storageId, String inventoryId, InventoryLedgerResponse ledger) throws IOException {
+            writer.write(objectMapper.writeValueAsString(new LedgerExportLine(storageId, inventoryId, ledger)));
+            writer.write('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
     }
 
     /**
-     * 기초 수량 계산
+     * 원장 내보내기 NDJSON 행
      */
-    private BigDecimal calculateBeginQty(String companyId, String storageId, String inventoryId, LocalDate fromDate) {
-        // TODO: 기초 수량 계산 로직 구현
-        return BigDecimal.ZERO;
-    }
+    record LedgerExportLine(
+            String storageId,
+            String inventoryId,
+            @JsonUnwrapped InventoryLedgerResponse ledger
+    ) {}
 
     /**
-     * 기초 금액 계산
+     * 원장 내보내기 형식
      */
-    private BigDecimal calculateBeginAmount(String companyId, String storageId, String inventoryId, LocalDate fromDate) {
-        // TODO: 기초 금액 계산 로직 구현
-        return BigDecimal.ZERO;
+    public enum LedgerExportFormat {
+        CSV,
+        NDJSON
     }
 
     /**
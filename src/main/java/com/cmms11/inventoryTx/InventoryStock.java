@@ -8,7 +8,12 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "inventory_stock")
+@Table(
+    name = "inventory_stock",
+    indexes = {
+        @Index(name = "ix_inventory_stock_item", columnList = "company_id, inventory_id, storage_id")
+    }
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -23,6 +28,10 @@ public class InventoryStock {
     @Column(name = "amount", precision = 18, scale = 2)
     private BigDecimal amount;
 
+    // 이동평균 단가 (금액 / 수량, 수량이 0이면 직전 단가 유지)
+    @Column(name = "unit_cost", precision = 18, scale = 6)
+    private BigDecimal unitCost;
+
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
@@ -0,0 +1,20 @@
+package com.cmms11.inventoryTx;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 이름: InventoryStockAsOfResponse
+ * 작성자: codex
+ * 작성일: 2026-10-18
+ * 수정일:
+ * 프로그램 개요: 기준일 재고 응답 DTO. snapshotDate 는 기준일 이전 마지막 거래일(거래가 없으면 null).
+ */
+public record InventoryStockAsOfResponse(
+    String storageId,
+    String inventoryId,
+    LocalDate asOfDate,
+    LocalDate snapshotDate,
+    BigDecimal qty,
+    BigDecimal amount
+) {}
@@ -0,0 +1,41 @@
+package com.cmms11.inventoryTx;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 이름: InventoryStockDaily
+ * 작성자: codex
+ * 작성일: 2026-10-18
+ * 수정일:
+ * 프로그램 개요: 일자별 재고 스냅샷. 거래가 있었던 날만 행이 있으며 qty/amount 는 그날 거래까지 반영한 기말값이다.
+ */
+@Entity
+@Table(name = "inventory_stock_daily")
+@Getter
+@Setter
+@NoArgsConstructor
+public class InventoryStockDaily {
+
+    @EmbeddedId
+    private InventoryStockDailyId id;
+
+    @Column(name = "in_qty", precision = 18, scale = 3)
+    private BigDecimal inQty;
+
+    @Column(name = "out_qty", precision = 18, scale = 3)
+    private BigDecimal outQty;
+
+    @Column(name = "qty", precision = 18, scale = 3)
+    private BigDecimal qty;
+
+    @Column(name = "amount", precision = 18, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,31 @@
+package com.cmms11.inventoryTx;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import java.io.Serializable;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class InventoryStockDailyId implements Serializable {
+    @Column(name = "company_id", length = 5, nullable = false)
+    private String companyId;
+
+    @Column(name = "storage_id", length = 5, nullable = false)
+    private String storageId;
+
+    @Column(name = "inventory_id", length = 10, nullable = false)
+    private String inventoryId;
+
+    @Column(name = "stock_date", nullable = false)
+    private LocalDate stockDate;
+}
@@ -0,0 +1,99 @@
+package com.cmms11.inventoryTx;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * 이름: InventoryStockDailyRepository
+ * 작성자: codex
+ * 작성일: 2026-10-18
+ * 수정일:
+ * 프로그램 개요: 일자별 재고 스냅샷 데이터 접근 계층.
+ *               조회는 PK(company_id, storage_id, inventory_id, stock_date) 역순 탐색 1회로 끝난다.
+ *               증감은 벌크 UPDATE 로 반영하므로 조회는 엔티티가 아닌 프로젝션으로 받아 영속성 컨텍스트의 이전 값을 피한다.
+ */
+@Repository
+public interface InventoryStockDailyRepository extends JpaRepository<InventoryStockDaily, InventoryStockDailyId> {
+
+    /**
+     * stockDate 이하 가장 최근 스냅샷 조회 (해당 일자 기말 재고)
+     */
+    @Query("SELECT d.id.stockDate AS stockDate, d.qty AS qty, d.amount AS amount FROM InventoryStockDaily d " +
+           "WHERE d.id.companyId = :companyId " +
+           "AND d.id.storageId = :storageId " +
+           "AND d.id.inventoryId = :inventoryId " +
+           "AND d.id.stockDate <= :stockDate " +
+           "ORDER BY d.id.stockDate DESC LIMIT 1")
+    Optional<DailyBalance> findLatestOnOrBefore(
+            @Param("companyId") String companyId,
+            @Param("storageId") String storageId,
+            @Param("inventoryId") String inventoryId,
+            @Param("stockDate") LocalDate stockDate);
+
+    /**
+     * stockDate 미만 가장 최근 스냅샷 조회 (해당 일자 기초 재고)
+     */
+    @Query("SELECT d.id.stockDate AS stockDate, d.qty AS qty, d.amount AS amount FROM InventoryStockDaily d " +
+           "WHERE d.id.companyId = :companyId " +
+           "AND d.id.storageId = :storageId " +
+           "AND d.id.inventoryId = :inventoryId " +
+           "AND d.id.stockDate < :stockDate " +
+           "ORDER BY d.id.stockDate DESC LIMIT 1")
+    Optional<DailyBalance> findLatestBefore(
+            @Param("companyId") String companyId,
+            @Param("storageId") String storageId,
+            @Param("inventoryId") String inventoryId,
+            @Param("stockDate") LocalDate stockDate);
+
+    /**
+     * stockDate 이후(당일 포함) 스냅샷 기말값 일괄 증감 (소급 거래 반영)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE InventoryStockDaily d SET d.qty = d.qty + :qty, d.amount = d.amount + :amount, d.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE d.id.companyId = :companyId " +
+           "AND d.id.storageId = :storageId " +
+           "AND d.id.inventoryId = :inventoryId " +
+           "AND d.id.stockDate >= :stockDate")
+    int shiftBalanceFrom(
+            @Param("companyId") String companyId,
+            @Param("storageId") String storageId,
+            @Param("inventoryId") String inventoryId,
+            @Param("stockDate") LocalDate stockDate,
+            @Param("qty") BigDecimal qty,
+            @Param("amount") BigDecimal amount);
+
+    /**
+     * 해당 일자 입고/출고 수량 증감 (반환값이 0이면 해당 일자 스냅샷 미존재)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE InventoryStockDaily d SET d.inQty = d.inQty + :inQty, d.outQty = d.outQty + :outQty " +
+           "WHERE d.id.companyId = :companyId " +
+           "AND d.id.storageId = :storageId " +
+           "AND d.id.inventoryId = :inventoryId " +
+           "AND d.id.stockDate = :stockDate")
+    int addMovement(
+            @Param("companyId") String companyId,
+            @Param("storageId") String storageId,
+            @Param("inventoryId") String inventoryId,
+            @Param("stockDate") LocalDate stockDate,
+            @Param("inQty") BigDecimal inQty,
+            @Param("outQty") BigDecimal outQty);
+
+    /**
+     * 일자별 기말 재고 프로젝션
+     */
+    interface DailyBalance {
+        LocalDate getStockDate();
+
+        BigDecimal getQty();
+
+        BigDecimal getAmount();
+    }
+}
@@ -0,0 +1,76 @@
+package com.cmms11.inventoryTx;
+
+import static com.cmms11.inventoryTx.InventoryAmounts.nvl;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 이름: InventoryStockDailyService
+ * 작성자: codex
+ * 작성일: 2026-10-18
+ * 수정일:
+ * 프로그램 개요: 일자별 재고 스냅샷(inventory_stock_daily) 유지 및 기준일 재고 조회 서비스.
+ *               재고거래 처리 시 거래일자 행과 그 이후 행의 기말값을 함께 증감하므로(소급 거래 포함)
+ *               기준일 재고는 기준일 이하 마지막 스냅샷 1건 조회로 구한다.
+ *               같은 (창고, 재고번호)의 동시 반영은 먼저 갱신한 inventory_stock 행 잠금으로 직렬화된다.
+ */
+@Service
+@Transactional
+public class InventoryStockDailyService {
+
+    private final InventoryStockDailyRepository dailyRepository;
+    private final EntityManager entityManager;
+
+    public InventoryStockDailyService(InventoryStockDailyRepository dailyRepository, EntityManager entityManager) {
+        this.dailyRepository = dailyRepository;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * 거래일자 스냅샷에 입고/출고 수량과 재고 수량/금액 증감 반영 (해당 일자 행이 없으면 직전 스냅샷 기준으로 생성)
+     */
+    public void applyDelta(String companyId, String storageId, String inventoryId, LocalDate stockDate,
+                           BigDecimal inQty, BigDecimal outQty, BigDecimal amountDelta) {
+        BigDecimal qtyDelta = inQty.subtract(outQty);
+        int existing = dailyRepository.addMovement(companyId, storageId, inventoryId, stockDate, inQty, outQty);
+        dailyRepository.shiftBalanceFrom(companyId, storageId, inventoryId, stockDate, qtyDelta, amountDelta);
+        if (existing > 0) {
+            return;
+        }
+
+        // 당일 행이 없으면 직전 스냅샷 기말값 + 증감으로 생성 (이후 일자는 위에서 이미 반영)
+        Optional<InventoryStockDailyRepository.DailyBalance> previous =
+                dailyRepository.findLatestBefore(companyId, storageId, inventoryId, stockDate);
+
+        InventoryStockDaily daily = new InventoryStockDaily();
+        daily.setId(new InventoryStockDailyId(companyId, storageId, inventoryId, stockDate));
+        daily.setInQty(inQty);
+        daily.setOutQty(outQty);
+        daily.setQty(previous.map(p -> nvl(p.getQty())).orElse(BigDecimal.ZERO).add(qtyDelta));
+        daily.setAmount(previous.map(p -> nvl(p.getAmount())).orElse(BigDecimal.ZERO).add(amountDelta));
+        daily.setUpdatedAt(LocalDateTime.now());
+        entityManager.persist(daily);
+    }
+
+    /**
+     * 기준일 재고 조회 (asOfDate 당일 거래까지 반영한 수량/금액)
+     */
+    @Transactional(readOnly = true)
+    public InventoryStockAsOfResponse getStockAsOf(String companyId, String storageId, String inventoryId, LocalDate asOfDate) {
+        if (asOfDate == null) {
+            throw new IllegalArgumentException("기준일자는 필수입니다.");
+        }
+        return dailyRepository.findLatestOnOrBefore(companyId, storageId, inventoryId, asOfDate)
+                .map(d -> new InventoryStockAsOfResponse(
+                        storageId, inventoryId, asOfDate, d.getStockDate(), nvl(d.getQty()), nvl(d.getAmount())))
+                .orElseGet(() -> new InventoryStockAsOfResponse(
+                        storageId, inventoryId, asOfDate, null, BigDecimal.ZERO, BigDecimal.ZERO));
+    }
+}
@@ -3,6 +3,7 @@ package com.cmms11.inventoryTx;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -178,34 +179,48 @@ public interface InventoryStockRepository extends JpaRepository<InventoryStock,
             @Param("updatedBy") String updatedBy);
 
     /**
-     * 회사별, 재고번호별, 창고번호별 재고 수량 및 금액 증가
+     * 회사별, 재고번호별, 창고번호별 재고 수량 및 금액 증감 (없으면 생성, MariaDB upsert)
      */
-    @Query("UPDATE InventoryStock s SET s.qty = s.qty + :qty, s.amount = s.amount + :amount, s.updatedAt = CURRENT_TIMESTAMP, s.updatedBy = :updatedBy " +
-           "WHERE s.id.companyId = :companyId " +
-           "AND s.id.inventoryId = :inventoryId " +
-           "AND s.id.storageId = :storageId")
-    int increaseQtyAndAmountByIdCompanyIdAndIdInventoryIdAndIdStorageId(
+    @Modifying
+    @Query(value = "INSERT INTO inventory_stock (company_id, storage_id, inventory_id, qty, amount, updated_at, updated_by) " +
+           "VALUES (:companyId, :storageId, :inventoryId, :qty, :amount, CURRENT_TIMESTAMP, :updatedBy) " +
+           "ON DUPLICATE KEY UPDATE qty = COALESCE(qty, 0) + :qty, amount = COALESCE(amount, 0) + :amount, " +
+           "updated_at = CURRENT_TIMESTAMP, updated_by = :updatedBy",
+           nativeQuery = true)
+    int upsertQtyAndAmountDelta(
             @Param("companyId") String companyId,
-            @Param("inventoryId") String inventoryId,
             @Param("storageId") String storageId,
-            @Param("qty") Double qty,
-            @Param("amount") Double amount,
+            @Param("inventoryId") String inventoryId,
+            @Param("qty") BigDecimal qty,
+            @Param("amount") BigDecimal amount,
             @Param("updatedBy") String updatedBy);
 
     /**
-     * 회사별, 재고번호별, 창고번호별 재고 수량 및 금액 감소
+     * 회사별, 창고번호별, 재고번호별 재고 평균단가 재계산 (금액 / 수량, 수량이 0 이하이면 직전 단가 유지)
      */
-    @Query("UPDATE InventoryStock s SET s.qty = s.qty - :qty, s.amount = s.amount - :amount, s.updatedAt = CURRENT_TIMESTAMP, s.updatedBy = :updatedBy " +
+    @Modifying
+    @Query("UPDATE InventoryStock s SET s.unitCost = s.amount / s.qty " +
            "WHERE s.id.companyId = :companyId " +
+           "AND s.id.storageId = :storageId " +
            "AND s.id.inventoryId = :inventoryId " +
-           "AND s.id.storageId = :storageId")
-    int decreaseQtyAndAmountByIdCompanyIdAndIdInventoryIdAndIdStorageId(
+           "AND s.qty > 0")
+    int refreshUnitCost(
             @Param("companyId") String companyId,
-            @Param("inventoryId") String inventoryId,
             @Param("storageId") String storageId,
-            @Param("qty") Double qty,
-            @Param("amount") Double amount,
-            @Param("updatedBy") String updatedBy);
+            @Param("inventoryId") String inventoryId);
+
+    /**
+     * 회사별, 창고번호별, 재고번호별 재고 수량/금액/평균단가 조회 및 행 잠금 (SELECT ... FOR UPDATE)
+     * 같은 키의 다른 거래는 현재 트랜잭션이 끝날 때까지 대기한다. 다른 키는 영향 없음.
+     */
+    @Query(value = "SELECT COALESCE(qty, 0), COALESCE(amount, 0), unit_cost FROM inventory_stock " +
+           "WHERE company_id = :companyId AND storage_id = :storageId AND inventory_id = :inventoryId " +
+           "FOR UPDATE",
+           nativeQuery = true)
+    List<Object[]> lockQtyAmountAndUnitCost(
+            @Param("companyId") String companyId,
+            @Param("storageId") String storageId,
+            @Param("inventoryId") String inventoryId);
 
     /**
      * 회사별, 재고번호별, 창고번호별 재고 수량 및 금액 조회 (존재하지 않으면 0 반환)
@@ -15,6 +15,7 @@ public record InventoryStockResponse(
     String inventoryId,
     BigDecimal qty,
     BigDecimal amount,
+    BigDecimal unitCost,
     LocalDateTime updatedAt,
     String updatedBy
 ) {}
@@ -0,0 +1,16 @@
+package com.cmms11.inventoryTx;
+
+import java.util.List;
+
+/**
+ * 이름: InventoryTxBatchResponse
+ * 작성자: codex
+ * 작성일: 2026-10-18
+ * 수정일:
+ * 프로그램 개요: 재고거래 일괄 처리 결과 요약 DTO. 성공/실패 건수와 라인별 결과를 포함.
+ */
+public record InventoryTxBatchResponse(int successCount, int failureCount, List<InventoryTxBatchResult> results) {
+    public InventoryTxBatchResponse {
+        results = results == null ? List.of() : List.copyOf(results);
+    }
+}
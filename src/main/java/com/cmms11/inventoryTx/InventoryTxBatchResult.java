@@ -0,0 +1,24 @@
+package com.cmms11.inventoryTx;
+
+/**
+ * 이름: InventoryTxBatchResult
+ * 작성자: codex
+ * 작성일: 2026-10-18
+ * 수정일:
+ * 프로그램 개요: 재고거래 일괄 처리의 라인별 결과 DTO.
+ *
+ * @param lineNo    요청 목록상의 라인 번호(1부터 시작)
+ * @param success   처리 성공 여부
+ * @param historyId 생성된 거래이력 번호(실패 시 null)
+ * @param message   실패 사유(성공 시 null)
+ */
+public record InventoryTxBatchResult(int lineNo, boolean success, String historyId, String message) {
+
+    public static InventoryTxBatchResult success(int lineNo, String historyId) {
+        return new InventoryTxBatchResult(lineNo, true, historyId, null);
+    }
+
+    public static InventoryTxBatchResult failure(int lineNo, String message) {
+        return new InventoryTxBatchResult(lineNo, false, null, message);
+    }
+}
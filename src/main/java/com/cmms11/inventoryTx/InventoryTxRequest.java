@@ -9,10 +9,13 @@ import java.time.LocalDate;
  * 작성일: 2025-08-20
  * 수정일:
  * 프로그램 개요: 재고거래 요청 DTO.
+ *               이동(MOVE)은 storageId(출고 창고) → toStorageId(입고 창고), 수량은 outQty.
+ *               출고/이동 금액은 이동평균 단가로 계산하므로 amount 는 입고/조정에서만 사용한다.
  */
 public record InventoryTxRequest(
     String inventoryId,
     String storageId,
+    String toStorageId,
     String txType,
     String refNo,
     Integer refLine,
@@ -1,13 +1,27 @@
 package com.cmms11.inventoryTx;
 
+import static com.cmms11.inventoryTx.InventoryAmounts.nvl;
+
 import com.cmms11.common.seq.AutoNumberService;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 
 /**
  * 이름: InventoryTxService
@@ -15,6 +29,7 @@ import java.util.Optional;
  * 작성일: 2025-08-20
  * 수정일:
  * 프로그램 개요: 재고거래 비즈니스 로직을 처리하는 서비스.
+ *               재고 금액은 창고별 이동평균법(InventoryCostingService)으로 계산한다.
  */
 @Service
 @Transactional
@@ -22,33 +37,197 @@ public class InventoryTxService {
 
     private final InventoryHistoryRepository historyRepository;
     private final InventoryStockRepository stockRepository;
+    private final InventoryCostingService costingService;
+    private final InventoryStockDailyService stockDailyService;
     private final AutoNumberService autoNumberService;
+    private final EntityManager entityManager;
+    private final int batchSize;
+
+    // 재고 행 잠금 순서 (창고번호, 재고번호) - InventoryCostingService.move 의 창고번호 순 잠금과 같은 순서
+    private static final Comparator<InventoryStockId> STOCK_KEY_ORDER =
+            Comparator.comparing(InventoryStockId::getStorageId).thenComparing(InventoryStockId::getInventoryId);
 
     public InventoryTxService(
             InventoryHistoryRepository historyRepository,
             InventoryStockRepository stockRepository,
-            AutoNumberService autoNumberService) {
+            InventoryCostingService costingService,
+            InventoryStockDailyService stockDailyService,
+            AutoNumberService autoNumberService,
+            EntityManager entityManager,
+            @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}") int batchSize) {
         this.historyRepository = historyRepository;
         this.stockRepository = stockRepository;
+        this.costingService = costingService;
+        this.stockDailyService = stockDailyService;
         this.autoNumberService = autoNumberService;
+        this.entityManager = entityManager;
+        this.batchSize = Math.max(1, batchSize);
     }
 
     /**
      * 재고거래 처리 (입고, 출고, 이동, 조정)
+     * 출고/이동 금액은 처리 시점의 창고별 이동평균 단가로 계산하며, 이동은 출고 창고/입고 창고 이력 2건을 남긴다.
      */
     public InventoryTxResponse processTransaction(InventoryTxRequest request) {
         // 1. 유효성 검증
         validateTransaction(request);
-        
-        // 2. 거래 이력 생성
-        InventoryHistory history = createTransactionHistory(request);
-        historyRepository.save(history);
-        
-        // 3. 재고 업데이트
-        updateStock(request);
-        
-        // 4. 응답 생성
-        return createTransactionResponse(history);
+        String companyId = "C0001"; // TODO: 실제 회사 ID로 변경
+        String updatedBy = "SYSTEM"; // TODO: 실제 사용자 ID로 변경
+
+        // 2. 재고 업데이트 (원가 계산)
+        List<Posting> postings = postStock(companyId, request, 0, updatedBy);
+
+        // 3. 거래 이력 생성 및 일자별 스냅샷 반영
+        String[] historyIds = autoNumberService.generateTxIds(companyId, "H", request.txDate(), postings.size());
+        List<InventoryHistory> histories = new ArrayList<>();
+        for (int i = 0; i < postings.size(); i++) {
+            Posting posting = postings.get(i);
+            InventoryHistory history = createTransactionHistory(companyId, historyIds[i], posting);
+            historyRepository.save(history);
+            histories.add(history);
+            stockDailyService.applyDelta(companyId, posting.storageId(), request.inventoryId(), request.txDate(),
+                    nvl(posting.inQty()), nvl(posting.outQty()), posting.amountDelta());
+        }
+
+        // 4. 응답 생성 (이동은 출고 창고 이력)
+        return createTransactionResponse(histories.get(0));
+    }
+
+    /**
+     * 재고거래 일괄 처리
+     * 라인별로 검증한 뒤 이동의 입고 창고를 포함한 모든 (창고, 재고번호) 재고 행을 키 순서로 한 번씩 잠그고,
+     * 라인을 거래일자·라인 순서로 메모리에서 이동평균 원가 계산한 다음 키별 최종 잔액을 한 번만 반영한다.
+     * 재고가 부족해지는 라인만 실패 처리하며 이후 라인은 그 라인이 없었던 상태로 계산한다.
+     * 이력번호는 재고 반영 전에 일자별 블록으로 선채번하여(일 999건 한도 초과 일자는 실패, 재고 부족 라인 몫은 결번) JDBC 배치로 저장하고, 일자별 재고 스냅샷은 (창고, 재고번호, 일자)별 합계로 반영한다.
+     */
+    public InventoryTxBatchResponse processBatch(List<InventoryTxRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("처리할 거래가 존재하지 않습니다.");
+        }
+        String companyId = "C0001"; // TODO: 실제 회사 ID로 변경
+        String updatedBy = "SYSTEM"; // TODO: 실제 사용자 ID로 변경
+        InventoryTxBatchResult[] results = new InventoryTxBatchResult[requests.size()];
+
+        // 1. 라인별 유효성 검증
+        List<Integer> lines = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            InventoryTxRequest request = requests.get(i);
+            try {
+                if (request == null) {
+                    throw new IllegalArgumentException("거래 정보가 비어 있습니다.");
+                }
+                validateTransaction(request);
+                lines.add(i);
+            } catch (IllegalArgumentException ex) {
+                results[i] = InventoryTxBatchResult.failure(i + 1, ex.getMessage());
+            }
+        }
+
+        // 2. 재고 반영 전 일자별 이력번호 선채번 (이동은 2건, 일 999건 한도를 넘는 일자의 라인은 재고 변동 없이 실패 처리)
+        Map<LocalDate, List<Integer>> linesByDate = new LinkedHashMap<>();
+        for (int index : lines) {
+            linesByDate.computeIfAbsent(requests.get(index).txDate(), d -> new ArrayList<>()).add(index);
+        }
+        Map<LocalDate, Iterator<String>> historyIdsByDate = new HashMap<>();
+        for (Map.Entry<LocalDate, List<Integer>> entry : linesByDate.entrySet()) {
+            int rows = 0;
+            for (int index : entry.getValue()) {
+                rows += "MOVE".equals(requests.get(index).txType()) ? 2 : 1;
+            }
+            try {
+                historyIdsByDate.put(entry.getKey(),
+                        Arrays.asList(autoNumberService.generateTxIds(companyId, "H", entry.getKey(), rows)).iterator());
+            } catch (IllegalStateException ex) {
+                String message = String.format("거래일자 %s의 이력번호가 일 한도를 초과하여 처리할 수 없습니다. (요청 이력 %d건) %s",
+                        entry.getKey(), rows, ex.getMessage());
+                for (int index : entry.getValue()) {
+                    results[index] = InventoryTxBatchResult.failure(index + 1, message);
+                }
+                lines.removeAll(entry.getValue());
+            }
+        }
+
+        // 3. 잠글 (창고, 재고번호) 수집 (이동의 입고 창고 포함, 동시 처리 간 교착을 피하려고 키 순서로 잠근다)
+        Map<InventoryStockId, InventoryCostingService.StockCost> before = new TreeMap<>(STOCK_KEY_ORDER);
+        for (int index : lines) {
+            InventoryTxRequest request = requests.get(index);
+            before.put(new InventoryStockId(companyId, request.storageId(), request.inventoryId()), InventoryCostingService.StockCost.ZERO);
+            if ("MOVE".equals(request.txType())) {
+                before.put(new InventoryStockId(companyId, request.toStorageId(), request.inventoryId()), InventoryCostingService.StockCost.ZERO);
+            }
+        }
+        // 4. 키 순서로 재고 행 잠금
+        for (Map.Entry<InventoryStockId, InventoryCostingService.StockCost> entry : before.entrySet()) {
+            InventoryStockId key = entry.getKey();
+            costingService.lock(companyId, key.getStorageId(), key.getInventoryId()).ifPresent(entry::setValue);
+        }
+
+        // 5. 거래일자·라인 순서로 원가 계산 (이동은 출고 창고 평균단가로 입고 창고에 입고)
+        Map<InventoryStockId, InventoryCostingService.StockCost> running = new HashMap<>(before);
+        lines.sort(Comparator.comparing(index -> requests.get(index).txDate()));
+        List<Posting> postings = new ArrayList<>();
+        for (int index : lines) {
+            try {
+                postings.addAll(valueLine(companyId, requests.get(index), index, running));
+            } catch (IllegalArgumentException ex) {
+                results[index] = InventoryTxBatchResult.failure(index + 1, ex.getMessage());
+            }
+        }
+
+        // 6. 키별 최종 잔액 1회 반영 (변동 없는 키는 건너뜀)
+        for (Map.Entry<InventoryStockId, InventoryCostingService.StockCost> entry : before.entrySet()) {
+            InventoryStockId key = entry.getKey();
+            InventoryCostingService.StockCost after = running.get(key);
+            if (after != entry.getValue()) {
+                costingService.apply(companyId, key.getStorageId(), key.getInventoryId(), entry.getValue(), after, updatedBy);
+            }
+        }
+
+        // 7. (창고, 재고번호, 일자)별 스냅샷 반영
+        Map<InventoryStockDailyId, List<Posting>> postingsByDay = new LinkedHashMap<>();
+        for (Posting posting : postings) {
+            LocalDate txDate = posting.request().txDate();
+            postingsByDay
+                    .computeIfAbsent(new InventoryStockDailyId(companyId, posting.storageId(), posting.request().inventoryId(), txDate),
+                            k -> new ArrayList<>())
+                    .add(posting);
+        }
+        for (Map.Entry<InventoryStockDailyId, List<Posting>> daily : postingsByDay.entrySet()) {
+            InventoryStockDailyId day = daily.getKey();
+            BigDecimal inQty = BigDecimal.ZERO;
+            BigDecimal outQty = BigDecimal.ZERO;
+            BigDecimal amount = BigDecimal.ZERO;
+            for (Posting posting : daily.getValue()) {
+                inQty = inQty.add(nvl(posting.inQty()));
+                outQty = outQty.add(nvl(posting.outQty()));
+                amount = amount.add(posting.amountDelta());
+            }
+            stockDailyService.applyDelta(companyId, day.getStorageId(), day.getInventoryId(), day.getStockDate(), inQty, outQty, amount);
+        }
+
+        // 8. 선채번한 이력번호로 이력 배치 저장 (이동은 출고 창고 이력번호를 결과로 반환)
+        int pending = 0;
+        for (Posting posting : postings) {
+            String historyId = historyIdsByDate.get(posting.request().txDate()).next();
+            entityManager.persist(createTransactionHistory(companyId, historyId, posting));
+            if (results[posting.line()] == null) {
+                results[posting.line()] = InventoryTxBatchResult.success(posting.line() + 1, historyId);
+            }
+            if (++pending % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        int successCount = 0;
+        for (InventoryTxBatchResult result : results) {
+            if (result.success()) {
+                successCount++;
+            }
+        }
+        return new InventoryTxBatchResponse(successCount, results.length - successCount, List.of(results));
     }
 
     /**
@@ -68,10 +247,7 @@ public class InventoryTxService {
         if (!"OUT".equals(request.txType())) {
             throw new IllegalArgumentException("출고 거래가 아닙니다.");
         }
-        
-        // 출고 가능 수량 확인
-        validateStockAvailability(request);
-        
+        // 출고 가능 수량과 출고 금액은 재고 행 잠금 후 이동평균 단가로 확인/계산
         return processTransaction(request);
     }
 
@@ -82,10 +258,7 @@ public class InventoryTxService {
         if (!"MOVE".equals(request.txType())) {
             throw new IllegalArgumentException("이동 거래가 아닙니다.");
         }
-        
-        // 이동 가능 수량 확인
-        validateStockAvailability(request);
-        
+        // 출고 창고 재고 행 잠금 후 이동 가능 수량 확인, 출고 창고 평균단가로 입고 창고에 입고
         return processTransaction(request);
     }
 
@@ -114,6 +287,7 @@ public class InventoryTxService {
                     s.getId().getInventoryId(),
                     s.getQty(),
                     s.getAmount(),
+                    s.getUnitCost(),
                     s.getUpdatedAt(),
                     s.getUpdatedBy()
             );
@@ -123,6 +297,7 @@ public class InventoryTxService {
                     inventoryId,
                     BigDecimal.ZERO,
                     BigDecimal.ZERO,
+                    null,
                     LocalDateTime.now(),
                     "SYSTEM"
             );
@@ -141,6 +316,7 @@ public class InventoryTxService {
                         stock.getId().getInventoryId(),
                         stock.getQty(),
                         stock.getAmount(),
+                        stock.getUnitCost(),
                         stock.getUpdatedAt(),
                         stock.getUpdatedBy()
                 ))
@@ -159,6 +335,7 @@ public class InventoryTxService {
                         stock.getId().getInventoryId(),
                         stock.getQty(),
                         stock.getAmount(),
+                        stock.getUnitCost(),
                         stock.getUpdatedAt(),
                         stock.getUpdatedBy()
                 ))
@@ -201,11 +378,17 @@ public class InventoryTxService {
                 }
             }
             case "MOVE" -> {
-                if (request.inQty() == null || request.inQty().compareTo(BigDecimal.ZERO) <= 0) {
-                    throw new IllegalArgumentException("이동 수량은 0보다 커야 합니다.");
+                if (request.toStorageId() == null || request.toStorageId().trim().isEmpty()) {
+                    throw new IllegalArgumentException("입고 창고번호는 필수입니다.");
+                }
+                if (request.toStorageId().equals(request.storageId())) {
+                    throw new IllegalArgumentException("출고 창고와 입고 창고가 같습니다.");
                 }
                 if (request.outQty() == null || request.outQty().compareTo(BigDecimal.ZERO) <= 0) {
-                    throw new IllegalArgumentException("이동 출고 수량은 0보다 커야 합니다.");
+                    throw new IllegalArgumentException("이동 수량은 0보다 커야 합니다.");
+                }
+                if (request.inQty() != null && request.inQty().compareTo(request.outQty()) != 0) {
+                    throw new IllegalArgumentException("이동 거래의 입고 수량과 출고 수량이 다릅니다.");
                 }
             }
             case "ADJ" -> {
@@ -218,45 +401,106 @@ public class InventoryTxService {
     }
 
     /**
-     * 재고 가용성 검증
+     * 재고 업데이트
+     * 입고/조정은 수량·금액 증감 후 평균단가 재계산, 출고는 평균단가로 평가, 이동은 출고 창고 평가 금액으로 입고 창고에 입고.
      */
-    private void validateStockAvailability(InventoryTxRequest request) {
-        String companyId = "C0001"; // TODO: 실제 회사 ID로 변경
-        
-        BigDecimal currentQty = stockRepository.findQtyByIdCompanyIdAndIdInventoryIdAndIdStorageId(
-                companyId, request.inventoryId(), request.storageId());
-        
-        if (currentQty == null) {
-            currentQty = BigDecimal.ZERO;
+    private List<Posting> postStock(String companyId, InventoryTxRequest request, int line, String updatedBy) {
+        String storageId = request.storageId();
+        String inventoryId = request.inventoryId();
+        switch (request.txType()) {
+            case "OUT" -> {
+                InventoryCostingService.Valuation valuation = costingService.issue(
+                        companyId, storageId, inventoryId, outQty(request), updatedBy);
+                return List.of(issuePosting(line, request, valuation));
+            }
+            case "MOVE" -> {
+                InventoryCostingService.Valuation valuation = costingService.move(
+                        companyId, storageId, request.toStorageId(), inventoryId, outQty(request), updatedBy);
+                return movePostings(line, request, valuation);
+            }
+            case "IN" -> {
+                BigDecimal amount = inboundAmount(request);
+                costingService.receive(companyId, storageId, inventoryId, inQty(request), amount, updatedBy);
+                return List.of(inboundPosting(line, request, amount));
+            }
+            default -> {
+                costingService.adjust(companyId, storageId, inventoryId, qtyDelta(request), nvl(request.amount()), updatedBy);
+                return List.of(adjustPosting(line, request));
+            }
         }
-        
-        BigDecimal requiredQty = request.outQty() != null ? request.outQty() : BigDecimal.ZERO;
-        
-        if (currentQty.compareTo(requiredQty) < 0) {
-            throw new IllegalArgumentException(
-                    String.format("재고 부족: 현재 수량 %s, 요청 수량 %s", currentQty, requiredQty));
+    }
+
+    /**
+     * 일괄 처리용 원가 계산 (잠근 키의 메모리 잔액 갱신, 재고가 부족하면 잔액 변경 없이 예외)
+     */
+    private List<Posting> valueLine(String companyId, InventoryTxRequest request, int line,
+                                    Map<InventoryStockId, InventoryCostingService.StockCost> running) {
+        InventoryStockId source = new InventoryStockId(companyId, request.storageId(), request.inventoryId());
+        InventoryCostingService.StockCost current = running.get(source);
+        switch (request.txType()) {
+            case "OUT", "MOVE" -> {
+                BigDecimal qty = outQty(request);
+                if (current.qty().compareTo(qty) < 0) {
+                    throw InventoryCostingService.insufficientStock(current.qty(), qty);
+                }
+                InventoryCostingService.Valuation valuation = current.valueIssue(qty);
+                running.put(source, current.add(qty.negate(), valuation.amount().negate()));
+                if ("OUT".equals(request.txType())) {
+                    return List.of(issuePosting(line, request, valuation));
+                }
+                InventoryStockId target = new InventoryStockId(companyId, request.toStorageId(), request.inventoryId());
+                running.put(target, running.get(target).add(qty, valuation.amount()));
+                return movePostings(line, request, valuation);
+            }
+            case "IN" -> {
+                BigDecimal amount = inboundAmount(request);
+                running.put(source, current.add(inQty(request), amount));
+                return List.of(inboundPosting(line, request, amount));
+            }
+            default -> {
+                BigDecimal qtyDelta = qtyDelta(request);
+                if (current.qty().add(qtyDelta).signum() < 0) {
+                    throw InventoryCostingService.insufficientStock(current.qty(), qtyDelta.negate());
+                }
+                running.put(source, current.add(qtyDelta, nvl(request.amount())));
+                return List.of(adjustPosting(line, request));
+            }
         }
     }
 
+    private Posting issuePosting(int line, InventoryTxRequest request, InventoryCostingService.Valuation valuation) {
+        return new Posting(line, request, request.storageId(), null, outQty(request), valuation.unitCost(), valuation.amount());
+    }
+
+    private List<Posting> movePostings(int line, InventoryTxRequest request, InventoryCostingService.Valuation valuation) {
+        BigDecimal qty = outQty(request);
+        return List.of(
+                new Posting(line, request, request.storageId(), null, qty, valuation.unitCost(), valuation.amount().negate()),
+                new Posting(line, request, request.toStorageId(), qty, null, valuation.unitCost(), valuation.amount()));
+    }
+
+    private Posting adjustPosting(int line, InventoryTxRequest request) {
+        return new Posting(line, request, request.storageId(),
+                request.inQty(), request.outQty(), request.unitCost(), nvl(request.amount()));
+    }
+
     /**
      * 거래 이력 생성
      */
-    private InventoryHistory createTransactionHistory(InventoryTxRequest request) {
-        String companyId = "C0001"; // TODO: 실제 회사 ID로 변경
-        String historyId = autoNumberService.generateTxId(companyId, "H", request.txDate());
-        
+    private InventoryHistory createTransactionHistory(String companyId, String historyId, Posting posting) {
+        InventoryTxRequest request = posting.request();
         InventoryHistory history = new InventoryHistory();
         history.setId(new InventoryHistoryId(companyId, historyId));
         history.setInventoryId(request.inventoryId());
-        history.setStorageId(request.storageId());
+        history.setStorageId(posting.storageId());
         history.setTxType(request.txType());
         history.setRefNo(request.refNo());
         history.setRefLine(request.refLine());
         history.setTxDate(request.txDate());
-        history.setInQty(request.inQty());
-        history.setOutQty(request.outQty());
-        history.setUnitCost(request.unitCost());
-        history.setAmount(request.amount());
+        history.setInQty(posting.inQty());
+        history.setOutQty(posting.outQty());
+        history.setUnitCost(posting.unitCost());
+        history.setAmount(posting.amount());
         history.setNote(request.note());
         history.setCreatedAt(LocalDateTime.now());
         history.setCreatedBy("SYSTEM"); // TODO: 실제 사용자 ID로 변경
@@ -266,46 +510,41 @@ public class InventoryTxService {
         return history;
     }
 
+    private Posting inboundPosting(int line, InventoryTxRequest request, BigDecimal amount) {
+        BigDecimal qty = inQty(request);
+        BigDecimal unitCost = request.unitCost() != null
+                ? request.unitCost()
+                : amount.divide(qty, 6, RoundingMode.HALF_UP);
+        return new Posting(line, request, request.storageId(), qty, request.outQty(), unitCost, amount);
+    }
+
     /**
-     * 재고 업데이트
+     * 입고 금액 (요청 금액, 없으면 수량 x 단가)
      */
-    private void updateStock(InventoryTxRequest request) {
-        String companyId = "C0001"; // TODO: 실제 회사 ID로 변경
-        String storageId = request.storageId();
-        String inventoryId = request.inventoryId();
-        
-        // 현재 재고 조회
-        Optional<InventoryStock> existingStock = stockRepository.findByIdCompanyIdAndIdInventoryIdAndIdStorageId(
-                companyId, inventoryId, storageId);
-        
-        InventoryStock stock = existingStock.orElse(new InventoryStock());
-        if (!existingStock.isPresent()) {
-            stock.setId(new InventoryStockId(companyId, storageId, inventoryId));
-            stock.setQty(BigDecimal.ZERO);
-            stock.setAmount(BigDecimal.ZERO);
-        }
-        
-        // 수량 업데이트
-        BigDecimal newQty = stock.getQty();
-        if (request.inQty() != null) {
-            newQty = newQty.add(request.inQty());
-        }
-        if (request.outQty() != null) {
-            newQty = newQty.subtract(request.outQty());
-        }
-        stock.setQty(newQty);
-        
-        // 금액 업데이트
-        BigDecimal newAmount = stock.getAmount();
+    private BigDecimal inboundAmount(InventoryTxRequest request) {
         if (request.amount() != null) {
-            newAmount = newAmount.add(request.amount());
+            return request.amount();
         }
-        stock.setAmount(newAmount);
-        
-        stock.setUpdatedAt(LocalDateTime.now());
-        stock.setUpdatedBy("SYSTEM"); // TODO: 실제 사용자 ID로 변경
-        
-        stockRepository.save(stock);
+        if (request.unitCost() != null) {
+            return inQty(request).multiply(request.unitCost())
+                    .setScale(InventoryCostingService.AMOUNT_SCALE, RoundingMode.HALF_UP);
+        }
+        return BigDecimal.ZERO;
+    }
+
+    /**
+     * 거래 1건의 재고 수량 증감분 (입고 - 출고)
+     */
+    private BigDecimal qtyDelta(InventoryTxRequest request) {
+        return inQty(request).subtract(outQty(request));
+    }
+
+    private BigDecimal inQty(InventoryTxRequest request) {
+        return nvl(request.inQty());
+    }
+
+    private BigDecimal outQty(InventoryTxRequest request) {
+        return nvl(request.outQty());
     }
 
     /**
@@ -331,4 +570,24 @@ public class InventoryTxService {
                 history.getUpdatedBy()
         );
     }
+
+    /**
+     * 원가 반영이 끝난 이력 1건 (이동은 출고 창고/입고 창고 2건, 이동 출고 금액은 음수)
+     */
+    private record Posting(
+            int line,
+            InventoryTxRequest request,
+            String storageId,
+            BigDecimal inQty,
+            BigDecimal outQty,
+            BigDecimal unitCost,
+            BigDecimal amount) {
+
+        /**
+         * 재고 금액 증감분 (출고는 차감, 그 외는 금액 그대로 반영)
+         */
+        BigDecimal amountDelta() {
+            return "OUT".equals(request.txType()) ? amount.negate() : amount;
+        }
+    }
 }
@@ -1,8 +1,10 @@
 package com.cmms11.memo;
 
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,19 +16,30 @@ import org.springframework.data.repository.query.Param;
  * 수정일:
  * 프로그램 개요: 메모 엔티티의 CRUD 및 검색을 위한 JPA 레포지토리.
  */
-public interface MemoRepository extends JpaRepository<Memo, MemoId> {
+public interface MemoRepository extends JpaRepository<Memo, MemoId>, MemoSearchRepository {
 
     Page<Memo> findByIdCompanyId(String companyId, Pageable pageable);
 
-    @Query(
+    Optional<Memo> findByIdCompanyIdAndIdMemoId(String companyId, String memoId);
+
+    // findNextPage/findSlice 공통 목록 조건 (keyset 조회는 ID 조건과 정렬만 덧붙인다)
+    String LIST_QUERY =
         "select m from Memo m " +
-        "where m.id.companyId = :companyId and (m.id.memoId like :keyword or m.title like :keyword or m.content like :keyword)"
-    )
-    Page<Memo> search(
+        "where m.id.companyId = :companyId " +
+        "and (:keyword is null or m.id.memoId like :keyword or m.title like :keyword or m.content like :keyword)";
+
+    @Query(LIST_QUERY + " and m.id.memoId > :afterId order by m.id.memoId")
+    List<Memo> findNextPage(
         @Param("companyId") String companyId,
         @Param("keyword") String keyword,
+        @Param("afterId") String afterId,
         Pageable pageable
     );
 
-    Optional<Memo> findByIdCompanyIdAndIdMemoId(String companyId, String memoId);
+    @Query(LIST_QUERY)
+    Slice<Memo> findSlice(
+        @Param("companyId") String companyId,
+        @Param("keyword") String keyword,
+        Pageable pageable
+    );
 }
@@ -0,0 +1,36 @@
+package com.cmms11.memo;
+
+import com.cmms11.common.search.KeywordSearch;
+import com.cmms11.common.search.SearchIndexService;
+import jakarta.persistence.EntityManager;
+import java.util.Map;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * 이름: MemoSearchRepositoryImpl
+ * 작성자: codex
+ * 작성일: 2026-10-18
+ * 수정일:
+ * 프로그램 개요: 메모 키워드 검색 구현. 2글자 이상 검색어는 n-gram 인덱스로 ID 를 찾은 뒤 ID 목록으로 조회하고,
+ *               1글자 검색어이거나 인덱스를 사용할 수 없으면 기존 LIKE 검색으로 처리한다.
+ *               공통 처리는 KeywordSearch 에 두고 여기에는 메모 조건 JPQL 만 둔다.
+ */
+class MemoSearchRepositoryImpl implements MemoSearchRepository {
+
+    private final KeywordSearch<Memo> keywordSearch;
+
+    MemoSearchRepositoryImpl(EntityManager entityManager, ObjectProvider<SearchIndexService> searchIndex) {
+        this.keywordSearch = new KeywordSearch<>(
+            entityManager, searchIndex, INDEX_TYPE, Memo.class, "m", "id.memoId", row -> row.getId().getMemoId());
+    }
+
+    @Override
+    public Page<Memo> search(String companyId, String keyword, Pageable pageable) {
+        return keywordSearch.search(companyId, keyword, pageable,
+            "m.id.companyId = :companyId",
+            "(m.id.memoId like :keyword or m.title like :keyword or m.content like :keyword)",
+            Map.of("companyId", companyId));
+    }
+}
@@ -1,15 +1,26 @@
 package com.cmms11.memo;
 
 import com.cmms11.common.error.NotFoundException;
+import com.cmms11.common.paging.KeysetCursor;
+import com.cmms11.common.search.SearchIndexService;
 import com.cmms11.common.seq.AutoNumberService;
 import com.cmms11.security.MemberUserDetailsService;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -27,10 +38,12 @@ public class MemoService {
 
     private final MemoRepository repository;
     private final AutoNumberService autoNumberService;
+    private final SearchIndexService searchIndex;
 
-    public MemoService(MemoRepository repository, AutoNumberService autoNumberService) {
+    public MemoService(MemoRepository repository, AutoNumberService autoNumberService, SearchIndexService searchIndex) {
         this.repository = repository;
         this.autoNumberService = autoNumberService;
+        this.searchIndex = searchIndex;
     }
 
     @Transactional(readOnly = true)
@@ -46,6 +59,20 @@ public class MemoService {
         return page.map(MemoResponse::from);
     }
 
+    @Transactional(readOnly = true)
+    public Window<MemoResponse> scroll(String keyword, KeysetScrollPosition position, int size) {
+        String companyId = MemberUserDetailsService.DEFAULT_COMPANY;
+        List<Memo> rows = repository.findNextPage(
+            companyId, KeysetCursor.keyword(keyword), KeysetCursor.afterId(position), KeysetCursor.fetchLimit(size));
+        return KeysetCursor.window(rows, size, memo -> memo.getId().getMemoId()).map(MemoResponse::from);
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<MemoResponse> listSlice(String keyword, Pageable pageable) {
+        String companyId = MemberUserDetailsService.DEFAULT_COMPANY;
+        return repository.findSlice(companyId, KeysetCursor.keyword(keyword), pageable).map(MemoResponse::from);
+    }
+
     @Transactional(readOnly = true)
     public MemoResponse get(String memoId) {
         return MemoResponse.from(getExisting(memoId));
@@ -65,7 +92,9 @@ public class MemoService {
         entity.setUpdatedAt(now);
         entity.setUpdatedBy(memberId);
 
-        return MemoResponse.from(repository.save(entity));
+        Memo saved = repository.save(entity);
+        indexSearch(saved);
+        return MemoResponse.from(saved);
     }
 
     public MemoResponse update(String memoId, MemoRequest request) {
@@ -73,12 +102,15 @@ public class MemoService {
         applyRequest(entity, request);
         entity.setUpdatedAt(LocalDateTime.now());
         entity.setUpdatedBy(currentMemberId());
-        return MemoResponse.from(repository.save(entity));
+        Memo saved = repository.save(entity);
+        indexSearch(saved);
+        return MemoResponse.from(saved);
     }
 
     public void delete(String memoId) {
         Memo entity = getExisting(memoId);
         repository.delete(entity);
+        searchIndex.delete(MemoRepository.INDEX_TYPE, entity.getId().getCompanyId(), memoId);
     }
 
     private Memo getExisting(String memoId) {
@@ -116,4 +148,27 @@ public class MemoService {
         String name = authentication.getName();
         return name != null ? name : "system";
     }
+
+    /**
+     * 기동 시 검색 인덱스가 비어 있으면 전체 재색인
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebuildSearchIndex() {
+        searchIndex.rebuildIfEmpty(MemoRepository.INDEX_TYPE, batch -> {
+            Pageable pageable = PageRequest.of(0, 1000, Sort.by("id"));
+            Page<Memo> page;
+            do {
+                page = repository.findAll(pageable);
+                for (Memo memo : page) {
+                    batch.add(memo.getId().getCompanyId(), memo.getId().getMemoId(), memo.getId().getMemoId(), memo.getTitle(), memo.getContent());
+                }
+                pageable = page.nextPageable();
+            } while (page.hasNext());
+        });
+    }
+
+    private void indexSearch(Memo memo) {
+        searchIndex.index(MemoRepository.INDEX_TYPE, memo.getId().getCompanyId(), memo.getId().getMemoId(), memo.getId().getMemoId(), memo.getTitle(), memo.getContent());
+    }
 }
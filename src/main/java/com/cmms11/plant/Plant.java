@@ -10,7 +10,12 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "plant")
+@Table(
+    name = "plant",
+    indexes = {
+        @Index(name = "ix_plant_live", columnList = "company_id, delete_mark, plant_id")
+    }
+)
 @Getter
 @Setter
 @NoArgsConstructor
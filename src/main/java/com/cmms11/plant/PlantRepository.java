@@ -1,18 +1,32 @@
 package com.cmms11.plant;
 
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-public interface PlantRepository extends JpaRepository<Plant, PlantId> {
+public interface PlantRepository extends JpaRepository<Plant, PlantId>, PlantSearchRepository {
     Page<Plant> findByIdCompanyIdAndDeleteMark(String companyId, String deleteMark, Pageable pageable);
 
-    @Query("select p from Plant p where p.id.companyId=:companyId and p.deleteMark=:deleteMark and (p.id.plantId like :q or p.name like :q)")
-    Page<Plant> search(@Param("companyId") String companyId,
-                       @Param("deleteMark") String deleteMark,
-                       @Param("q") String q,
-                       Pageable pageable);
-}
+    List<Plant> findByIdCompanyIdAndIdPlantIdIn(String companyId, Collection<String> plantIds);
+
+    // findNextPage/findSlice 공통 목록 조건 (keyset 조회는 ID 조건과 정렬만 덧붙인다)
+    String LIST_QUERY = "select p from Plant p where p.id.companyId=:companyId and p.deleteMark=:deleteMark and (:q is null or p.id.plantId like :q or p.name like :q)";
 
+    @Query(LIST_QUERY + " and p.id.plantId > :afterId order by p.id.plantId")
+    List<Plant> findNextPage(@Param("companyId") String companyId,
+                             @Param("deleteMark") String deleteMark,
+                             @Param("q") String q,
+                             @Param("afterId") String afterId,
+                             Pageable pageable);
+
+    @Query(LIST_QUERY)
+    Slice<Plant> findSlice(@Param("companyId") String companyId,
+                           @Param("deleteMark") String deleteMark,
+                           @Param("q") String q,
+                           Pageable pageable);
+}
@@ -0,0 +1,18 @@
+package com.cmms11.plant;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * 이름: PlantSearchRepository
+ * 작성자: codex
+ * 작성일: 2026-10-18
+ * 수정일:
+ * 프로그램 개요: 설비 키워드 검색 레포지토리 조각. 검색 인덱스(SearchIndexService)에서 관련도 순으로 조회한다.
+ */
+public interface PlantSearchRepository {
+
+    String INDEX_TYPE = "plant";
+
+    Page<Plant> search(String companyId, String deleteMark, String q, Pageable pageable);
+}
@@ -1,29 +1,40 @@
 package com.cmms11.plant;
 
 import com.cmms11.common.error.NotFoundException;
+import com.cmms11.common.paging.KeysetCursor;
+import com.cmms11.common.search.SearchIndexService;
 import com.cmms11.common.seq.AutoNumberService;
 import com.cmms11.common.upload.BulkUploadError;
 import com.cmms11.common.upload.BulkUploadResult;
+import com.cmms11.common.upload.CsvChunkImporter;
+import com.cmms11.common.upload.CsvColumns;
+import com.cmms11.common.upload.CsvRow;
 import com.cmms11.common.upload.CsvUtils;
 import com.cmms11.security.MemberUserDetailsService;
 import java.io.IOException;
-import java.math.BigDecimal;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -34,10 +45,19 @@ public class PlantService {
 
     private final PlantRepository repository;
     private final AutoNumberService numberService;
+    private final SearchIndexService searchIndex;
+    private final CsvChunkImporter chunkImporter;
 
-    public PlantService(PlantRepository repository, AutoNumberService numberService) {
+    public PlantService(
+        PlantRepository repository,
+        AutoNumberService numberService,
+        SearchIndexService searchIndex,
+        CsvChunkImporter chunkImporter
+    ) {
         this.repository = repository;
         this.numberService = numberService;
+        this.searchIndex = searchIndex;
+        this.chunkImporter = chunkImporter;
     }
 
     @Transactional(readOnly = true)
@@ -52,6 +72,20 @@ public class PlantService {
         return page.map(PlantResponse::from);
     }
 
+    @Transactional(readOnly = true)
+    public Window<PlantResponse> scroll(String q, KeysetScrollPosition position, int size) {
+        String companyId = MemberUserDetailsService.DEFAULT_COMPANY;
+        List<Plant> rows = repository.findNextPage(
+            companyId, "N", KeysetCursor.keyword(q), KeysetCursor.afterId(position), KeysetCursor.fetchLimit(size));
+        return KeysetCursor.window(rows, size, plant -> plant.getId().getPlantId()).map(PlantResponse::from);
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<PlantResponse> listSlice(String q, Pageable pageable) {
+        String companyId = MemberUserDetailsService.DEFAULT_COMPANY;
+        return repository.findSlice(companyId, "N", KeysetCursor.keyword(q), pageable).map(PlantResponse::from);
+    }
+
     @Transactional(readOnly = true)
     public PlantResponse get(String plantId) {
         Plant plant = getActivePlant(plantId);
@@ -65,68 +99,28 @@ public class PlantService {
 
         Plant plant = new Plant();
         plant.setId(new PlantId(companyId, request.plantId()));
-        plant.setName(request.name());
-        plant.setAssetId(request.assetId());
-        plant.setSiteId(request.siteId());
-        plant.setDeptId(request.deptId());
-        plant.setFuncId(request.funcId());
-        plant.setMakerName(request.makerName());
-        plant.setSpec(request.spec());
-        plant.setModel(request.model());
-        plant.setSerial(request.serial());
-        plant.setInstallDate(request.installDate());
-        plant.setDepreId(request.depreId());
-        plant.setDeprePeriod(request.deprePeriod());
-        plant.setPurchaseCost(request.purchaseCost());
-        plant.setResidualValue(request.residualValue());
-        plant.setInspectionYn(request.inspectionYn());
-        plant.setPsmYn(request.psmYn());
-        plant.setWorkpermitYn(request.workpermitYn());
-        plant.setInspectionInterval(request.inspectionInterval());
-        plant.setLastInspection(request.lastInspection());
-        plant.setNextInspection(request.nextInspection());
-        plant.setFileGroupId(request.fileGroupId());
-        plant.setNote(request.note());
-        plant.setStatus(request.status());
+        applyRequest(plant, request);
         plant.setDeleteMark("N");
         plant.setCreatedAt(now);
         plant.setCreatedBy(memberId);
         plant.setUpdatedAt(now);
         plant.setUpdatedBy(memberId);
 
-        return PlantResponse.from(repository.save(plant));
+        Plant saved = repository.save(plant);
+        indexSearch(saved);
+        return PlantResponse.from(saved);
     }
 
     public PlantResponse update(String plantId, PlantRequest request) {
         Plant existing = getActivePlant(plantId);
         
-        existing.setName(request.name());
-        existing.setAssetId(request.assetId());
-        existing.setSiteId(request.siteId());
-        existing.setDeptId(request.deptId());
-        existing.setFuncId(request.funcId());
-        existing.setMakerName(request.makerName());
-        existing.setSpec(request.spec());
-        existing.setModel(request.model());
-        existing.setSerial(request.serial());
-        existing.setInstallDate(request.installDate());
-        existing.setDepreId(request.depreId());
-        existing.setDeprePeriod(request.deprePeriod());
-        existing.setPurchaseCost(request.purchaseCost());
-        existing.setResidualValue(request.residualValue());
-        existing.setInspectionYn(request.inspectionYn());
-        existing.setPsmYn(request.psmYn());
-        existing.setWorkpermitYn(request.workpermitYn());
-        existing.setInspectionInterval(request.inspectionInterval());
-        existing.setLastInspection(request.lastInspection());
-        existing.setNextInspection(request.nextInspection());
-        existing.setFileGroupId(request.fileGroupId());
-        existing.setNote(request.note());
-        existing.setStatus(request.status());
+        applyRequest(existing, request);
         existing.setUpdatedAt(LocalDateTime.now());
         existing.setUpdatedBy(currentMemberId());
 
-        return PlantResponse.from(repository.save(existing));
+        Plant saved = repository.save(existing);
+        indexSearch(saved);
+        return PlantResponse.from(saved);
     }
 
     private Plant getActivePlant(String plantId) {
@@ -148,73 +142,76 @@ public class PlantService {
         // 소프트 삭제 (delete_mark = 'Y')
         existing.setDeleteMark("Y");
         repository.save(existing);
+        searchIndex.delete(PlantRepository.INDEX_TYPE, companyId, plantId);
     }
 
     public BulkUploadResult upload(MultipartFile file) {
         List<BulkUploadError> errors = new ArrayList<>();
-        List<Plant> pending = new ArrayList<>();
         Set<String> seenIds = new HashSet<>();
         String companyId = MemberUserDetailsService.DEFAULT_COMPANY;
         LocalDateTime now = LocalDateTime.now();
         String memberId = currentMemberId();
+        int[] successCount = {0};
 
         try (CSVParser parser = CsvUtils.parse(file)) {
-            Map<String, Integer> headerIndex = CsvUtils.normalizeHeaderMap(parser);
-            CsvUtils.requireHeaders(headerIndex, List.of("name"));
+            PlantColumns columns = PlantColumns.compile(CsvColumns.compile(parser, "name"));
 
-            for (CSVRecord record : parser) {
-                if (CsvUtils.isEmptyRecord(record)) {
-                    continue;
-                }
-                int rowNumber = CsvUtils.displayRowNumber(record);
-                try {
-                    Plant plant = mapPlantRecord(record, headerIndex, companyId, now, memberId, seenIds);
-                    pending.add(plant);
-                    seenIds.add(plant.getId().getPlantId());
-                } catch (IllegalArgumentException ex) {
-                    errors.add(new BulkUploadError(rowNumber, ex.getMessage()));
-                }
-            }
+            chunkImporter.forEachChunk(parser, columns::toRequest, chunk -> successCount[0] +=
+                importChunk(chunk, columns, companyId, now, memberId, seenIds, errors));
         } catch (IOException ex) {
             throw new IllegalArgumentException("CSV 파일을 읽을 수 없습니다.", ex);
         }
-
-        if (!pending.isEmpty()) {
-            repository.saveAll(pending);
-        }
-        return new BulkUploadResult(pending.size(), errors.size(), errors);
+        return new BulkUploadResult(successCount[0], errors.size(), errors);
     }
 
-    private Plant mapPlantRecord(
-        CSVRecord record,
-        Map<String, Integer> headerIndex,
+    /**
+     * CSV 한 청크 처리: 기존 ID 일괄 조회(IN) → 행 순서대로 검사 → 신규 ID 일괄 채번 → 저장
+     */
+    private int importChunk(
+        List<CsvRow<PlantRequest>> rows,
+        PlantColumns columns,
         String companyId,
         LocalDateTime now,
         String memberId,
-        Set<String> seenIds
+        Set<String> seenIds,
+        List<BulkUploadError> errors
     ) {
-        String csvPlantId = CsvUtils.getString(record, headerIndex, "plant_id");
-        if (csvPlantId != null && seenIds.contains(csvPlantId)) {
-            throw new IllegalArgumentException("CSV 내에서 중복된 설비 ID입니다: " + csvPlantId);
+        Set<String> requestedIds = new HashSet<>();
+        for (CsvRow<PlantRequest> row : rows) {
+            String plantId = csvPlantId(row, columns);
+            if (plantId != null) {
+                requestedIds.add(plantId);
+            }
         }
+        Map<String, Plant> existingById = requestedIds.isEmpty()
+            ? Map.of()
+            : repository.findByIdCompanyIdAndIdPlantIdIn(companyId, requestedIds).stream()
+                .collect(Collectors.toMap(plant -> plant.getId().getPlantId(), Function.identity()));
 
-        Plant plant;
-        String finalPlantId;
-        if (csvPlantId == null) {
-            finalPlantId = numberService.generateMasterId(companyId, MODULE_CODE);
-            plant = new Plant();
-            plant.setId(new PlantId(companyId, finalPlantId));
-            plant.setCreatedAt(now);
-            plant.setCreatedBy(memberId);
-        } else {
-            finalPlantId = csvPlantId;
-            PlantId id = new PlantId(companyId, finalPlantId);
-            Optional<Plant> existing = repository.findById(id);
-            if (existing.isPresent()) {
-                plant = existing.get();
-                if (!"Y".equalsIgnoreCase(plant.getDeleteMark())) {
-                    throw new IllegalArgumentException("이미 존재하는 설비 ID입니다: " + finalPlantId);
-                }
+        // 원래 행 단위 처리와 같은 순서로 검사: CSV 내 중복 → 기존 ID → 값 형식
+        List<Plant> accepted = new ArrayList<>(rows.size());
+        List<Plant> created = new ArrayList<>();
+        List<Plant> needsId = new ArrayList<>();
+        for (CsvRow<PlantRequest> row : rows) {
+            String plantId = csvPlantId(row, columns);
+            String error = null;
+            Plant existing = plantId != null ? existingById.get(plantId) : null;
+            if (plantId != null && seenIds.contains(plantId)) {
+                error = "CSV 내에서 중복된 설비 ID입니다: " + plantId;
+            } else if (existing != null && !"Y".equalsIgnoreCase(existing.getDeleteMark())) {
+                error = "이미 존재하는 설비 ID입니다: " + plantId;
+            } else if (!row.valid()) {
+                error = row.error();
+            }
+            if (error != null) {
+                errors.add(new BulkUploadError(row.rowNumber(), error));
+                continue;
+            }
+
+            Plant plant;
+            if (existing != null) {
+                // 삭제 표시된 설비는 같은 ID 로 되살린다.
+                plant = existing;
                 if (plant.getCreatedAt() == null) {
                     plant.setCreatedAt(now);
                 }
@@ -223,63 +220,155 @@ public class PlantService {
                 }
             } else {
                 plant = new Plant();
-                plant.setId(id);
                 plant.setCreatedAt(now);
                 plant.setCreatedBy(memberId);
+                created.add(plant);
+                if (plantId != null) {
+                    plant.setId(new PlantId(companyId, plantId));
+                } else {
+                    needsId.add(plant);
+                }
+            }
+            applyRequest(plant, row.value());
+            plant.setDeleteMark("N");
+            plant.setUpdatedAt(now);
+            plant.setUpdatedBy(memberId);
+            accepted.add(plant);
+            if (plantId != null) {
+                seenIds.add(plantId);
             }
         }
 
-        plant.setName(CsvUtils.requireNonBlank(CsvUtils.getString(record, headerIndex, "name"), "name"));
-        plant.setAssetId(CsvUtils.getString(record, headerIndex, "asset_id"));
-        plant.setSiteId(CsvUtils.getString(record, headerIndex, "site_id"));
-        plant.setDeptId(CsvUtils.getString(record, headerIndex, "dept_id"));
-        plant.setFuncId(CsvUtils.getString(record, headerIndex, "func_id"));
-        plant.setMakerName(CsvUtils.getString(record, headerIndex, "maker_name"));
-        plant.setSpec(CsvUtils.getString(record, headerIndex, "spec"));
-        plant.setModel(CsvUtils.getString(record, headerIndex, "model"));
-        plant.setSerial(CsvUtils.getString(record, headerIndex, "serial"));
-        plant.setInstallDate(toDate(record, headerIndex, "install_date"));
-        plant.setDepreId(CsvUtils.getString(record, headerIndex, "depre_id"));
-        plant.setDeprePeriod(toInteger(record, headerIndex, "depre_period"));
-        plant.setPurchaseCost(toBigDecimal(record, headerIndex, "purchase_cost"));
-        plant.setResidualValue(toBigDecimal(record, headerIndex, "residual_value"));
-        plant.setInspectionYn(normalizeFlag(record, headerIndex, "inspection_yn"));
-        plant.setPsmYn(normalizeFlag(record, headerIndex, "psm_yn"));
-        plant.setWorkpermitYn(normalizeFlag(record, headerIndex, "workpermit_yn"));
-        plant.setInspectionInterval(toInteger(record, headerIndex, "inspection_interval"));
-        plant.setLastInspection(toDate(record, headerIndex, "last_inspection"));
-        plant.setNextInspection(toDate(record, headerIndex, "next_inspection"));
-        plant.setFileGroupId(CsvUtils.getString(record, headerIndex, "file_group_id"));
-        plant.setNote(CsvUtils.getString(record, headerIndex, "note"));
-        plant.setStatus(CsvUtils.getString(record, headerIndex, "status"));
-        plant.setDeleteMark("N");
-        plant.setUpdatedAt(now);
-        plant.setUpdatedBy(memberId);
-        return plant;
+        String[] generatedIds = numberService.generateMasterIds(companyId, MODULE_CODE, needsId.size());
+        for (int i = 0; i < needsId.size(); i++) {
+            needsId.get(i).setId(new PlantId(companyId, generatedIds[i]));
+            seenIds.add(generatedIds[i]);
+        }
+        created.forEach(chunkImporter::persist);
+        accepted.forEach(this::indexSearch);
+        return accepted.size();
     }
 
-    private Integer toInteger(CSVRecord record, Map<String, Integer> headerIndex, String column) {
-        return CsvUtils.toInteger(CsvUtils.getString(record, headerIndex, column), column);
+    /**
+     * 변환에 실패한 행도 중복 검사를 위해 plant_id 는 원본에서 읽는다.
+     */
+    private static String csvPlantId(CsvRow<PlantRequest> row, PlantColumns columns) {
+        return row.valid() ? row.value().plantId() : columns.plantId().get(row.record());
     }
 
-    private BigDecimal toBigDecimal(CSVRecord record, Map<String, Integer> headerIndex, String column) {
-        return CsvUtils.toBigDecimal(CsvUtils.getString(record, headerIndex, column), column);
+    private void applyRequest(Plant plant, PlantRequest request) {
+        plant.setName(request.name());
+        plant.setAssetId(request.assetId());
+        plant.setSiteId(request.siteId());
+        plant.setDeptId(request.deptId());
+        plant.setFuncId(request.funcId());
+        plant.setMakerName(request.makerName());
+        plant.setSpec(request.spec());
+        plant.setModel(request.model());
+        plant.setSerial(request.serial());
+        plant.setInstallDate(request.installDate());
+        plant.setDepreId(request.depreId());
+        plant.setDeprePeriod(request.deprePeriod());
+        plant.setPurchaseCost(request.purchaseCost());
+        plant.setResidualValue(request.residualValue());
+        plant.setInspectionYn(request.inspectionYn());
+        plant.setPsmYn(request.psmYn());
+        plant.setWorkpermitYn(request.workpermitYn());
+        plant.setInspectionInterval(request.inspectionInterval());
+        plant.setLastInspection(request.lastInspection());
+        plant.setNextInspection(request.nextInspection());
+        plant.setFileGroupId(request.fileGroupId());
+        plant.setNote(request.note());
+        plant.setStatus(request.status());
     }
 
-    private LocalDate toDate(CSVRecord record, Map<String, Integer> headerIndex, String column) {
-        return CsvUtils.toLocalDate(CsvUtils.getString(record, headerIndex, column), column);
-    }
+    /**
+     * 설비 CSV 컬럼 접근자 (업로드당 한 번 컴파일)
+     */
+    private record PlantColumns(
+        CsvColumns.Column plantId,
+        CsvColumns.Column name,
+        CsvColumns.Column assetId,
+        CsvColumns.Column siteId,
+        CsvColumns.Column deptId,
+        CsvColumns.Column funcId,
+        CsvColumns.Column makerName,
+        CsvColumns.Column spec,
+        CsvColumns.Column model,
+        CsvColumns.Column serial,
+        CsvColumns.Column installDate,
+        CsvColumns.Column depreId,
+        CsvColumns.Column deprePeriod,
+        CsvColumns.Column purchaseCost,
+        CsvColumns.Column residualValue,
+        CsvColumns.Column inspectionYn,
+        CsvColumns.Column psmYn,
+        CsvColumns.Column workpermitYn,
+        CsvColumns.Column inspectionInterval,
+        CsvColumns.Column lastInspection,
+        CsvColumns.Column nextInspection,
+        CsvColumns.Column fileGroupId,
+        CsvColumns.Column note,
+        CsvColumns.Column status
+    ) {
 
-    private String normalizeFlag(CSVRecord record, Map<String, Integer> headerIndex, String column) {
-        String value = CsvUtils.getString(record, headerIndex, column);
-        if (value == null) {
-            return null;
+        static PlantColumns compile(CsvColumns columns) {
+            return new PlantColumns(
+                columns.column("plant_id"),
+                columns.column("name"),
+                columns.column("asset_id"),
+                columns.column("site_id"),
+                columns.column("dept_id"),
+                columns.column("func_id"),
+                columns.column("maker_name"),
+                columns.column("spec"),
+                columns.column("model"),
+                columns.column("serial"),
+                columns.column("install_date"),
+                columns.column("depre_id"),
+                columns.column("depre_period"),
+                columns.column("purchase_cost"),
+                columns.column("residual_value"),
+                columns.column("inspection_yn"),
+                columns.column("psm_yn"),
+                columns.column("workpermit_yn"),
+                columns.column("inspection_interval"),
+                columns.column("last_inspection"),
+                columns.column("next_inspection"),
+                columns.column("file_group_id"),
+                columns.column("note"),
+                columns.column("status")
+            );
         }
-        String upper = value.trim().toUpperCase(Locale.ROOT);
-        if (!upper.equals("Y") && !upper.equals("N")) {
-            throw new IllegalArgumentException(column + " 값은 Y 또는 N 이어야 합니다: " + value);
+
+        PlantRequest toRequest(CSVRecord record) {
+            return new PlantRequest(
+                plantId.get(record),
+                name.require(record),
+                assetId.get(record),
+                siteId.get(record),
+                deptId.get(record),
+                funcId.get(record),
+                makerName.get(record),
+                spec.get(record),
+                model.get(record),
+                serial.get(record),
+                installDate.getLocalDate(record),
+                depreId.get(record),
+                deprePeriod.getInteger(record),
+                purchaseCost.getBigDecimal(record),
+                residualValue.getBigDecimal(record),
+                inspectionYn.getFlag(record),
+                psmYn.getFlag(record),
+                workpermitYn.getFlag(record),
+                inspectionInterval.getInteger(record),
+                lastInspection.getLocalDate(record),
+                nextInspection.getLocalDate(record),
+                fileGroupId.get(record),
+                note.get(record),
+                status.get(record)
+            );
         }
-        return upper;
     }
 
     private String currentMemberId() {
@@ -290,4 +379,32 @@ public class PlantService {
         String name = authentication.getName();
         return name != null ? name : "system";
     }
+
+    /**
+     * 기동 시 검색 인덱스가 비어 있으면 전체 재색인
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebuildSearchIndex() {
+        searchIndex.rebuildIfEmpty(PlantRepository.INDEX_TYPE, batch -> {
+            Pageable pageable = PageRequest.of(0, 1000, Sort.by("id"));
+            Page<Plant> page;
+            do {
+                page = repository.findAll(pageable);
+                for (Plant plant : page) {
+                    if ("N".equals(plant.getDeleteMark())) {
+                        batch.add(plant.getId().getCompanyId(), plant.getId().getPlantId(), plant.getId().getPlantId(), plant.getName());
+                    }
+                }
+                pageable = page.nextPageable();
+            } while (page.hasNext());
+        });
+    }
+
+    private void indexSearch(Plant plant) {
+        if (!"N".equals(plant.getDeleteMark())) {
+            return;
+        }
+        searchIndex.index(PlantRepository.INDEX_TYPE, plant.getId().getCompanyId(), plant.getId().getPlantId(), plant.getId().getPlantId(), plant.getName());
+    }
 }
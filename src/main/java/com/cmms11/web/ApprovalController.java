@@ -1,5 +1,7 @@
 package com.cmms11.web;
 
+import com.cmms11.common.paging.CursorPage;
+import com.cmms11.common.paging.KeysetCursor;
 import com.cmms11.approval.ApprovalRequest;
 import com.cmms11.approval.ApprovalResponse;
 import com.cmms11.approval.ApprovalService;
@@ -9,6 +11,7 @@ import java.util.List;
 import java.util.Map;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
@@ -88,8 +91,22 @@ public class ApprovalController {
     // API 엔드포인트 제공
     @ResponseBody
     @GetMapping("/api/approvals")
-    public Page<ApprovalResponse> list(@RequestParam(name = "q", required = false) String q, Pageable pageable) {
-        return service.list(q, pageable);
+    public Slice<ApprovalResponse> list(
+        @RequestParam(name = "q", required = false) String q,
+        @RequestParam(name = "count", defaultValue = "true") boolean count,
+        Pageable pageable
+    ) {
+        return count ? service.list(q, pageable) : service.listSlice(q, pageable);
+    }
+
+    @ResponseBody
+    @GetMapping("/api/approvals/scroll")
+    public CursorPage<ApprovalResponse> scroll(
+        @RequestParam(name = "q", required = false) String q,
+        @RequestParam(name = "cursor", required = false) String cursor,
+        @RequestParam(name = "size", required = false) Integer size
+    ) {
+        return CursorPage.from(service.scroll(q, KeysetCursor.decode(cursor), KeysetCursor.pageSize(size)));
     }
 
     @ResponseBody
@@ -1,29 +1,39 @@
 package com.cmms11.web;
 
 import com.cmms11.inventoryTx.InventoryTxService;
+import com.cmms11.inventoryTx.InventoryClosingJobResponse;
+import com.cmms11.inventoryTx.InventoryClosingJobService;
 import com.cmms11.inventoryTx.InventoryClosingService;
 import com.cmms11.inventoryTx.InventoryLedgerService;
 import com.cmms11.inventoryTx.InventoryTxRequest;
+import com.cmms11.inventoryTx.InventoryTxBatchResponse;
 import com.cmms11.inventoryTx.InventoryTxResponse;
 import com.cmms11.inventoryTx.InventoryClosingRequest;
 import com.cmms11.inventoryTx.InventoryClosingResponse;
 import com.cmms11.inventoryTx.InventoryLedgerResponse;
 import com.cmms11.inventoryTx.InventoryStockResponse;
+import com.cmms11.inventoryTx.InventoryStockAsOfResponse;
+import com.cmms11.inventoryTx.InventoryStockDailyService;
 import com.cmms11.domain.storage.StorageService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Optional;
 
@@ -39,17 +49,23 @@ public class InventoryTxController {
 
     private final InventoryTxService inventoryTxService;
     private final InventoryClosingService inventoryClosingService;
+    private final InventoryClosingJobService inventoryClosingJobService;
     private final InventoryLedgerService inventoryLedgerService;
+    private final InventoryStockDailyService inventoryStockDailyService;
     private final StorageService storageService;
 
     public InventoryTxController(
             InventoryTxService inventoryTxService,
             InventoryClosingService inventoryClosingService,
+            InventoryClosingJobService inventoryClosingJobService,
             InventoryLedgerService inventoryLedgerService,
+            InventoryStockDailyService inventoryStockDailyService,
             StorageService storageService) {
         this.inventoryTxService = inventoryTxService;
         this.inventoryClosingService = inventoryClosingService;
+        this.inventoryClosingJobService = inventoryClosingJobService;
         this.inventoryLedgerService = inventoryLedgerService;
+        this.inventoryStockDailyService = inventoryStockDailyService;
         this.storageService = storageService;
     }
 
@@ -83,6 +99,20 @@ public class InventoryTxController {
         }
     }
 
+    // 거래 일괄 처리 API (스캐너/실사 업로드)
+    @PostMapping("/api/inventoryTx/transactions:batch")
+    @ResponseBody
+    public ResponseEntity<InventoryTxBatchResponse> processTransactionBatch(@RequestBody List<InventoryTxRequest> requests) {
+        try {
+            InventoryTxBatchResponse response = inventoryTxService.processBatch(requests);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     // 월별 마감 처리 API
     @PostMapping("/api/inventoryTx/closing")
     @ResponseBody
@@ -95,6 +125,34 @@ public class InventoryTxController {
         }
     }
 
+    // 월마감 일괄 작업 시작 API (전체 창고×재고)
+    @PostMapping("/api/inventoryTx/closing/jobs")
+    @ResponseBody
+    public ResponseEntity<InventoryClosingJobResponse> startClosingJob(
+            @RequestParam String companyId,
+            @RequestParam String yyyymm,
+            @RequestParam(defaultValue = "false") boolean force) {
+        try {
+            InventoryClosingJobResponse response = inventoryClosingJobService.start(companyId, yyyymm, force);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // 월마감 일괄 작업 진행 상태 API
+    @GetMapping("/api/inventoryTx/closing/jobs/{yyyymm}")
+    @ResponseBody
+    public ResponseEntity<InventoryClosingJobResponse> getClosingJob(
+            @RequestParam String companyId,
+            @PathVariable String yyyymm) {
+        return inventoryClosingJobService.getStatus(companyId, yyyymm)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     // 원장 조회 API
     @GetMapping("/api/inventoryTx/ledger")
     @ResponseBody
@@ -114,6 +172,33 @@ public class InventoryTxController {
         }
     }
 
+    // 원장 내보내기 API (CSV/NDJSON 스트리밍)
+    @GetMapping("/api/inventoryTx/ledger/export")
+    public ResponseEntity<StreamingResponseBody> exportLedger(
+            @RequestParam(required = false) String storageId,
+            @RequestParam(required = false) String inventoryId,
+            @RequestParam String fromDate,
+            @RequestParam String toDate,
+            @RequestParam(defaultValue = "csv") String format) {
+        InventoryLedgerService.LedgerExportFormat exportFormat;
+        InventoryLedgerService.LedgerSearchRequest searchRequest;
+        try {
+            exportFormat = InventoryLedgerService.LedgerExportFormat.valueOf(format.toUpperCase());
+            searchRequest = new InventoryLedgerService.LedgerSearchRequest(
+                    blankToNull(storageId), blankToNull(inventoryId), LocalDate.parse(fromDate), LocalDate.parse(toDate));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        boolean ndjson = exportFormat == InventoryLedgerService.LedgerExportFormat.NDJSON;
+        String filename = "ledger_" + fromDate + "_" + toDate + (ndjson ? ".ndjson" : ".csv");
+        StreamingResponseBody body = outputStream -> inventoryLedgerService.exportLedger(searchRequest, exportFormat, outputStream);
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.APPLICATION_NDJSON : new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
     // 재고 조회 API
     @GetMapping("/api/inventoryTx/stock")
     @ResponseBody
@@ -129,6 +214,25 @@ public class InventoryTxController {
         }
     }
 
+    // 기준일 재고 조회 API
+    @GetMapping("/api/inventoryTx/stock/as-of")
+    @ResponseBody
+    public ResponseEntity<InventoryStockAsOfResponse> getStockAsOf(
+            @RequestParam String companyId,
+            @RequestParam String storageId,
+            @RequestParam String inventoryId,
+            @RequestParam String date) {
+        try {
+            InventoryStockAsOfResponse stock = inventoryStockDailyService.getStockAsOf(
+                    companyId, storageId, inventoryId, LocalDate.parse(date));
+            return ResponseEntity.ok(stock);
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     // 마감 조회 API
     @GetMapping("/api/inventoryTx/closing")
     @ResponseBody
@@ -146,6 +250,10 @@ public class InventoryTxController {
     }
 
 
+    private String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
     private void addReferenceData(Model model) {
         // 창고 목록
         try {
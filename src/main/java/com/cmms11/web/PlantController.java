@@ -1,5 +1,7 @@
 package com.cmms11.web;
 
+import com.cmms11.common.paging.CursorPage;
+import com.cmms11.common.paging.KeysetCursor;
 import com.cmms11.common.upload.BulkUploadResult;
 import com.cmms11.plant.Plant;
 import com.cmms11.plant.PlantRequest;
@@ -13,6 +15,7 @@ import jakarta.validation.Valid;
 import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.MediaType;
@@ -110,8 +113,22 @@ public class PlantController {
     // API 엔드포인트 제공
     @ResponseBody
     @GetMapping("/api/plants")
-    public Page<PlantResponse> list(@RequestParam(name = "q", required = false) String q, Pageable pageable) {
-        return service.list(q, pageable);
+    public Slice<PlantResponse> list(
+        @RequestParam(name = "q", required = false) String q,
+        @RequestParam(name = "count", defaultValue = "true") boolean count,
+        Pageable pageable
+    ) {
+        return count ? service.list(q, pageable) : service.listSlice(q, pageable);
+    }
+
+    @ResponseBody
+    @GetMapping("/api/plants/scroll")
+    public CursorPage<PlantResponse> scroll(
+        @RequestParam(name = "q", required = false) String q,
+        @RequestParam(name = "cursor", required = false) String cursor,
+        @RequestParam(name = "size", required = false) Integer size
+    ) {
+        return CursorPage.from(service.scroll(q, KeysetCursor.decode(cursor), KeysetCursor.pageSize(size)));
     }
 
     @ResponseBody
@@ -32,7 +32,8 @@ public class S3FileController {
             request.groupId(),
             request.refEntity(),
             request.refId(),
-            request.fileNames()
+            request.fileNames(),
+            request.fileSizes()
         );
         return ResponseEntity.status(HttpStatus.CREATED).body(session);
     }
@@ -65,13 +66,26 @@ public class S3FileController {
     @GetMapping("/{fileId}/download")
     public ResponseEntity<DownloadUrlResponse> getDownloadUrl(
         @PathVariable String fileId,
-        @RequestParam("groupId") String groupId
+        @RequestParam("groupId") String groupId,
+        @RequestParam(value = "inline", defaultValue = "false") boolean inline
     ) {
         String companyId = MemberUserDetailsService.getCurrentUserCompanyId();
-        String downloadUrl = fileService.getDownloadUrl(companyId, groupId, fileId);
+        String downloadUrl = fileService.getDownloadUrl(companyId, groupId, fileId, inline);
         return ResponseEntity.ok(new DownloadUrlResponse(downloadUrl));
     }
 
+    /**
+     * 그룹 내 전체 파일 다운로드 URL 일괄 생성
+     */
+    @GetMapping("/download-urls")
+    public ResponseEntity<List<S3FileService.DownloadUrlInfo>> getDownloadUrls(
+        @RequestParam("groupId") String groupId,
+        @RequestParam(value = "inline", defaultValue = "false") boolean inline
+    ) {
+        String companyId = MemberUserDetailsService.getCurrentUserCompanyId();
+        return ResponseEntity.ok(fileService.getDownloadUrls(companyId, groupId, inline));
+    }
+
     /**
      * 파일 삭제
      */
@@ -82,12 +96,23 @@ public class S3FileController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * 파일 그룹 전체 삭제
+     */
+    @DeleteMapping
+    public ResponseEntity<Void> deleteGroup(@RequestParam("groupId") String groupId) {
+        String companyId = MemberUserDetailsService.getCurrentUserCompanyId();
+        fileService.deleteGroup(companyId, groupId);
+        return ResponseEntity.noContent().build();
+    }
+
     // Request/Response DTOs
     public record UploadInitRequest(
         String groupId,
         String refEntity,
         String refId,
-        List<String> fileNames
+        List<String> fileNames,
+        List<Long> fileSizes
     ) {}
 
     public record DownloadUrlResponse(String downloadUrl) {}
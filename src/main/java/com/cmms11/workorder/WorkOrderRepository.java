@@ -1,8 +1,10 @@
 package com.cmms11.workorder;
 
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,19 +16,30 @@ import org.springframework.data.repository.query.Param;
  * 수정일:
  * 프로그램 개요: 작업지시 엔티티에 대한 CRUD 및 검색 JPA 레포지토리.
  */
-public interface WorkOrderRepository extends JpaRepository<WorkOrder, WorkOrderId> {
+public interface WorkOrderRepository extends JpaRepository<WorkOrder, WorkOrderId>, WorkOrderSearchRepository {
 
     Page<WorkOrder> findByIdCompanyId(String companyId, Pageable pageable);
 
-    @Query(
+    Optional<WorkOrder> findByIdCompanyIdAndIdOrderId(String companyId, String orderId);
+
+    // findNextPage/findSlice 공통 목록 조건 (keyset 조회는 ID 조건과 정렬만 덧붙인다)
+    String LIST_QUERY =
         "select w from WorkOrder w " +
-        "where w.id.companyId = :companyId and (w.id.orderId like :keyword or w.name like :keyword)"
-    )
-    Page<WorkOrder> search(
+        "where w.id.companyId = :companyId " +
+        "and (:keyword is null or w.id.orderId like :keyword or w.name like :keyword)";
+
+    @Query(LIST_QUERY + " and w.id.orderId > :afterId order by w.id.orderId")
+    List<WorkOrder> findNextPage(
         @Param("companyId") String companyId,
         @Param("keyword") String keyword,
+        @Param("afterId") String afterId,
         Pageable pageable
     );
 
-    Optional<WorkOrder> findByIdCompanyIdAndIdOrderId(String companyId, String orderId);
+    @Query(LIST_QUERY)
+    Slice<WorkOrder> findSlice(
+        @Param("companyId") String companyId,
+        @Param("keyword") String keyword,
+        Pageable pageable
+    );
 }
@@ -0,0 +1,36 @@
+package com.cmms11.workorder;
+
+import com.cmms11.common.search.KeywordSearch;
+import com.cmms11.common.search.SearchIndexService;
+import jakarta.persistence.EntityManager;
+import java.util.Map;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * 이름: WorkOrderSearchRepositoryImpl
+ * 작성자: codex
+ * 작성일: 2026-10-18
+ * 수정일:
+ * 프로그램 개요: 작업지시 키워드 검색 구현. 2글자 이상 검색어는 n-gram 인덱스로 ID 를 찾은 뒤 ID 목록으로 조회하고,
+ *               1글자 검색어이거나 인덱스를 사용할 수 없으면 기존 LIKE 검색으로 처리한다.
+ *               공통 처리는 KeywordSearch 에 두고 여기에는 작업지시 조건 JPQL 만 둔다.
+ */
+class WorkOrderSearchRepositoryImpl implements WorkOrderSearchRepository {
+
+    private final KeywordSearch<WorkOrder> keywordSearch;
+
+    WorkOrderSearchRepositoryImpl(EntityManager entityManager, ObjectProvider<SearchIndexService> searchIndex) {
+        this.keywordSearch = new KeywordSearch<>(
+            entityManager, searchIndex, INDEX_TYPE, WorkOrder.class, "w", "id.orderId", row -> row.getId().getOrderId());
+    }
+
+    @Override
+    public Page<WorkOrder> search(String companyId, String keyword, Pageable pageable) {
+        return keywordSearch.search(companyId, keyword, pageable,
+            "w.id.companyId = :companyId",
+            "(w.id.orderId like :keyword or w.name like :keyword)",
+            Map.of("companyId", companyId));
+    }
+}
@@ -1,15 +1,26 @@
 package com.cmms11.workorder;
 
 import com.cmms11.common.error.NotFoundException;
+import com.cmms11.common.paging.KeysetCursor;
+import com.cmms11.common.search.SearchIndexService;
 import com.cmms11.common.seq.AutoNumberService;
 import com.cmms11.security.MemberUserDetailsService;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -27,10 +38,16 @@ public class WorkOrderService {
 
     private final WorkOrderRepository repository;
     private final AutoNumberService autoNumberService;
+    private final SearchIndexService searchIndex;
 
-    public WorkOrderService(WorkOrderRepository repository, AutoNumberService autoNumberService) {
+    public WorkOrderService(
+        WorkOrderRepository repository,
+        AutoNumberService autoNumberService,
+        SearchIndexService searchIndex
+    ) {
         this.repository = repository;
         this.autoNumberService = autoNumberService;
+        this.searchIndex = searchIndex;
     }
 
     @Transactional(readOnly = true)
@@ -46,6 +63,20 @@ public class WorkOrderService {
         return page.map(WorkOrderResponse::from);
     }
 
+    @Transactional(readOnly = true)
+    public Window<WorkOrderResponse> scroll(String keyword, KeysetScrollPosition position, int size) {
+        String companyId = MemberUserDetailsService.DEFAULT_COMPANY;
+        List<WorkOrder> rows = repository.findNextPage(
+            companyId, KeysetCursor.keyword(keyword), KeysetCursor.afterId(position), KeysetCursor.fetchLimit(size));
+        return KeysetCursor.window(rows, size, workOrder -> workOrder.getId().getOrderId()).map(WorkOrderResponse::from);
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<WorkOrderResponse> listSlice(String keyword, Pageable pageable) {
+        String companyId = MemberUserDetailsService.DEFAULT_COMPANY;
+        return repository.findSlice(companyId, KeysetCursor.keyword(keyword), pageable).map(WorkOrderResponse::from);
+    }
+
     @Transactional(readOnly = true)
     public WorkOrderResponse get(String workOrderId) {
         return WorkOrderResponse.from(getExisting(workOrderId));
@@ -65,7 +96,9 @@ public class WorkOrderService {
         entity.setUpdatedAt(now);
         entity.setUpdatedBy(memberId);
 
-        return WorkOrderResponse.from(repository.save(entity));
+        WorkOrder saved = repository.save(entity);
+        indexSearch(saved);
+        return WorkOrderResponse.from(saved);
     }
 
     public WorkOrderResponse update(String workOrderId, WorkOrderRequest request) {
@@ -73,12 +106,15 @@ public class WorkOrderService {
         applyRequest(entity, request);
         entity.setUpdatedAt(LocalDateTime.now());
         entity.setUpdatedBy(currentMemberId());
-        return WorkOrderResponse.from(repository.save(entity));
+        WorkOrder saved = repository.save(entity);
+        indexSearch(saved);
+        return WorkOrderResponse.from(saved);
     }
 
     public void delete(String workOrderId) {
         WorkOrder entity = getExisting(workOrderId);
         repository.delete(entity);
+        searchIndex.delete(WorkOrderRepository.INDEX_TYPE, entity.getId().getCompanyId(), workOrderId);
     }
 
     private WorkOrder getExisting(String workOrderId) {
@@ -127,4 +163,27 @@ public class WorkOrderService {
         String name = authentication.getName();
         return name != null ? name : "system";
     }
+
+    /**
+     * 기동 시 검색 인덱스가 비어 있으면 전체 재색인
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebuildSearchIndex() {
+        searchIndex.rebuildIfEmpty(WorkOrderRepository.INDEX_TYPE, batch -> {
+            Pageable pageable = PageRequest.of(0, 1000, Sort.by("id"));
+            Page<WorkOrder> page;
+            do {
+                page = repository.findAll(pageable);
+                for (WorkOrder workOrder : page) {
+                    batch.add(workOrder.getId().getCompanyId(), workOrder.getId().getOrderId(), workOrder.getId().getOrderId(), workOrder.getName());
+                }
+                pageable = page.nextPageable();
+            } while (page.hasNext());
+        });
+    }
+
+    private void indexSearch(WorkOrder workOrder) {
+        searchIndex.index(WorkOrderRepository.INDEX_TYPE, workOrder.getId().getCompanyId(), workOrder.getId().getOrderId(), workOrder.getId().getOrderId(), workOrder.getName());
+    }
 }
@@ -0,0 +1,50 @@
+-- 자주 호출되는 조회 형태별 보조 인덱스 (엔티티 @Table(indexes) 와 동일하게 유지)
+-- 기존 운영 DB 에 수동으로 만든 인덱스가 있을 수 있어 IF NOT EXISTS 로 작성한다.
+
+-- inventory_history: 품목/창고별 기간 합계·원장 (sum*/summarize*/findBy...InventoryIdAndStorageIdAndTxDateBetween)
+-- 합계에 쓰는 tx_type, in_qty, out_qty, amount 까지 포함해 테이블 접근 없이 인덱스만으로 처리
+CREATE INDEX IF NOT EXISTS ix_inventory_history_item_date
+    ON inventory_history (company_id, inventory_id, storage_id, tx_date, tx_type, in_qty, out_qty, amount);
+
+-- inventory_history: 창고별 기간 조회/품목 그룹 합계, 기간 내 창고의 품목 목록 (storage_id, tx_date, inventory_id)
+-- 원장 스트리밍 정렬(inventory_id, tx_date 순)에는 쓰이지 않는다 (V6 ix_inventory_history_storage_item)
+CREATE INDEX IF NOT EXISTS ix_inventory_history_storage_date
+    ON inventory_history (company_id, storage_id, tx_date, inventory_id);
+
+-- inventory_history: 유형별 기간 조회
+CREATE INDEX IF NOT EXISTS ix_inventory_history_type_date
+    ON inventory_history (company_id, tx_type, tx_date);
+
+-- inventory_history: 회사 전체 기간 조회, 기간 내 창고 목록(DISTINCT storage_id)
+CREATE INDEX IF NOT EXISTS ix_inventory_history_date
+    ON inventory_history (company_id, tx_date, storage_id);
+
+-- inventory_history: 전표 번호로 이력 조회
+CREATE INDEX IF NOT EXISTS ix_inventory_history_ref
+    ON inventory_history (company_id, ref_no);
+
+-- inventory_stock: PK 는 (company_id, storage_id, inventory_id) 라 품목 기준 조회용 역순 인덱스
+CREATE INDEX IF NOT EXISTS ix_inventory_stock_item
+    ON inventory_stock (company_id, inventory_id, storage_id);
+
+-- plant / inventory: 삭제 표시 필터 목록·키셋 페이지 (delete_mark = 'N' order by id)
+CREATE INDEX IF NOT EXISTS ix_plant_live
+    ON plant (company_id, delete_mark, plant_id);
+
+CREATE INDEX IF NOT EXISTS ix_inventory_live
+    ON inventory (company_id, delete_mark, inventory_id);
+
+-- file_item: 그룹 내 유효 파일 목록 (findByIdCompanyIdAndIdFileGroupIdAndDeleteMarkNot)
+CREATE INDEX IF NOT EXISTS ix_file_item_group_live
+    ON file_item (company_id, file_group_id, delete_mark, line_no);
+
+-- file_item: 저장소 GC/중복 제거의 참조 확인은 회사 조건 없이 경로·체크섬으로 조회
+CREATE INDEX IF NOT EXISTS ix_file_item_storage_path
+    ON file_item (storage_path, delete_mark);
+
+CREATE INDEX IF NOT EXISTS ix_file_item_checksum
+    ON file_item (checksum_sha256, delete_mark);
+
+-- file_item: 보존 기간이 지난 삭제 행 정리
+CREATE INDEX IF NOT EXISTS ix_file_item_deleted
+    ON file_item (delete_mark, updated_at);
@@ -0,0 +1,69 @@
+-- inventory_history 를 tx_date 기준 월 단위 RANGE 파티션으로 전환
+-- 원장/마감 조회는 모두 tx_date 범위 조건을 가지므로 해당 월 파티션만 읽는다(partition pruning).
+-- 이후 월 파티션 생성과 보관(archive)은 InventoryHistoryPartitionMaintainer 가 주기적으로 수행한다.
+-- 주의: 테이블 전체를 재작성하므로 배포 점검 시간에 적용한다.
+
+-- 파티션 키는 모든 UNIQUE/PK 에 포함되어야 하므로 tx_date 를 NOT NULL 로 만들고 PK 에 추가한다.
+-- (엔티티 식별자는 (company_id, history_id) 그대로이며 history_id 는 채번으로 유일하다.)
+UPDATE inventory_history
+   SET tx_date = COALESCE(DATE(created_at), DATE '1970-01-01')
+ WHERE tx_date IS NULL;
+
+ALTER TABLE inventory_history
+    MODIFY tx_date DATE NOT NULL,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (company_id, history_id, tx_date);
+
+-- 초기 구간: 2025 년 이전은 한 파티션, 2025-01 ~ 2026-12 는 월별, 그 이후는 pmax.
+-- pmax 는 항상 비어 있도록 유지보수 작업이 미래 월 파티션을 미리 분할한다.
+ALTER TABLE inventory_history
+    PARTITION BY RANGE COLUMNS (tx_date) (
+        PARTITION p_before VALUES LESS THAN ('2025-01-01'),
+        PARTITION p202501 VALUES LESS THAN ('2025-02-01'),
+        PARTITION p202502 VALUES LESS THAN ('2025-03-01'),
+        PARTITION p202503 VALUES LESS THAN ('2025-04-01'),
+        PARTITION p202504 VALUES LESS THAN ('2025-05-01'),
+        PARTITION p202505 VALUES LESS THAN ('2025-06-01'),
+        PARTITION p202506 VALUES LESS THAN ('2025-07-01'),
+        PARTITION p202507 VALUES LESS THAN ('2025-08-01'),
+        PARTITION p202508 VALUES LESS THAN ('2025-09-01'),
+        PARTITION p202509 VALUES LESS THAN ('2025-10-01'),
+        PARTITION p202510 VALUES LESS THAN ('2025-11-01'),
+        PARTITION p202511 VALUES LESS THAN ('2025-12-01'),
+        PARTITION p202512 VALUES LESS THAN ('2026-01-01'),
+        PARTITION p202601 VALUES LESS THAN ('2026-02-01'),
+        PARTITION p202602 VALUES LESS THAN ('2026-03-01'),
+        PARTITION p202603 VALUES LESS THAN ('2026-04-01'),
+        PARTITION p202604 VALUES LESS THAN ('2026-05-01'),
+        PARTITION p202605 VALUES LESS THAN ('2026-06-01'),
+        PARTITION p202606 VALUES LESS THAN ('2026-07-01'),
+        PARTITION p202607 VALUES LESS THAN ('2026-08-01'),
+        PARTITION p202608 VALUES LESS THAN ('2026-09-01'),
+        PARTITION p202609 VALUES LESS THAN ('2026-10-01'),
+        PARTITION p202610 VALUES LESS THAN ('2026-11-01'),
+        PARTITION p202611 VALUES LESS THAN ('2026-12-01'),
+        PARTITION p202612 VALUES LESS THAN ('2027-01-01'),
+        PARTITION pmax VALUES LESS THAN (MAXVALUE)
+    );
+
+-- 보관 대상 월 파티션을 옮겨 두는 압축 테이블 (조회 빈도가 낮아 보조 인덱스는 두지 않는다)
+CREATE TABLE IF NOT EXISTS inventory_history_archive (
+    company_id   CHAR(5)       NOT NULL,
+    history_id   CHAR(10)      NOT NULL,
+    inventory_id CHAR(10),
+    storage_id   CHAR(5),
+    tx_type      CHAR(5),
+    ref_no       CHAR(10),
+    ref_line     INTEGER,
+    tx_date      DATE          NOT NULL,
+    in_qty       DECIMAL(18,3),
+    out_qty      DECIMAL(18,3),
+    unit_cost    DECIMAL(18,6),
+    amount       DECIMAL(18,2),
+    note         VARCHAR(500),
+    created_at   TIMESTAMP NULL,
+    created_by   CHAR(10),
+    updated_at   TIMESTAMP NULL,
+    updated_by   CHAR(10),
+    CONSTRAINT pk_inventory_history_archive PRIMARY KEY (company_id, history_id, tx_date)
+) ENGINE = InnoDB ROW_FORMAT = COMPRESSED;
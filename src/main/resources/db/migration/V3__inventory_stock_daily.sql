@@ -0,0 +1,40 @@
+-- 일자별 재고 스냅샷 (InventoryStockDaily)
+-- 거래가 있었던 날만 행을 두며 qty/amount 는 그날 거래까지 반영한 기말값이다.
+-- 기준일 재고는 PK 역순 탐색 1회(stock_date <= 기준일 중 최신 행)로 구한다.
+CREATE TABLE IF NOT EXISTS inventory_stock_daily (
+    company_id   VARCHAR(5)     NOT NULL,
+    storage_id   VARCHAR(5)     NOT NULL,
+    inventory_id VARCHAR(10)    NOT NULL,
+    stock_date   DATE           NOT NULL,
+    in_qty       DECIMAL(18, 3),
+    out_qty      DECIMAL(18, 3),
+    qty          DECIMAL(18, 3),
+    amount       DECIMAL(18, 2),
+    updated_at   DATETIME(6),
+    PRIMARY KEY (company_id, storage_id, inventory_id, stock_date)
+);
+
+-- 기존 이력(보관 테이블 포함)으로 초기 적재: 일자별 합계의 누계가 기말값
+-- 금액 부호는 InventoryTxService.amountDelta 와 같다 (OUT 만 차감).
+INSERT INTO inventory_stock_daily
+    (company_id, storage_id, inventory_id, stock_date, in_qty, out_qty, qty, amount, updated_at)
+SELECT company_id, storage_id, inventory_id, tx_date, in_qty, out_qty,
+       SUM(qty_delta) OVER (PARTITION BY company_id, storage_id, inventory_id ORDER BY tx_date),
+       SUM(amount_delta) OVER (PARTITION BY company_id, storage_id, inventory_id ORDER BY tx_date),
+       CURRENT_TIMESTAMP
+  FROM (
+        SELECT company_id, storage_id, inventory_id, tx_date,
+               SUM(COALESCE(in_qty, 0)) AS in_qty,
+               SUM(COALESCE(out_qty, 0)) AS out_qty,
+               SUM(COALESCE(in_qty, 0) - COALESCE(out_qty, 0)) AS qty_delta,
+               SUM(CASE WHEN tx_type = 'OUT' THEN -COALESCE(amount, 0) ELSE COALESCE(amount, 0) END) AS amount_delta
+          FROM (
+                SELECT company_id, history_id, storage_id, inventory_id, tx_date, tx_type, in_qty, out_qty, amount
+                  FROM inventory_history
+                UNION -- 보관 후 DROP 전에 중단된 월은 양쪽에 같은 행이 있을 수 있다
+                SELECT company_id, history_id, storage_id, inventory_id, tx_date, tx_type, in_qty, out_qty, amount
+                  FROM inventory_history_archive
+               ) h
+         WHERE storage_id IS NOT NULL AND inventory_id IS NOT NULL
+         GROUP BY company_id, storage_id, inventory_id, tx_date
+       ) d;
@@ -0,0 +1,9 @@
+-- 창고별 이동평균 단가 (InventoryCostingService)
+-- 평균단가 = 금액 / 수량. 수량이 0 이하인 행은 다음 입고 시 계산된다.
+ALTER TABLE inventory_stock
+    ADD COLUMN IF NOT EXISTS unit_cost DECIMAL(18, 6) NULL AFTER amount;
+
+UPDATE inventory_stock
+   SET unit_cost = amount / qty
+ WHERE qty > 0
+   AND unit_cost IS NULL;
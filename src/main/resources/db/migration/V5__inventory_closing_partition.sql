@@ -0,0 +1,16 @@
+-- 월마감 작업 창고(파티션) 완료 기록 (InventoryClosingJobService)
+-- 마감 행과 같은 트랜잭션에서 저장되며, 행이 있는 (월, 창고)만 재실행 시 건너뛴다.
+-- 기존 마감은 재고번호 단위 수동 마감과 구분되지 않으므로 적재하지 않는다.
+CREATE TABLE IF NOT EXISTS inventory_closing_partition (
+    company_id   VARCHAR(5)  NOT NULL,
+    yyyymm       VARCHAR(6)  NOT NULL,
+    storage_id   VARCHAR(5)  NOT NULL,
+    closed_count INT,
+    closed_at    DATETIME(6),
+    closed_by    VARCHAR(10),
+    PRIMARY KEY (company_id, yyyymm, storage_id)
+);
+
+-- 창고별 기준월 이전 최근 완료 월 조회
+CREATE INDEX IF NOT EXISTS ix_inventory_closing_partition_storage
+    ON inventory_closing_partition (company_id, storage_id, yyyymm);
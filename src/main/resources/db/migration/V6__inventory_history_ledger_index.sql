@@ -0,0 +1,4 @@
+-- inventory_history: 창고별 원장 스트리밍 (InventoryHistoryRepository.streamLedgerByCompanyIdAndStorageIdAndTxDateBetween)
+-- 창고를 고정하고 inventory_id, tx_date, history_id 순으로 읽으므로 인덱스 순서 그대로 반환되어 filesort 없이 첫 행부터 흘려보낸다.
+CREATE INDEX IF NOT EXISTS ix_inventory_history_storage_item
+    ON inventory_history (company_id, storage_id, inventory_id, tx_date, history_id);
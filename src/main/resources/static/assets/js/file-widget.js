@@ -272,6 +272,15 @@ class FileUploadWidget {
         li.className = 'attachment-item';
         li.setAttribute('data-file-id', item.fileId);
 
+        if (/\.(jpe?g|png|gif|bmp)$/i.test(item.originalName || '')) {
+            const thumbnail = document.createElement('img');
+            thumbnail.className = 'file-thumb';
+            thumbnail.loading = 'lazy';
+            thumbnail.alt = '';
+            thumbnail.src = `/api/files/${item.fileId}/thumbnail?groupId=${this.options.groupId}&size=160`;
+            li.appendChild(thumbnail);
+        }
+
         const fileName = document.createElement('span');
         fileName.className = 'file-name';
         fileName.textContent = item.originalName;
@@ -0,0 +1,62 @@
+package com.cmms11.common.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+class ReferenceDataCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void servesSnapshotUntilInvalidated() {
+        ReferenceDataCache<List<String>> cache = new ReferenceDataCache<>("dept", 10, Duration.ofMinutes(10).toNanos(), registry);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("C0001", () -> List.of("D" + loads.incrementAndGet()));
+        assertThat(cache.get("C0001", () -> List.of("D" + loads.incrementAndGet()))).containsExactly("D1");
+
+        cache.invalidate("C0001");
+        assertThat(cache.get("C0001", () -> List.of("D" + loads.incrementAndGet()))).containsExactly("D2");
+
+        assertThat(registry.get("cmms.reference.cache.requests").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(registry.get("cmms.reference.cache.requests").tag("result", "miss").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void doesNotStoreSnapshotInvalidatedWhileLoading() {
+        ReferenceDataCache<String> cache = new ReferenceDataCache<>("code", 10, Duration.ofMinutes(10).toNanos(), registry);
+
+        assertThat(cache.get("C0001", () -> {
+            cache.invalidate("C0001");
+            return "stale";
+        })).isEqualTo("stale");
+        assertThat(cache.get("C0001", () -> "fresh")).isEqualTo("fresh");
+    }
+
+    @Test
+    void evictsOldestCompanyWhenFullAndExpiresByTtl() {
+        ReferenceDataCache<String> bounded = new ReferenceDataCache<>("site", 1, Duration.ofMinutes(10).toNanos(), registry);
+        bounded.get("C0001", () -> "first");
+        bounded.get("C0002", () -> "second");
+        assertThat(bounded.get("C0001", () -> "reloaded")).isEqualTo("reloaded");
+        assertThat(registry.get("cmms.reference.cache.evictions").tag("cache", "site").counter().count()).isEqualTo(2);
+
+        ReferenceDataCache<String> expiring = new ReferenceDataCache<>("func", 10, 0, registry);
+        expiring.get("C0001", () -> "first");
+        assertThat(expiring.get("C0001", () -> "second")).isEqualTo("second");
+    }
+
+    @Test
+    void pagesSnapshotRows() {
+        List<String> rows = List.of("A", "B", "C");
+
+        assertThat(ReferenceDataCache.page(rows, PageRequest.of(1, 2)).getContent()).containsExactly("C");
+        assertThat(ReferenceDataCache.page(rows, PageRequest.of(1, 2)).getTotalElements()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,52 @@
+package com.cmms11.common.paging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Window;
+
+class KeysetCursorTest {
+
+    @Test
+    void windowTrimsLookaheadRowAndExposesNextCursor() {
+        Window<String> window = KeysetCursor.window(List.of("P0001", "P0002", "P0003"), 2, id -> id);
+
+        CursorPage<String> page = CursorPage.from(window);
+
+        assertThat(page.content()).containsExactly("P0001", "P0002");
+        assertThat(page.hasNext()).isTrue();
+        KeysetScrollPosition next = KeysetCursor.decode(page.nextCursor());
+        assertThat(KeysetCursor.afterId(next)).isEqualTo("P0002");
+    }
+
+    @Test
+    void lastWindowHasNoCursor() {
+        CursorPage<String> page = CursorPage.from(KeysetCursor.window(List.of("P0009"), 2, id -> id));
+
+        assertThat(page.hasNext()).isFalse();
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void missingCursorStartsFromFirstRowAndInvalidCursorIsRejected() {
+        assertThat(KeysetCursor.afterId(KeysetCursor.decode(null))).isEmpty();
+        assertThatThrownBy(() -> KeysetCursor.decode("%%%"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void pageSizeIsClamped() {
+        assertThat(KeysetCursor.pageSize(null)).isEqualTo(KeysetCursor.DEFAULT_SIZE);
+        assertThat(KeysetCursor.pageSize(10_000)).isEqualTo(KeysetCursor.MAX_SIZE);
+    }
+
+    @Test
+    void keywordBecomesTrimmedLikePatternOrNull() {
+        assertThat(KeysetCursor.keyword("  pump ")).isEqualTo("%pump%");
+        assertThat(KeysetCursor.keyword(" ")).isNull();
+        assertThat(KeysetCursor.keyword(null)).isNull();
+    }
+}
@@ -0,0 +1,55 @@
+package com.cmms11.common.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+class SearchIndexServiceTest {
+
+    private final SearchIndexService service = new SearchIndexService("");
+
+    @AfterEach
+    void tearDown() {
+        service.close();
+    }
+
+    @Test
+    void findsPartialKoreanMatchesWithinCompany() {
+        service.index("plant", "C0001", "P0001", "P0001", "냉각수 순환 펌프");
+        service.index("plant", "C0001", "P0002", "P0002", "공조기 송풍기");
+        service.index("plant", "C0002", "P0003", "P0003", "순환 펌프");
+
+        Page<String> page = service.search("plant", "C0001", "%순환펌%", PageRequest.of(0, 10));
+        assertThat(page.getContent()).isEmpty();
+
+        page = service.search("plant", "C0001", "%순환 펌프%", PageRequest.of(0, 10));
+        assertThat(page.getContent()).containsExactly("P0001");
+        assertThat(page.getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    void exactIdRanksFirstAndDeleteRemovesDocument() {
+        service.index("workorder", "C0001", "O0002", "O0002", "O0001 후속 작업");
+        service.index("workorder", "C0001", "O0001", "O0001", "정기 점검");
+
+        assertThat(service.search("workorder", "C0001", "O0001", PageRequest.of(0, 10)).getContent())
+            .containsExactly("O0001", "O0002");
+
+        service.delete("workorder", "C0001", "O0001");
+        assertThat(service.search("workorder", "C0001", "O0001", PageRequest.of(0, 10)).getContent())
+            .containsExactly("O0002");
+    }
+
+    @Test
+    void rebuildsOnlyWhenEmpty() {
+        service.rebuildIfEmpty("memo", batch -> batch.add("C0001", "M0001", "M0001", "회의록"));
+        service.rebuildIfEmpty("memo", batch -> batch.add("C0001", "M0002", "M0002", "회의록"));
+
+        assertThat(service.search("memo", "C0001", "회의", PageRequest.of(0, 10)).getContent())
+            .containsExactly("M0001");
+        assertThat(service.supports("%회%")).isFalse();
+    }
+}
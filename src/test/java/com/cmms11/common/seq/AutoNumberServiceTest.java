@@ -0,0 +1,108 @@
+package com.cmms11.common.seq;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+@DataJpaTest
+@Import(AutoNumberService.class)
+@TestPropertySource(properties = {"app.sequence.master-block-size=5", "app.sequence.tx-block-size=3"})
+class AutoNumberServiceTest {
+
+    @Autowired
+    private AutoNumberService autoNumberService;
+
+    @Autowired
+    private SequenceRepository sequenceRepository;
+
+    @Test
+    void idsKeepTheirFormatAcrossBlocks() {
+        LocalDate date = LocalDate.of(2025, 3, 7);
+
+        List<String> txIds = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            txIds.add(autoNumberService.generateTxId("C0001", "T", date));
+        }
+        String masterId = autoNumberService.generateMasterId("C0001", "M");
+
+        assertThat(txIds).containsExactly(
+            "T250307001", "T250307002", "T250307003", "T250307004",
+            "T250307005", "T250307006", "T250307007"
+        );
+        assertThat(masterId).isEqualTo("M000000001");
+        // 7 IDs from blocks of 3 -> the row has been advanced past the third block
+        Sequence row = sequenceRepository.findById(new SequenceId("C0001", "T", "250307")).orElseThrow();
+        assertThat(row.getNextSeq()).isEqualTo(10);
+    }
+
+    @Test
+    void bulkReservationDoesNotOverlapCachedBlock() {
+        LocalDate date = LocalDate.of(2025, 3, 8);
+        String single = autoNumberService.generateTxId("C0001", "B", date);
+
+        String[] bulk = autoNumberService.generateTxIds("C0001", "B", date, 4);
+        String next = autoNumberService.generateTxId("C0001", "B", date);
+
+        assertThat(single).isEqualTo("B250308001");
+        assertThat(bulk).containsExactly("B250308004", "B250308005", "B250308006", "B250308007");
+        assertThat(next).isEqualTo("B250308002");
+    }
+
+    @Test
+    void txIdsStopAtDailyLimitWithoutAdvancingTheRow() {
+        LocalDate date = LocalDate.of(2025, 3, 9);
+        autoNumberService.generateTxIds("C0001", "L", date, 995);
+
+        List<String> tail = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            tail.add(autoNumberService.generateTxId("C0001", "L", date));
+        }
+
+        assertThat(tail).containsExactly("L250309996", "L250309997", "L250309998");
+        assertThatThrownBy(() -> autoNumberService.generateTxIds("C0001", "L", date, 2))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("999");
+        assertThat(autoNumberService.generateTxId("C0001", "L", date)).isEqualTo("L250309999");
+        assertThatThrownBy(() -> autoNumberService.generateTxId("C0001", "L", date))
+            .isInstanceOf(IllegalStateException.class);
+        Sequence row = sequenceRepository.findById(new SequenceId("C0001", "L", "250309")).orElseThrow();
+        assertThat(row.getNextSeq()).isEqualTo(1000);
+    }
+
+    @Test
+    void concurrentCallersNeverReceiveDuplicates() throws Exception {
+        Set<String> issued = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < 25; j++) {
+                        issued.add(autoNumberService.generateMasterId("C0001", "Q"));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(issued).hasSize(200);
+        assertThat(issued).allMatch(id -> id.matches("Q\\d{9}"));
+    }
+}
@@ -0,0 +1,60 @@
+package com.cmms11.common.upload;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.List;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class CsvChunkImporterTest {
+
+    private final CsvChunkImporter importer = new CsvChunkImporter(null, 500, 8, 4);
+
+    @AfterEach
+    void tearDown() {
+        importer.shutdown();
+    }
+
+    @Test
+    void mapsRowsInParallelAndKeepsRowOrder() throws IOException {
+        StringBuilder csv = new StringBuilder("Plant_ID, Qty\n");
+        for (int i = 1; i <= 300; i++) {
+            csv.append("P").append(i).append(',').append(i % 7 == 0 ? "x" + i : String.valueOf(i)).append('\n');
+        }
+        CSVParser parser = CSVParser.parse(csv.toString(), CSVFormat.DEFAULT.builder()
+            .setHeader().setSkipHeaderRecord(true).setTrim(true).build());
+        CsvColumns columns = CsvColumns.compile(parser, "plant_id", "qty");
+        CsvColumns.Column plantId = columns.column("PLANT_ID");
+        CsvColumns.Column qty = columns.column("qty");
+        List<CSVRecord> records = parser.getRecords();
+
+        List<CsvRow<Integer>> rows = importer.mapRows(records, record -> {
+            plantId.require(record);
+            return qty.getInteger(record);
+        });
+
+        assertThat(rows).hasSize(300);
+        assertThat(rows).extracting(CsvRow::rowNumber).isSorted().startsWith(2, 3, 4);
+        List<CsvRow<Integer>> invalid = rows.stream().filter(row -> !row.valid()).toList();
+        assertThat(invalid).hasSize(42);
+        assertThat(invalid.get(0).rowNumber()).isEqualTo(8);
+        assertThat(invalid.get(0).error()).isEqualTo("정수 형식이 올바르지 않습니다(qty): x7");
+        assertThat(rows.get(299).value()).isEqualTo(300);
+    }
+
+    @Test
+    void missingColumnReadsAsNull() throws IOException {
+        CSVParser parser = CSVParser.parse("name\npump\n", CSVFormat.DEFAULT.builder()
+            .setHeader().setSkipHeaderRecord(true).build());
+        CsvColumns columns = CsvColumns.compile(parser, "name");
+        CSVRecord record = parser.getRecords().get(0);
+
+        assertThat(columns.column("name").get(record)).isEqualTo("pump");
+        assertThat(columns.column("plant_id").present()).isFalse();
+        assertThat(columns.column("plant_id").get(record)).isNull();
+    }
+}
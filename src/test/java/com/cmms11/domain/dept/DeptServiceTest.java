@@ -3,6 +3,7 @@ package com.cmms11.domain.dept;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import com.cmms11.common.cache.ReferenceDataCaches;
 import com.cmms11.common.error.NotFoundException;
 import com.cmms11.security.MemberUserDetailsService;
 import org.junit.jupiter.api.Test;
@@ -13,7 +14,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 
 @DataJpaTest
-@Import(DeptService.class)
+@Import({DeptService.class, ReferenceDataCaches.class})
 class DeptServiceTest {
 
     @Autowired
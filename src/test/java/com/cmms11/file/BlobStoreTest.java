@@ -0,0 +1,76 @@
+package com.cmms11.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BlobStoreTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void storesIdenticalContentOnce() throws Exception {
+        BlobStore store = new BlobStore(root.toString());
+
+        BlobStore.StoredBlob first = store.store(content("P&ID rev.3"));
+        BlobStore.StoredBlob second = store.store(content("P&ID rev.3"));
+
+        assertThat(first.reused()).isFalse();
+        assertThat(second.reused()).isTrue();
+        assertThat(second.storagePath()).isEqualTo(first.storagePath()).startsWith("blobs/");
+        assertThat(first.size()).isEqualTo(10);
+        assertThat(Files.readString(store.resolve(first.storagePath()))).isEqualTo("P&ID rev.3");
+        try (Stream<Path> tmp = Files.list(root.resolve("tmp"))) {
+            assertThat(tmp).isEmpty();
+        }
+    }
+
+    @Test
+    void reclaimKeepsBlobWhileReferenced() {
+        BlobStore store = new BlobStore(root.toString());
+        BlobStore.StoredBlob blob = store.store(content("manual"));
+        Path path = store.resolve(blob.storagePath());
+
+        assertThat(store.reclaim(blob.storagePath(), () -> 0)).isZero();
+        assertThat(Files.exists(path)).as("pinned until settled").isTrue();
+
+        store.settle(List.of(blob), storagePath -> 0);
+        assertThat(store.reclaim(blob.storagePath(), () -> 1)).isZero();
+        assertThat(Files.exists(path)).isTrue();
+
+        assertThat(store.reclaim(blob.storagePath(), () -> 0)).isEqualTo("manual".length());
+        assertThat(Files.exists(path)).isFalse();
+    }
+
+    @Test
+    void failedStoreDoesNotLeaveBlobPinned() throws Exception {
+        BlobStore store = new BlobStore(root.toString());
+        String checksum = HexFormat.of().formatHex(
+            MessageDigest.getInstance("SHA-256").digest("valve spec".getBytes(StandardCharsets.UTF_8)));
+        // blobs/ab 자리에 파일이 있어 디렉터리를 만들 수 없게 한다.
+        Path blocker = root.resolve(BlobStore.BLOB_DIR).resolve(checksum.substring(0, 2));
+        Files.writeString(blocker, "not a directory");
+
+        assertThatThrownBy(() -> store.store(content("valve spec"))).isInstanceOf(IllegalStateException.class);
+
+        Files.delete(blocker);
+        BlobStore.StoredBlob blob = store.store(content("valve spec"));
+        store.settle(List.of(blob), storagePath -> 0);
+        assertThat(store.reclaim(blob.storagePath(), () -> 0)).isEqualTo("valve spec".length());
+    }
+
+    private static ByteArrayInputStream content(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -6,6 +6,7 @@ import static org.springframework.security.test.web.servlet.request.SecurityMock
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
@@ -17,6 +18,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -97,6 +101,22 @@ class FileControllerIntegrationTest {
             .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("manual.pdf")))
             .andExpect(content().bytes(manual.getBytes()));
 
+        String eTag = mockMvc.perform(get("/api/files/{fileId}", manualFileId).param("groupId", groupId))
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/files/{fileId}", manualFileId)
+                .param("groupId", groupId)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+
+        mockMvc.perform(get("/api/files/{fileId}", manualFileId)
+                .param("groupId", groupId)
+                .header(HttpHeaders.RANGE, "bytes=4-"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 4-10/11"))
+            .andExpect(content().bytes("content".getBytes(StandardCharsets.UTF_8)));
+
         mockMvc.perform(delete("/api/files/{fileId}", manualFileId).param("groupId", groupId).with(csrf()))
             .andExpect(status().isNoContent());
 
@@ -104,11 +124,38 @@ class FileControllerIntegrationTest {
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.items.length()").value(1));
 
-        Path groupDir = storageRoot.resolve(groupId);
-        assertThat(Files.exists(groupDir)).isTrue();
-        try (Stream<Path> paths = Files.list(groupDir)) {
+        MockMultipartFile sameNote = new MockMultipartFile(
+            "files",
+            "note-copy.txt",
+            MediaType.TEXT_PLAIN_VALUE,
+            "hello world".getBytes(StandardCharsets.UTF_8)
+        );
+        mockMvc.perform(multipart("/api/files").file(sameNote).param("groupId", groupId).with(csrf()))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.items.length()").value(2));
+
+        // 같은 내용은 blob 하나만 저장된다 (삭제한 manual 은 정리 작업 전까지 남아 있음)
+        try (Stream<Path> paths = Files.walk(storageRoot.resolve(BlobStore.BLOB_DIR))) {
             long fileCount = paths.filter(Files::isRegularFile).count();
-            assertThat(fileCount).isEqualTo(1);
+            assertThat(fileCount).isEqualTo(2);
+        }
+
+        MockMultipartFile fresh = new MockMultipartFile(
+            "files",
+            "fresh.txt",
+            MediaType.TEXT_PLAIN_VALUE,
+            "fresh".getBytes(StandardCharsets.UTF_8)
+        );
+        MockMultipartFile rejected = new MockMultipartFile(
+            "files",
+            "tool.exe",
+            MediaType.APPLICATION_OCTET_STREAM_VALUE,
+            "binary".getBytes(StandardCharsets.UTF_8)
+        );
+        mockMvc.perform(multipart("/api/files").file(fresh).file(rejected).param("groupId", groupId).with(csrf()))
+            .andExpect(status().isBadRequest());
+        try (Stream<Path> paths = Files.walk(storageRoot.resolve(BlobStore.BLOB_DIR))) {
+            assertThat(paths.filter(Files::isRegularFile).count()).isEqualTo(2);
         }
     }
 
@@ -159,4 +206,76 @@ class FileControllerIntegrationTest {
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.items.length()").value(1));
     }
+
+    @Test
+    void chunkedUploadResumesAtOffsetAndCreatesFileItem() throws Exception {
+        byte[] drawing = "CAD-".repeat(40_000).getBytes(StandardCharsets.UTF_8);
+        int half = drawing.length / 2;
+        String checksum = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(drawing));
+
+        MvcResult createResult = mockMvc.perform(post("/api/files/uploads")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    {"refEntity": "PLANT", "refId": "TMP001", "fileName": "layout.pdf", "size": %d, "mimeType": "application/pdf"}
+                    """.formatted(drawing.length)))
+            .andExpect(status().isCreated())
+            .andExpect(header().string("Upload-Offset", "0"))
+            .andReturn();
+        String uploadId = objectMapper.readTree(createResult.getResponse().getContentAsString()).path("uploadId").asText();
+
+        mockMvc.perform(patch("/api/files/uploads/{uploadId}", uploadId)
+                .with(csrf())
+                .header("Upload-Offset", 0)
+                .contentType("application/offset+octet-stream")
+                .content(Arrays.copyOfRange(drawing, 0, half)))
+            .andExpect(status().isNoContent())
+            .andExpect(header().string("Upload-Offset", String.valueOf(half)));
+
+        // 이미 받은 청크를 다시 보내면 현재 위치와 함께 거절
+        mockMvc.perform(patch("/api/files/uploads/{uploadId}", uploadId)
+                .with(csrf())
+                .header("Upload-Offset", 0)
+                .contentType("application/offset+octet-stream")
+                .content(Arrays.copyOfRange(drawing, 0, half)))
+            .andExpect(status().isConflict());
+
+        mockMvc.perform(get("/api/files/uploads/{uploadId}", uploadId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.offset").value(half));
+
+        mockMvc.perform(post("/api/files/uploads/{uploadId}/complete", uploadId).with(csrf()))
+            .andExpect(status().isConflict());
+
+        mockMvc.perform(patch("/api/files/uploads/{uploadId}", uploadId)
+                .with(csrf())
+                .header("Upload-Offset", half)
+                .contentType("application/offset+octet-stream")
+                .content(Arrays.copyOfRange(drawing, half, drawing.length)))
+            .andExpect(status().isNoContent())
+            .andExpect(header().string("Upload-Offset", String.valueOf(drawing.length)));
+
+        MvcResult completeResult = mockMvc.perform(post("/api/files/uploads/{uploadId}/complete", uploadId)
+                .with(csrf())
+                .param("checksum", checksum))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.items.length()").value(1))
+            .andExpect(jsonPath("$.items[0].size").value(drawing.length))
+            .andReturn();
+
+        JsonNode completeJson = objectMapper.readTree(completeResult.getResponse().getContentAsString());
+        String groupId = completeJson.path("fileGroupId").asText();
+        String fileId = completeJson.path("items").get(0).path("fileId").asText();
+
+        mockMvc.perform(get("/api/files/{fileId}", fileId).param("groupId", groupId))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + checksum + "\""))
+            .andExpect(content().bytes(drawing));
+
+        mockMvc.perform(get("/api/files/uploads/{uploadId}", uploadId))
+            .andExpect(status().isNotFound());
+        try (Stream<Path> sessions = Files.list(storageRoot.resolve("tmp").resolve("chunked"))) {
+            assertThat(sessions).isEmpty();
+        }
+    }
 }
@@ -0,0 +1,71 @@
+package com.cmms11.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+
+class FileDerivativeServiceTest {
+
+    private static final String CHECKSUM = "ab" + "0".repeat(62);
+    private static final long MAX_PIXELS = 50_000_000L;
+
+    @TempDir
+    Path root;
+
+    @Test
+    void rendersThumbnailOnceAndKeepsAspectRatio() throws Exception {
+        Path original = root.resolve("photo.png");
+        ImageIO.write(new BufferedImage(2000, 1000, BufferedImage.TYPE_INT_RGB), "png", original.toFile());
+        FileService fileService = mock(FileService.class);
+        when(fileService.download("G1", "F1")).thenReturn(
+            new FileDownload(new FileSystemResource(original), original, "photo.png", "image/png", Files.size(original), CHECKSUM));
+        FileDerivativeService service = new FileDerivativeService(fileService, root.toString(), MAX_PIXELS);
+
+        FileDownload thumbnail = service.thumbnail("G1", "F1", 150);
+
+        assertThat(thumbnail.path()).isEqualTo(root.resolve("derivatives/ab/" + CHECKSUM + "_160.jpg"));
+        assertThat(thumbnail.checksumSha256()).isEqualTo(CHECKSUM + "-160");
+        BufferedImage rendered = ImageIO.read(thumbnail.path().toFile());
+        assertThat(rendered.getWidth()).isEqualTo(160);
+        assertThat(rendered.getHeight()).isEqualTo(80);
+
+        long modified = Files.getLastModifiedTime(thumbnail.path()).toMillis();
+        assertThat(Files.getLastModifiedTime(service.thumbnail("G1", "F1", 160).path()).toMillis()).isEqualTo(modified);
+    }
+
+    @Test
+    void rejectsImageLargerThanMaxPixelsBeforeDecoding() throws Exception {
+        Path original = root.resolve("huge.png");
+        ImageIO.write(new BufferedImage(2000, 1000, BufferedImage.TYPE_INT_RGB), "png", original.toFile());
+        FileService fileService = mock(FileService.class);
+        when(fileService.download("G1", "F3")).thenReturn(
+            new FileDownload(new FileSystemResource(original), original, "huge.png", "image/png", Files.size(original), CHECKSUM));
+        FileDerivativeService service = new FileDerivativeService(fileService, root.toString(), 1_000_000L);
+
+        assertThatThrownBy(() -> service.thumbnail("G1", "F3", 160))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("2000x1000");
+        assertThat(root.resolve("derivatives/ab/" + CHECKSUM + "_160.jpg")).doesNotExist();
+    }
+
+    @Test
+    void rejectsNonImageFiles() {
+        Path original = root.resolve("manual.pdf");
+        FileService fileService = mock(FileService.class);
+        when(fileService.download("G1", "F2")).thenReturn(
+            new FileDownload(new FileSystemResource(original), original, "manual.pdf", "application/pdf", 0, CHECKSUM));
+        FileDerivativeService service = new FileDerivativeService(fileService, root.toString(), MAX_PIXELS);
+
+        assertThatThrownBy(() -> service.thumbnail("G1", "F2", 160)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(FileDerivativeService.normalizeSize(5000)).isEqualTo(1024);
+    }
+}
@@ -0,0 +1,204 @@
+package com.cmms11.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.FileSystemUtils;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.ListMultipartUploadsRequest;
+import software.amazon.awssdk.services.s3.model.ListMultipartUploadsResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+@DataJpaTest
+@Import({BlobStore.class, FileStorageReclaimer.class})
+@TestPropertySource(properties = {
+    "app.file-storage.location=build/test-reclaimer",
+    "app.file-storage.gc.batch-size=2",
+    "app.file-storage.gc.batch-pause=0ms",
+    "app.file-storage.gc.min-age=10m",
+    "app.file-storage.gc.purge-after=30d"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 고정(pin) 해제가 즉시 일어나도록 트랜잭션 밖에서 실행
+class FileStorageReclaimerTest {
+
+    private static final String COMPANY_ID = "C0001";
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private FileStorageReclaimer reclaimer;
+
+    @Autowired
+    private FileItemRepository itemRepository;
+
+    @Autowired
+    private FileGroupRepository groupRepository;
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        itemRepository.deleteAll();
+        groupRepository.deleteAll();
+        FileSystemUtils.deleteRecursively(blobStore.root());
+        Files.createDirectories(blobStore.root().resolve(BlobStore.TMP_DIR));
+    }
+
+    @Test
+    void reclaimsUnreferencedFilesAndExpiredRows() throws IOException {
+        BlobStore.StoredBlob live = storeBlob("pump manual");
+        BlobStore.StoredBlob orphan = storeBlob("superseded drawing");
+        BlobStore.StoredBlob fresh = storeBlob("upload in progress");
+        itemRepository.save(item("F001", live, "N", LocalDateTime.now()));
+        itemRepository.save(item("F002", orphan, "Y", LocalDateTime.now().minusDays(40)));
+        itemRepository.save(item("F003", orphan, "Y", LocalDateTime.now()));
+
+        Path legacy = write("G0001/old-layout.txt", "legacy");
+        Path tmp = write("tmp/upload-1.part", "partial");
+        Path liveThumb = write("derivatives/" + live.checksum().substring(0, 2) + "/" + live.checksum() + "_160.jpg", "t1");
+        Path orphanThumb = write("derivatives/" + orphan.checksum().substring(0, 2) + "/" + orphan.checksum() + "_160.jpg", "t2");
+        for (Path path : List.of(blobStore.resolve(live.storagePath()), blobStore.resolve(orphan.storagePath()),
+            legacy, tmp, liveThumb, orphanThumb)) {
+            Files.setLastModifiedTime(path, FileTime.from(Instant.now().minus(1, ChronoUnit.HOURS)));
+        }
+
+        FileStorageReclaimer.ReclaimResult result = reclaimer.reclaim();
+
+        assertThat(result.purgedRows()).isEqualTo(1);
+        assertThat(itemRepository.findAll()).extracting(item -> item.getId().getFileId())
+            .containsExactlyInAnyOrder("F001", "F003");
+        assertThat(blobStore.resolve(live.storagePath())).exists();
+        assertThat(blobStore.resolve(orphan.storagePath())).doesNotExist();
+        assertThat(blobStore.resolve(fresh.storagePath())).exists();
+        assertThat(legacy).doesNotExist();
+        assertThat(tmp).doesNotExist();
+        assertThat(liveThumb).exists();
+        assertThat(orphanThumb).doesNotExist();
+        assertThat(result.deletedFiles()).isEqualTo(4);
+        assertThat(result.reclaimedBytes()).isEqualTo("superseded drawing".length() + "legacy".length() + "partial".length() + 2);
+    }
+
+    @Test
+    void keepsS3ObjectsInsideUploadRetryWindowAndCountsPerStore() {
+        BlobStore.StoredBlob blob = storeBlob("pump manual");
+        FileItem live = item("F001", blob, "N", LocalDateTime.now());
+        live.setStoragePath("C0001/PLANT/G0001/live.pdf");
+        itemRepository.save(live);
+        Instant now = Instant.now();
+        S3AsyncClient s3 = mock(S3AsyncClient.class, CALLS_REAL_METHODS);
+        doReturn(CompletableFuture.completedFuture(ListObjectsV2Response.builder()
+            .contents(
+                s3Object("C0001/PLANT/G0001/live.pdf", now.minus(30, ChronoUnit.HOURS), 10),
+                s3Object("C0001/PLANT/G0001/orphan.pdf", now.minus(30, ChronoUnit.HOURS), 20),
+                // 업로드 URL 은 만료됐지만 /complete 재시도 여유 안에 있는 객체
+                s3Object("C0001/PLANT/G0002/late.pdf", now.minus(40, ChronoUnit.MINUTES), 30))
+            .isTruncated(false)
+            .build())).when(s3).listObjectsV2(any(ListObjectsV2Request.class));
+        doReturn(CompletableFuture.completedFuture(DeleteObjectsResponse.builder().build()))
+            .when(s3).deleteObjects(any(DeleteObjectsRequest.class));
+        doReturn(CompletableFuture.completedFuture(ListMultipartUploadsResponse.builder().isTruncated(false).build()))
+            .when(s3).listMultipartUploads(any(ListMultipartUploadsRequest.class));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of("s3AsyncClient", s3, "meterRegistry", registry));
+        // s3-min-age 를 10분으로 주어도 업로드 URL 만료 + 재시도 여유(1시간 15분)보다 짧게 내려가지 않는다.
+        FileStorageReclaimer s3Reclaimer = new FileStorageReclaimer(itemRepository, groupRepository, blobStore,
+            beans.getBeanProvider(S3AsyncClient.class), beans.getBeanProvider(MeterRegistry.class),
+            "bucket", true, "", 2, Duration.ZERO, Duration.ofMinutes(10), Duration.ofMinutes(10), Duration.ofDays(30));
+
+        FileStorageReclaimer.ReclaimResult result = s3Reclaimer.reclaim();
+
+        ArgumentCaptor<DeleteObjectsRequest> deleted = ArgumentCaptor.forClass(DeleteObjectsRequest.class);
+        verify(s3).deleteObjects(deleted.capture());
+        assertThat(deleted.getValue().delete().objects()).extracting(ObjectIdentifier::key)
+            .containsExactly("C0001/PLANT/G0001/orphan.pdf");
+        assertThat(result.deletedFiles()).isEqualTo(1);
+        assertThat(registry.get("cmms.file.gc.deleted.files").tag("store", "s3").counter().count()).isEqualTo(1);
+        assertThat(registry.get("cmms.file.gc.reclaimed.bytes").tag("store", "s3").counter().count()).isEqualTo(20);
+    }
+
+    @Test
+    void purgesOnlyEmptyGroupsOlderThanS3MinAge() {
+        groupRepository.save(group("G0001", LocalDateTime.now().minusDays(2)));
+        groupRepository.save(group("G0002", LocalDateTime.now().minusDays(2)));
+        groupRepository.save(group("G0003", LocalDateTime.now().minusMinutes(30)));
+        groupRepository.save(group("G0004", LocalDateTime.now().minusDays(3)));
+        // G0001 은 파일이 있어 유지, G0003 은 아직 /complete 를 기다릴 수 있어 유지
+        itemRepository.save(item("F001", storeBlob("pump manual"), "N", LocalDateTime.now()));
+
+        FileStorageReclaimer.ReclaimResult result = reclaimer.reclaim();
+
+        assertThat(result.purgedGroups()).isEqualTo(2);
+        assertThat(groupRepository.findAll()).extracting(group -> group.getId().getFileGroupId())
+            .containsExactlyInAnyOrder("G0001", "G0003");
+    }
+
+    private FileGroup group(String fileGroupId, LocalDateTime updatedAt) {
+        FileGroup group = new FileGroup();
+        group.setId(new FileGroupId(COMPANY_ID, fileGroupId));
+        group.setCreatedAt(updatedAt);
+        group.setUpdatedAt(updatedAt);
+        return group;
+    }
+
+    private static S3Object s3Object(String key, Instant lastModified, long size) {
+        return S3Object.builder().key(key).lastModified(lastModified).size(size).build();
+    }
+
+    private BlobStore.StoredBlob storeBlob(String content) {
+        BlobStore.StoredBlob blob = blobStore.store(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+        blobStore.settle(List.of(blob), path -> 0);
+        return blob;
+    }
+
+    private Path write(String storagePath, String content) throws IOException {
+        Path path = blobStore.resolve(storagePath);
+        Files.createDirectories(path.getParent());
+        return Files.writeString(path, content);
+    }
+
+    private FileItem item(String fileId, BlobStore.StoredBlob blob, String deleteMark, LocalDateTime updatedAt) {
+        FileItem item = new FileItem();
+        item.setId(new FileItemId(COMPANY_ID, "G0001", fileId));
+        item.setLineNo(1);
+        item.setOriginalName(fileId + ".txt");
+        item.setSize(blob.size());
+        item.setChecksumSha256(blob.checksum());
+        item.setStoragePath(blob.storagePath());
+        item.setDeleteMark(deleteMark);
+        item.setUpdatedAt(updatedAt);
+        return item;
+    }
+}
@@ -0,0 +1,61 @@
+package com.cmms11.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class PresignedUrlCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger signed = new AtomicInteger();
+
+    @Test
+    void reusesSignatureUntilRefreshMargin() {
+        PresignedUrlCache cache = new PresignedUrlCache(10, Duration.ofMinutes(15), Duration.ofMinutes(2), clock::get);
+
+        String first = cache.get("C0001/PLANT/F001/a.pdf", "attachment", this::sign);
+        clock.addAndGet(Duration.ofMinutes(12).toNanos());
+        String reused = cache.get("C0001/PLANT/F001/a.pdf", "attachment", this::sign);
+        clock.addAndGet(Duration.ofMinutes(1).toNanos());
+        String refreshed = cache.get("C0001/PLANT/F001/a.pdf", "attachment", this::sign);
+
+        assertThat(reused).isEqualTo(first);
+        assertThat(refreshed).isNotEqualTo(first);
+        assertThat(signed).hasValue(2);
+    }
+
+    @Test
+    void separatesDispositionAndEvictsByKey() {
+        PresignedUrlCache cache = new PresignedUrlCache(10, Duration.ofMinutes(15), Duration.ofMinutes(2), clock::get);
+
+        String attachment = cache.get("k1", "attachment", this::sign);
+        String inline = cache.get("k1", "inline", this::sign);
+        cache.get("k2", "attachment", this::sign);
+        cache.evict("k1");
+
+        assertThat(inline).isNotEqualTo(attachment);
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.get("k1", "attachment", this::sign)).isNotEqualTo(attachment);
+    }
+
+    @Test
+    void dropsLeastRecentlyUsedWhenFull() {
+        PresignedUrlCache cache = new PresignedUrlCache(2, Duration.ofMinutes(15), Duration.ofMinutes(2), clock::get);
+
+        String first = cache.get("k1", "attachment", this::sign);
+        cache.get("k2", "attachment", this::sign);
+        cache.get("k1", "attachment", this::sign);
+        cache.get("k3", "attachment", this::sign);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("k1", "attachment", this::sign)).isEqualTo(first);
+        assertThat(signed).hasValue(3);
+    }
+
+    private String sign() {
+        return "https://bucket/object?X-Amz-Signature=" + signed.incrementAndGet();
+    }
+}
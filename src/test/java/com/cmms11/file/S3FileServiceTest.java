@@ -0,0 +1,144 @@
+package com.cmms11.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.cmms11.common.seq.AutoNumberService;
+import com.cmms11.config.S3Config;
+import java.net.URI;
+import java.net.URL;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedUploadPartRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.UploadPartPresignRequest;
+
+class S3FileServiceTest {
+
+    private static final String COMPANY_ID = "C0001";
+    private static final String GROUP_ID = "F250101001";
+    private static final long MB = 1024L * 1024;
+
+    // 소비자(Consumer) 오버로드는 인터페이스 기본 메서드가 요청 객체 메서드로 위임하므로 실제 메서드를 호출한다.
+    private final S3AsyncClient s3Client = mock(S3AsyncClient.class, CALLS_REAL_METHODS);
+    private final S3Presigner s3Presigner = mock(S3Presigner.class);
+    private final FileGroupRepository groupRepository = mock(FileGroupRepository.class);
+    private final FileItemRepository itemRepository = mock(FileItemRepository.class);
+    private final AutoNumberService autoNumberService = mock(AutoNumberService.class);
+
+    @Test
+    void s3ConfigBindsRegionEndpointAndTimeouts() {
+        new ApplicationContextRunner()
+            .withUserConfiguration(S3Config.class)
+            .withPropertyValues(
+                "aws.s3.region=us-east-1",
+                "aws.s3.endpoint=http://localhost:9000",
+                "aws.s3.path-style-access=true",
+                "aws.s3.api-call-timeout=20s",
+                "aws.s3.api-call-attempt-timeout=4s")
+            .run(context -> {
+                S3AsyncClient client = context.getBean(S3AsyncClient.class);
+                assertThat(client.serviceClientConfiguration().region()).isEqualTo(Region.US_EAST_1);
+                assertThat(client.serviceClientConfiguration().endpointOverride()).contains(URI.create("http://localhost:9000"));
+                assertThat(client.serviceClientConfiguration().overrideConfiguration().apiCallTimeout()).contains(Duration.ofSeconds(20));
+                assertThat(client.serviceClientConfiguration().overrideConfiguration().apiCallAttemptTimeout()).contains(Duration.ofSeconds(4));
+                assertThat(context).hasSingleBean(S3Presigner.class);
+            });
+    }
+
+    @Test
+    void largeFileStartsMultipartWithClampedPartSizeAndPresignsEachPart() throws Exception {
+        when(autoNumberService.generateTxId(eq(COMPANY_ID), eq("F"), any())).thenReturn(GROUP_ID);
+        when(autoNumberService.generateTxIds(eq(COMPANY_ID), eq("F"), any(), eq(2))).thenReturn(new String[] {"F250101002", "F250101003"});
+        when(groupRepository.save(any(FileGroup.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        doReturn(CompletableFuture.completedFuture(CreateMultipartUploadResponse.builder().uploadId("U1").build()))
+            .when(s3Client).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+        PresignedPutObjectRequest putUrl = mock(PresignedPutObjectRequest.class);
+        when(putUrl.url()).thenReturn(new URL("https://bucket/put"));
+        when(s3Presigner.presignPutObject(any(PutObjectPresignRequest.class))).thenReturn(putUrl);
+        when(s3Presigner.presignUploadPart(any(UploadPartPresignRequest.class))).thenAnswer(invocation -> {
+            UploadPartPresignRequest request = invocation.getArgument(0);
+            PresignedUploadPartRequest presigned = mock(PresignedUploadPartRequest.class);
+            when(presigned.url()).thenReturn(new URL("https://bucket/part?partNumber=" + request.uploadPartRequest().partNumber()));
+            return presigned;
+        });
+        // 파트 크기 1MB 설정은 S3 최소 5MB 로 올려 잡는다.
+        S3FileService service = service(10 * MB, MB);
+
+        S3FileService.FileUploadSession session = service.createUploadSession(
+            COMPANY_ID, null, "PLANT", "P001", List.of("spec.pdf", "drawing.zip"), List.of(1024L, 12 * MB));
+
+        assertThat(session.groupId()).isEqualTo(GROUP_ID);
+        S3FileService.FileUploadInfo small = session.uploadInfos().get(0);
+        assertThat(small.presignedUrl()).isEqualTo("https://bucket/put");
+        assertThat(small.uploadId()).isNull();
+        S3FileService.FileUploadInfo large = session.uploadInfos().get(1);
+        assertThat(large.uploadId()).isEqualTo("U1");
+        assertThat(large.partSize()).isEqualTo(5 * MB);
+        assertThat(large.partUrls()).containsExactly(
+            "https://bucket/part?partNumber=1", "https://bucket/part?partNumber=2", "https://bucket/part?partNumber=3");
+
+        ArgumentCaptor<CreateMultipartUploadRequest> started = ArgumentCaptor.forClass(CreateMultipartUploadRequest.class);
+        verify(s3Client, times(1)).createMultipartUpload(started.capture());
+        assertThat(started.getValue().bucket()).isEqualTo("bucket");
+        assertThat(started.getValue().key()).isEqualTo(large.s3Key());
+        assertThat(started.getValue().contentType()).isEqualTo("application/octet-stream");
+    }
+
+    @Test
+    void completeSendsPartsSortedByPartNumber() {
+        FileGroup group = new FileGroup();
+        group.setId(new FileGroupId(COMPANY_ID, GROUP_ID));
+        when(groupRepository.findByIdCompanyIdAndIdFileGroupId(COMPANY_ID, GROUP_ID)).thenReturn(Optional.of(group));
+        when(itemRepository.findByIdCompanyIdAndIdFileGroupIdAndDeleteMarkNot(COMPANY_ID, GROUP_ID, "Y")).thenReturn(List.of());
+        doReturn(CompletableFuture.completedFuture(CompleteMultipartUploadResponse.builder().build()))
+            .when(s3Client).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+        S3FileService service = service(10 * MB, 5 * MB);
+
+        service.completeUpload(COMPANY_ID, GROUP_ID, List.of(new S3FileService.FileMetadata(
+            "F250101002", "drawing.zip", "C0001/PLANT/F250101001/drawing.zip", "application/zip", 12 * MB, null, "U1",
+            List.of(new S3FileService.UploadedPart(3, "e3"), new S3FileService.UploadedPart(1, "e1"),
+                new S3FileService.UploadedPart(2, "e2")))));
+
+        ArgumentCaptor<CompleteMultipartUploadRequest> completed = ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+        verify(s3Client).completeMultipartUpload(completed.capture());
+        assertThat(completed.getValue().uploadId()).isEqualTo("U1");
+        assertThat(completed.getValue().key()).isEqualTo("C0001/PLANT/F250101001/drawing.zip");
+        assertThat(completed.getValue().multipartUpload().parts())
+            .extracting(CompletedPart::partNumber, CompletedPart::eTag)
+            .containsExactly(
+                tuple(1, "e1"),
+                tuple(2, "e2"),
+                tuple(3, "e3"));
+        verify(itemRepository, times(1)).save(any(FileItem.class));
+        verify(s3Presigner, never()).presignUploadPart(any(UploadPartPresignRequest.class));
+    }
+
+    private S3FileService service(long multipartThreshold, long multipartPartSize) {
+        return new S3FileService(groupRepository, itemRepository, autoNumberService, s3Client, s3Presigner,
+            "bucket", true, multipartThreshold, multipartPartSize, 100);
+    }
+}
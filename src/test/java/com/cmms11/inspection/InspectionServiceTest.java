@@ -2,6 +2,7 @@ package com.cmms11.inspection;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.cmms11.common.search.SearchIndexService;
 import com.cmms11.common.seq.AutoNumberService;
 import com.cmms11.security.MemberUserDetailsService;
 import java.time.LocalDate;
@@ -17,7 +18,7 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 @DataJpaTest
-@Import({InspectionService.class, AutoNumberService.class})
+@Import({InspectionService.class, AutoNumberService.class, SearchIndexService.class})
 class InspectionServiceTest {
 
     @Autowired
@@ -95,6 +96,45 @@ class InspectionServiceTest {
         assertThat(savedItems.get(1).getId().getLineNo()).isEqualTo(2);
     }
 
+    @Test
+    void updateInspectionAppliesOnlyChangedLines() {
+        InspectionResponse created = inspectionService.create(
+            defaultRequest(
+                List.of(
+                    sampleItemRequest("압력", "bar", "1.60"),
+                    sampleItemRequest("온도", "℃", "35"),
+                    sampleItemRequest("소음", "dB", "70")
+                )
+            )
+        );
+        InspectionItem firstLine = inspectionItemRepository
+            .findByIdCompanyIdAndIdInspectionIdOrderByIdLineNo(
+                MemberUserDetailsService.DEFAULT_COMPANY,
+                created.inspectionId()
+            )
+            .get(0);
+
+        InspectionResponse updated = inspectionService.update(
+            created.inspectionId(),
+            defaultRequest(
+                List.of(
+                    sampleItemRequest("압력", "bar", "1.60"),
+                    sampleItemRequest("온도", "℃", "40")
+                )
+            )
+        );
+
+        assertThat(updated.items()).extracting(InspectionItemResponse::resultVal).containsExactly("1.60", "40");
+        List<InspectionItem> savedItems = inspectionItemRepository
+            .findByIdCompanyIdAndIdInspectionIdOrderByIdLineNo(
+                MemberUserDetailsService.DEFAULT_COMPANY,
+                created.inspectionId()
+            );
+        assertThat(savedItems).hasSize(2);
+        assertThat(savedItems.get(0)).isSameAs(firstLine);
+        assertThat(savedItems.get(1).getResultVal()).isEqualTo("40");
+    }
+
     @Test
     void deleteInspectionRemovesItems() {
         InspectionResponse created = inspectionService.create(
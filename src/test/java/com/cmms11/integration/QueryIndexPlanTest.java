@@ -0,0 +1,143 @@
+package com.cmms11.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.cmms11.file.FileItemRepository;
+import com.cmms11.inventory.InventoryRepository;
+import com.cmms11.inventoryTx.InventoryHistoryRepository;
+import com.cmms11.inventoryTx.InventoryStockRepository;
+import com.cmms11.plant.PlantRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * 조회 빈도가 높은 레포지토리 쿼리가 의도한 보조 인덱스를 타는지 EXPLAIN 으로 확인한다.
+ * SQL 은 레포지토리 메서드를 실제로 호출해 Hibernate 가 만든 문장을 StatementInspector 로 받아 쓰므로
+ * JPQL 이 바뀌면 바뀐 문장으로 검사된다. 스키마는 엔티티 @Table(indexes) 로 생성되므로 db/migration 의 인덱스와 함께 유지해야 한다.
+ * 기본키로도 처리되는 조회는 보조 인덱스를 구분할 수 없으므로 넣지 않는다.
+ */
+@DataJpaTest
+@TestPropertySource(properties =
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.cmms11.integration.QueryIndexPlanTest$CapturedStatements")
+class QueryIndexPlanTest {
+
+    private static final String COMPANY_ID = "C0001";
+    private static final LocalDate FROM = LocalDate.of(2026, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2026, 1, 31);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private InventoryHistoryRepository historyRepository;
+
+    @Autowired
+    private InventoryStockRepository stockRepository;
+
+    @Autowired
+    private PlantRepository plantRepository;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private FileItemRepository fileItemRepository;
+
+    static Stream<Arguments> hotQueries() {
+        return Stream.of(
+            query("InventoryHistoryRepository.findByIdCompanyIdAndInventoryIdAndStorageIdAndTxDateBetween",
+                "ix_inventory_history_item_date",
+                test -> test.historyRepository.findByIdCompanyIdAndInventoryIdAndStorageIdAndTxDateBetween(
+                    COMPANY_ID, "I000000001", "S0001", FROM, TO, PageRequest.of(0, 20))),
+            query("InventoryHistoryRepository.sumQtyByCompanyIdAndInventoryIdAndStorageIdAndTxTypeAndTxDateBetween",
+                "ix_inventory_history_item_date",
+                test -> test.historyRepository.sumQtyByCompanyIdAndInventoryIdAndStorageIdAndTxTypeAndTxDateBetween(
+                    COMPANY_ID, "I000000001", "S0001", "IN", FROM, TO)),
+            query("InventoryHistoryRepository.summarizeByCompanyIdAndStorageIdAndTxDateBetweenGroupByInventoryId",
+                "ix_inventory_history_storage_date",
+                test -> test.historyRepository.summarizeByCompanyIdAndStorageIdAndTxDateBetweenGroupByInventoryId(
+                    COMPANY_ID, "S0001", FROM, TO)),
+            query("InventoryHistoryRepository.sumStockDeltaByCompanyIdAndStorageIdAndTxDateRangeGroupByInventoryId",
+                "ix_inventory_history_storage_date",
+                test -> test.historyRepository.sumStockDeltaByCompanyIdAndStorageIdAndTxDateRangeGroupByInventoryId(
+                    COMPANY_ID, "S0001", FROM, TO)),
+            query("InventoryHistoryRepository.findByIdCompanyIdAndTxType",
+                "ix_inventory_history_type_date",
+                test -> test.historyRepository.findByIdCompanyIdAndTxType(
+                    COMPANY_ID, "OUT", PageRequest.of(0, 20, Sort.by("txDate")))),
+            query("InventoryHistoryRepository.findDistinctStorageIdByCompanyIdAndTxDateBefore",
+                "ix_inventory_history_date",
+                test -> test.historyRepository.findDistinctStorageIdByCompanyIdAndTxDateBefore(COMPANY_ID, TO)),
+            query("InventoryHistoryRepository.findByIdCompanyIdAndRefNo",
+                "ix_inventory_history_ref",
+                test -> test.historyRepository.findByIdCompanyIdAndRefNo(COMPANY_ID, "T000000001")),
+            query("InventoryStockRepository.findByIdCompanyIdAndIdInventoryId",
+                "ix_inventory_stock_item",
+                test -> test.stockRepository.findByIdCompanyIdAndIdInventoryId(COMPANY_ID, "I000000001", PageRequest.of(0, 20))),
+            query("PlantRepository.findByIdCompanyIdAndDeleteMark",
+                "ix_plant_live",
+                test -> test.plantRepository.findByIdCompanyIdAndDeleteMark(
+                    COMPANY_ID, "N", PageRequest.of(0, 20, Sort.by("id.plantId")))),
+            query("InventoryRepository.findByIdCompanyIdAndDeleteMark",
+                "ix_inventory_live",
+                test -> test.inventoryRepository.findByIdCompanyIdAndDeleteMark(
+                    COMPANY_ID, "N", PageRequest.of(0, 20, Sort.by("id.inventoryId")))),
+            query("FileItemRepository.findReferencedStoragePaths",
+                "ix_file_item_storage_path",
+                test -> test.fileItemRepository.findReferencedStoragePaths(List.of("ab/abc", "cd/cde"), "Y")),
+            query("FileItemRepository.findReferencedChecksums",
+                "ix_file_item_checksum",
+                test -> test.fileItemRepository.findReferencedChecksums(List.of("abc", "cde"), "Y")),
+            query("FileItemRepository.findDeletedAfter",
+                "ix_file_item_deleted",
+                test -> test.fileItemRepository.findDeletedAfter(
+                    "Y", LocalDateTime.of(2026, 1, 1, 0, 0), "", "", "", PageRequest.of(0, 500)))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    void hotQueryUsesIndex(String query, String expectedIndex, Consumer<QueryIndexPlanTest> call) {
+        CapturedStatements.SQL.clear();
+        call.accept(this);
+        assertThat(CapturedStatements.SQL).as(query).isNotEmpty();
+
+        // 페이지 조회는 목록 SELECT 가 먼저 실행된다 (빈 테이블이라 count 조회는 생략됨)
+        String sql = CapturedStatements.SQL.get(0);
+        String plan = jdbcTemplate.queryForObject("explain " + sql, String.class);
+
+        assertThat(plan).as(query + " plan:%n%s", plan).containsIgnoringCase(expectedIndex);
+    }
+
+    private static Arguments query(String name, String expectedIndex, Consumer<QueryIndexPlanTest> call) {
+        return Arguments.of(name, expectedIndex, call);
+    }
+
+    /**
+     * Hibernate 가 실행하는 SQL 을 그대로 모은다.
+     */
+    public static class CapturedStatements implements StatementInspector {
+
+        static final List<String> SQL = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SQL.add(sql);
+            return sql;
+        }
+    }
+}
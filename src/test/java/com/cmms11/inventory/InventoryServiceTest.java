@@ -5,6 +5,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.cmms11.common.error.NotFoundException;
 import com.cmms11.common.seq.AutoNumberService;
+import com.cmms11.common.upload.CsvChunkImporter;
 import com.cmms11.security.MemberUserDetailsService;
 import java.util.List;
 import org.junit.jupiter.api.AfterEach;
@@ -27,7 +28,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
  * 프로그램 개요: InventoryService의 CRUD 동작을 검증하는 단위 테스트.
  */
 @DataJpaTest
-@Import({InventoryService.class, AutoNumberService.class})
+@Import({InventoryService.class, AutoNumberService.class, CsvChunkImporter.class})
 class InventoryServiceTest {
 
     @Autowired
@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.cmms11.common.seq.AutoNumberService;
 import com.cmms11.common.upload.BulkUploadResult;
+import com.cmms11.common.upload.CsvChunkImporter;
 import com.cmms11.security.MemberUserDetailsService;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
@@ -19,7 +20,7 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 @DataJpaTest
-@Import({InventoryService.class, AutoNumberService.class})
+@Import({InventoryService.class, AutoNumberService.class, CsvChunkImporter.class})
 class InventoryServiceUploadTest {
 
     @Autowired
@@ -0,0 +1,184 @@
+package com.cmms11.inventoryTx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+@DataJpaTest
+@Import({InventoryBalanceService.class, InventoryLedgerService.class})
+class InventoryBalanceServiceTest {
+
+    @Autowired
+    private InventoryBalanceService balanceService;
+
+    @Autowired
+    private InventoryLedgerService ledgerService;
+
+    @Autowired
+    private InventoryClosingRepository closingRepository;
+
+    @Autowired
+    private InventoryHistoryRepository historyRepository;
+
+    @Test
+    void openingBalanceStartsFromLatestClosingBeforeDate() {
+        closingRepository.save(closing("202409", "7.000", "700.00"));
+        closingRepository.save(closing("202410", "12.000", "1200.00"));
+        historyRepository.save(history("H241015001", "IN", LocalDate.of(2024, 10, 15), "100", null, "10000"));
+        historyRepository.save(history("H241103001", "IN", LocalDate.of(2024, 11, 3), "5", null, "500"));
+        historyRepository.save(history("H241110001", "OUT", LocalDate.of(2024, 11, 10), null, "2", "200"));
+        historyRepository.save(history("H241120001", "IN", LocalDate.of(2024, 11, 20), "50", null, "5000"));
+
+        InventoryBalanceService.StockBalance opening =
+            balanceService.getOpeningBalance("C0001", "ST001", "INV0000001", LocalDate.of(2024, 11, 20));
+
+        // 12 (10월 마감) + 5 - 2, 10월 이력과 기준일 당일 거래는 제외
+        assertThat(opening.qty()).isEqualByComparingTo("15");
+        assertThat(opening.amount()).isEqualByComparingTo("1500");
+    }
+
+    @Test
+    void openingBalanceWithoutClosingSumsHistoryBeforeDate() {
+        historyRepository.save(history("H240105001", "IN", LocalDate.of(2024, 1, 5), "8", null, "800"));
+        historyRepository.save(history("H240201001", "OUT", LocalDate.of(2024, 2, 1), null, "3", "300"));
+
+        InventoryBalanceService.StockBalance opening =
+            balanceService.getOpeningBalance("C0001", "ST001", "INV0000001", LocalDate.of(2024, 3, 1));
+
+        assertThat(opening.qty()).isEqualByComparingTo("5");
+        assertThat(opening.amount()).isEqualByComparingTo("500");
+    }
+
+    @Test
+    void ledgerSummaryAggregatesEachTxTypeOnceAndReconcilesEndBalance() {
+        closingRepository.save(closing("202410", "10.000", "1000.00"));
+        historyRepository.save(history("H241104001", "IN", LocalDate.of(2024, 11, 4), "6", null, "600"));
+        historyRepository.save(history("H241105001", "OUT", LocalDate.of(2024, 11, 5), null, "4", "400"));
+        historyRepository.save(history("H241106001", "MOVE", LocalDate.of(2024, 11, 6), "3", null, "300"));
+        historyRepository.save(history("H241107001", "ADJ", LocalDate.of(2024, 11, 7), null, "1", "-100"));
+
+        InventoryLedgerService.LedgerSummary summary = ledgerService.getLedgerSummary(
+            "C0001", "ST001", "INV0000001", LocalDate.of(2024, 11, 1), LocalDate.of(2024, 11, 30));
+
+        assertThat(summary.beginQty()).isEqualByComparingTo("10");
+        assertThat(summary.totalInQty()).isEqualByComparingTo("6");
+        assertThat(summary.totalOutQty()).isEqualByComparingTo("4");
+        assertThat(summary.totalMoveQty()).isEqualByComparingTo("3");
+        assertThat(summary.totalAdjQty()).isEqualByComparingTo("-1");
+        assertThat(summary.endQty()).isEqualByComparingTo("14");
+        assertThat(summary.endAmount()).isEqualByComparingTo("1400");
+    }
+
+    @Test
+    void ledgerExportStreamsRowsWithRunningTotals() throws Exception {
+        closingRepository.save(closing("202410", "10.000", "1000.00"));
+        historyRepository.save(history("H241104001", "IN", LocalDate.of(2024, 11, 4), "6", null, "600"));
+        historyRepository.save(history("H241105001", "OUT", LocalDate.of(2024, 11, 5), null, "4", "400"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ledgerService.exportLedger(
+            new InventoryLedgerService.LedgerSearchRequest("ST001", "INV0000001", LocalDate.of(2024, 11, 1), LocalDate.of(2024, 11, 30)),
+            InventoryLedgerService.LedgerExportFormat.CSV,
+            out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("storageId,inventoryId,txDate");
+        assertThat(lines[1]).startsWith("ST001,INV0000001,2024-11-04,IN").endsWith(",16.000,1600.00");
+        assertThat(lines[2]).startsWith("ST001,INV0000001,2024-11-05,OUT").endsWith(",12.000,1200.00");
+    }
+
+    @Test
+    void multiItemLedgerExportStartsEachKeyFromItsOwnOpeningBalance() throws Exception {
+        closingRepository.save(closing("202410", "10.000", "1000.00"));
+        InventoryHistory carried = history("H241020001", "IN", LocalDate.of(2024, 10, 20), "3", null, "300");
+        carried.setInventoryId("INV0000002");
+        historyRepository.save(carried);
+        historyRepository.save(history("H241104001", "IN", LocalDate.of(2024, 11, 4), "6", null, "600"));
+        InventoryHistory issued = history("H241106001", "OUT", LocalDate.of(2024, 11, 6), null, "1", "100");
+        issued.setInventoryId("INV0000002");
+        historyRepository.save(issued);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ledgerService.exportLedger(
+            new InventoryLedgerService.LedgerSearchRequest("ST001", null, LocalDate.of(2024, 11, 1), LocalDate.of(2024, 11, 30)),
+            InventoryLedgerService.LedgerExportFormat.CSV,
+            out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(lines).hasSize(3);
+        String[] first = lines[1].split(",", -1);
+        String[] second = lines[2].split(",", -1);
+        assertThat(first[1]).isEqualTo("INV0000001");
+        assertThat(new BigDecimal(first[5])).isEqualByComparingTo("10");
+        assertThat(new BigDecimal(first[15])).isEqualByComparingTo("16");
+        assertThat(second[1]).isEqualTo("INV0000002");
+        assertThat(new BigDecimal(second[5])).isEqualByComparingTo("3");
+        assertThat(new BigDecimal(second[15])).isEqualByComparingTo("2");
+        assertThat(new BigDecimal(second[16])).isEqualByComparingTo("200");
+    }
+
+    @Test
+    void storageOpeningBalancesMatchPerItemOpeningAcrossClosingMonths() {
+        closingRepository.save(closing("202409", "7.000", "700.00"));
+        closingRepository.save(closing("202410", "12.000", "1200.00"));
+        closingRepository.save(closing("INV0000002", "202408", "4.000", "400.00"));
+        historyRepository.save(history("H241103001", "IN", LocalDate.of(2024, 11, 3), "5", null, "500"));
+        historyRepository.save(history("H241110001", "OUT", LocalDate.of(2024, 11, 10), null, "2", "200"));
+        InventoryHistory afterOldClosing = history("H240915001", "IN", LocalDate.of(2024, 9, 15), "1", null, "100");
+        afterOldClosing.setInventoryId("INV0000002");
+        historyRepository.save(afterOldClosing);
+        InventoryHistory neverClosed = history("H240105001", "IN", LocalDate.of(2024, 1, 5), "8", null, "800");
+        neverClosed.setInventoryId("INV0000003");
+        historyRepository.save(neverClosed);
+        LocalDate date = LocalDate.of(2024, 11, 20);
+
+        Map<String, InventoryBalanceService.StockBalance> openings = balanceService.getOpeningBalances("C0001", "ST001", date);
+
+        assertThat(openings).containsOnlyKeys("INV0000001", "INV0000002", "INV0000003");
+        for (String inventoryId : openings.keySet()) {
+            InventoryBalanceService.StockBalance expected = balanceService.getOpeningBalance("C0001", "ST001", inventoryId, date);
+            assertThat(openings.get(inventoryId).qty()).as(inventoryId).isEqualByComparingTo(expected.qty());
+            assertThat(openings.get(inventoryId).amount()).as(inventoryId).isEqualByComparingTo(expected.amount());
+        }
+        assertThat(openings.get("INV0000001").qty()).isEqualByComparingTo("15");
+        assertThat(openings.get("INV0000002").qty()).isEqualByComparingTo("5");
+        assertThat(openings.get("INV0000003").qty()).isEqualByComparingTo("8");
+    }
+
+    private InventoryClosing closing(String yyyymm, String endQty, String endAmount) {
+        return closing("INV0000001", yyyymm, endQty, endAmount);
+    }
+
+    private InventoryClosing closing(String inventoryId, String yyyymm, String endQty, String endAmount) {
+        InventoryClosing closing = new InventoryClosing();
+        closing.setId(new InventoryClosingId("C0001", yyyymm, "ST001", inventoryId));
+        closing.setEndQty(new BigDecimal(endQty));
+        closing.setEndAmount(new BigDecimal(endAmount));
+        closing.setStatus("CLOSED");
+        closing.setClosedAt(LocalDateTime.now());
+        return closing;
+    }
+
+    private InventoryHistory history(String historyId, String txType, LocalDate txDate, String inQty, String outQty, String amount) {
+        InventoryHistory history = new InventoryHistory();
+        history.setId(new InventoryHistoryId("C0001", historyId));
+        history.setInventoryId("INV0000001");
+        history.setStorageId("ST001");
+        history.setTxType(txType);
+        history.setTxDate(txDate);
+        history.setInQty(inQty != null ? new BigDecimal(inQty) : null);
+        history.setOutQty(outQty != null ? new BigDecimal(outQty) : null);
+        history.setAmount(new BigDecimal(amount));
+        return history;
+    }
+}
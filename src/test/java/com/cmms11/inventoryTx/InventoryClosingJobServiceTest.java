@@ -0,0 +1,136 @@
+package com.cmms11.inventoryTx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest
+@Import({InventoryClosingJobService.class, InventoryBalanceService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 작업자 스레드가 커밋된 데이터를 조회해야 함
+class InventoryClosingJobServiceTest {
+
+    private static final String COMPANY_ID = "CJ001";
+
+    @Autowired
+    private InventoryClosingJobService closingJobService;
+
+    @Autowired
+    private InventoryClosingRepository closingRepository;
+
+    @Autowired
+    private InventoryHistoryRepository historyRepository;
+
+    @Autowired
+    private InventoryClosingPartitionRepository partitionRepository;
+
+    @AfterEach
+    void cleanUp() {
+        partitionRepository.deleteAll();
+        closingRepository.deleteAll();
+        historyRepository.deleteAll();
+    }
+
+    @Test
+    void closesAllPairsFromPreviousClosingAndMonthlyAggregation() {
+        closingRepository.save(closing("202410", "ST001", "INV0000001", "10", "1000"));
+        historyRepository.save(history("H240915001", "ST001", "INV0000002", "IN", LocalDate.of(2024, 9, 15), "3", null, "300"));
+        historyRepository.save(history("H241105001", "ST001", "INV0000001", "IN", LocalDate.of(2024, 11, 5), "5", null, "500"));
+        historyRepository.save(history("H241106001", "ST001", "INV0000001", "OUT", LocalDate.of(2024, 11, 6), null, "2", "200"));
+        historyRepository.save(history("H241107001", "ST001", "INV0000002", "IN", LocalDate.of(2024, 11, 7), "2", null, "200"));
+        historyRepository.save(history("H241108001", "ST002", "INV0000001", "IN", LocalDate.of(2024, 11, 8), "4", null, "400"));
+
+        InventoryClosingJobResponse response = closingJobService.run(COMPANY_ID, "202411", false);
+
+        assertThat(response.status()).isEqualTo("COMPLETED");
+        assertThat(response.totalPartitions()).isEqualTo(2);
+        assertThat(response.completedPartitions()).isEqualTo(2);
+        assertThat(response.closedCount()).isEqualTo(3);
+
+        InventoryClosing carried = find("202411", "ST001", "INV0000001");
+        assertThat(carried.getBeginQty()).isEqualByComparingTo("10");
+        assertThat(carried.getEndQty()).isEqualByComparingTo("13");
+        assertThat(carried.getEndAmount()).isEqualByComparingTo("1300");
+
+        InventoryClosing firstClosing = find("202411", "ST001", "INV0000002");
+        assertThat(firstClosing.getBeginQty()).isEqualByComparingTo("3");
+        assertThat(firstClosing.getEndQty()).isEqualByComparingTo("5");
+
+        assertThat(find("202411", "ST002", "INV0000001").getEndQty()).isEqualByComparingTo("4");
+    }
+
+    @Test
+    void rerunSkipsOnlyPartitionsCompletedByTheJob() {
+        historyRepository.save(history("H241105001", "ST001", "INV0000001", "IN", LocalDate.of(2024, 11, 5), "5", null, "500"));
+        historyRepository.save(history("H241106001", "ST001", "INV0000002", "IN", LocalDate.of(2024, 11, 6), "1", null, "100"));
+        historyRepository.save(history("H241108001", "ST002", "INV0000001", "IN", LocalDate.of(2024, 11, 8), "4", null, "400"));
+        closingRepository.save(closing("202411", "ST001", "INV0000001", "5", "500"));
+
+        InventoryClosingJobResponse first = closingJobService.run(COMPANY_ID, "202411", false);
+
+        assertThat(first.skippedPartitions()).isZero();
+        assertThat(first.totalPartitions()).isEqualTo(2);
+        assertThat(first.closedCount()).isEqualTo(3);
+        assertThat(find("202411", "ST001", "INV0000002").getEndQty()).isEqualByComparingTo("1");
+
+        InventoryClosingJobResponse rerun = closingJobService.run(COMPANY_ID, "202411", false);
+
+        assertThat(rerun.skippedPartitions()).isEqualTo(2);
+        assertThat(rerun.totalPartitions()).isZero();
+        assertThat(closingJobService.getStatus(COMPANY_ID, "202411")).get()
+            .extracting(InventoryClosingJobResponse::status).isEqualTo("COMPLETED");
+    }
+
+    @Test
+    void carriesStockWithoutMovementFromLatestCompletedClosingAcrossGap() {
+        historyRepository.save(history("H240915001", "ST003", "INV0000003", "IN", LocalDate.of(2024, 9, 15), "7", null, "700"));
+        closingJobService.run(COMPANY_ID, "202410", false);
+        historyRepository.save(history("H241120001", "ST003", "INV0000004", "IN", LocalDate.of(2024, 11, 20), "2", null, "200"));
+
+        InventoryClosingJobResponse response = closingJobService.run(COMPANY_ID, "202412", false);
+
+        assertThat(response.totalPartitions()).isEqualTo(1);
+        assertThat(response.closedCount()).isEqualTo(2);
+        InventoryClosing carried = find("202412", "ST003", "INV0000003");
+        assertThat(carried.getBeginQty()).isEqualByComparingTo("7");
+        assertThat(carried.getEndAmount()).isEqualByComparingTo("700");
+        assertThat(find("202412", "ST003", "INV0000004").getBeginQty()).isEqualByComparingTo("2");
+    }
+
+    private InventoryClosing find(String yyyymm, String storageId, String inventoryId) {
+        return closingRepository.findByIdCompanyIdAndIdYyyymmAndIdStorageIdAndIdInventoryId(
+            COMPANY_ID, yyyymm, storageId, inventoryId).orElseThrow();
+    }
+
+    private InventoryClosing closing(String yyyymm, String storageId, String inventoryId, String endQty, String endAmount) {
+        InventoryClosing closing = new InventoryClosing();
+        closing.setId(new InventoryClosingId(COMPANY_ID, yyyymm, storageId, inventoryId));
+        closing.setEndQty(new BigDecimal(endQty));
+        closing.setEndAmount(new BigDecimal(endAmount));
+        closing.setStatus("CLOSED");
+        closing.setClosedAt(LocalDateTime.now());
+        return closing;
+    }
+
+    private InventoryHistory history(String historyId, String storageId, String inventoryId, String txType,
+                                     LocalDate txDate, String inQty, String outQty, String amount) {
+        InventoryHistory history = new InventoryHistory();
+        history.setId(new InventoryHistoryId(COMPANY_ID, historyId));
+        history.setInventoryId(inventoryId);
+        history.setStorageId(storageId);
+        history.setTxType(txType);
+        history.setTxDate(txDate);
+        history.setInQty(inQty != null ? new BigDecimal(inQty) : null);
+        history.setOutQty(outQty != null ? new BigDecimal(outQty) : null);
+        history.setAmount(new BigDecimal(amount));
+        return history;
+    }
+}
@@ -0,0 +1,35 @@
+package com.cmms11.inventoryTx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.YearMonth;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class InventoryHistoryPartitionMaintainerTest {
+
+    @Test
+    void plansMonthsAfterLastPartitionUpToHorizon() {
+        List<YearMonth> existing = InventoryHistoryPartitionMaintainer.monthlyPartitions(
+            List.of("p_before", "p202611", "p202612", "pmax"));
+
+        List<YearMonth> missing = InventoryHistoryPartitionMaintainer.missingMonths(existing, YearMonth.of(2026, 12), 3);
+
+        assertThat(existing).containsExactly(YearMonth.of(2026, 11), YearMonth.of(2026, 12));
+        assertThat(missing).containsExactly(YearMonth.of(2027, 1), YearMonth.of(2027, 2), YearMonth.of(2027, 3));
+        assertThat(InventoryHistoryPartitionMaintainer.missingMonths(existing, YearMonth.of(2026, 9), 3)).isEmpty();
+    }
+
+    @Test
+    void splitsMaxPartitionWhenPresent() {
+        List<YearMonth> months = List.of(YearMonth.of(2027, 1), YearMonth.of(2027, 2));
+
+        assertThat(InventoryHistoryPartitionMaintainer.addPartitionsSql(months, true)).isEqualTo(
+            "ALTER TABLE inventory_history REORGANIZE PARTITION pmax INTO ("
+                + "PARTITION p202701 VALUES LESS THAN ('2027-02-01'), "
+                + "PARTITION p202702 VALUES LESS THAN ('2027-03-01'), "
+                + "PARTITION pmax VALUES LESS THAN (MAXVALUE))");
+        assertThat(InventoryHistoryPartitionMaintainer.addPartitionsSql(months.subList(0, 1), false)).isEqualTo(
+            "ALTER TABLE inventory_history ADD PARTITION (PARTITION p202701 VALUES LESS THAN ('2027-02-01'))");
+    }
+}
@@ -0,0 +1,253 @@
+package com.cmms11.inventoryTx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.cmms11.common.seq.AutoNumberService;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:inventorytx;MODE=MariaDB;DB_CLOSE_DELAY=-1")
+@Import({InventoryTxService.class, InventoryCostingService.class, InventoryStockDailyService.class, AutoNumberService.class})
+class InventoryTxServiceTest {
+
+    private static final LocalDate TX_DATE = LocalDate.of(2025, 1, 15);
+
+    @Autowired
+    private InventoryTxService inventoryTxService;
+
+    @Autowired
+    private InventoryStockRepository stockRepository;
+
+    @Autowired
+    private InventoryStockDailyService stockDailyService;
+
+    @Test
+    void inboundCreatesStockAndAccumulatesDeltas() {
+        inventoryTxService.processTransaction(inbound("INV0000001", "10", "1000"));
+        inventoryTxService.processTransaction(inbound("INV0000001", "5", "500"));
+
+        InventoryStockResponse stock = inventoryTxService.getCurrentStock("C0001", "INV0000001", "ST001");
+
+        assertThat(stock.qty()).isEqualByComparingTo("15");
+        assertThat(stock.amount()).isEqualByComparingTo("1500");
+    }
+
+    @Test
+    void outboundDecreasesStockWhenAvailable() {
+        inventoryTxService.processTransaction(inbound("INV0000002", "10", "1000"));
+
+        inventoryTxService.processOutbound(outbound("INV0000002", "4", "400"));
+
+        BigDecimal qty = stockRepository.findQtyByIdCompanyIdAndIdInventoryIdAndIdStorageId("C0001", "INV0000002", "ST001");
+        assertThat(qty).isEqualByComparingTo("6");
+    }
+
+    @Test
+    void outboundBeyondStockIsRejectedWithoutChangingQty() {
+        inventoryTxService.processTransaction(inbound("INV0000003", "3", "300"));
+
+        assertThatThrownBy(() -> inventoryTxService.processOutbound(outbound("INV0000003", "5", "500")))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("재고 부족");
+
+        BigDecimal qty = stockRepository.findQtyByIdCompanyIdAndIdInventoryIdAndIdStorageId("C0001", "INV0000003", "ST001");
+        assertThat(qty).isEqualByComparingTo("3");
+    }
+
+    @Test
+    void outboundWithoutStockRowIsRejected() {
+        assertThatThrownBy(() -> inventoryTxService.processTransaction(outbound("INV0000004", "1", "100")))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("재고 부족");
+    }
+
+    @Test
+    void batchAppliesNetDeltaPerKeyAndReportsPerLineResults() {
+        InventoryTxBatchResponse response = inventoryTxService.processBatch(List.of(
+            inbound("INV0000005", "10", "1000"),
+            outbound("INV0000005", "4", "400"),
+            outbound("INV0000006", "2", "200"),
+            inbound("INV0000007", "0", "0")
+        ));
+
+        assertThat(response.successCount()).isEqualTo(2);
+        assertThat(response.failureCount()).isEqualTo(2);
+        assertThat(response.results()).extracting(InventoryTxBatchResult::lineNo).containsExactly(1, 2, 3, 4);
+        assertThat(response.results()).extracting(InventoryTxBatchResult::success)
+            .containsExactly(true, true, false, false);
+        assertThat(response.results().get(0).historyId()).startsWith("H250115");
+        assertThat(response.results().get(2).message()).contains("재고 부족");
+
+        BigDecimal qty = stockRepository.findQtyByIdCompanyIdAndIdInventoryIdAndIdStorageId("C0001", "INV0000005", "ST001");
+        assertThat(qty).isEqualByComparingTo("6");
+    }
+
+    @Test
+    void stockAsOfReflectsBackdatedAndBatchTransactions() {
+        inventoryTxService.processTransaction(inbound("INV0000008", "10", "1000"));
+        inventoryTxService.processTransaction(outbound("INV0000008", "4", "400", TX_DATE.plusDays(5)));
+        inventoryTxService.processTransaction(inbound("INV0000008", "5", "500", TX_DATE.minusDays(5)));
+        inventoryTxService.processBatch(List.of(
+            inbound("INV0000008", "2", "200", TX_DATE.plusDays(5)),
+            outbound("INV0000008", "1", "100", TX_DATE)
+        ));
+
+        assertThat(stockDailyService.getStockAsOf("C0001", "ST001", "INV0000008", TX_DATE.minusDays(6)).qty())
+            .isEqualByComparingTo("0");
+        assertThat(stockDailyService.getStockAsOf("C0001", "ST001", "INV0000008", TX_DATE.minusDays(5)).qty())
+            .isEqualByComparingTo("5");
+
+        InventoryStockAsOfResponse beforeOutbound = stockDailyService.getStockAsOf("C0001", "ST001", "INV0000008", TX_DATE.plusDays(4));
+        assertThat(beforeOutbound.snapshotDate()).isEqualTo(TX_DATE);
+        assertThat(beforeOutbound.qty()).isEqualByComparingTo("14");
+        assertThat(beforeOutbound.amount()).isEqualByComparingTo("1400");
+
+        InventoryStockAsOfResponse latest = stockDailyService.getStockAsOf("C0001", "ST001", "INV0000008", TX_DATE.plusDays(30));
+        assertThat(latest.qty()).isEqualByComparingTo("12");
+        assertThat(latest.amount()).isEqualByComparingTo("1200");
+        assertThat(latest.qty()).isEqualByComparingTo(
+            stockRepository.findQtyByIdCompanyIdAndIdInventoryIdAndIdStorageId("C0001", "INV0000008", "ST001"));
+    }
+
+    @Test
+    void outboundIsValuedAtMovingAverageCost() {
+        inventoryTxService.processTransaction(inbound("INV0000009", "10", "1000"));
+        inventoryTxService.processTransaction(inbound("INV0000009", "10", "3000"));
+
+        InventoryTxResponse issued = inventoryTxService.processTransaction(outbound("INV0000009", "5", "1"));
+
+        assertThat(issued.unitCost()).isEqualByComparingTo("200");
+        assertThat(issued.amount()).isEqualByComparingTo("1000");
+        InventoryStockResponse stock = inventoryTxService.getCurrentStock("C0001", "INV0000009", "ST001");
+        assertThat(stock.qty()).isEqualByComparingTo("15");
+        assertThat(stock.amount()).isEqualByComparingTo("3000");
+        assertThat(stock.unitCost()).isEqualByComparingTo("200");
+
+        InventoryTxResponse rest = inventoryTxService.processTransaction(outbound("INV0000009", "15", "1"));
+        assertThat(rest.amount()).isEqualByComparingTo("3000");
+        Object[] emptied = stockRepository.findQtyAndAmountByIdCompanyIdAndIdInventoryIdAndIdStorageId("C0001", "INV0000009", "ST001").get(0);
+        assertThat((BigDecimal) emptied[0]).isEqualByComparingTo("0");
+        assertThat((BigDecimal) emptied[1]).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void moveTransfersSourceAverageCostToTargetStorage() {
+        inventoryTxService.processTransaction(inbound("INV0000010", "10", "1000"));
+        inventoryTxService.processTransaction(new InventoryTxRequest("INV0000010", "ST002", null, "IN", null, null, TX_DATE,
+            new BigDecimal("10"), null, null, new BigDecimal("3000"), null));
+
+        InventoryTxResponse moved = inventoryTxService.processTransaction(new InventoryTxRequest("INV0000010", "ST001", "ST002",
+            "MOVE", null, null, TX_DATE, null, new BigDecimal("5"), null, null, null));
+
+        assertThat(moved.storageId()).isEqualTo("ST001");
+        assertThat(moved.amount()).isEqualByComparingTo("-500");
+        InventoryStockResponse source = inventoryTxService.getCurrentStock("C0001", "INV0000010", "ST001");
+        InventoryStockResponse target = inventoryTxService.getCurrentStock("C0001", "INV0000010", "ST002");
+        assertThat(source.qty()).isEqualByComparingTo("5");
+        assertThat(source.amount()).isEqualByComparingTo("500");
+        assertThat(source.unitCost()).isEqualByComparingTo("100");
+        assertThat(target.qty()).isEqualByComparingTo("15");
+        assertThat(target.amount()).isEqualByComparingTo("3500");
+        assertThat(target.unitCost()).isEqualByComparingTo("233.333333");
+
+        assertThatThrownBy(() -> inventoryTxService.processTransaction(new InventoryTxRequest("INV0000010", "ST001", "ST002",
+            "MOVE", null, null, TX_DATE, null, new BigDecimal("6"), null, null, null)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("재고 부족");
+    }
+
+    @Test
+    void batchValuesMoveLegsInLineOrderWithOtherLines() {
+        inventoryTxService.processTransaction(inbound("INV0000011", "10", "1000"));
+
+        InventoryTxBatchResponse response = inventoryTxService.processBatch(List.of(
+            new InventoryTxRequest("INV0000011", "ST001", "ST002", "MOVE", null, null, TX_DATE,
+                null, new BigDecimal("10"), null, null, null),
+            new InventoryTxRequest("INV0000011", "ST002", null, "OUT", null, null, TX_DATE,
+                null, new BigDecimal("10"), null, null, null),
+            new InventoryTxRequest("INV0000011", "ST002", null, "OUT", null, null, TX_DATE,
+                null, new BigDecimal("1"), null, null, null)
+        ));
+
+        assertThat(response.results()).extracting(InventoryTxBatchResult::success)
+            .containsExactly(true, true, false);
+        assertThat(response.results().get(2).message()).contains("재고 부족");
+        Object[] source = stockRepository.findQtyAndAmountByIdCompanyIdAndIdInventoryIdAndIdStorageId("C0001", "INV0000011", "ST001").get(0);
+        Object[] target = stockRepository.findQtyAndAmountByIdCompanyIdAndIdInventoryIdAndIdStorageId("C0001", "INV0000011", "ST002").get(0);
+        assertThat((BigDecimal) source[0]).isEqualByComparingTo("0");
+        assertThat((BigDecimal) target[0]).isEqualByComparingTo("0");
+        assertThat((BigDecimal) target[1]).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void negativeAdjustmentBeyondStockIsRejectedInSingleAndBatchPaths() {
+        inventoryTxService.processTransaction(inbound("INV0000012", "3", "300"));
+        InventoryTxRequest adjustment = new InventoryTxRequest("INV0000012", "ST001", null, "ADJ", null, null, TX_DATE,
+            null, new BigDecimal("5"), null, new BigDecimal("-500"), null);
+
+        assertThatThrownBy(() -> inventoryTxService.processTransaction(adjustment))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("재고 부족");
+        InventoryTxBatchResponse response = inventoryTxService.processBatch(List.of(adjustment));
+        assertThat(response.failureCount()).isEqualTo(1);
+        assertThat(response.results().get(0).message()).contains("재고 부족");
+        assertThat(stockRepository.findQtyByIdCompanyIdAndIdInventoryIdAndIdStorageId("C0001", "INV0000012", "ST001"))
+            .isEqualByComparingTo("3");
+    }
+
+    @Test
+    void batchFailsLinesOfDateExceedingDailyHistoryIdLimitWithoutPosting() {
+        LocalDate fullDate = LocalDate.of(2025, 2, 1);
+        LocalDate overDate = fullDate.plusDays(1);
+        List<InventoryTxRequest> requests = new ArrayList<>();
+        requests.add(inbound("INV0000013", "1000", "100000", fullDate));
+        for (int i = 0; i < 499; i++) {
+            requests.add(new InventoryTxRequest("INV0000013", "ST001", "ST002", "MOVE", null, null, fullDate,
+                null, BigDecimal.ONE, null, null, null));
+        }
+        for (int i = 0; i < 1000; i++) {
+            requests.add(inbound("INV0000013", "1", "100", overDate));
+        }
+
+        InventoryTxBatchResponse response = inventoryTxService.processBatch(requests);
+
+        assertThat(response.successCount()).isEqualTo(500);
+        assertThat(response.failureCount()).isEqualTo(1000);
+        assertThat(response.results().get(499).historyId()).isEqualTo("H250201998");
+        assertThat(response.results().get(500).success()).isFalse();
+        assertThat(response.results().get(500).message()).contains("일 한도");
+        Object[] source = stockRepository.findQtyAndAmountByIdCompanyIdAndIdInventoryIdAndIdStorageId("C0001", "INV0000013", "ST001").get(0);
+        Object[] target = stockRepository.findQtyAndAmountByIdCompanyIdAndIdInventoryIdAndIdStorageId("C0001", "INV0000013", "ST002").get(0);
+        assertThat((BigDecimal) source[0]).isEqualByComparingTo("501");
+        assertThat((BigDecimal) target[0]).isEqualByComparingTo("499");
+    }
+
+    private InventoryTxRequest inbound(String inventoryId, String qty, String amount) {
+        return inbound(inventoryId, qty, amount, TX_DATE);
+    }
+
+    private InventoryTxRequest outbound(String inventoryId, String qty, String amount) {
+        return outbound(inventoryId, qty, amount, TX_DATE);
+    }
+
+    private InventoryTxRequest inbound(String inventoryId, String qty, String amount, LocalDate txDate) {
+        return new InventoryTxRequest(inventoryId, "ST001", null, "IN", null, null, txDate,
+            new BigDecimal(qty), null, null, new BigDecimal(amount), null);
+    }
+
+    private InventoryTxRequest outbound(String inventoryId, String qty, String amount, LocalDate txDate) {
+        return new InventoryTxRequest(inventoryId, "ST001", null, "OUT", null, null, txDate,
+            null, new BigDecimal(qty), null, new BigDecimal(amount), null);
+    }
+}
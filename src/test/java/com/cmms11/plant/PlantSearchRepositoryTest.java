@@ -0,0 +1,44 @@
+package com.cmms11.plant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+@DataJpaTest
+class PlantSearchRepositoryTest {
+
+    @Autowired
+    private PlantRepository repository;
+
+    @Test
+    void likeFallbackHonorsPageableSortWithIdTieBreak() {
+        repository.save(plant("P0001", "펌프 A"));
+        repository.save(plant("P0002", "펌프 C"));
+        repository.save(plant("P0003", "펌프 B"));
+        repository.save(plant("P0004", "펌프 C"));
+
+        Page<Plant> byName = repository.search("C0001", "N", "%펌%",
+            PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "name")));
+
+        assertThat(byName.getContent()).extracting(plant -> plant.getId().getPlantId())
+            .containsExactly("P0002", "P0004", "P0003");
+        assertThat(byName.getTotalElements()).isEqualTo(4);
+
+        Page<Plant> unsorted = repository.search("C0001", "N", "%펌%", PageRequest.of(1, 3));
+        assertThat(unsorted.getContent()).extracting(plant -> plant.getId().getPlantId())
+            .containsExactly("P0004");
+    }
+
+    private Plant plant(String plantId, String name) {
+        Plant plant = new Plant();
+        plant.setId(new PlantId("C0001", plantId));
+        plant.setName(name);
+        plant.setDeleteMark("N");
+        return plant;
+    }
+}
@@ -1,6 +1,7 @@
 package com.cmms11.plant;
 
 import com.cmms11.common.error.NotFoundException;
+import com.cmms11.common.search.SearchIndexService;
 import com.cmms11.security.MemberUserDetailsService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -33,6 +34,9 @@ class PlantServiceTest {
     @Mock
     private PlantRepository repository;
 
+    @Mock
+    private SearchIndexService searchIndex;
+
     @InjectMocks
     private PlantService plantService;
 
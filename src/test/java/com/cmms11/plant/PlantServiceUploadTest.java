@@ -2,8 +2,10 @@ package com.cmms11.plant;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.cmms11.common.search.SearchIndexService;
 import com.cmms11.common.seq.AutoNumberService;
 import com.cmms11.common.upload.BulkUploadResult;
+import com.cmms11.common.upload.CsvChunkImporter;
 import com.cmms11.security.MemberUserDetailsService;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
@@ -14,7 +16,7 @@ import org.springframework.context.annotation.Import;
 import org.springframework.mock.web.MockMultipartFile;
 
 @DataJpaTest
-@Import({PlantService.class, AutoNumberService.class})
+@Import({PlantService.class, AutoNumberService.class, SearchIndexService.class, CsvChunkImporter.class})
 class PlantServiceUploadTest {
 
     @Autowired